@@ -2,19 +2,35 @@ package com.codingapi.example.infra.flow;
 
 import com.codingapi.springboot.flow.repository.*;
 import com.codingapi.springboot.flow.service.FlowService;
+import com.codingapi.springboot.flow.timer.FlowTimerEngine;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @Configuration
 public class AutoFlowConfiguration {
 
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public FlowTimerEngine flowTimerEngine(FlowRecordRepository flowRecordRepository,
+                                           FlowTimerRepository flowTimerRepository) {
+        return new FlowTimerEngine(flowRecordRepository, flowTimerRepository);
+    }
+
     @Bean
     public FlowService flowService(FlowWorkRepository flowWorkRepository,
                                    FlowRecordRepository flowRecordRepository,
                                    FlowBindDataRepository flowBindDataRepository,
                                    FlowOperatorRepository flowOperatorRepository,
                                    FlowProcessRepository flowProcessRepository,
-                                   FlowBackupRepository flowBackupRepository) {
-        return new FlowService(flowWorkRepository, flowRecordRepository, flowBindDataRepository, flowOperatorRepository, flowProcessRepository, flowBackupRepository);
+                                   FlowBackupRepository flowBackupRepository,
+                                   ObjectProvider<FlowInboxRepository> flowInboxRepository,
+                                   FlowTimerEngine flowTimerEngine,
+                                   PlatformTransactionManager transactionManager) {
+        // 流程服务中的操作者按ID缓存，缓存时间由 Flow.OperatorCacheTtl 配置
+        FlowService flowService = new FlowService(flowWorkRepository, flowRecordRepository, flowBindDataRepository, new CachedFlowOperatorRepository(flowOperatorRepository), flowProcessRepository, flowBackupRepository, flowInboxRepository.getIfAvailable(), flowTimerEngine);
+        // 批量提交时每条记录在独立的事务中提交
+        flowService.setTransactionManager(transactionManager);
+        return flowService;
     }
 }
@@ -17,6 +17,7 @@ public class FlowBackupConvertor {
         flowBackup.setCreateTime(entity.getCreateTime());
         flowBackup.setWorkVersion(entity.getWorkVersion());
         flowBackup.setWorkId(entity.getWorkId());
+        flowBackup.setContentHash(entity.getContentHash());
         return flowBackup;
     }
 
@@ -32,6 +33,7 @@ public class FlowBackupConvertor {
         entity.setCreateTime(flowBackup.getCreateTime());
         entity.setWorkVersion(flowBackup.getWorkVersion());
         entity.setWorkId(flowBackup.getWorkId());
+        entity.setContentHash(flowBackup.getContentHash());
         return entity;
     }
 }
@@ -0,0 +1,32 @@
+package com.codingapi.example.infra.flow.convert;
+
+import com.codingapi.example.infra.flow.entity.FlowEventMessageEntity;
+import com.codingapi.springboot.flow.event.FlowEventMessage;
+
+public class FlowEventMessageConvertor {
+
+    public static FlowEventMessage convert(FlowEventMessageEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        return new FlowEventMessage(entity.getId(), entity.getOwner(), entity.getProcessId(), entity.getState(), entity.getRecordId(),
+                entity.getOperatorId(), entity.getSnapshotId(), entity.getCreateTime(), entity.getAttempts());
+    }
+
+    public static FlowEventMessageEntity convert(FlowEventMessage message) {
+        if (message == null) {
+            return null;
+        }
+        FlowEventMessageEntity entity = new FlowEventMessageEntity();
+        entity.setId(message.getId());
+        entity.setOwner(message.getOwner());
+        entity.setProcessId(message.getProcessId());
+        entity.setState(message.getState());
+        entity.setRecordId(message.getRecordId());
+        entity.setOperatorId(message.getOperatorId());
+        entity.setSnapshotId(message.getSnapshotId());
+        entity.setCreateTime(message.getCreateTime());
+        entity.setAttempts(message.getAttempts());
+        return entity;
+    }
+}
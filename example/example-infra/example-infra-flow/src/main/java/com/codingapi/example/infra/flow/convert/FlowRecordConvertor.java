@@ -6,7 +6,16 @@ import com.codingapi.springboot.flow.em.FlowSourceDirection;
 import com.codingapi.springboot.flow.em.FlowStatus;
 import com.codingapi.springboot.flow.em.FlowType;
 import com.codingapi.springboot.flow.record.FlowRecord;
+import com.codingapi.springboot.flow.repository.FlowOperatorIdentityMap;
 import com.codingapi.springboot.flow.repository.FlowOperatorRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 public class FlowRecordConvertor {
 
@@ -99,4 +108,29 @@ public class FlowRecordConvertor {
         flowRecord.setReadTime(entity.getReadTime());
         return flowRecord;
     }
+
+
+    /**
+     * 批量转换流程记录，记录中的操作者统一批量查询
+     */
+    public static List<FlowRecord> convert(List<FlowRecordEntity> entities, FlowOperatorRepository flowUserRepository) {
+        FlowOperatorIdentityMap identityMap = new FlowOperatorIdentityMap(flowUserRepository);
+        Set<Long> operatorIds = new HashSet<>();
+        for (FlowRecordEntity entity : entities) {
+            operatorIds.add(entity.getCurrentOperatorId());
+            operatorIds.add(entity.getCreateOperatorId());
+            operatorIds.add(entity.getInterferedOperatorId());
+        }
+        identityMap.prefetch(operatorIds);
+        return entities.stream().map(entity -> convert(entity, identityMap)).toList();
+    }
+
+
+    public static Page<FlowRecord> convert(Page<FlowRecordEntity> page, FlowOperatorRepository flowUserRepository) {
+        return new PageImpl<>(convert(page.getContent(), flowUserRepository), page.getPageable(), page.getTotalElements());
+    }
+
+    public static Slice<FlowRecord> convert(Slice<FlowRecordEntity> slice, FlowOperatorRepository flowUserRepository) {
+        return new SliceImpl<>(convert(slice.getContent(), flowUserRepository), slice.getPageable(), slice.hasNext());
+    }
 }
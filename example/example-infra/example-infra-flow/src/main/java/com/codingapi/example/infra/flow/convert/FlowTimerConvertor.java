@@ -0,0 +1,27 @@
+package com.codingapi.example.infra.flow.convert;
+
+import com.codingapi.example.infra.flow.entity.FlowTimerEntity;
+import com.codingapi.springboot.flow.timer.FlowTimer;
+
+public class FlowTimerConvertor {
+
+    public static FlowTimer convert(FlowTimerEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        return new FlowTimer(entity.getRecordId(), entity.getProcessId(), entity.getNodeCode(), entity.getDueTime());
+    }
+
+    public static FlowTimerEntity convert(FlowTimer flowTimer) {
+        if (flowTimer == null) {
+            return null;
+        }
+        FlowTimerEntity entity = new FlowTimerEntity();
+        entity.setRecordId(flowTimer.getRecordId());
+        entity.setProcessId(flowTimer.getProcessId());
+        entity.setNodeCode(flowTimer.getNodeCode());
+        entity.setDueTime(flowTimer.getDueTime());
+        entity.setLeaseUntil(0L);
+        return entity;
+    }
+}
@@ -7,6 +7,7 @@ import lombok.Setter;
 @Setter
 @Getter
 @Entity
+@Table(indexes = @Index(name = "idx_flow_backup_content", columnList = "workId, contentHash"))
 public class FlowBackupEntity {
 
     /**
@@ -37,4 +38,9 @@ public class FlowBackupEntity {
      * 流程的设计id
      */
     private Long workId;
+
+    /**
+     * 流程设计的内容摘要
+     */
+    private String contentHash;
 }
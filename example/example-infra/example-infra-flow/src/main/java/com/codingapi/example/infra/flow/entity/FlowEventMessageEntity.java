@@ -0,0 +1,67 @@
+package com.codingapi.example.infra.flow.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_flow_event_message_process", columnList = "processId"),
+        @Index(name = "idx_flow_event_message_owner", columnList = "owner")
+})
+public class FlowEventMessageEntity {
+
+    /**
+     * 消息id
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 推送消息的节点
+     */
+    private String owner;
+
+    /**
+     * 流程id
+     */
+    private String processId;
+
+    /**
+     * 事件状态
+     */
+    private Integer state;
+
+    /**
+     * 流程记录id
+     */
+    private Long recordId;
+
+    /**
+     * 操作者id
+     */
+    private Long operatorId;
+
+    /**
+     * 表单快照id
+     */
+    private Long snapshotId;
+
+    /**
+     * 创建时间
+     */
+    private Long createTime;
+
+    /**
+     * 投递次数
+     */
+    private Integer attempts;
+}
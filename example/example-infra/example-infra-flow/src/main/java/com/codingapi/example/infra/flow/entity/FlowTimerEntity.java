@@ -0,0 +1,44 @@
+package com.codingapi.example.infra.flow.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_flow_timer_due", columnList = "dueTime, recordId"),
+        @Index(name = "idx_flow_timer_process", columnList = "processId")
+})
+public class FlowTimerEntity {
+
+    /**
+     * 流程记录id
+     */
+    @Id
+    private Long recordId;
+
+    /**
+     * 流程id
+     */
+    private String processId;
+
+    /**
+     * 节点编码
+     */
+    private String nodeCode;
+
+    /**
+     * 到期时间
+     */
+    private Long dueTime;
+
+    /**
+     * 领取过期时间，未领取时为0
+     */
+    private Long leaseUntil;
+}
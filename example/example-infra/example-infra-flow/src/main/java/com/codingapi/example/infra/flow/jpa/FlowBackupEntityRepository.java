@@ -2,6 +2,8 @@ package com.codingapi.example.infra.flow.jpa;
 
 import com.codingapi.example.infra.flow.entity.FlowBackupEntity;
 import com.codingapi.springboot.fast.jpa.repository.FastRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 public interface FlowBackupEntityRepository extends FastRepository<FlowBackupEntity,Long> {
 
@@ -12,4 +14,12 @@ public interface FlowBackupEntityRepository extends FastRepository<FlowBackupEnt
     FlowBackupEntity getFlowBackupEntityByWorkIdAndWorkVersion(long workId,long workVersion);
 
 
+    FlowBackupEntity findFirstByWorkIdAndContentHashOrderByIdDesc(long workId,String contentHash);
+
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update FlowBackupEntity b set b.workVersion = ?2 where b.id = ?1")
+    int updateWorkVersion(long id, long workVersion);
+
+
 }
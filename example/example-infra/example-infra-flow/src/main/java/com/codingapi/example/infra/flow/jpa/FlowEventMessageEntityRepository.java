@@ -0,0 +1,26 @@
+package com.codingapi.example.infra.flow.jpa;
+
+import com.codingapi.example.infra.flow.entity.FlowEventMessageEntity;
+import com.codingapi.springboot.fast.jpa.repository.FastRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface FlowEventMessageEntityRepository extends FastRepository<FlowEventMessageEntity, Long> {
+
+    @Query(value = "select m from FlowEventMessageEntity m where m.owner = ?1 order by m.id asc")
+    List<FlowEventMessageEntity> findByOwnerOrderById(String owner);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = "delete from FlowEventMessageEntity m where m.id = ?1")
+    int deleteByMessageId(long id);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update FlowEventMessageEntity m set m.attempts = ?2 where m.id = ?1")
+    int updateAttempts(long id, int attempts);
+
+}
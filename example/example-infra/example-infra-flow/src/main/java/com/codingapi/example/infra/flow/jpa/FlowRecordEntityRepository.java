@@ -4,6 +4,8 @@ import com.codingapi.example.infra.flow.entity.FlowRecordEntity;
 import com.codingapi.springboot.fast.jpa.repository.FastRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
@@ -13,6 +15,9 @@ public interface FlowRecordEntityRepository extends FastRepository<FlowRecordEnt
     @Query(value = "select r from FlowRecordEntity  r where r.flowType!='DELETE' and r.id = ?1")
     FlowRecordEntity getFlowRecordEntityById(long id);
 
+    @Query(value = "select r from FlowRecordEntity  r where r.flowType!='DELETE' and r.id in ?1")
+    List<FlowRecordEntity> findFlowRecordEntityByIds(List<Long> ids);
+
     void deleteByProcessId(String processId);
 
     @Query(value = "select r from FlowRecordEntity  r where r.flowType!='DELETE' and r.preId = ?1")
@@ -24,6 +29,22 @@ public interface FlowRecordEntityRepository extends FastRepository<FlowRecordEnt
     @Query(value = "select r from FlowRecordEntity  r where r.flowType!='DELETE' and r.flowType = 'TODO' and r.flowStatus = 'RUNNING' and r.processId = ?1")
     List<FlowRecordEntity> findTodoFlowRecordByProcessId(String processId);
 
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "update FlowRecordEntity r set r.flowStatus = 'FINISH', r.finishTime = ?2 where r.flowType!='DELETE' and r.processId = ?1")
+    int finishByProcessId(String processId, long finishTime);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "update FlowRecordEntity r set r.flowType = ?2, r.updateTime = ?3 where r.flowType!='DELETE' and r.processId = ?1")
+    int updateFlowTypeByProcessId(String processId, String flowType, long updateTime);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "update FlowRecordEntity r set r.flowType = ?2, r.updateTime = ?3 where r.flowType!='DELETE' and r.id in ?1")
+    int updateFlowTypeByIds(List<Long> ids, String flowType, long updateTime);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "update FlowRecordEntity r set r.read = true, r.readTime = ?2 where r.flowType!='DELETE' and r.read = false and r.id in ?1")
+    int readByIds(List<Long> ids, long readTime);
+
     @Query(value = "select r from FlowRecordEntity r" +
             " LEFT JOIN (select min(m.id) as id from FlowRecordEntity m where m.currentOperatorId = ?1 and m.flowType = 'TODO' and m.flowStatus = 'RUNNING' and m.mergeable = true ) debup " +
             "on r.id = debup.id" +
@@ -74,4 +95,46 @@ public interface FlowRecordEntityRepository extends FastRepository<FlowRecordEnt
     @Query(value = "select d from FlowRecordEntity  d where d.flowType!='DELETE' and  d.id in (select max(r.id) from FlowRecordEntity  r group by r.processId ) order by d.id desc")
     Page<FlowRecordEntity> findAllFlowRecords(PageRequest pageRequest);
 
+    // 游标分页查询，lastId为上一页最后一条记录的id，返回Slice不执行count查询
+
+    @Query(value = "select r from FlowRecordEntity r" +
+            " LEFT JOIN (select min(m.id) as id from FlowRecordEntity m where m.currentOperatorId = ?1 and m.flowType = 'TODO' and m.flowStatus = 'RUNNING' and m.mergeable = true ) debup " +
+            "on r.id = debup.id" +
+            " where r.flowType!='DELETE' and r.currentOperatorId = ?1 and r.flowType = 'TODO' and r.flowStatus = 'RUNNING'" +
+            " and (r.mergeable !=true or debup.id is NOT null ) and r.id < ?2 order by r.id desc")
+    Slice<FlowRecordEntity> findTodoByOperatorIdBefore(long operatorId, long lastId, PageRequest pageRequest);
+
+    @Query(value = "select r from FlowRecordEntity  r where r.flowType!='DELETE'and r.currentOperatorId = ?1  and r.workCode = ?2 and r.flowType = 'TODO' and r.flowStatus = 'RUNNING' and r.id < ?3 order by r.id desc")
+    Slice<FlowRecordEntity> findTodoByOperatorIdAndWorkCodeBefore(long operatorId, String workCode, long lastId, PageRequest pageRequest);
+
+    @Query(value = "select r from FlowRecordEntity  r where r.flowType!='DELETE'and r.currentOperatorId = ?1 and r.read = false and r.flowStatus = 'RUNNING' and r.id < ?2 order by r.id desc")
+    Slice<FlowRecordEntity> findUnReadByOperatorIdBefore(long operatorId, long lastId, PageRequest pageRequest);
+
+    @Query(value = "select r from FlowRecordEntity  r where r.flowType!='DELETE'and r.currentOperatorId = ?1  and r.workCode = ?2 and r.read = false and r.flowStatus = 'RUNNING' and r.id < ?3 order by r.id desc")
+    Slice<FlowRecordEntity> findUnReadByOperatorIdAndWorkCodeBefore(long operatorId, String workCode, long lastId, PageRequest pageRequest);
+
+    @Query(value = "select d from FlowRecordEntity  d where d.flowType!='DELETE'and d.id in (select max(r.id) from FlowRecordEntity  r where r.currentOperatorId = ?1 and r.flowType = 'DONE' group by r.processId ) and d.id < ?2 order by d.id desc")
+    Slice<FlowRecordEntity> findDoneByOperatorIdBefore(long operatorId, long lastId, PageRequest pageRequest);
+
+    @Query(value = "select d from FlowRecordEntity  d where d.flowType!='DELETE'and d.id in (select max(r.id) from FlowRecordEntity  r where r.currentOperatorId = ?1 and r.workCode = ?2 and r.flowType = 'DONE' group by r.processId) and d.id < ?3 order by d.id desc")
+    Slice<FlowRecordEntity> findDoneByOperatorIdAndWorkCodeBefore(long operatorId, String workCode, long lastId, PageRequest pageRequest);
+
+    @Query(value = "select d from FlowRecordEntity  d where d.flowType!='DELETE'and d.id in (select max(r.id) from FlowRecordEntity  r where r.currentOperatorId = ?1 and r.preId = 0 and r.nodeCode = 'start'  group by r.processId) and d.id < ?2 order by d.id desc")
+    Slice<FlowRecordEntity> findInitiatedByOperatorIdBefore(long operatorId, long lastId, PageRequest pageRequest);
+
+    @Query(value = "select d from FlowRecordEntity  d where d.flowType!='DELETE' and  d.id in (select max(r.id) from FlowRecordEntity  r where r.currentOperatorId = ?1  and r.workCode = ?2 and r.preId = 0 and r.nodeCode = 'start'  group by r.processId) and d.id < ?3 order by d.id desc")
+    Slice<FlowRecordEntity> findInitiatedByOperatorIdAndWorkCodeBefore(long operatorId, String workCode, long lastId, PageRequest pageRequest);
+
+    @Query(value = "select r from FlowRecordEntity  r where r.flowType!='DELETE' and  r.currentOperatorId = ?1 and r.flowType = 'TODO' and r.flowStatus = 'RUNNING' and r.timeoutTime >0 and r.timeoutTime < ?2 and r.id < ?3 order by r.id desc")
+    Slice<FlowRecordEntity> findTimeoutTodoByOperatorIdBefore(long operatorId, long currentTime, long lastId, PageRequest pageRequest);
+
+    @Query(value = "select r from FlowRecordEntity  r where r.flowType!='DELETE' and  r.currentOperatorId = ?1 and r.workCode = ?2 and r.flowType = 'TODO' and r.flowStatus = 'RUNNING' and r.timeoutTime >0 and r.timeoutTime < ?3 and r.id < ?4 order by r.id desc")
+    Slice<FlowRecordEntity> findTimeoutTodoByOperatorIdAndWorkCodeBefore(long operatorId, String workCode, long currentTime, long lastId, PageRequest pageRequest);
+
+    @Query(value = "select r from FlowRecordEntity  r where r.flowType!='DELETE' and r.currentOperatorId = ?1 and r.flowType = 'TODO' and r.flowStatus = 'RUNNING' and r.postponedCount > 0 and r.id < ?2 order by r.id desc")
+    Slice<FlowRecordEntity> findPostponedTodoByOperatorIdBefore(long operatorId, long lastId, PageRequest pageRequest);
+
+    @Query(value = "select r from FlowRecordEntity  r where r.flowType!='DELETE' and  r.currentOperatorId = ?1 and r.workCode =?2 and r.flowType = 'TODO' and r.flowStatus = 'RUNNING' and r.postponedCount > 0 and r.id < ?3 order by r.id desc")
+    Slice<FlowRecordEntity> findPostponedTodoByOperatorIdAndWorkCodeBefore(long operatorId, String workCode, long lastId, PageRequest pageRequest);
+
 }
@@ -0,0 +1,39 @@
+package com.codingapi.example.infra.flow.jpa;
+
+import com.codingapi.example.infra.flow.entity.FlowTimerEntity;
+import com.codingapi.springboot.fast.jpa.repository.FastRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface FlowTimerEntityRepository extends FastRepository<FlowTimerEntity, Long> {
+
+    FlowTimerEntity getFlowTimerEntityByRecordId(long recordId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = "delete from FlowTimerEntity t where t.recordId = ?1")
+    int deleteByRecordId(long recordId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = "delete from FlowTimerEntity t where t.processId = ?1")
+    int deleteByProcessId(String processId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update FlowTimerEntity t set t.leaseUntil = ?3 where t.recordId = ?1 and t.dueTime = ?2 and (t.leaseUntil is null or t.leaseUntil <= ?4)")
+    int claim(long recordId, long dueTime, long leaseUntil, long now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update FlowTimerEntity t set t.leaseUntil = 0 where t.recordId = ?1 and t.dueTime = ?2")
+    int release(long recordId, long dueTime);
+
+    @Query(value = "select t from FlowTimerEntity t where t.dueTime < ?3 and (t.dueTime > ?1 or (t.dueTime = ?1 and t.recordId > ?2)) order by t.dueTime asc, t.recordId asc")
+    List<FlowTimerEntity> findDueTimers(long afterDueTime, long afterRecordId, long beforeTime, PageRequest pageRequest);
+
+}
@@ -2,6 +2,9 @@ package com.codingapi.example.infra.flow.jpa;
 
 import com.codingapi.example.infra.flow.entity.FlowWorkEntity;
 import com.codingapi.springboot.fast.jpa.repository.FastRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface FlowWorkEntityRepository extends FastRepository<FlowWorkEntity,Long> {
 
@@ -10,4 +13,12 @@ public interface FlowWorkEntityRepository extends FastRepository<FlowWorkEntity,
 
     FlowWorkEntity getFlowWorkEntityByCode(String code);
 
+    List<FlowWorkEntity> findFlowWorkEntityByEnable(Boolean enable);
+
+    @Query(value = "select w.updateTime from FlowWorkEntity w where w.code = ?1")
+    Long getFlowWorkUpdateTimeByCode(String code);
+
+    @Query(value = "select w.updateTime from FlowWorkEntity w where w.id = ?1")
+    Long getFlowWorkUpdateTimeById(long id);
+
 }
@@ -3,17 +3,19 @@ package com.codingapi.example.infra.flow.query;
 import com.codingapi.example.infra.flow.convert.FlowRecordConvertor;
 import com.codingapi.example.infra.flow.entity.FlowRecordEntity;
 import com.codingapi.example.infra.flow.jpa.FlowRecordEntityRepository;
-import com.codingapi.springboot.flow.query.FlowRecordQuery;
+import com.codingapi.springboot.flow.query.FlowRecordCursor;
+import com.codingapi.springboot.flow.query.FlowRecordCursorQuery;
 import com.codingapi.springboot.flow.record.FlowRecord;
 import com.codingapi.springboot.flow.repository.FlowOperatorRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
 @Repository
 @AllArgsConstructor
-public class FlowRecordQueryImpl implements FlowRecordQuery {
+public class FlowRecordQueryImpl implements FlowRecordCursorQuery {
 
     private final FlowRecordEntityRepository flowRecordEntityRepository;
     private final FlowOperatorRepository flowOperatorRepository;
@@ -27,82 +29,154 @@ public class FlowRecordQueryImpl implements FlowRecordQuery {
     @Override
     public Page<FlowRecord> findAll(PageRequest pageRequest) {
         Page<FlowRecordEntity> page = flowRecordEntityRepository.findAllFlowRecords(pageRequest);
-        return page.map(item->FlowRecordConvertor.convert(item,flowOperatorRepository));
+        return FlowRecordConvertor.convert(page,flowOperatorRepository);
     }
 
     @Override
     public Page<FlowRecord> findTodoByOperatorId(long operatorId, PageRequest pageRequest) {
         Page<FlowRecordEntity> page = flowRecordEntityRepository.findTodoByOperatorId(operatorId,pageRequest);
-        return page.map(item->FlowRecordConvertor.convert(item,flowOperatorRepository));
+        return FlowRecordConvertor.convert(page,flowOperatorRepository);
     }
 
 
     @Override
     public Page<FlowRecord> findTodoByOperatorId(long operatorId, String workCode, PageRequest pageRequest) {
         Page<FlowRecordEntity> page = flowRecordEntityRepository.findTodoByOperatorIdAndWorkCode(operatorId,workCode,pageRequest);
-        return page.map(item->FlowRecordConvertor.convert(item,flowOperatorRepository));
+        return FlowRecordConvertor.convert(page,flowOperatorRepository);
     }
 
     @Override
     public Page<FlowRecord> findUnReadByOperatorId(long operatorId, PageRequest pageRequest) {
         Page<FlowRecordEntity> page = flowRecordEntityRepository.findUnReadByOperatorId(operatorId,pageRequest);
-        return page.map(item->FlowRecordConvertor.convert(item,flowOperatorRepository));
+        return FlowRecordConvertor.convert(page,flowOperatorRepository);
     }
 
     @Override
     public Page<FlowRecord> findUnReadByOperatorId(long operatorId, String workCode, PageRequest pageRequest) {
         Page<FlowRecordEntity> page = flowRecordEntityRepository.findUnReadByOperatorIdAndWorkCode(operatorId,workCode,pageRequest);
-        return page.map(item->FlowRecordConvertor.convert(item,flowOperatorRepository));
+        return FlowRecordConvertor.convert(page,flowOperatorRepository);
     }
 
 
     @Override
     public Page<FlowRecord> findDoneByOperatorId(long operatorId, PageRequest pageRequest) {
         Page<FlowRecordEntity> page = flowRecordEntityRepository.findDoneByOperatorId(operatorId,pageRequest);
-        return page.map(item->FlowRecordConvertor.convert(item,flowOperatorRepository));
+        return FlowRecordConvertor.convert(page,flowOperatorRepository);
     }
 
     @Override
     public Page<FlowRecord> findDoneByOperatorId(long operatorId, String workCode, PageRequest pageRequest) {
         Page<FlowRecordEntity> page = flowRecordEntityRepository.findDoneByOperatorIdAndworkCode(operatorId,workCode,pageRequest);
-        return page.map(item->FlowRecordConvertor.convert(item,flowOperatorRepository));
+        return FlowRecordConvertor.convert(page,flowOperatorRepository);
     }
 
     @Override
     public Page<FlowRecord> findInitiatedByOperatorId(long operatorId, PageRequest pageRequest) {
         Page<FlowRecordEntity> page = flowRecordEntityRepository.findInitiatedByOperatorId(operatorId,pageRequest);
-        return page.map(item->FlowRecordConvertor.convert(item,flowOperatorRepository));
+        return FlowRecordConvertor.convert(page,flowOperatorRepository);
     }
 
     @Override
     public Page<FlowRecord> findInitiatedByOperatorId(long operatorId, String workCode, PageRequest pageRequest) {
         Page<FlowRecordEntity> page = flowRecordEntityRepository.findInitiatedByOperatorIdAndWorkCode(operatorId,workCode,pageRequest);
-        return page.map(item->FlowRecordConvertor.convert(item,flowOperatorRepository));
+        return FlowRecordConvertor.convert(page,flowOperatorRepository);
     }
 
     @Override
     public Page<FlowRecord> findTimeoutTodoByOperatorId(long operatorId, PageRequest pageRequest) {
         Page<FlowRecordEntity> page = flowRecordEntityRepository.findTimeoutTodoByOperatorId(operatorId,System.currentTimeMillis(), pageRequest);
-        return page.map(item->FlowRecordConvertor.convert(item,flowOperatorRepository));
+        return FlowRecordConvertor.convert(page,flowOperatorRepository);
     }
 
 
     @Override
     public Page<FlowRecord> findTimeoutTodoByOperatorId(long operatorId, String workCode, PageRequest pageRequest) {
         Page<FlowRecordEntity> page = flowRecordEntityRepository.findTimeoutTodoByOperatorIdAndWorkCode(operatorId,workCode,System.currentTimeMillis(), pageRequest);
-        return page.map(item->FlowRecordConvertor.convert(item,flowOperatorRepository));
+        return FlowRecordConvertor.convert(page,flowOperatorRepository);
     }
 
     @Override
     public Page<FlowRecord> findPostponedTodoByOperatorId(long operatorId, PageRequest pageRequest) {
         Page<FlowRecordEntity> page = flowRecordEntityRepository.findPostponedTodoByOperatorId(operatorId,pageRequest);
-        return page.map(item->FlowRecordConvertor.convert(item,flowOperatorRepository));
+        return FlowRecordConvertor.convert(page,flowOperatorRepository);
     }
 
 
     @Override
     public Page<FlowRecord> findPostponedTodoByOperatorId(long operatorId, String workCode, PageRequest pageRequest) {
         Page<FlowRecordEntity> page = flowRecordEntityRepository.findPostponedTodoByOperatorIdAndWorkCode(operatorId,workCode,pageRequest);
-        return page.map(item->FlowRecordConvertor.convert(item,flowOperatorRepository));
+        return FlowRecordConvertor.convert(page,flowOperatorRepository);
+    }
+
+    @Override
+    public Slice<FlowRecord> findTodoByOperatorId(long operatorId, FlowRecordCursor cursor) {
+        Slice<FlowRecordEntity> slice = flowRecordEntityRepository.findTodoByOperatorIdBefore(operatorId,cursor.getSeekId(),cursor.toPageRequest());
+        return FlowRecordConvertor.convert(slice,flowOperatorRepository);
+    }
+
+    @Override
+    public Slice<FlowRecord> findTodoByOperatorId(long operatorId, String workCode, FlowRecordCursor cursor) {
+        Slice<FlowRecordEntity> slice = flowRecordEntityRepository.findTodoByOperatorIdAndWorkCodeBefore(operatorId,workCode,cursor.getSeekId(),cursor.toPageRequest());
+        return FlowRecordConvertor.convert(slice,flowOperatorRepository);
+    }
+
+    @Override
+    public Slice<FlowRecord> findUnReadByOperatorId(long operatorId, FlowRecordCursor cursor) {
+        Slice<FlowRecordEntity> slice = flowRecordEntityRepository.findUnReadByOperatorIdBefore(operatorId,cursor.getSeekId(),cursor.toPageRequest());
+        return FlowRecordConvertor.convert(slice,flowOperatorRepository);
+    }
+
+    @Override
+    public Slice<FlowRecord> findUnReadByOperatorId(long operatorId, String workCode, FlowRecordCursor cursor) {
+        Slice<FlowRecordEntity> slice = flowRecordEntityRepository.findUnReadByOperatorIdAndWorkCodeBefore(operatorId,workCode,cursor.getSeekId(),cursor.toPageRequest());
+        return FlowRecordConvertor.convert(slice,flowOperatorRepository);
+    }
+
+    @Override
+    public Slice<FlowRecord> findDoneByOperatorId(long operatorId, FlowRecordCursor cursor) {
+        Slice<FlowRecordEntity> slice = flowRecordEntityRepository.findDoneByOperatorIdBefore(operatorId,cursor.getSeekId(),cursor.toPageRequest());
+        return FlowRecordConvertor.convert(slice,flowOperatorRepository);
+    }
+
+    @Override
+    public Slice<FlowRecord> findDoneByOperatorId(long operatorId, String workCode, FlowRecordCursor cursor) {
+        Slice<FlowRecordEntity> slice = flowRecordEntityRepository.findDoneByOperatorIdAndWorkCodeBefore(operatorId,workCode,cursor.getSeekId(),cursor.toPageRequest());
+        return FlowRecordConvertor.convert(slice,flowOperatorRepository);
+    }
+
+    @Override
+    public Slice<FlowRecord> findInitiatedByOperatorId(long operatorId, FlowRecordCursor cursor) {
+        Slice<FlowRecordEntity> slice = flowRecordEntityRepository.findInitiatedByOperatorIdBefore(operatorId,cursor.getSeekId(),cursor.toPageRequest());
+        return FlowRecordConvertor.convert(slice,flowOperatorRepository);
+    }
+
+    @Override
+    public Slice<FlowRecord> findInitiatedByOperatorId(long operatorId, String workCode, FlowRecordCursor cursor) {
+        Slice<FlowRecordEntity> slice = flowRecordEntityRepository.findInitiatedByOperatorIdAndWorkCodeBefore(operatorId,workCode,cursor.getSeekId(),cursor.toPageRequest());
+        return FlowRecordConvertor.convert(slice,flowOperatorRepository);
+    }
+
+    @Override
+    public Slice<FlowRecord> findTimeoutTodoByOperatorId(long operatorId, FlowRecordCursor cursor) {
+        Slice<FlowRecordEntity> slice = flowRecordEntityRepository.findTimeoutTodoByOperatorIdBefore(operatorId,System.currentTimeMillis(),cursor.getSeekId(),cursor.toPageRequest());
+        return FlowRecordConvertor.convert(slice,flowOperatorRepository);
+    }
+
+    @Override
+    public Slice<FlowRecord> findTimeoutTodoByOperatorId(long operatorId, String workCode, FlowRecordCursor cursor) {
+        Slice<FlowRecordEntity> slice = flowRecordEntityRepository.findTimeoutTodoByOperatorIdAndWorkCodeBefore(operatorId,workCode,System.currentTimeMillis(),cursor.getSeekId(),cursor.toPageRequest());
+        return FlowRecordConvertor.convert(slice,flowOperatorRepository);
+    }
+
+    @Override
+    public Slice<FlowRecord> findPostponedTodoByOperatorId(long operatorId, FlowRecordCursor cursor) {
+        Slice<FlowRecordEntity> slice = flowRecordEntityRepository.findPostponedTodoByOperatorIdBefore(operatorId,cursor.getSeekId(),cursor.toPageRequest());
+        return FlowRecordConvertor.convert(slice,flowOperatorRepository);
+    }
+
+    @Override
+    public Slice<FlowRecord> findPostponedTodoByOperatorId(long operatorId, String workCode, FlowRecordCursor cursor) {
+        Slice<FlowRecordEntity> slice = flowRecordEntityRepository.findPostponedTodoByOperatorIdAndWorkCodeBefore(operatorId,workCode,cursor.getSeekId(),cursor.toPageRequest());
+        return FlowRecordConvertor.convert(slice,flowOperatorRepository);
     }
 }
@@ -29,6 +29,17 @@ public class FlowBackupRepositoryImpl implements FlowBackupRepository {
         return FlowBackupConvertor.convert(flowBackupEntityRepository.getFlowBackupEntityByWorkIdAndWorkVersion(workId, workVersion));
     }
 
+    @Override
+    public FlowBackup getFlowBackupByWorkIdAndContentHash(long workId, String contentHash) {
+        return FlowBackupConvertor.convert(flowBackupEntityRepository.findFirstByWorkIdAndContentHashOrderByIdDesc(workId, contentHash));
+    }
+
+    @Override
+    public void updateWorkVersion(FlowBackup flowBackup, long workVersion) {
+        flowBackupEntityRepository.updateWorkVersion(flowBackup.getId(), workVersion);
+        flowBackup.setWorkVersion(workVersion);
+    }
+
     @Override
     public FlowBackup getFlowBackupById(long backupId) {
         return FlowBackupConvertor.convert(flowBackupEntityRepository.getFlowBackupEntityById(backupId));
@@ -0,0 +1,43 @@
+package com.codingapi.example.infra.flow.repository;
+
+import com.codingapi.example.infra.flow.convert.FlowEventMessageConvertor;
+import com.codingapi.example.infra.flow.entity.FlowEventMessageEntity;
+import com.codingapi.example.infra.flow.jpa.FlowEventMessageEntityRepository;
+import com.codingapi.springboot.flow.event.FlowEventMessage;
+import com.codingapi.springboot.flow.repository.FlowEventOutboxRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@AllArgsConstructor
+public class FlowEventOutboxRepositoryImpl implements FlowEventOutboxRepository {
+
+    private final FlowEventMessageEntityRepository flowEventMessageEntityRepository;
+
+    @Override
+    public void save(FlowEventMessage message) {
+        FlowEventMessageEntity entity = FlowEventMessageConvertor.convert(message);
+        entity = flowEventMessageEntityRepository.save(entity);
+        message.setId(entity.getId());
+    }
+
+    @Override
+    public void update(FlowEventMessage message) {
+        flowEventMessageEntityRepository.updateAttempts(message.getId(), message.getAttempts());
+    }
+
+    @Override
+    public void delete(long id) {
+        flowEventMessageEntityRepository.deleteByMessageId(id);
+    }
+
+    @Override
+    public List<FlowEventMessage> findByOwner(String owner) {
+        return flowEventMessageEntityRepository.findByOwnerOrderById(owner)
+                .stream()
+                .map(FlowEventMessageConvertor::convert)
+                .toList();
+    }
+}
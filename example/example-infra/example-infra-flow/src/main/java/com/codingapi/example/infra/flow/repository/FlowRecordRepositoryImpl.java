@@ -3,13 +3,14 @@ package com.codingapi.example.infra.flow.repository;
 import com.codingapi.example.infra.flow.convert.FlowRecordConvertor;
 import com.codingapi.example.infra.flow.entity.FlowRecordEntity;
 import com.codingapi.example.infra.flow.jpa.FlowRecordEntityRepository;
-import com.codingapi.springboot.flow.em.FlowStatus;
+import com.codingapi.springboot.flow.em.FlowType;
 import com.codingapi.springboot.flow.record.FlowRecord;
 import com.codingapi.springboot.flow.repository.FlowOperatorRepository;
 import com.codingapi.springboot.flow.repository.FlowRecordRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Repository
@@ -38,38 +39,60 @@ public class FlowRecordRepositoryImpl implements FlowRecordRepository {
         return FlowRecordConvertor.convert(flowRecordEntityRepository.getFlowRecordEntityById(id),flowOperatorRepository);
     }
 
+    @Override
+    public List<FlowRecord> findFlowRecordByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return FlowRecordConvertor.convert(flowRecordEntityRepository.findFlowRecordEntityByIds(ids),flowOperatorRepository);
+    }
+
     @Override
     public List<FlowRecord> findFlowRecordByPreId(long preId) {
-        return flowRecordEntityRepository.findFlowRecordEntityByPreId(preId).stream()
-                .map(item->FlowRecordConvertor.convert(item,flowOperatorRepository))
+        return FlowRecordConvertor.convert(flowRecordEntityRepository.findFlowRecordEntityByPreId(preId),flowOperatorRepository).stream()
                 .filter(flowRecord -> !flowRecord.isDelete())
                 .toList();
     }
 
     @Override
     public List<FlowRecord> findFlowRecordByProcessId(String processId) {
-        return flowRecordEntityRepository.findFlowRecordEntityByProcessId(processId).stream().map(item->FlowRecordConvertor.convert(item,flowOperatorRepository)).toList();
+        return FlowRecordConvertor.convert(flowRecordEntityRepository.findFlowRecordEntityByProcessId(processId),flowOperatorRepository);
     }
 
     @Override
     public List<FlowRecord> findMergeFlowRecordById(String workCode, String nodeCode, long currentOperatorId) {
-        return flowRecordEntityRepository.findMergeFlowRecordById(currentOperatorId,workCode,nodeCode).stream().map(item->FlowRecordConvertor.convert(item,flowOperatorRepository)).toList();
+        return FlowRecordConvertor.convert(flowRecordEntityRepository.findMergeFlowRecordById(currentOperatorId,workCode,nodeCode),flowOperatorRepository);
     }
 
     @Override
     public List<FlowRecord> findTodoFlowRecordByProcessId(String processId) {
-        return flowRecordEntityRepository.findTodoFlowRecordByProcessId(processId)
-                .stream().map(item->FlowRecordConvertor.convert(item,flowOperatorRepository)).toList();
+        return FlowRecordConvertor.convert(flowRecordEntityRepository.findTodoFlowRecordByProcessId(processId),flowOperatorRepository);
     }
 
     @Override
     public void finishFlowRecordByProcessId(String processId) {
-        flowRecordEntityRepository.findFlowRecordEntityByProcessId(processId)
-                .forEach(flowRecordEntity -> {
-                    flowRecordEntity.setFlowStatus(FlowStatus.FINISH.name());
-                    flowRecordEntity.setFinishTime(System.currentTimeMillis());
-                    flowRecordEntityRepository.save(flowRecordEntity);
-                });
+        flowRecordEntityRepository.finishByProcessId(processId, System.currentTimeMillis());
+    }
+
+    @Override
+    public void updateFlowTypeByProcessId(String processId, FlowType flowType) {
+        flowRecordEntityRepository.updateFlowTypeByProcessId(processId, flowType.name(), System.currentTimeMillis());
+    }
+
+    @Override
+    public void updateFlowTypeByIds(List<Long> ids, FlowType flowType) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        flowRecordEntityRepository.updateFlowTypeByIds(ids, flowType.name(), System.currentTimeMillis());
+    }
+
+    @Override
+    public void readFlowRecordByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        flowRecordEntityRepository.readByIds(ids, System.currentTimeMillis());
     }
 
     @Override
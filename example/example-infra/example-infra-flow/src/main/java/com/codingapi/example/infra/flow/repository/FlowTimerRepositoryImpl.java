@@ -0,0 +1,56 @@
+package com.codingapi.example.infra.flow.repository;
+
+import com.codingapi.example.infra.flow.convert.FlowTimerConvertor;
+import com.codingapi.example.infra.flow.jpa.FlowTimerEntityRepository;
+import com.codingapi.springboot.flow.repository.FlowTimerRepository;
+import com.codingapi.springboot.flow.timer.FlowTimer;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@AllArgsConstructor
+public class FlowTimerRepositoryImpl implements FlowTimerRepository {
+
+    private final FlowTimerEntityRepository flowTimerEntityRepository;
+
+    @Override
+    public void save(FlowTimer flowTimer) {
+        flowTimerEntityRepository.save(FlowTimerConvertor.convert(flowTimer));
+    }
+
+    @Override
+    public FlowTimer getFlowTimerByRecordId(long recordId) {
+        return FlowTimerConvertor.convert(flowTimerEntityRepository.getFlowTimerEntityByRecordId(recordId));
+    }
+
+    @Override
+    public boolean claim(long recordId, long dueTime, long leaseUntil, long now) {
+        return flowTimerEntityRepository.claim(recordId, dueTime, leaseUntil, now) > 0;
+    }
+
+    @Override
+    public void release(long recordId, long dueTime) {
+        flowTimerEntityRepository.release(recordId, dueTime);
+    }
+
+    @Override
+    public void delete(long recordId) {
+        flowTimerEntityRepository.deleteByRecordId(recordId);
+    }
+
+    @Override
+    public void deleteByProcessId(String processId) {
+        flowTimerEntityRepository.deleteByProcessId(processId);
+    }
+
+    @Override
+    public List<FlowTimer> findDueTimers(long afterDueTime, long afterRecordId, long beforeTime, int limit) {
+        return flowTimerEntityRepository.findDueTimers(afterDueTime, afterRecordId, beforeTime, PageRequest.of(0, limit))
+                .stream()
+                .map(FlowTimerConvertor::convert)
+                .toList();
+    }
+}
@@ -10,6 +10,7 @@ import com.codingapi.example.infra.flow.jpa.FlowWorkEntityRepository;
 import com.codingapi.springboot.flow.domain.FlowNode;
 import com.codingapi.springboot.flow.domain.FlowRelation;
 import com.codingapi.springboot.flow.domain.FlowWork;
+import com.codingapi.springboot.flow.domain.FlowWorkChangeSet;
 import com.codingapi.springboot.flow.repository.FlowOperatorRepository;
 import com.codingapi.springboot.flow.repository.FlowWorkRepository;
 import lombok.AllArgsConstructor;
@@ -32,30 +33,7 @@ public class FlowWorkRepositoryImpl implements FlowWorkRepository {
         if (entity == null) {
             return null;
         }
-
-        List<FlowNode> flowNodes =
-                flowNodeEntityRepository.findFlowNodeEntityByWorkId(entity.getId())
-                        .stream().map(FlowNodeConvertor::convert).toList();
-
-        List<FlowRelation> flowRelations =
-                flowRelationEntityRepository.findFlowRelationEntityByWorkId(entity.getId())
-                        .stream().map(item -> FlowRelationConvertor.convert(item, flowNodes)).toList();
-
-        return new FlowWork(
-                entity.getId(),
-                entity.getCode(),
-                entity.getTitle(),
-                entity.getDescription(),
-                flowOperatorRepository.getFlowOperatorById(entity.getCreateUser()),
-                entity.getCreateTime(),
-                entity.getUpdateTime(),
-                entity.getEnable(),
-                entity.getSkipIfSameApprover() != null && entity.getSkipIfSameApprover(),
-                entity.getPostponedMax(),
-                flowNodes,
-                flowRelations,
-                entity.getSchema()
-        );
+        return toFlowWork(entity);
     }
 
 
@@ -65,7 +43,26 @@ public class FlowWorkRepositoryImpl implements FlowWorkRepository {
         if (entity == null) {
             return null;
         }
+        return toFlowWork(entity);
+    }
 
+    @Override
+    public Long getFlowWorkVersionByCode(String code) {
+        return flowWorkEntityRepository.getFlowWorkUpdateTimeByCode(code);
+    }
+
+    @Override
+    public Long getFlowWorkVersionById(long id) {
+        return flowWorkEntityRepository.getFlowWorkUpdateTimeById(id);
+    }
+
+    @Override
+    public List<FlowWork> findEnabledFlowWorks() {
+        return flowWorkEntityRepository.findFlowWorkEntityByEnable(true)
+                .stream().map(this::toFlowWork).toList();
+    }
+
+    private FlowWork toFlowWork(FlowWorkEntity entity) {
         List<FlowNode> flowNodes =
                 flowNodeEntityRepository.findFlowNodeEntityByWorkId(entity.getId())
                         .stream().map(FlowNodeConvertor::convert).toList();
@@ -98,18 +95,25 @@ public class FlowWorkRepositoryImpl implements FlowWorkRepository {
 
     @Override
     public void save(FlowWork flowWork) {
+        FlowWork stored = flowWork.getId() > 0 ? getFlowWorkById(flowWork.getId()) : null;
+
         FlowWorkEntity entity = FlowWorkConvertor.convert(flowWork);
         entity = flowWorkEntityRepository.save(entity);
         flowWork.setId(entity.getId());
 
-        flowNodeEntityRepository.deleteAllByWorkId(flowWork.getId());
-        flowRelationEntityRepository.deleteAllByWorkId(flowWork.getId());
-
-        if (!flowWork.getNodes().isEmpty()) {
-            flowNodeEntityRepository.saveAll(flowWork.getNodes().stream().map((item) -> FlowNodeConvertor.convert(item, flowWork.getId())).toList());
+        // 只写入变化的节点与关系
+        FlowWorkChangeSet changeSet = FlowWorkChangeSet.diff(stored, flowWork);
+        if (!changeSet.getDeleteRelationIds().isEmpty()) {
+            flowRelationEntityRepository.deleteAllById(changeSet.getDeleteRelationIds());
+        }
+        if (!changeSet.getDeleteNodeIds().isEmpty()) {
+            flowNodeEntityRepository.deleteAllById(changeSet.getDeleteNodeIds());
+        }
+        if (!changeSet.getSaveNodes().isEmpty()) {
+            flowNodeEntityRepository.saveAll(changeSet.getSaveNodes().stream().map((item) -> FlowNodeConvertor.convert(item, flowWork.getId())).toList());
         }
-        if (!flowWork.getRelations().isEmpty()) {
-            flowRelationEntityRepository.saveAll(flowWork.getRelations().stream().map((item) -> FlowRelationConvertor.convert(item, flowWork.getId())).toList());
+        if (!changeSet.getSaveRelations().isEmpty()) {
+            flowRelationEntityRepository.saveAll(changeSet.getSaveRelations().stream().map((item) -> FlowRelationConvertor.convert(item, flowWork.getId())).toList());
         }
     }
 }
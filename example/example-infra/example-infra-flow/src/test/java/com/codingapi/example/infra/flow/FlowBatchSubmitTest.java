@@ -0,0 +1,130 @@
+package com.codingapi.example.infra.flow;
+
+import com.codingapi.example.domain.user.repository.UserRepository;
+import com.codingapi.example.infra.flow.entity.FlowRecordEntity;
+import com.codingapi.example.infra.flow.form.LeaveForm;
+import com.codingapi.example.infra.flow.jpa.BindDataSnapshotEntityRepository;
+import com.codingapi.example.infra.flow.jpa.FlowRecordEntityRepository;
+import com.codingapi.example.infra.flow.repository.FlowRecordRepositoryImpl;
+import com.codingapi.example.infra.flow.user.FlowUser;
+import com.codingapi.springboot.flow.build.FlowWorkBuilder;
+import com.codingapi.springboot.flow.domain.FlowWork;
+import com.codingapi.springboot.flow.domain.Opinion;
+import com.codingapi.springboot.flow.em.ApprovalType;
+import com.codingapi.springboot.flow.matcher.OperatorMatcher;
+import com.codingapi.springboot.flow.pojo.FlowBatchSubmitResult;
+import com.codingapi.springboot.flow.record.FlowRecord;
+import com.codingapi.springboot.flow.repository.*;
+import com.codingapi.springboot.flow.service.FlowService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 批量提交时每条记录在独立的事务中提交，失败的记录回滚已写入的数据，其余记录正常提交，不能在调用方的事务中批量提交
+ */
+@SpringBootTest
+class FlowBatchSubmitTest {
+
+    @Autowired
+    private FlowWorkRepository flowWorkRepository;
+    @Autowired
+    private FlowRecordEntityRepository flowRecordEntityRepository;
+    @Autowired
+    private BindDataSnapshotEntityRepository bindDataSnapshotEntityRepository;
+    @Autowired
+    private FlowBindDataRepository flowBindDataRepository;
+    @Autowired
+    private FlowOperatorRepository flowOperatorRepository;
+    @Autowired
+    private FlowProcessRepository flowProcessRepository;
+    @Autowired
+    private FlowBackupRepository flowBackupRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // 写入流程记录后失败的流程
+    private volatile String failedProcessId;
+
+    @Test
+    void rollbackFailedItem() {
+        // 保存下一节点的流程记录前先写入当前记录，再按需失败
+        FlowRecordRepository flowRecordRepository = new FlowRecordRepositoryImpl(flowRecordEntityRepository, flowOperatorRepository) {
+            @Override
+            public void save(List<FlowRecord> records) {
+                super.save(records);
+                if (records.stream().anyMatch(record -> record.getProcessId().equals(failedProcessId))) {
+                    flowRecordEntityRepository.flush();
+                    throw new IllegalStateException("save flow record error");
+                }
+            }
+        };
+        FlowService flowService = new FlowService(flowWorkRepository, flowRecordRepository, flowBindDataRepository, flowOperatorRepository, flowProcessRepository, flowBackupRepository);
+        flowService.setTransactionManager(transactionManager);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        FlowUser user = new FlowUser(userRepository.getUserById(100));
+        FlowUser dept = new FlowUser(userRepository.getUserById(101));
+        FlowWork flowWork = FlowWorkBuilder.builder(user)
+                .title("请假流程")
+                .nodes()
+                .node("开始节点", "start", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .node("部门领导审批", "dept", "default", ApprovalType.UN_SIGN, OperatorMatcher.specifyOperatorMatcher(dept.getUserId()))
+                .node("结束节点", "over", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .relations()
+                .relation("部门领导审批", "start", "dept")
+                .relation("结束节点", "dept", "over")
+                .build();
+        transactionTemplate.executeWithoutResult(status -> flowWorkRepository.save(flowWork));
+
+        List<FlowRecord> records = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            LeaveForm leaveForm = new LeaveForm(0, "我要出去看看" + i, 1, "user100", System.currentTimeMillis());
+            records.add(transactionTemplate.execute(status ->
+                    flowService.startFlow(flowWork.getCode(), user, leaveForm, "发起流程").getRecords().get(0)));
+        }
+        FlowRecord failed = records.get(1);
+        failedProcessId = failed.getProcessId();
+        long snapshotCount = bindDataSnapshotEntityRepository.count();
+
+        List<Long> recordIds = records.stream().map(FlowRecord::getId).toList();
+        FlowBatchSubmitResult result = flowService.submitFlows(recordIds, user, Opinion.pass("同意"));
+        assertEquals(2, result.getSuccessCount());
+        assertEquals("save flow record error", result.getItem(failed.getId()).getMessage());
+
+        // 失败的记录回滚了已写入的表单快照与流程记录
+        FlowRecordEntity failedEntity = flowRecordEntityRepository.findById(failed.getId()).orElseThrow();
+        assertEquals("TODO", failedEntity.getFlowType());
+        assertEquals(failed.getSnapshotId(), failedEntity.getSnapshotId());
+        assertEquals(1, flowRecordEntityRepository.findFlowRecordEntityByProcessId(failedProcessId).size());
+        assertEquals(snapshotCount + 2, bindDataSnapshotEntityRepository.count());
+
+        for (FlowRecord record : List.of(records.get(0), records.get(2))) {
+            assertEquals("DONE", flowRecordEntityRepository.findById(record.getId()).orElseThrow().getFlowType());
+            List<FlowRecordEntity> todos = flowRecordEntityRepository.findTodoFlowRecordByProcessId(record.getProcessId());
+            assertEquals(1, todos.size());
+            assertEquals(dept.getUserId(), todos.get(0).getCurrentOperatorId());
+        }
+    }
+
+    @Test
+    void rejectCallerTransaction() {
+        FlowService flowService = new FlowService(flowWorkRepository, new FlowRecordRepositoryImpl(flowRecordEntityRepository, flowOperatorRepository),
+                flowBindDataRepository, flowOperatorRepository, flowProcessRepository, flowBackupRepository);
+        flowService.setTransactionManager(transactionManager);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        FlowUser user = new FlowUser(userRepository.getUserById(100));
+        // 调用方的事务不能回滚已提交的记录，直接失败
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status ->
+                flowService.submitFlows(List.of(1L), user, Opinion.pass("同意"))));
+    }
+}
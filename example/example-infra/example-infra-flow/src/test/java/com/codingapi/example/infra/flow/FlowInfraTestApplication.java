@@ -0,0 +1,53 @@
+package com.codingapi.example.infra.flow;
+
+import com.codingapi.example.domain.user.entity.User;
+import com.codingapi.example.domain.user.entity.UserMetric;
+import com.codingapi.example.domain.user.repository.UserRepository;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@SpringBootApplication
+public class FlowInfraTestApplication {
+
+    // 用户仓库在 example-infra-jpa 中实现，测试中使用内存实现
+    @Bean
+    public UserRepository userRepository() {
+        return new UserRepository() {
+
+            private final Map<Long, User> users = new ConcurrentHashMap<>();
+            private final AtomicLong ids = new AtomicLong();
+
+            @Override
+            public User getUserByUsername(String username) {
+                return users.values().stream().filter(user -> user.getUsername().equals(username)).findFirst().orElse(null);
+            }
+
+            @Override
+            public User getUserById(long id) {
+                return users.computeIfAbsent(id, key -> {
+                    User user = new User();
+                    user.setId(key);
+                    user.setUserMetric(new UserMetric("user" + key, "user" + key, "user" + key));
+                    return user;
+                });
+            }
+
+            @Override
+            public void save(User user) {
+                if (user.getId() == 0) {
+                    user.setId(ids.incrementAndGet());
+                }
+                users.put(user.getId(), user);
+            }
+
+            @Override
+            public void delete(long id) {
+                users.remove(id);
+            }
+        };
+    }
+}
@@ -0,0 +1,154 @@
+package com.codingapi.example.infra.flow.query;
+
+import com.codingapi.example.domain.user.repository.UserRepository;
+import com.codingapi.example.infra.flow.repository.FlowRecordRepositoryImpl;
+import com.codingapi.example.infra.flow.user.FlowUser;
+import com.codingapi.springboot.flow.em.FlowStatus;
+import com.codingapi.springboot.flow.em.FlowType;
+import com.codingapi.springboot.flow.query.FlowRecordCursor;
+import com.codingapi.springboot.flow.record.FlowRecord;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 游标分页查询与分页查询的结果一致，记录的创建时间相同时不重复也不遗漏
+ */
+@SpringBootTest
+@Transactional
+class FlowRecordQueryImplTest {
+
+    @Autowired
+    private FlowRecordQueryImpl flowRecordQuery;
+    @Autowired
+    private FlowRecordRepositoryImpl flowRecordRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private final long createTime = System.currentTimeMillis();
+
+    private final PageRequest pageRequest = PageRequest.of(0, 1000);
+
+    private FlowUser user;
+    private FlowUser other;
+
+    // 所有记录使用相同的创建时间
+    private FlowRecord createRecord(FlowUser operator, String processId, String workCode, FlowType flowType) {
+        FlowRecord record = new FlowRecord();
+        record.setProcessId(processId);
+        record.setWorkCode(workCode);
+        record.setNodeCode("dept");
+        record.setPreId(1);
+        record.setTitle("请假流程");
+        record.setFlowType(flowType);
+        record.setFlowStatus(FlowStatus.RUNNING);
+        record.setCurrentOperator(operator);
+        record.setCreateOperator(operator);
+        record.setCreateTime(createTime);
+        return record;
+    }
+
+    @BeforeEach
+    void setUp() {
+        user = new FlowUser(userRepository.getUserById(1));
+        other = new FlowUser(userRepository.getUserById(2));
+        List<FlowRecord> records = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            String processId = "process-" + i;
+            String workCode = i % 3 == 0 ? "leave" : "expense";
+            FlowRecord start = createRecord(user, processId, workCode, FlowType.DONE);
+            start.setPreId(0);
+            start.setNodeCode("start");
+            start.setRead(true);
+            records.add(start);
+
+            FlowRecord todo = createRecord(i % 4 == 0 ? other : user, processId, workCode, FlowType.TODO);
+            todo.setRead(i % 2 == 0);
+            todo.setMergeable(i % 5 == 0);
+            todo.setTimeoutTime(i % 3 == 1 ? createTime - 1000 : 0);
+            todo.setPostponedCount(i % 3 == 2 ? 1 : 0);
+            records.add(todo);
+
+            if (i % 7 == 0) {
+                records.add(createRecord(user, processId, workCode, FlowType.DELETE));
+            }
+        }
+        flowRecordRepository.save(records);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * 按游标翻页读取全部数据，与分页查询的结果比较
+     */
+    private void assertCursor(Function<PageRequest, Page<FlowRecord>> pageQuery, Function<FlowRecordCursor, Slice<FlowRecord>> cursorQuery) {
+        List<Long> expected = pageQuery.apply(pageRequest).map(FlowRecord::getId).getContent();
+        assertFalse(expected.isEmpty());
+
+        List<Long> ids = new ArrayList<>();
+        FlowRecordCursor cursor = FlowRecordCursor.first(4);
+        while (cursor != null) {
+            Slice<FlowRecord> slice = cursorQuery.apply(cursor);
+            assertTrue(slice.getContent().size() <= 4);
+            slice.getContent().forEach(record -> ids.add(record.getId()));
+            cursor = cursor.next(slice);
+        }
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+        assertEquals(expected, ids);
+    }
+
+    @Test
+    void cursorQueries() {
+        long operatorId = user.getUserId();
+        assertCursor(page -> flowRecordQuery.findTodoByOperatorId(operatorId, page),
+                cursor -> flowRecordQuery.findTodoByOperatorId(operatorId, cursor));
+        assertCursor(page -> flowRecordQuery.findTodoByOperatorId(operatorId, "leave", page),
+                cursor -> flowRecordQuery.findTodoByOperatorId(operatorId, "leave", cursor));
+        assertCursor(page -> flowRecordQuery.findUnReadByOperatorId(operatorId, page),
+                cursor -> flowRecordQuery.findUnReadByOperatorId(operatorId, cursor));
+        assertCursor(page -> flowRecordQuery.findUnReadByOperatorId(operatorId, "expense", page),
+                cursor -> flowRecordQuery.findUnReadByOperatorId(operatorId, "expense", cursor));
+        assertCursor(page -> flowRecordQuery.findDoneByOperatorId(operatorId, page),
+                cursor -> flowRecordQuery.findDoneByOperatorId(operatorId, cursor));
+        assertCursor(page -> flowRecordQuery.findDoneByOperatorId(operatorId, "leave", page),
+                cursor -> flowRecordQuery.findDoneByOperatorId(operatorId, "leave", cursor));
+        assertCursor(page -> flowRecordQuery.findInitiatedByOperatorId(operatorId, page),
+                cursor -> flowRecordQuery.findInitiatedByOperatorId(operatorId, cursor));
+        assertCursor(page -> flowRecordQuery.findInitiatedByOperatorId(operatorId, "expense", page),
+                cursor -> flowRecordQuery.findInitiatedByOperatorId(operatorId, "expense", cursor));
+        assertCursor(page -> flowRecordQuery.findTimeoutTodoByOperatorId(operatorId, page),
+                cursor -> flowRecordQuery.findTimeoutTodoByOperatorId(operatorId, cursor));
+        assertCursor(page -> flowRecordQuery.findTimeoutTodoByOperatorId(operatorId, "expense", page),
+                cursor -> flowRecordQuery.findTimeoutTodoByOperatorId(operatorId, "expense", cursor));
+        assertCursor(page -> flowRecordQuery.findPostponedTodoByOperatorId(operatorId, page),
+                cursor -> flowRecordQuery.findPostponedTodoByOperatorId(operatorId, cursor));
+        assertCursor(page -> flowRecordQuery.findPostponedTodoByOperatorId(operatorId, "expense", page),
+                cursor -> flowRecordQuery.findPostponedTodoByOperatorId(operatorId, "expense", cursor));
+    }
+
+    @Test
+    void cursorLastPage() {
+        long operatorId = user.getUserId();
+        List<Long> ids = flowRecordQuery.findTodoByOperatorId(operatorId, pageRequest).map(FlowRecord::getId).getContent();
+        // 从倒数第二条记录之后查询，只剩最后一条且没有下一页
+        Slice<FlowRecord> slice = flowRecordQuery.findTodoByOperatorId(operatorId, FlowRecordCursor.of(ids.get(ids.size() - 2), 4));
+        assertEquals(List.of(ids.get(ids.size() - 1)), slice.map(FlowRecord::getId).getContent());
+        assertFalse(slice.hasNext());
+        assertNull(FlowRecordCursor.first(4).next(slice));
+    }
+}
@@ -0,0 +1,61 @@
+package com.codingapi.example.infra.flow.repository;
+
+import com.codingapi.springboot.flow.event.FlowApprovalEvent;
+import com.codingapi.springboot.flow.event.FlowEventMessage;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 发件箱消息持久化，消息id由数据库生成，重新加载的消息保留节点、流程记录id、操作者id、表单快照id与投递次数
+ */
+@SpringBootTest
+@Transactional
+class FlowEventOutboxRepositoryImplTest {
+
+    @Autowired
+    private FlowEventOutboxRepositoryImpl flowEventOutboxRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void saveAndReload() {
+        FlowEventMessage first = new FlowEventMessage(0, "node-1", "process-1", FlowApprovalEvent.STATE_CREATE, 11, 0, 21, 999, 0);
+        FlowEventMessage second = new FlowEventMessage(0, "node-1", "process-1", FlowApprovalEvent.STATE_TODO, 10, 1, 20, 1000, 0);
+        FlowEventMessage other = new FlowEventMessage(0, "node-2", "process-2", FlowApprovalEvent.STATE_TODO, 12, 1, 22, 1001, 0);
+        flowEventOutboxRepository.save(first);
+        flowEventOutboxRepository.save(second);
+        flowEventOutboxRepository.save(other);
+        // 消息id由数据库生成
+        assertTrue(first.getId() > 0);
+        assertTrue(second.getId() > first.getId());
+        assertTrue(other.getId() > second.getId());
+        flowEventOutboxRepository.update(new FlowEventMessage(second.getId(), "node-1", "process-1", FlowApprovalEvent.STATE_TODO, 10, 1, 20, 1000, 3));
+        entityManager.clear();
+
+        // 只加载本节点的消息
+        List<FlowEventMessage> messages = flowEventOutboxRepository.findByOwner("node-1");
+        assertEquals(List.of(first.getId(), second.getId()), messages.stream().map(FlowEventMessage::getId).toList());
+        FlowEventMessage message = messages.get(1);
+        assertEquals("node-1", message.getOwner());
+        assertEquals("process-1", message.getProcessId());
+        assertEquals(FlowApprovalEvent.STATE_TODO, message.getState());
+        assertEquals(10, message.getRecordId());
+        assertEquals(1, message.getOperatorId());
+        assertEquals(20, message.getSnapshotId());
+        assertEquals(1000, message.getCreateTime());
+        assertEquals(3, message.getAttempts());
+        assertNull(message.getEvent());
+        assertEquals(List.of(other.getId()), flowEventOutboxRepository.findByOwner("node-2").stream().map(FlowEventMessage::getId).toList());
+
+        flowEventOutboxRepository.delete(first.getId());
+        entityManager.clear();
+        assertEquals(List.of(second.getId()), flowEventOutboxRepository.findByOwner("node-1").stream().map(FlowEventMessage::getId).toList());
+    }
+}
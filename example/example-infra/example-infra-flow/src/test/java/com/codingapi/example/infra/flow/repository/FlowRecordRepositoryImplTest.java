@@ -0,0 +1,137 @@
+package com.codingapi.example.infra.flow.repository;
+
+import com.codingapi.example.domain.user.repository.UserRepository;
+import com.codingapi.example.infra.flow.entity.FlowRecordEntity;
+import com.codingapi.example.infra.flow.jpa.FlowRecordEntityRepository;
+import com.codingapi.example.infra.flow.user.FlowUser;
+import com.codingapi.springboot.flow.em.FlowStatus;
+import com.codingapi.springboot.flow.em.FlowType;
+import com.codingapi.springboot.flow.record.FlowRecord;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 批量修改流程记录，每个批量操作只执行一条update语句
+ */
+@SpringBootTest
+@Transactional
+class FlowRecordRepositoryImplTest {
+
+    @Autowired
+    private FlowRecordRepositoryImpl flowRecordRepository;
+    @Autowired
+    private FlowRecordEntityRepository flowRecordEntityRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // 创建流程记录，前deleted条为已删除的记录
+    private List<FlowRecord> createRecords(String processId, int count, int deleted) {
+        FlowUser user = new FlowUser(userRepository.getUserById(1));
+        List<FlowRecord> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            FlowRecord record = new FlowRecord();
+            record.setProcessId(processId);
+            record.setWorkCode("leave");
+            record.setNodeCode("dept");
+            record.setTitle("请假流程");
+            record.setFlowType(i < deleted ? FlowType.DELETE : FlowType.TODO);
+            record.setFlowStatus(FlowStatus.RUNNING);
+            record.setCurrentOperator(user);
+            record.setCreateOperator(user);
+            record.setCreateTime(System.currentTimeMillis());
+            records.add(record);
+        }
+        flowRecordRepository.save(records);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        return records;
+    }
+
+    private List<FlowRecordEntity> findEntities(List<FlowRecord> records) {
+        return flowRecordEntityRepository.findAllById(records.stream().map(FlowRecord::getId).toList());
+    }
+
+    @Test
+    void updateFlowTypeByProcessId() {
+        List<FlowRecord> records = createRecords("process-1", 200, 5);
+        List<FlowRecord> others = createRecords("process-2", 10, 0);
+
+        flowRecordRepository.updateFlowTypeByProcessId("process-1", FlowType.DONE);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        List<FlowRecordEntity> entities = findEntities(records);
+        assertEquals(200, entities.size());
+        assertEquals(5, entities.stream().filter(entity -> entity.getFlowType().equals("DELETE")).count());
+        assertEquals(195, entities.stream().filter(entity -> entity.getFlowType().equals("DONE")).count());
+        assertTrue(entities.stream().filter(entity -> entity.getFlowType().equals("DONE")).allMatch(entity -> entity.getUpdateTime() > 0));
+        assertTrue(findEntities(others).stream().allMatch(entity -> entity.getFlowType().equals("TODO")));
+
+        statistics.clear();
+        flowRecordRepository.voidedFlowRecordByProcessId("process-1");
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(findEntities(records).stream().allMatch(entity -> entity.getFlowType().equals("DELETE")));
+        assertTrue(flowRecordRepository.findFlowRecordByProcessId("process-1").isEmpty());
+    }
+
+    @Test
+    void updateFlowTypeByIds() {
+        List<FlowRecord> records = createRecords("process-1", 200, 5);
+        List<Long> ids = records.subList(0, 100).stream().map(FlowRecord::getId).toList();
+
+        flowRecordRepository.updateFlowTypeByIds(ids, FlowType.DONE);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        List<FlowRecordEntity> entities = findEntities(records);
+        assertEquals(95, entities.stream().filter(entity -> entity.getFlowType().equals("DONE")).count());
+        assertEquals(100, entities.stream().filter(entity -> entity.getFlowType().equals("TODO")).count());
+        assertEquals(5, entities.stream().filter(entity -> entity.getFlowType().equals("DELETE")).count());
+    }
+
+    @Test
+    void readFlowRecordByIds() {
+        List<FlowRecord> records = createRecords("process-1", 200, 5);
+
+        flowRecordRepository.readFlowRecordByIds(records.stream().map(FlowRecord::getId).toList());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        List<FlowRecordEntity> entities = findEntities(records);
+        assertEquals(195, entities.stream().filter(entity -> entity.getRead() && entity.getReadTime() > 0).count());
+        assertTrue(entities.stream().filter(entity -> entity.getFlowType().equals("DELETE")).noneMatch(FlowRecordEntity::getRead));
+    }
+
+    @Test
+    void finishFlowRecordByProcessId() {
+        List<FlowRecord> records = createRecords("process-1", 200, 5);
+
+        flowRecordRepository.finishFlowRecordByProcessId("process-1");
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        List<FlowRecordEntity> entities = findEntities(records);
+        assertEquals(195, entities.stream().filter(entity -> entity.getFlowStatus().equals("FINISH") && entity.getFinishTime() > 0).count());
+        assertEquals(5, entities.stream().filter(entity -> entity.getFlowStatus().equals("RUNNING")).count());
+    }
+}
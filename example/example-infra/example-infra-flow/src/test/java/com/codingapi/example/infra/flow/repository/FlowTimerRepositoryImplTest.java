@@ -0,0 +1,46 @@
+package com.codingapi.example.infra.flow.repository;
+
+import com.codingapi.springboot.flow.timer.FlowTimer;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 领取定时器的条件更新，同一时刻只有一个节点能领取成功
+ */
+@SpringBootTest
+@Transactional
+class FlowTimerRepositoryImplTest {
+
+    @Autowired
+    private FlowTimerRepositoryImpl flowTimerRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void claim() {
+        flowTimerRepository.save(new FlowTimer(1, "process-1", "dept", 1000));
+        entityManager.flush();
+
+        assertTrue(flowTimerRepository.claim(1, 1000, 2000, 1500));
+        // 租约未过期、到期时间不同或定时器不存在时领取失败
+        assertFalse(flowTimerRepository.claim(1, 1000, 2500, 1600));
+        assertFalse(flowTimerRepository.claim(1, 900, 3000, 2500));
+        assertFalse(flowTimerRepository.claim(2, 1000, 3000, 2500));
+        // 租约过期后可以重新领取
+        assertTrue(flowTimerRepository.claim(1, 1000, 3000, 2000));
+
+        flowTimerRepository.release(1, 1000);
+        assertTrue(flowTimerRepository.claim(1, 1000, 4000, 2100));
+
+        // 重新保存的定时器未被领取
+        entityManager.clear();
+        flowTimerRepository.save(new FlowTimer(1, "process-1", "dept", 5000));
+        entityManager.flush();
+        assertTrue(flowTimerRepository.claim(1, 5000, 6000, 2200));
+    }
+}
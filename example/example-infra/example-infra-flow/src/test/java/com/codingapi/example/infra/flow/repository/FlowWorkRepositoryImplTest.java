@@ -0,0 +1,102 @@
+package com.codingapi.example.infra.flow.repository;
+
+import com.codingapi.example.domain.user.repository.UserRepository;
+import com.codingapi.example.infra.flow.entity.FlowNodeEntity;
+import com.codingapi.example.infra.flow.entity.FlowRelationEntity;
+import com.codingapi.example.infra.flow.jpa.FlowNodeEntityRepository;
+import com.codingapi.example.infra.flow.jpa.FlowRelationEntityRepository;
+import com.codingapi.example.infra.flow.user.FlowUser;
+import com.codingapi.springboot.flow.build.FlowWorkBuilder;
+import com.codingapi.springboot.flow.domain.FlowNode;
+import com.codingapi.springboot.flow.domain.FlowRelation;
+import com.codingapi.springboot.flow.domain.FlowWork;
+import com.codingapi.springboot.flow.em.ApprovalType;
+import com.codingapi.springboot.flow.matcher.OperatorMatcher;
+import com.codingapi.springboot.framework.utils.RandomGenerator;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 增量保存流程设计，重新新增的节点保存后关系指向新的节点id
+ */
+@SpringBootTest
+@Transactional
+class FlowWorkRepositoryImplTest {
+
+    @Autowired
+    private FlowWorkRepositoryImpl flowWorkRepository;
+    @Autowired
+    private FlowNodeEntityRepository flowNodeEntityRepository;
+    @Autowired
+    private FlowRelationEntityRepository flowRelationEntityRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void reinsertNode() {
+        FlowUser user = new FlowUser(userRepository.getUserById(1));
+        FlowWork flowWork = FlowWorkBuilder.builder(user)
+                .title("请假流程")
+                .nodes()
+                .node("开始节点", "start", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .node("部门领导审批", "dept", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .node("总经理审批", "manager", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .node("结束节点", "over", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .relations()
+                .relation("部门领导审批", "start", "dept")
+                .relation("总经理审批", "dept", "manager")
+                .relation("结束节点", "manager", "over")
+                .build();
+        flowWorkRepository.save(flowWork);
+        entityManager.flush();
+        entityManager.clear();
+
+        // 节点编码不变，id变化
+        FlowWork stored = flowWorkRepository.getFlowWorkById(flowWork.getId());
+        FlowNode dept = stored.getNodeByCode("dept");
+        FlowNode newDept = new FlowNode(RandomGenerator.generateUUID(), dept.getName(), dept.getCode(), dept.getView(), dept.getType(),
+                dept.getApprovalType(), dept.getTitleGenerator(), dept.getOperatorMatcher(), dept.getTimeout(), dept.getErrTrigger(),
+                dept.isEditable(), dept.isMergeable(), dept.getButtons());
+        FlowWork changed = new FlowWork(user);
+        changed.setId(stored.getId());
+        changed.setCode(stored.getCode());
+        changed.setTitle(stored.getTitle());
+        stored.getNodes().forEach(node -> changed.addNode(node == dept ? newDept : node));
+        stored.getRelations().forEach(relation -> changed.addRelation(new FlowRelation(relation.getId(), relation.getName(),
+                relation.getSource() == dept ? newDept : relation.getSource(),
+                relation.getTarget() == dept ? newDept : relation.getTarget(),
+                relation.getOutTrigger(), relation.getOrder(), relation.isBack())));
+        flowWorkRepository.save(changed);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<String> nodeIds = flowNodeEntityRepository.findFlowNodeEntityByWorkId(flowWork.getId()).stream().map(FlowNodeEntity::getId).toList();
+        assertEquals(4, nodeIds.size());
+        assertTrue(nodeIds.contains(newDept.getId()));
+        assertFalse(nodeIds.contains(dept.getId()));
+
+        Map<String, FlowRelationEntity> relations = flowRelationEntityRepository.findFlowRelationEntityByWorkId(flowWork.getId())
+                .stream().collect(Collectors.toMap(FlowRelationEntity::getName, relation -> relation));
+        assertEquals(3, relations.size());
+        assertEquals(newDept.getId(), relations.get("部门领导审批").getTargetId());
+        assertEquals(newDept.getId(), relations.get("总经理审批").getSourceId());
+
+        FlowWork reloaded = flowWorkRepository.getFlowWorkById(flowWork.getId());
+        for (FlowRelation relation : reloaded.getRelations()) {
+            assertNotNull(relation.getSource());
+            assertNotNull(relation.getTarget());
+        }
+        assertEquals(newDept.getId(), reloaded.getNodeByCode("dept").getId());
+    }
+}
@@ -61,6 +61,27 @@ public class DataAuthorizationContext {
         return value;
     }
 
+    /**
+     * 是否需要对列进行权限过滤
+     * @param interceptState 拦截状态
+     * @param tableName 表名（或别名）
+     * @param columnName 列名 （或别名）
+     * @return 存在可能过滤该列的过滤器时返回true
+     */
+    public boolean supportColumn(SQLInterceptState interceptState, String tableName, String columnName) {
+        if (interceptState != null && interceptState.hasIntercept()) {
+            String realTableName = interceptState.getTableName(tableName);
+            String realColumnName = interceptState.getColumnName(tableName,columnName);
+
+            for (DataAuthorizationFilter filter : filters) {
+                if (filter.supportColumn(realTableName, realColumnName)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * 行权限
      * @param tableName 表名
@@ -78,4 +99,20 @@ public class DataAuthorizationContext {
         return null;
     }
 
+    /**
+     * 行权限指纹，由全部过滤器的指纹组成
+     * @return 指纹，存在不支持缓存的过滤器时返回null
+     */
+    public String rowAuthorizationFingerprint() {
+        StringBuilder fingerprint = new StringBuilder();
+        for (DataAuthorizationFilter filter : filters) {
+            String value = filter.rowAuthorizationFingerprint();
+            if (value == null) {
+                return null;
+            }
+            fingerprint.append(value.length()).append(':').append(value);
+        }
+        return fingerprint.toString();
+    }
+
 }
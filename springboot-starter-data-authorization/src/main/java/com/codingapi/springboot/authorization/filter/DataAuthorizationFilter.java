@@ -34,6 +34,17 @@ public interface DataAuthorizationFilter {
      */
     boolean supportColumnAuthorization(String tableName, String columnName, Object value);
 
+    /**
+     * 是否可能对该列进行权限过滤，在ResultSet创建时每列调用一次
+     * 返回false时该列的读取不再经过此过滤器
+     * @param tableName 表名
+     * @param columnName 列名
+     * @return 是否可能过滤
+     */
+    default boolean supportColumn(String tableName, String columnName) {
+        return true;
+    }
+
     /**
      * 是否支持行权限过滤
      * @param tableName 表名
@@ -41,4 +52,13 @@ public interface DataAuthorizationFilter {
      * @return 是否支持
      */
     boolean supportRowAuthorization(String tableName, String tableAlias);
+
+    /**
+     * 行权限指纹
+     * 行权限条件依赖的数据（如当前用户、部门）相同时应返回相同的指纹
+     * @return 指纹，返回null时不缓存SQL的拦截结果
+     */
+    default String rowAuthorizationFingerprint() {
+        return null;
+    }
 }
@@ -13,6 +13,14 @@ import java.sql.*;
  */
 public interface ColumnHandler {
 
+    /**
+     * 是否需要处理该列，在ResultSet创建时每列调用一次
+     * 返回false时该列的读取将直接返回原始值
+     */
+    default boolean supportColumn(SQLInterceptState interceptState, int columnIndex, String tableName, String columnName) {
+        return true;
+    }
+
     String getString(SQLInterceptState interceptState, int columnIndex, String tableName, String columnName, String value);
 
     boolean getBoolean(SQLInterceptState interceptState, int columnIndex, String tableName, String columnName, boolean value);
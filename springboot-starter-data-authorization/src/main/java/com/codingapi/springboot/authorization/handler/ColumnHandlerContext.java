@@ -26,6 +26,10 @@ public class ColumnHandlerContext {
     private ColumnHandler columnHandler;
 
 
+    public boolean supportColumn(SQLInterceptState interceptState, int columnIndex, String tableName, String columnName) {
+        return columnHandler.supportColumn(interceptState, columnIndex, tableName, columnName);
+    }
+
     public String getString(SQLInterceptState interceptState, int columnIndex, String tableName, String columnName, String value) {
         return columnHandler.getString(interceptState, columnIndex, tableName, columnName, value);
     }
@@ -14,6 +14,11 @@ import java.sql.*;
  */
 public class DefaultColumnHandler implements ColumnHandler {
 
+    @Override
+    public boolean supportColumn(SQLInterceptState interceptState, int columnIndex, String tableName, String columnName) {
+        return DataAuthorizationContext.getInstance().supportColumn(interceptState, tableName, columnName);
+    }
+
     @Override
     public String getString(SQLInterceptState interceptState, int columnIndex, String tableName, String columnName, String value) {
         return DataAuthorizationContext.getInstance().columnAuthorization(interceptState,tableName, columnName, value);
@@ -8,4 +8,9 @@ public class DefaultRowHandler implements RowHandler {
     public Condition handler(String subSql, String tableName, String tableAlias) {
         return DataAuthorizationContext.getInstance().rowAuthorization(tableName, tableAlias);
     }
+
+    @Override
+    public String fingerprint() {
+        return DataAuthorizationContext.getInstance().rowAuthorizationFingerprint();
+    }
 }
@@ -15,5 +15,14 @@ public interface RowHandler {
      */
     Condition handler(String subSql, String tableName, String tableAlias);
 
+    /**
+     * 行权限指纹
+     * 相同指纹下同一条SQL拦截后的结果一致时，SQL的拦截结果将被缓存复用
+     *
+     * @return 指纹，返回null时不缓存
+     */
+    default String fingerprint() {
+        return null;
+    }
 
 }
@@ -0,0 +1,180 @@
+package com.codingapi.springboot.authorization.interceptor;
+
+import com.codingapi.springboot.authorization.properties.DataAuthorizationPropertyContext;
+import lombok.Getter;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * SQL拦截结果缓存
+ * 以原始SQL与行权限指纹作为key，缓存改写后的SQL与表别名信息，避免重复解析SQL。
+ * 读取不加锁，每个缓存项记录最近访问的序号，超出容量时由一个线程批量淘汰最久未访问的缓存项。
+ */
+public class SQLRewriteCache {
+
+    @Getter
+    private final static SQLRewriteCache instance = new SQLRewriteCache();
+
+    private final ConcurrentHashMap<Key, Entry> cache = new ConcurrentHashMap<>(256);
+    // 访问序号
+    private final AtomicLong clock = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    // 命中次数
+    private final LongAdder hitCount = new LongAdder();
+    // 未命中并重新改写SQL的次数，非查询语句不计入
+    private final LongAdder missCount = new LongAdder();
+    // 淘汰次数
+    private final LongAdder evictionCount = new LongAdder();
+
+    private SQLRewriteCache() {
+    }
+
+    /**
+     * 是否开启缓存
+     */
+    public boolean isEnabled() {
+        return DataAuthorizationPropertyContext.getInstance().sqlCacheSize() > 0;
+    }
+
+    /**
+     * 获取缓存的拦截结果
+     * @param sql 原始SQL
+     * @param fingerprint 行权限指纹
+     * @return 拦截结果，不存在时返回null
+     */
+    public SQLInterceptState get(String sql, String fingerprint) {
+        Entry entry = cache.get(new Key(sql, fingerprint));
+        if (entry == null) {
+            return null;
+        }
+        entry.access = clock.incrementAndGet();
+        hitCount.increment();
+        return entry.state;
+    }
+
+    /**
+     * 缓存拦截结果
+     * @param sql 原始SQL
+     * @param fingerprint 行权限指纹
+     * @param state 拦截结果
+     */
+    public void put(String sql, String fingerprint, SQLInterceptState state) {
+        missCount.increment();
+        cache.put(new Key(sql, fingerprint), new Entry(state, clock.incrementAndGet()));
+        int maxSize = DataAuthorizationPropertyContext.getInstance().sqlCacheSize();
+        if (cache.size() > maxSize) {
+            evict(maxSize);
+        }
+    }
+
+    // 淘汰最久未访问的缓存项，额外淘汰容量的1/8以减少淘汰次数，淘汰中时其他线程直接返回
+    private void evict(int maxSize) {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int overflow = cache.size() - maxSize;
+            if (overflow <= 0) {
+                return;
+            }
+            int count = Math.min(cache.size(), overflow + maxSize / 8);
+            cache.entrySet().stream()
+                    .sorted(Comparator.comparingLong(item -> item.getValue().access))
+                    .limit(count)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(key -> {
+                        if (cache.remove(key) != null) {
+                            evictionCount.increment();
+                        }
+                    });
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * 缓存命中率
+     */
+    public double getHitRate() {
+        long hit = getHitCount();
+        long total = hit + getMissCount();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    /**
+     * 清空缓存与统计数据
+     * 行权限规则发生变化且指纹无法体现时需要清空缓存
+     */
+    public void clear() {
+        cache.clear();
+        hitCount.reset();
+        missCount.reset();
+        evictionCount.reset();
+    }
+
+
+    private static final class Entry {
+
+        private final SQLInterceptState state;
+        // 最近访问序号，并发访问时允许丢失更新
+        private volatile long access;
+
+        private Entry(SQLInterceptState state, long access) {
+            this.state = state;
+            this.access = access;
+        }
+    }
+
+    private static final class Key {
+
+        private final String sql;
+        private final String fingerprint;
+        private final int hash;
+
+        private Key(String sql, String fingerprint) {
+            this.sql = sql;
+            this.fingerprint = fingerprint;
+            this.hash = 31 * sql.hashCode() + fingerprint.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key other)) {
+                return false;
+            }
+            return hash == other.hash && sql.equals(other.sql) && Objects.equals(fingerprint, other.fingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.codingapi.springboot.authorization.interceptor;
 
+import com.codingapi.springboot.authorization.handler.RowHandlerContext;
 import lombok.Getter;
 
 import java.sql.SQLException;
@@ -32,12 +33,25 @@ public class SQLRunningContext {
             return SQLInterceptState.unIntercept(sql);
         }
         try {
+            // 在拦截器中执行的查询操作将不会被拦截
+            skipInterceptor.set(true);
             if (sqlInterceptor.beforeHandler(sql)) {
-                // 在拦截器中执行的查询操作将不会被拦截
-                skipInterceptor.set(true);
+                SQLRewriteCache sqlRewriteCache = SQLRewriteCache.getInstance();
+                String fingerprint = sqlRewriteCache.isEnabled() ? RowHandlerContext.getInstance().getRowHandler().fingerprint() : null;
+                if (fingerprint != null) {
+                    SQLInterceptState interceptState = sqlRewriteCache.get(sql, fingerprint);
+                    if (interceptState != null) {
+                        sqlInterceptor.afterHandler(sql, interceptState.getSql(), null);
+                        return interceptState;
+                    }
+                }
                 DataPermissionSQL dataPermissionSQL = sqlInterceptor.postHandler(sql);
                 sqlInterceptor.afterHandler(sql, dataPermissionSQL.getNewSql(), null);
-                return SQLInterceptState.intercept(sql, dataPermissionSQL.getNewSql(), dataPermissionSQL.getAliasContext());
+                SQLInterceptState interceptState = SQLInterceptState.intercept(sql, dataPermissionSQL.getNewSql(), dataPermissionSQL.getAliasContext());
+                if (fingerprint != null) {
+                    sqlRewriteCache.put(sql, fingerprint, interceptState);
+                }
+                return interceptState;
             }
         } catch (SQLException exception) {
             sqlInterceptor.afterHandler(sql, null, exception);
@@ -22,14 +22,46 @@ public class ResultSetProxy implements ResultSet {
 
     private final Map<String, Integer> columnLabelMap = new HashMap<>();
 
+    // 列读取计划，下标与columnIndex一致
+    private final ColumnPlan[] columnPlans;
+
     public ResultSetProxy(ResultSet resultSet, SQLInterceptState interceptState) throws SQLException {
         this.resultSet = resultSet;
         this.metaData = resultSet.getMetaData();
         this.interceptState = interceptState;
         int columnCount = metaData.getColumnCount();
+        this.columnPlans = new ColumnPlan[columnCount + 1];
         for (int i = 1; i <= columnCount; i++) {
             String columnLabel = metaData.getColumnLabel(i);
             columnLabelMap.put(columnLabel.toUpperCase(), i);
+            String tableName = metaData.getTableName(i);
+            String columnName = metaData.getColumnName(i);
+            boolean passthrough = !ColumnHandlerContext.getInstance().supportColumn(interceptState, i, tableName, columnName);
+            columnPlans[i] = new ColumnPlan(tableName, columnName, passthrough);
+        }
+    }
+
+    private ColumnPlan getColumnPlan(int columnIndex) throws SQLException {
+        if (columnIndex < 1 || columnIndex >= columnPlans.length) {
+            throw new SQLException("Invalid column index: " + columnIndex);
+        }
+        return columnPlans[columnIndex];
+    }
+
+    /**
+     * 列读取计划
+     * 在ResultSet创建时解析一次列的表名与列名，不需要权限处理的列直接读取原始值
+     */
+    private static final class ColumnPlan {
+
+        private final String tableName;
+        private final String columnName;
+        private final boolean passthrough;
+
+        private ColumnPlan(String tableName, String columnName, boolean passthrough) {
+            this.tableName = tableName;
+            this.columnName = columnName;
+            this.passthrough = passthrough;
         }
     }
 
@@ -50,246 +82,310 @@ public class ResultSetProxy implements ResultSet {
 
     @Override
     public String getString(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getString(interceptState, columnIndex, tableName, columnName, resultSet.getString(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getString(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getString(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getString(columnIndex));
     }
 
     @Override
     public boolean getBoolean(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getBoolean(interceptState, columnIndex, tableName, columnName, resultSet.getBoolean(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getBoolean(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getBoolean(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getBoolean(columnIndex));
     }
 
     @Override
     public byte getByte(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getByte(interceptState, columnIndex, tableName, columnName, resultSet.getByte(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getByte(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getByte(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getByte(columnIndex));
     }
 
     @Override
     public short getShort(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getShort(interceptState, columnIndex, tableName, columnName, resultSet.getShort(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getShort(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getShort(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getShort(columnIndex));
     }
 
     @Override
     public int getInt(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getInt(interceptState, columnIndex, tableName, columnName, resultSet.getInt(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getInt(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getInt(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getInt(columnIndex));
     }
 
     @Override
     public long getLong(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getLong(interceptState, columnIndex, tableName, columnName, resultSet.getLong(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getLong(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getLong(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getLong(columnIndex));
     }
 
     @Override
     public float getFloat(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getFloat(interceptState, columnIndex, tableName, columnName, resultSet.getFloat(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getFloat(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getFloat(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getFloat(columnIndex));
     }
 
     @Override
     public double getDouble(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getDouble(interceptState, columnIndex, tableName, columnName, resultSet.getDouble(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getDouble(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getDouble(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getDouble(columnIndex));
     }
 
     @Deprecated(since = "1.2")
     @Override
     public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getBigDecimal(interceptState, columnIndex, tableName, columnName, resultSet.getBigDecimal(columnIndex, scale));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getBigDecimal(columnIndex, scale);
+        }
+        return ColumnHandlerContext.getInstance().getBigDecimal(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getBigDecimal(columnIndex, scale));
     }
 
     @Override
     public byte[] getBytes(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getBytes(interceptState, columnIndex, tableName, columnName, resultSet.getBytes(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getBytes(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getBytes(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getBytes(columnIndex));
     }
 
     @Override
     public Date getDate(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getDate(interceptState, columnIndex, tableName, columnName, resultSet.getDate(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getDate(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getDate(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getDate(columnIndex));
     }
 
     @Override
     public Time getTime(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getTime(interceptState, columnIndex, tableName, columnName, resultSet.getTime(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getTime(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getTime(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getTime(columnIndex));
     }
 
     @Override
     public Timestamp getTimestamp(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getTimestamp(interceptState, columnIndex, tableName, columnName, resultSet.getTimestamp(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getTimestamp(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getTimestamp(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getTimestamp(columnIndex));
     }
 
     @Override
     public InputStream getAsciiStream(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getAsciiStream(interceptState, columnIndex, tableName, columnName, resultSet.getAsciiStream(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getAsciiStream(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getAsciiStream(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getAsciiStream(columnIndex));
     }
 
     @Deprecated(since = "1.2")
     @Override
     public InputStream getUnicodeStream(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getUnicodeStream(interceptState, columnIndex, tableName, columnName, resultSet.getUnicodeStream(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getUnicodeStream(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getUnicodeStream(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getUnicodeStream(columnIndex));
     }
 
     @Override
     public InputStream getBinaryStream(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getBinaryStream(interceptState, columnIndex, tableName, columnName, resultSet.getBinaryStream(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getBinaryStream(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getBinaryStream(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getBinaryStream(columnIndex));
     }
 
     @Override
     public String getString(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getString(interceptState, columnIndex, tableName, columnName, resultSet.getString(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getString(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getString(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getString(columnIndex));
     }
 
     @Override
     public boolean getBoolean(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getBoolean(interceptState, columnIndex, tableName, columnName, resultSet.getBoolean(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getBoolean(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getBoolean(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getBoolean(columnIndex));
     }
 
     @Override
     public byte getByte(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getByte(interceptState, columnIndex, tableName, columnName, resultSet.getByte(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getByte(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getByte(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getByte(columnIndex));
     }
 
     @Override
     public short getShort(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getShort(interceptState, columnIndex, tableName, columnName, resultSet.getShort(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getShort(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getShort(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getShort(columnIndex));
     }
 
     @Override
     public int getInt(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getInt(interceptState, columnIndex, tableName, columnName, resultSet.getInt(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getInt(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getInt(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getInt(columnIndex));
     }
 
     @Override
     public long getLong(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getLong(interceptState, columnIndex, tableName, columnName, resultSet.getLong(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getLong(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getLong(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getLong(columnIndex));
     }
 
     @Override
     public float getFloat(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getFloat(interceptState, columnIndex, tableName, columnName, resultSet.getFloat(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getFloat(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getFloat(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getFloat(columnIndex));
     }
 
     @Override
     public double getDouble(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getDouble(interceptState, columnIndex, tableName, columnName, resultSet.getDouble(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getDouble(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getDouble(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getDouble(columnIndex));
     }
 
     @Deprecated(since = "1.2")
     @Override
     public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getBigDecimal(interceptState, columnIndex, tableName, columnName, resultSet.getBigDecimal(columnIndex, scale));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getBigDecimal(columnIndex, scale);
+        }
+        return ColumnHandlerContext.getInstance().getBigDecimal(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getBigDecimal(columnIndex, scale));
     }
 
     @Override
     public byte[] getBytes(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getBytes(interceptState, columnIndex, tableName, columnName, resultSet.getBytes(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getBytes(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getBytes(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getBytes(columnIndex));
     }
 
     @Override
     public Date getDate(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getDate(interceptState, columnIndex, tableName, columnName, resultSet.getDate(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getDate(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getDate(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getDate(columnIndex));
     }
 
     @Override
     public Time getTime(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getTime(interceptState, columnIndex, tableName, columnName, resultSet.getTime(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getTime(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getTime(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getTime(columnIndex));
     }
 
     @Override
     public Timestamp getTimestamp(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getTimestamp(interceptState, columnIndex, tableName, columnName, resultSet.getTimestamp(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getTimestamp(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getTimestamp(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getTimestamp(columnIndex));
     }
 
     @Override
     public InputStream getAsciiStream(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getAsciiStream(interceptState, columnIndex, tableName, columnName, resultSet.getAsciiStream(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getAsciiStream(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getAsciiStream(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getAsciiStream(columnIndex));
     }
 
     @Deprecated(since = "1.2")
     @Override
     public InputStream getUnicodeStream(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getUnicodeStream(interceptState, columnIndex, tableName, columnName, resultSet.getUnicodeStream(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getUnicodeStream(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getUnicodeStream(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getUnicodeStream(columnIndex));
     }
 
     @Override
     public InputStream getBinaryStream(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getBinaryStream(interceptState, columnIndex, tableName, columnName, resultSet.getBinaryStream(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getBinaryStream(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getBinaryStream(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getBinaryStream(columnIndex));
     }
 
     @Override
@@ -314,17 +410,21 @@ public class ResultSetProxy implements ResultSet {
 
     @Override
     public Object getObject(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getObject(interceptState, columnIndex, tableName, columnName, resultSet.getObject(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getObject(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getObject(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getObject(columnIndex));
     }
 
     @Override
     public Object getObject(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getObject(interceptState, columnIndex, tableName, columnName, resultSet.getObject(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getObject(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getObject(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getObject(columnIndex));
     }
 
     @Override
@@ -334,32 +434,40 @@ public class ResultSetProxy implements ResultSet {
 
     @Override
     public Reader getCharacterStream(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getCharacterStream(interceptState, columnIndex, tableName, columnName, resultSet.getCharacterStream(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getCharacterStream(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getCharacterStream(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getCharacterStream(columnIndex));
     }
 
     @Override
     public Reader getCharacterStream(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getCharacterStream(interceptState, columnIndex, tableName, columnName, resultSet.getCharacterStream(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getCharacterStream(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getCharacterStream(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getCharacterStream(columnIndex));
     }
 
     @Override
     public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getBigDecimal(interceptState, columnIndex, tableName, columnName, resultSet.getBigDecimal(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getBigDecimal(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getBigDecimal(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getBigDecimal(columnIndex));
     }
 
     @Override
     public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getBigDecimal(interceptState, columnIndex, tableName, columnName, resultSet.getBigDecimal(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getBigDecimal(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getBigDecimal(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getBigDecimal(columnIndex));
     }
 
     @Override
@@ -699,137 +807,173 @@ public class ResultSetProxy implements ResultSet {
 
     @Override
     public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getObject(interceptState, columnIndex, tableName, columnName, resultSet.getDate(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getDate(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getObject(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getDate(columnIndex));
     }
 
     @Override
     public Ref getRef(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getRef(interceptState, columnIndex, tableName, columnName, resultSet.getRef(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getRef(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getRef(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getRef(columnIndex));
     }
 
     @Override
     public Blob getBlob(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getBlob(interceptState, columnIndex, tableName, columnName, resultSet.getBlob(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getBlob(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getBlob(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getBlob(columnIndex));
     }
 
     @Override
     public Clob getClob(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getClob(interceptState, columnIndex, tableName, columnName, resultSet.getClob(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getClob(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getClob(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getClob(columnIndex));
     }
 
     @Override
     public Array getArray(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getArray(interceptState, columnIndex, tableName, columnName, resultSet.getArray(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getArray(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getArray(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getArray(columnIndex));
     }
 
     @Override
     public Object getObject(String columnLabel, Map<String, Class<?>> map) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getObject(interceptState, columnIndex, tableName, columnName, resultSet.getObject(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getObject(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getObject(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getObject(columnIndex));
     }
 
     @Override
     public Ref getRef(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getRef(interceptState, columnIndex, tableName, columnName, resultSet.getRef(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getRef(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getRef(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getRef(columnIndex));
     }
 
     @Override
     public Blob getBlob(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getBlob(interceptState, columnIndex, tableName, columnName, resultSet.getBlob(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getBlob(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getBlob(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getBlob(columnIndex));
     }
 
     @Override
     public Clob getClob(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getClob(interceptState, columnIndex, tableName, columnName, resultSet.getClob(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getClob(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getClob(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getClob(columnIndex));
     }
 
     @Override
     public Array getArray(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getArray(interceptState, columnIndex, tableName, columnName, resultSet.getArray(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getArray(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getArray(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getArray(columnIndex));
     }
 
     @Override
     public Date getDate(int columnIndex, Calendar cal) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getDate(interceptState, columnIndex, tableName, columnName, resultSet.getDate(columnIndex, cal));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getDate(columnIndex, cal);
+        }
+        return ColumnHandlerContext.getInstance().getDate(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getDate(columnIndex, cal));
     }
 
     @Override
     public Date getDate(String columnLabel, Calendar cal) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getDate(interceptState, columnIndex, tableName, columnName, resultSet.getDate(columnIndex, cal));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getDate(columnIndex, cal);
+        }
+        return ColumnHandlerContext.getInstance().getDate(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getDate(columnIndex, cal));
     }
 
     @Override
     public Time getTime(int columnIndex, Calendar cal) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getTime(interceptState, columnIndex, tableName, columnName, resultSet.getTime(columnIndex, cal));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getTime(columnIndex, cal);
+        }
+        return ColumnHandlerContext.getInstance().getTime(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getTime(columnIndex, cal));
     }
 
     @Override
     public Time getTime(String columnLabel, Calendar cal) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getTime(interceptState, columnIndex, tableName, columnName, resultSet.getTime(columnIndex, cal));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getTime(columnIndex, cal);
+        }
+        return ColumnHandlerContext.getInstance().getTime(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getTime(columnIndex, cal));
     }
 
     @Override
     public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getTimestamp(interceptState, columnIndex, tableName, columnName, resultSet.getTimestamp(columnIndex, cal));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getTimestamp(columnIndex, cal);
+        }
+        return ColumnHandlerContext.getInstance().getTimestamp(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getTimestamp(columnIndex, cal));
     }
 
     @Override
     public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getTimestamp(interceptState, columnIndex, tableName, columnName, resultSet.getTimestamp(columnIndex, cal));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getTimestamp(columnIndex, cal);
+        }
+        return ColumnHandlerContext.getInstance().getTimestamp(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getTimestamp(columnIndex, cal));
     }
 
     @Override
     public URL getURL(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getURL(interceptState, columnIndex, tableName, columnName, resultSet.getURL(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getURL(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getURL(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getURL(columnIndex));
     }
 
     @Override
     public URL getURL(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getURL(interceptState, columnIndex, tableName, columnName, resultSet.getURL(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getURL(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getURL(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getURL(columnIndex));
     }
 
     @Override
@@ -874,17 +1018,21 @@ public class ResultSetProxy implements ResultSet {
 
     @Override
     public RowId getRowId(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getRowId(interceptState, columnIndex, tableName, columnName, resultSet.getRowId(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getRowId(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getRowId(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getRowId(columnIndex));
     }
 
     @Override
     public RowId getRowId(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getRowId(interceptState, columnIndex, tableName, columnName, resultSet.getRowId(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getRowId(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getRowId(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getRowId(columnIndex));
     }
 
     @Override
@@ -929,32 +1077,40 @@ public class ResultSetProxy implements ResultSet {
 
     @Override
     public NClob getNClob(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getNClob(interceptState, columnIndex, tableName, columnName, resultSet.getNClob(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getNClob(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getNClob(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getNClob(columnIndex));
     }
 
     @Override
     public NClob getNClob(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getNClob(interceptState, columnIndex, tableName, columnName, resultSet.getNClob(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getNClob(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getNClob(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getNClob(columnIndex));
     }
 
     @Override
     public SQLXML getSQLXML(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getSQLXML(interceptState, columnIndex, tableName, columnName, resultSet.getSQLXML(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getSQLXML(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getSQLXML(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getSQLXML(columnIndex));
     }
 
     @Override
     public SQLXML getSQLXML(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getSQLXML(interceptState, columnIndex, tableName, columnName, resultSet.getSQLXML(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getSQLXML(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getSQLXML(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getSQLXML(columnIndex));
     }
 
     @Override
@@ -969,32 +1125,40 @@ public class ResultSetProxy implements ResultSet {
 
     @Override
     public String getNString(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getNString(interceptState, columnIndex, tableName, columnName, resultSet.getNString(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getNString(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getNString(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getNString(columnIndex));
     }
 
     @Override
     public String getNString(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getNString(interceptState, columnIndex, tableName, columnName, resultSet.getNString(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getNString(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getNString(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getNString(columnIndex));
     }
 
     @Override
     public Reader getNCharacterStream(int columnIndex) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getNCharacterStream(interceptState, columnIndex, tableName, columnName, resultSet.getNCharacterStream(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getNCharacterStream(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getNCharacterStream(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getNCharacterStream(columnIndex));
     }
 
     @Override
     public Reader getNCharacterStream(String columnLabel) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getNCharacterStream(interceptState, columnIndex, tableName, columnName, resultSet.getNCharacterStream(columnIndex));
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getNCharacterStream(columnIndex);
+        }
+        return ColumnHandlerContext.getInstance().getNCharacterStream(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getNCharacterStream(columnIndex));
     }
 
     @Override
@@ -1139,17 +1303,21 @@ public class ResultSetProxy implements ResultSet {
 
     @Override
     public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getObject(interceptState, columnIndex, tableName, columnName, resultSet.getObject(columnIndex, type), type);
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getObject(columnIndex, type);
+        }
+        return ColumnHandlerContext.getInstance().getObject(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getObject(columnIndex, type), type);
     }
 
     @Override
     public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
         int columnIndex = columnLabelMap.get(columnLabel.toUpperCase());
-        String tableName = metaData.getTableName(columnIndex);
-        String columnName = metaData.getColumnName(columnIndex);
-        return ColumnHandlerContext.getInstance().getObject(interceptState, columnIndex, tableName, columnName, resultSet.getObject(columnIndex, type), type);
+        ColumnPlan plan = getColumnPlan(columnIndex);
+        if (plan.passthrough) {
+            return resultSet.getObject(columnIndex, type);
+        }
+        return ColumnHandlerContext.getInstance().getObject(interceptState, columnIndex, plan.tableName, plan.columnName, resultSet.getObject(columnIndex, type), type);
     }
 
     @Override
@@ -10,6 +10,11 @@ public class DataAuthorizationProperties {
 
     private boolean showSql = false;
 
+    /**
+     * SQL拦截结果缓存数量，0为不缓存
+     */
+    private int sqlCacheSize = 1024;
+
     public DataAuthorizationProperties() {
         DataAuthorizationPropertyContext.getInstance().setDataAuthorizationProperties(this);
     }
@@ -21,4 +21,11 @@ public class DataAuthorizationPropertyContext {
         }
         return false;
     }
+
+    public int sqlCacheSize(){
+        if(dataAuthorizationProperties!=null) {
+            return dataAuthorizationProperties.getSqlCacheSize();
+        }
+        return 1024;
+    }
 }
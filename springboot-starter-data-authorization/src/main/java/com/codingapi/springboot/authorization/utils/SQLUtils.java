@@ -4,15 +4,48 @@ import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.statement.Statement;
 import net.sf.jsqlparser.statement.select.Select;
 
+import java.util.Locale;
+import java.util.Set;
+
 public class SQLUtils {
 
+    // 可以直接判定为非查询语句的关键字
+    private final static Set<String> NON_QUERY_KEYWORDS = Set.of(
+            "INSERT", "UPDATE", "DELETE", "MERGE", "REPLACE", "UPSERT",
+            "CREATE", "ALTER", "DROP", "TRUNCATE", "RENAME", "COMMENT",
+            "GRANT", "REVOKE", "CALL", "EXEC", "EXECUTE",
+            "SET", "USE", "COMMIT", "ROLLBACK", "SAVEPOINT", "RELEASE", "START", "BEGIN",
+            "LOCK", "UNLOCK", "ANALYZE", "OPTIMIZE", "DECLARE", "PREPARE", "DEALLOCATE");
+
+    /**
+     * 语句类型
+     */
+    enum StatementType {
+        /**
+         * 查询语句开头 SELECT/WITH/VALUES
+         */
+        QUERY,
+        /**
+         * 非查询语句
+         */
+        NON_QUERY,
+        /**
+         * 无法通过关键字判断
+         */
+        UNKNOWN
+    }
+
     /**
      * 判断是否为查询
+     * 先根据语句开头的关键字快速排除非查询语句，其余语句交由解析器确认
      */
     public static boolean isQuerySql(String sql) {
         if (sql == null || sql.trim().isEmpty()) {
             return false; // 空字符串或 null 不是有效 SQL
         }
+        if (classify(sql) == StatementType.NON_QUERY) {
+            return false;
+        }
         try {
             Statement statement = CCJSqlParserUtil.parse(sql);
             return statement instanceof Select;
@@ -21,5 +54,49 @@ public class SQLUtils {
         }
     }
 
+    /**
+     * 根据语句开头的关键字判断语句类型，跳过空白、注释与左括号
+     */
+    static StatementType classify(String sql) {
+        int length = sql.length();
+        int index = 0;
+        while (index < length) {
+            char c = sql.charAt(index);
+            if (Character.isWhitespace(c) || c == '(') {
+                index++;
+            } else if (c == '-' && index + 1 < length && sql.charAt(index + 1) == '-' || c == '#') {
+                int end = sql.indexOf('\n', index);
+                if (end < 0) {
+                    return StatementType.UNKNOWN;
+                }
+                index = end + 1;
+            } else if (c == '/' && index + 1 < length && sql.charAt(index + 1) == '*') {
+                int end = sql.indexOf("*/", index + 2);
+                if (end < 0) {
+                    return StatementType.UNKNOWN;
+                }
+                index = end + 2;
+            } else {
+                break;
+            }
+        }
+        int start = index;
+        while (index < length && Character.isLetter(sql.charAt(index))) {
+            index++;
+        }
+        if (start == index) {
+            return StatementType.UNKNOWN;
+        }
+        String keyword = sql.substring(start, index).toUpperCase(Locale.ROOT);
+        switch (keyword) {
+            case "SELECT":
+            case "WITH":
+            case "VALUES":
+                return StatementType.QUERY;
+            default:
+                return NON_QUERY_KEYWORDS.contains(keyword) ? StatementType.NON_QUERY : StatementType.UNKNOWN;
+        }
+    }
+
 
 }
@@ -0,0 +1,134 @@
+package com.codingapi.springboot.authorization.interceptor;
+
+import com.codingapi.springboot.authorization.handler.Condition;
+import com.codingapi.springboot.authorization.handler.DefaultRowHandler;
+import com.codingapi.springboot.authorization.handler.RowHandler;
+import com.codingapi.springboot.authorization.handler.RowHandlerContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SQLRewriteCacheTest {
+
+    @AfterEach
+    void reset() {
+        RowHandlerContext.getInstance().setRowHandler(new DefaultRowHandler());
+        SQLInterceptorContext.getInstance().setSqlInterceptor(new DefaultSQLInterceptor());
+        SQLRewriteCache.getInstance().clear();
+    }
+
+    @Test
+    void cache() throws SQLException {
+        AtomicInteger calls = new AtomicInteger();
+        String[] user = {"1"};
+        RowHandlerContext.getInstance().setRowHandler(new RowHandler() {
+            @Override
+            public Condition handler(String subSql, String tableName, String tableAlias) {
+                calls.incrementAndGet();
+                return Condition.formatCondition("%s.user_id = " + user[0], tableAlias);
+            }
+
+            @Override
+            public String fingerprint() {
+                return user[0];
+            }
+        });
+        SQLRewriteCache.getInstance().clear();
+
+        String sql = "select * from t_user u where u.name = ?";
+        SQLInterceptState first = SQLRunningContext.getInstance().intercept(sql);
+        SQLInterceptState second = SQLRunningContext.getInstance().intercept(sql);
+        assertTrue(first.hasIntercept());
+        assertSame(first, second);
+        assertEquals(1, calls.get());
+        assertEquals(1, SQLRewriteCache.getInstance().getHitCount());
+        assertEquals(1, SQLRewriteCache.getInstance().getMissCount());
+
+        // 指纹变化后重新改写
+        user[0] = "2";
+        SQLInterceptState third = SQLRunningContext.getInstance().intercept(sql);
+        assertEquals(2, calls.get());
+        assertTrue(third.getSql().contains("u.user_id = 2"));
+
+        // 非查询语句不进入缓存
+        SQLInterceptState update = SQLRunningContext.getInstance().intercept("update t_user set name = ? where id = ?");
+        assertFalse(update.hasIntercept());
+        assertEquals(2, SQLRewriteCache.getInstance().size());
+    }
+
+    @Test
+    void withoutFingerprint() throws SQLException {
+        AtomicInteger calls = new AtomicInteger();
+        RowHandlerContext.getInstance().setRowHandler((subSql, tableName, tableAlias) -> {
+            calls.incrementAndGet();
+            return null;
+        });
+        SQLRewriteCache.getInstance().clear();
+
+        String sql = "select * from t_user u";
+        SQLRunningContext.getInstance().intercept(sql);
+        SQLRunningContext.getInstance().intercept(sql);
+        assertEquals(2, calls.get());
+        assertEquals(0, SQLRewriteCache.getInstance().size());
+    }
+
+    @Test
+    void interceptorBeforeCache() throws SQLException {
+        RowHandlerContext.getInstance().setRowHandler(new RowHandler() {
+            @Override
+            public Condition handler(String subSql, String tableName, String tableAlias) {
+                return Condition.formatCondition("%s.user_id = 1", tableAlias);
+            }
+
+            @Override
+            public String fingerprint() {
+                return "1";
+            }
+        });
+        AtomicInteger before = new AtomicInteger();
+        boolean[] intercept = {true};
+        SQLInterceptorContext.getInstance().setSqlInterceptor(new DefaultSQLInterceptor() {
+            @Override
+            public boolean beforeHandler(String sql) {
+                before.incrementAndGet();
+                return intercept[0] && super.beforeHandler(sql);
+            }
+        });
+
+        String sql = "select * from t_user u";
+        SQLRunningContext.getInstance().intercept(sql);
+        assertTrue(SQLRunningContext.getInstance().intercept(sql).hasIntercept());
+        assertEquals(2, before.get());
+        assertEquals(1, SQLRewriteCache.getInstance().getHitCount());
+
+        // 拦截器不处理时不使用缓存
+        intercept[0] = false;
+        assertFalse(SQLRunningContext.getInstance().intercept(sql).hasIntercept());
+        assertEquals(3, before.get());
+        assertEquals(1, SQLRewriteCache.getInstance().getHitCount());
+    }
+
+    @Test
+    void eviction() {
+        SQLRewriteCache cache = SQLRewriteCache.getInstance();
+        int maxSize = 1024;
+        for (int i = 0; i < maxSize; i++) {
+            cache.put("select " + i, "1", SQLInterceptState.unIntercept("select " + i));
+        }
+        assertEquals(maxSize, cache.size());
+        assertEquals(0, cache.getEvictionCount());
+
+        // 最近访问的缓存项不会被淘汰
+        assertNotNull(cache.get("select 0", "1"));
+        cache.put("select " + maxSize, "1", SQLInterceptState.unIntercept("select " + maxSize));
+        assertTrue(cache.size() < maxSize);
+        assertTrue(cache.getEvictionCount() > 0);
+        assertNotNull(cache.get("select 0", "1"));
+        assertNotNull(cache.get("select " + maxSize, "1"));
+        assertNull(cache.get("select 1", "1"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.codingapi.springboot.authorization.jdbc.proxy;
+
+import com.codingapi.springboot.authorization.DataAuthorizationContext;
+import com.codingapi.springboot.authorization.filter.DefaultDataAuthorizationFilter;
+import com.codingapi.springboot.authorization.interceptor.SQLInterceptState;
+import com.codingapi.springboot.authorization.interceptor.SQLRunningContext;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+class ResultSetProxyTest {
+
+    private final static int ROWS = 10000;
+
+    @AfterEach
+    void reset() {
+        DataAuthorizationContext.getInstance().clearDataAuthorizationFilters();
+    }
+
+    @Test
+    void columnPlan() throws SQLException {
+        AtomicLong checks = new AtomicLong();
+        DataAuthorizationContext.getInstance().clearDataAuthorizationFilters();
+        DataAuthorizationContext.getInstance().addDataAuthorizationFilter(new DefaultDataAuthorizationFilter() {
+
+            @Override
+            public <T> T columnAuthorization(String tableName, String columnName, T value) {
+                return (T) "***";
+            }
+
+            @Override
+            public boolean supportColumnAuthorization(String tableName, String columnName, Object value) {
+                checks.incrementAndGet();
+                return columnName.equalsIgnoreCase("phone");
+            }
+
+            @Override
+            public boolean supportColumn(String tableName, String columnName) {
+                return tableName.equalsIgnoreCase("t_plan_user") && columnName.equalsIgnoreCase("phone");
+            }
+        });
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:column_plan");
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table t_plan_user(id bigint, name varchar(32), phone varchar(32))");
+            try (PreparedStatement insert = connection.prepareStatement("insert into t_plan_user values (?, ?, ?)")) {
+                for (int i = 0; i < ROWS; i++) {
+                    insert.setLong(1, i);
+                    insert.setString(2, "user" + i);
+                    insert.setString(3, "1380000" + i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+
+            String sql = "select u.id, u.name, u.phone from t_plan_user u order by u.id";
+            SQLInterceptState interceptState = SQLRunningContext.getInstance().intercept(sql);
+            assertTrue(interceptState.hasIntercept());
+
+            long start = System.nanoTime();
+            int count = 0;
+            try (ResultSet resultSet = new ResultSetProxy(statement.executeQuery(interceptState.getSql()), interceptState)) {
+                while (resultSet.next()) {
+                    assertEquals(count, resultSet.getLong(1));
+                    assertEquals("user" + count, resultSet.getString("name"));
+                    assertEquals("***", resultSet.getString(3));
+                    count++;
+                }
+                assertThrows(SQLException.class, () -> resultSet.getString(4));
+            }
+            log.info("read {} rows in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+
+            assertEquals(ROWS, count);
+            // 只有phone列会进行权限判断
+            assertEquals(ROWS, checks.get());
+        }
+    }
+}
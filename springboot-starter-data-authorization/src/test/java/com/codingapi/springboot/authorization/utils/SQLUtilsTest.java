@@ -0,0 +1,32 @@
+package com.codingapi.springboot.authorization.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SQLUtilsTest {
+
+    @Test
+    void classify() {
+        assertEquals(SQLUtils.StatementType.QUERY, SQLUtils.classify("select * from t_user"));
+        assertEquals(SQLUtils.StatementType.QUERY, SQLUtils.classify("  /* hint */ -- comment\n (SELECT 1)"));
+        assertEquals(SQLUtils.StatementType.QUERY, SQLUtils.classify("with t as (select 1) select * from t"));
+        assertEquals(SQLUtils.StatementType.NON_QUERY, SQLUtils.classify("insert into t_user(name) values (?)"));
+        assertEquals(SQLUtils.StatementType.NON_QUERY, SQLUtils.classify("\n\tUPDATE t_user set name = ?"));
+        assertEquals(SQLUtils.StatementType.NON_QUERY, SQLUtils.classify("/* select */ delete from t_user"));
+        assertEquals(SQLUtils.StatementType.NON_QUERY, SQLUtils.classify("create table t_user(id int)"));
+        assertEquals(SQLUtils.StatementType.UNKNOWN, SQLUtils.classify("/* unterminated select"));
+        assertEquals(SQLUtils.StatementType.UNKNOWN, SQLUtils.classify("explain select 1"));
+    }
+
+    @Test
+    void isQuerySql() {
+        assertTrue(SQLUtils.isQuerySql("select * from t_user where id = ?"));
+        assertTrue(SQLUtils.isQuerySql("-- list\n(select * from t_user)"));
+        assertFalse(SQLUtils.isQuerySql("insert into t_user(name) values (?)"));
+        assertFalse(SQLUtils.isQuerySql("update t_user set name = ? where id = ?"));
+        assertFalse(SQLUtils.isQuerySql("select from"));
+        assertFalse(SQLUtils.isQuerySql(" "));
+        assertFalse(SQLUtils.isQuerySql(null));
+    }
+}
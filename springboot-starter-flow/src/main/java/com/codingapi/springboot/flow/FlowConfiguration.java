@@ -1,6 +1,9 @@
 package com.codingapi.springboot.flow;
 
+import com.codingapi.springboot.flow.repository.FlowWorkRepository;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,4 +17,11 @@ public class FlowConfiguration {
         return new FlowFrameworkRegister(spring);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "codingapi.flow", name = "script-warm-up", havingValue = "true", matchIfMissing = true)
+    public FlowScriptWarmUpRunner flowScriptWarmUpRunner(ObjectProvider<FlowWorkRepository> flowWorkRepositoryProvider) {
+        return new FlowScriptWarmUpRunner(flowWorkRepositoryProvider);
+    }
+
 }
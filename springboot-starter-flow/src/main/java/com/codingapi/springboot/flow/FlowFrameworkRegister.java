@@ -1,6 +1,8 @@
 package com.codingapi.springboot.flow;
 
 import com.codingapi.springboot.flow.content.FlowSessionBeanProvider;
+import com.codingapi.springboot.flow.event.FlowEventOutbox;
+import com.codingapi.springboot.flow.repository.FlowEventOutboxRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ApplicationContext;
@@ -13,5 +15,13 @@ public class FlowFrameworkRegister implements InitializingBean {
     @Override
     public void afterPropertiesSet() throws Exception {
         FlowSessionBeanProvider.getInstance().register(application);
+
+        FlowEventOutbox flowEventOutbox = FlowEventOutbox.getInstance();
+        application.getBeanProvider(FlowEventOutboxRepository.class).ifUnique(flowEventOutboxRepository -> {
+            flowEventOutbox.setFlowEventOutboxRepository(flowEventOutboxRepository);
+            if (flowEventOutbox.isEnabled()) {
+                flowEventOutbox.recover();
+            }
+        });
     }
 }
@@ -0,0 +1,41 @@
+package com.codingapi.springboot.flow;
+
+import com.codingapi.springboot.flow.domain.FlowWork;
+import com.codingapi.springboot.flow.repository.FlowWorkRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.util.List;
+
+/**
+ * 启动时预编译全部启用流程的脚本
+ */
+@Slf4j
+@AllArgsConstructor
+public class FlowScriptWarmUpRunner implements ApplicationRunner {
+
+    private final ObjectProvider<FlowWorkRepository> flowWorkRepositoryProvider;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        FlowWorkRepository flowWorkRepository = flowWorkRepositoryProvider.getIfUnique();
+        if (flowWorkRepository == null) {
+            return;
+        }
+        List<FlowWork> flowWorks = flowWorkRepository.findEnabledFlowWorks();
+        long start = System.currentTimeMillis();
+        for (FlowWork flowWork : flowWorks) {
+            try {
+                flowWork.compileScripts();
+            } catch (RuntimeException e) {
+                log.error("flow work [{}] script compile error", flowWork.getCode(), e);
+            }
+        }
+        if (!flowWorks.isEmpty()) {
+            log.info("flow script warm up, works:{}, time:{}ms", flowWorks.size(), System.currentTimeMillis() - start);
+        }
+    }
+}
@@ -5,14 +5,21 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * 数据快照
+ * 每次获取绑定数据都从快照解析出新的对象，只缓存数据绑定类
  */
 @Setter
 @Getter
 @AllArgsConstructor
 public class BindDataSnapshot {
 
+    // 数据绑定类缓存
+    private final static Map<String, Class<? extends IBindData>> classCache = new ConcurrentHashMap<>();
+
     /**
      * 数据快照id
      */
@@ -45,11 +52,26 @@ public class BindDataSnapshot {
         this(0,bindData);
     }
 
+    /**
+     * 获取绑定数据，每次调用返回新的对象，修改返回的绑定数据不影响快照
+     *
+     * @return 绑定数据
+     */
     public IBindData toBindData() {
         try {
-            return JSONObject.parseObject(snapshot, (Class<? extends IBindData>) Class.forName(clazzName));
+            return JSONObject.parseObject(snapshot, loadClass(clazzName));
         } catch (Exception e) {
             throw new IllegalArgumentException("bind data error");
         }
     }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends IBindData> loadClass(String clazzName) throws ClassNotFoundException {
+        Class<? extends IBindData> clazz = classCache.get(clazzName);
+        if (clazz == null) {
+            clazz = (Class<? extends IBindData>) Class.forName(clazzName);
+            classCache.put(clazzName, clazz);
+        }
+        return clazz;
+    }
 }
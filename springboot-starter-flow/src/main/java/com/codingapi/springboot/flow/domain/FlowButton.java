@@ -50,6 +50,23 @@ public class FlowButton {
      */
     private int order;
 
+    /**
+     * 复制按钮
+     *
+     * @return 按钮
+     */
+    FlowButton duplicate() {
+        FlowButton button = new FlowButton();
+        button.setId(id);
+        button.setName(name);
+        button.setStyle(style);
+        button.setType(type);
+        button.setGroovy(groovy);
+        button.setEventKey(eventKey);
+        button.setOrder(order);
+        return button;
+    }
+
     public boolean hasGroovy() {
         return groovy != null;
     }
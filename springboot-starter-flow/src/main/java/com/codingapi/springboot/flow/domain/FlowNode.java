@@ -19,6 +19,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
@@ -164,6 +165,24 @@ public class FlowNode {
     }
 
 
+    /**
+     * 复制节点，按钮为新的对象
+     *
+     * @return 节点
+     */
+    FlowNode duplicate() {
+        List<FlowButton> flowButtons = null;
+        if (buttons != null) {
+            flowButtons = new ArrayList<>();
+            for (FlowButton button : buttons) {
+                flowButtons.add(button.duplicate());
+            }
+        }
+        return new FlowNode(id, code, name, titleGenerator, type, view, approvalType, operatorMatcher,
+                editable, mergeable, createTime, updateTime, timeout, errTrigger, flowButtons);
+    }
+
+
     public FlowNode(String id,
                     String name,
                     String code,
@@ -105,6 +105,18 @@ public class FlowRelation {
     }
 
 
+    /**
+     * 复制关系
+     *
+     * @param source 复制后的源节点
+     * @param target 复制后的目标节点
+     * @return 关系
+     */
+    FlowRelation duplicate(FlowNode source, FlowNode target) {
+        return new FlowRelation(id, name, source, target, order, back, outTrigger, createTime, updateTime);
+    }
+
+
     public FlowRelation(String id, String name, FlowNode source, FlowNode target, OutTrigger outTrigger, int order, boolean back) {
         this.id = id;
         this.name = name;
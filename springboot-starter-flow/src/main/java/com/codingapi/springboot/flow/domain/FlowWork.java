@@ -1,6 +1,7 @@
 package com.codingapi.springboot.flow.domain;
 
 import com.codingapi.springboot.flow.build.SchemaReader;
+import com.codingapi.springboot.flow.script.GroovyShellContext;
 import com.codingapi.springboot.flow.serializable.FlowWorkSerializable;
 import com.codingapi.springboot.flow.user.IFlowOperator;
 import com.codingapi.springboot.framework.utils.RandomGenerator;
@@ -10,7 +11,10 @@ import lombok.Setter;
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -134,6 +138,32 @@ public class FlowWork {
     }
 
 
+    /**
+     * 复制流程设计对象，id、编码与版本不变
+     * 节点、关系与按钮为新的对象，已编译的脚本共享
+     * @return FlowWork 流程设计
+     */
+    public FlowWork duplicate() {
+        Map<FlowNode, FlowNode> nodeMap = new IdentityHashMap<>();
+        List<FlowNode> flowNodes = new ArrayList<>();
+        if (nodes != null) {
+            for (FlowNode node : nodes) {
+                FlowNode flowNode = node.duplicate();
+                nodeMap.put(node, flowNode);
+                flowNodes.add(flowNode);
+            }
+        }
+        List<FlowRelation> flowRelations = new ArrayList<>();
+        if (relations != null) {
+            for (FlowRelation relation : relations) {
+                flowRelations.add(relation.duplicate(nodeMap.get(relation.getSource()), nodeMap.get(relation.getTarget())));
+            }
+        }
+        return new FlowWork(id, code, title, description, createUser, createTime, updateTime, enable,
+                skipIfSameApprover, postponedMax, flowNodes, flowRelations, schema);
+    }
+
+
     public FlowWork(String code,String title, String description,boolean skipIfSameApprover, int postponedMax, IFlowOperator createUser) {
         this.title = title;
         this.code = code;
@@ -317,6 +347,45 @@ public class FlowWork {
     }
 
 
+    /**
+     * 编译流程中的全部脚本
+     * 流程加载后在使用前调用，脚本编译失败时抛出异常
+     */
+    public void compileScripts() {
+        List<GroovyShellContext.ShellScript> scripts = new ArrayList<>();
+        if (nodes != null) {
+            for (FlowNode node : nodes) {
+                if (node.getOperatorMatcher() != null) {
+                    scripts.add(node.getOperatorMatcher().getRuntime());
+                }
+                if (node.getTitleGenerator() != null) {
+                    scripts.add(node.getTitleGenerator().getRuntime());
+                }
+                if (node.getErrTrigger() != null) {
+                    scripts.add(node.getErrTrigger().getRuntime());
+                }
+                if (node.getButtons() != null) {
+                    for (FlowButton button : node.getButtons()) {
+                        if (button.hasGroovy()) {
+                            scripts.add(GroovyShellContext.getInstance().parse(button.getGroovy()));
+                        }
+                    }
+                }
+            }
+        }
+        if (relations != null) {
+            for (FlowRelation relation : relations) {
+                if (relation.getOutTrigger() != null) {
+                    scripts.add(relation.getOutTrigger().getRuntime());
+                }
+            }
+        }
+        // 内置脚本不需要编译
+        scripts.removeIf(Objects::isNull);
+        GroovyShellContext.getInstance().compile(scripts);
+    }
+
+
     /**
      * 启用检测
      */
@@ -333,6 +402,7 @@ public class FlowWork {
     public void enable() {
         this.verify();
         this.enable = true;
+        this.updateTime = System.currentTimeMillis();
     }
 
     /**
@@ -340,5 +410,6 @@ public class FlowWork {
      */
     public void disbale() {
         this.enable = false;
+        this.updateTime = System.currentTimeMillis();
     }
 }
@@ -0,0 +1,118 @@
+package com.codingapi.springboot.flow.domain;
+
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * 流程设计的变更集
+ * 对比已保存的流程设计与当前的流程设计，节点按编码对应，关系按id对应，
+ * 仓库实现只需要写入新增、修改与删除的节点和关系，未变化的节点与关系保持不变。
+ * 节点编码相同但id不同时视为删除原节点并新增节点，关系的来源或目标节点id变化时视为修改关系。
+ */
+@Getter
+public class FlowWorkChangeSet {
+
+    private final List<FlowNode> insertNodes = new ArrayList<>();
+    private final List<FlowNode> updateNodes = new ArrayList<>();
+    private final List<String> deleteNodeIds = new ArrayList<>();
+
+    private final List<FlowRelation> insertRelations = new ArrayList<>();
+    private final List<FlowRelation> updateRelations = new ArrayList<>();
+    private final List<String> deleteRelationIds = new ArrayList<>();
+
+    private FlowWorkChangeSet() {
+    }
+
+    /**
+     * 对比流程设计
+     *
+     * @param stored  已保存的流程设计，为空时全部新增
+     * @param current 当前的流程设计
+     * @return 变更集
+     */
+    public static FlowWorkChangeSet diff(FlowWork stored, FlowWork current) {
+        FlowWorkChangeSet changeSet = new FlowWorkChangeSet();
+
+        Map<String, FlowNode> storedNodes = new HashMap<>();
+        Map<String, FlowRelation> storedRelations = new HashMap<>();
+        if (stored != null) {
+            nonNull(stored.getNodes()).forEach(node -> storedNodes.put(node.getCode(), node));
+            nonNull(stored.getRelations()).forEach(relation -> storedRelations.put(relation.getId(), relation));
+        }
+
+        Set<String> currentNodeIds = new HashSet<>();
+        for (FlowNode node : nonNull(current.getNodes())) {
+            currentNodeIds.add(node.getId());
+            FlowNode storedNode = storedNodes.get(node.getCode());
+            if (storedNode == null || !Objects.equals(storedNode.getId(), node.getId())) {
+                changeSet.insertNodes.add(node);
+            } else if (!FlowWorkContent.node(storedNode).equals(FlowWorkContent.node(node))) {
+                changeSet.updateNodes.add(node);
+            }
+        }
+        for (FlowNode storedNode : storedNodes.values()) {
+            if (!currentNodeIds.contains(storedNode.getId())) {
+                changeSet.deleteNodeIds.add(storedNode.getId());
+            }
+        }
+
+        Set<String> currentRelationIds = new HashSet<>();
+        for (FlowRelation relation : nonNull(current.getRelations())) {
+            currentRelationIds.add(relation.getId());
+            FlowRelation storedRelation = storedRelations.get(relation.getId());
+            if (storedRelation == null) {
+                changeSet.insertRelations.add(relation);
+            } else if (!sameEndpoints(storedRelation, relation)
+                    || !FlowWorkContent.relation(storedRelation).equals(FlowWorkContent.relation(relation))) {
+                changeSet.updateRelations.add(relation);
+            }
+        }
+        for (String relationId : storedRelations.keySet()) {
+            if (!currentRelationIds.contains(relationId)) {
+                changeSet.deleteRelationIds.add(relationId);
+            }
+        }
+        return changeSet;
+    }
+
+    // 关系的语义内容只包含节点编码，重新新增的节点编码不变但id变化，关系需要指向新的节点id
+    private static boolean sameEndpoints(FlowRelation stored, FlowRelation current) {
+        return Objects.equals(nodeId(stored.getSource()), nodeId(current.getSource()))
+                && Objects.equals(nodeId(stored.getTarget()), nodeId(current.getTarget()));
+    }
+
+    private static String nodeId(FlowNode flowNode) {
+        return flowNode != null ? flowNode.getId() : null;
+    }
+
+    private static <T> List<T> nonNull(List<T> list) {
+        return list != null ? list : Collections.emptyList();
+    }
+
+    /**
+     * 需要新增或修改的节点
+     */
+    public List<FlowNode> getSaveNodes() {
+        List<FlowNode> nodes = new ArrayList<>(insertNodes);
+        nodes.addAll(updateNodes);
+        return nodes;
+    }
+
+    /**
+     * 需要新增或修改的关系
+     */
+    public List<FlowRelation> getSaveRelations() {
+        List<FlowRelation> relations = new ArrayList<>(insertRelations);
+        relations.addAll(updateRelations);
+        return relations;
+    }
+
+    /**
+     * 节点与关系是否没有变化
+     */
+    public boolean isEmpty() {
+        return insertNodes.isEmpty() && updateNodes.isEmpty() && deleteNodeIds.isEmpty()
+                && insertRelations.isEmpty() && updateRelations.isEmpty() && deleteRelationIds.isEmpty();
+    }
+}
@@ -0,0 +1,113 @@
+package com.codingapi.springboot.flow.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 流程设计的语义内容
+ * 节点与关系的内容只包含影响流程执行的字段，不包含id、创建时间、修改时间与启用状态，
+ * 节点按编码排序，关系按来源与目标节点编码排序，因此重新保存相同的设计得到相同的内容摘要。
+ */
+public final class FlowWorkContent {
+
+    private FlowWorkContent() {
+    }
+
+    /**
+     * 流程设计的内容摘要(SHA-256)
+     * 备份会恢复设计图，因此摘要同时包含设计图schema，schema中含有节点与关系的id和布局，
+     * 只调整布局或者节点id变化时摘要也会变化。
+     *
+     * @param flowWork 流程设计
+     * @return 内容摘要
+     */
+    public static String hash(FlowWork flowWork) {
+        StringBuilder content = new StringBuilder();
+        append(content, flowWork.getCode());
+        append(content, flowWork.getTitle());
+        append(content, flowWork.getDescription());
+        append(content, flowWork.isSkipIfSameApprover());
+        append(content, flowWork.getPostponedMax());
+        append(content, flowWork.getSchema());
+        if (flowWork.getNodes() != null) {
+            flowWork.getNodes().stream()
+                    .map(FlowWorkContent::node)
+                    .sorted()
+                    .forEach(node -> append(content, node));
+        }
+        if (flowWork.getRelations() != null) {
+            flowWork.getRelations().stream()
+                    .map(FlowWorkContent::relation)
+                    .sorted()
+                    .forEach(relation -> append(content, relation));
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 节点的语义内容，节点编码开头
+     */
+    public static String node(FlowNode flowNode) {
+        StringBuilder content = new StringBuilder();
+        append(content, flowNode.getCode());
+        append(content, flowNode.getName());
+        append(content, flowNode.getTitleGenerator() != null ? flowNode.getTitleGenerator().getScript() : null);
+        append(content, flowNode.getType());
+        append(content, flowNode.getView());
+        append(content, flowNode.getApprovalType());
+        append(content, flowNode.getOperatorMatcher() != null ? flowNode.getOperatorMatcher().getScript() : null);
+        append(content, flowNode.isEditable());
+        append(content, flowNode.isMergeable());
+        append(content, flowNode.getTimeout());
+        append(content, flowNode.getErrTrigger() != null ? flowNode.getErrTrigger().getScript() : null);
+        List<FlowButton> buttons = flowNode.getButtons();
+        if (buttons != null) {
+            append(content, buttons.size());
+            buttons.stream()
+                    .sorted(Comparator.comparingInt(FlowButton::getOrder).thenComparing(FlowButton::getId, Comparator.nullsFirst(Comparator.naturalOrder())))
+                    .forEach(button -> {
+                        append(content, button.getId());
+                        append(content, button.getName());
+                        append(content, button.getStyle());
+                        append(content, button.getType());
+                        append(content, button.getGroovy());
+                        append(content, button.getEventKey());
+                        append(content, button.getOrder());
+                    });
+        }
+        return content.toString();
+    }
+
+    /**
+     * 关系的语义内容，来源与目标节点编码开头
+     */
+    public static String relation(FlowRelation flowRelation) {
+        StringBuilder content = new StringBuilder();
+        append(content, flowRelation.getSource() != null ? flowRelation.getSource().getCode() : null);
+        append(content, flowRelation.getTarget() != null ? flowRelation.getTarget().getCode() : null);
+        append(content, flowRelation.getName());
+        append(content, flowRelation.getOrder());
+        append(content, flowRelation.isBack());
+        append(content, flowRelation.getOutTrigger() != null ? flowRelation.getOutTrigger().getScript() : null);
+        return content.toString();
+    }
+
+    // 以长度作为前缀，避免不同字段拼接后内容相同
+    private static void append(StringBuilder content, Object value) {
+        if (value == null) {
+            content.append("-1:");
+            return;
+        }
+        String text = value.toString();
+        content.append(text.length()).append(':').append(text);
+    }
+}
@@ -13,6 +13,7 @@ public class ErrTrigger {
     @Getter
     private final String script;
 
+    @Getter
     private final GroovyShellContext.ShellScript runtime;
 
 
@@ -44,6 +44,8 @@ public class FlowApprovalEvent implements ISyncEvent {
     public static final int STATE_VOIDED = 13;
     // 停止
     public static final int STATE_STOP = 14;
+    // 超时
+    public static final int STATE_TIMEOUT = 15;
 
     private final int state;
     private final IFlowOperator operator;
@@ -131,4 +133,8 @@ public class FlowApprovalEvent implements ISyncEvent {
     public boolean isBack() {
         return state == STATE_BACK;
     }
+
+    public boolean isTimeout() {
+        return state == STATE_TIMEOUT;
+    }
 }
@@ -0,0 +1,66 @@
+package com.codingapi.springboot.flow.event;
+
+import com.codingapi.springboot.flow.bind.BindDataSnapshot;
+import com.codingapi.springboot.flow.bind.IBindData;
+import com.codingapi.springboot.flow.domain.FlowWork;
+import com.codingapi.springboot.flow.record.FlowRecord;
+import com.codingapi.springboot.flow.repository.*;
+import com.codingapi.springboot.flow.user.IFlowOperator;
+import lombok.AllArgsConstructor;
+
+/**
+ * 流程审批事件加载
+ * 根据流程记录加载事件需要的流程设计、操作者与表单数据，用于重新投递发件箱中的消息和推送超时事件
+ */
+@AllArgsConstructor
+public class FlowEventLoader {
+
+    private final FlowRecordRepository flowRecordRepository;
+    private final FlowBindDataRepository flowBindDataRepository;
+    private final FlowOperatorRepository flowOperatorRepository;
+    private final FlowWorkRepository flowWorkRepository;
+    private final FlowProcessRepository flowProcessRepository;
+
+    /**
+     * 根据发件箱消息加载流程审批事件
+     *
+     * @param message 消息
+     * @return 流程审批事件，流程记录不存在时返回null
+     */
+    public FlowApprovalEvent load(FlowEventMessage message) {
+        FlowRecord flowRecord = flowRecordRepository.getFlowRecordById(message.getRecordId());
+        if (flowRecord == null) {
+            return null;
+        }
+        IFlowOperator operator = message.getOperatorId() > 0 ? flowOperatorRepository.getFlowOperatorById(message.getOperatorId()) : null;
+        return new FlowApprovalEvent(message.getState(), flowRecord, operator, loadFlowWork(flowRecord), loadBindData(message.getSnapshotId()));
+    }
+
+    /**
+     * 根据流程记录创建流程审批事件
+     *
+     * @param state      事件状态
+     * @param flowRecord 流程记录
+     * @param operator   操作者
+     * @return 流程审批事件
+     */
+    public FlowApprovalEvent create(int state, FlowRecord flowRecord, IFlowOperator operator) {
+        return new FlowApprovalEvent(state, flowRecord, operator, loadFlowWork(flowRecord), loadBindData(flowRecord.getSnapshotId()));
+    }
+
+    private FlowWork loadFlowWork(FlowRecord flowRecord) {
+        FlowWork flowWork = flowProcessRepository.getFlowWorkByProcessId(flowRecord.getProcessId());
+        if (flowWork == null) {
+            flowWork = flowWorkRepository.getFlowWorkByCode(flowRecord.getWorkCode());
+        }
+        return flowWork;
+    }
+
+    private IBindData loadBindData(long snapshotId) {
+        if (snapshotId <= 0) {
+            return null;
+        }
+        BindDataSnapshot snapshot = flowBindDataRepository.getBindDataSnapshotById(snapshotId);
+        return snapshot != null ? snapshot.toBindData() : null;
+    }
+}
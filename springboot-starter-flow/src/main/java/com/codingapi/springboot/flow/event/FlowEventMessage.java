@@ -0,0 +1,113 @@
+package com.codingapi.springboot.flow.event;
+
+import com.codingapi.springboot.flow.record.FlowRecord;
+import lombok.Getter;
+
+import java.io.Serializable;
+
+/**
+ * 流程事件消息
+ * 发件箱中待投递的流程审批事件，仓库只需要保存消息中的节点、流程记录id、操作者id与表单快照id等字段，
+ * 重启后通过 {@link FlowEventLoader} 根据这些字段重新加载流程审批事件。
+ */
+@Getter
+public class FlowEventMessage implements Serializable {
+
+    /**
+     * 消息id，保存时由仓库分配
+     */
+    private long id;
+
+    /**
+     * 推送消息的节点，重启后只重新投递本节点的消息
+     */
+    private final String owner;
+
+    /**
+     * 流程id，同一流程的消息按id顺序投递
+     */
+    private final String processId;
+
+    /**
+     * 事件状态 {@link FlowApprovalEvent#getState()}
+     */
+    private final int state;
+
+    /**
+     * 流程记录id
+     */
+    private final long recordId;
+
+    /**
+     * 操作者id，没有操作者时为0
+     */
+    private final long operatorId;
+
+    /**
+     * 表单快照id
+     */
+    private final long snapshotId;
+
+    /**
+     * 创建时间
+     */
+    private final long createTime;
+
+    /**
+     * 投递次数
+     */
+    private int attempts;
+
+    /**
+     * 推送时的流程审批事件，仓库重新加载的消息为空
+     */
+    private final transient FlowApprovalEvent event;
+
+    /**
+     * 推送流程审批事件时创建消息
+     *
+     * @param owner      推送消息的节点
+     * @param event      流程审批事件
+     * @param createTime 创建时间
+     */
+    public FlowEventMessage(String owner, FlowApprovalEvent event, long createTime) {
+        FlowRecord flowRecord = event.getFlowRecord();
+        this.owner = owner;
+        this.processId = flowRecord != null && flowRecord.getProcessId() != null ? flowRecord.getProcessId() : "";
+        this.state = event.getState();
+        this.recordId = flowRecord != null ? flowRecord.getId() : 0;
+        this.operatorId = event.getOperator() != null ? event.getOperator().getUserId() : 0;
+        this.snapshotId = flowRecord != null ? flowRecord.getSnapshotId() : 0;
+        this.createTime = createTime;
+        this.event = event;
+    }
+
+    /**
+     * 仓库重新加载消息时使用
+     */
+    public FlowEventMessage(long id, String owner, String processId, int state, long recordId, long operatorId, long snapshotId, long createTime, int attempts) {
+        this.id = id;
+        this.owner = owner;
+        this.processId = processId;
+        this.state = state;
+        this.recordId = recordId;
+        this.operatorId = operatorId;
+        this.snapshotId = snapshotId;
+        this.createTime = createTime;
+        this.attempts = attempts;
+        this.event = null;
+    }
+
+    /**
+     * 仓库保存消息时设置消息id
+     *
+     * @param id 消息id
+     */
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    void attempt() {
+        this.attempts++;
+    }
+}
@@ -0,0 +1,355 @@
+package com.codingapi.springboot.flow.event;
+
+import com.codingapi.springboot.flow.repository.FlowEventOutboxRepository;
+import com.codingapi.springboot.flow.repository.MemoryFlowEventOutboxRepository;
+import com.codingapi.springboot.flow.utils.ScheduleUtils;
+import com.codingapi.springboot.flow.utils.TransactionUtils;
+import com.codingapi.springboot.framework.event.EventPusher;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 流程事件发件箱
+ * <p>
+ * 未开启时流程审批事件在审批线程上同步推送。
+ * 开启后事件在流程事务内写入发件箱仓库，事务提交后由工作线程投递，事务回滚时丢弃；
+ * 同一流程的事件按推送顺序分批投递，投递失败时暂停该流程的投递并按退避时间重试，直到投递成功（至少一次）。
+ * 仓库保存的是可序列化的消息，消息id由仓库分配，重启后通过recover重新加载本节点未投递的消息，并由 {@link FlowEventLoader} 重新加载事件。
+ * 多个节点共享仓库时每个节点需要配置不同且重启后不变的节点名称，节点下线不再启动时其未投递的消息需要由其他节点以该名称recover。
+ * <p>
+ * 可通过系统参数配置:
+ * Flow.EventOutbox              是否开启发件箱,默认false
+ * Flow.EventOutboxThreads       投递线程数,默认4
+ * Flow.EventOutboxBatchSize     同一流程每批投递的最大消息数,默认100
+ * Flow.EventOutboxMaxAttempts   投递失败达到该次数后记录错误日志与失败统计,之后按最大退避时间继续重试,默认3
+ * Flow.EventOutboxRetryBackoff  首次重试的退避时间(毫秒),之后每次翻倍,默认1000
+ * Flow.EventOutboxMaxBackoff    最大退避时间(毫秒),默认60000
+ * Flow.EventOutboxOwner         节点名称,recover只重新投递该节点推送的消息,默认default
+ */
+@Slf4j
+public class FlowEventOutbox {
+
+    public static final String ENABLE_KEY = "Flow.EventOutbox";
+    public static final String THREAD_KEY = "Flow.EventOutboxThreads";
+    public static final String BATCH_SIZE_KEY = "Flow.EventOutboxBatchSize";
+    public static final String MAX_ATTEMPTS_KEY = "Flow.EventOutboxMaxAttempts";
+    public static final String RETRY_BACKOFF_KEY = "Flow.EventOutboxRetryBackoff";
+    public static final String MAX_BACKOFF_KEY = "Flow.EventOutboxMaxBackoff";
+    public static final String OWNER_KEY = "Flow.EventOutboxOwner";
+
+    @Getter
+    private static final FlowEventOutbox instance = new FlowEventOutbox();
+
+    private volatile boolean enabled;
+    private volatile FlowEventOutboxRepository flowEventOutboxRepository;
+    private volatile FlowEventLoader flowEventLoader;
+    private volatile String owner = System.getProperty(OWNER_KEY, "default");
+
+    private final Consumer<FlowApprovalEvent> dispatcher;
+    private final int threads;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final long maxBackoffMillis;
+
+    // 投递线程池，首次投递时创建
+    private volatile ScheduledExecutorService executorService;
+
+    private final Map<String, ProcessQueue> queues = new ConcurrentHashMap<>();
+
+    @Getter
+    private final FlowEventOutboxMetric metric = new FlowEventOutboxMetric();
+
+    private FlowEventOutbox() {
+        this(new MemoryFlowEventOutboxRepository(),
+                event -> EventPusher.push(event, true),
+                Integer.parseInt(System.getProperty(THREAD_KEY, "4")),
+                Integer.parseInt(System.getProperty(BATCH_SIZE_KEY, "100")),
+                Integer.parseInt(System.getProperty(MAX_ATTEMPTS_KEY, "3")),
+                Long.parseLong(System.getProperty(RETRY_BACKOFF_KEY, "1000")),
+                Long.parseLong(System.getProperty(MAX_BACKOFF_KEY, "60000")));
+        this.enabled = Boolean.parseBoolean(System.getProperty(ENABLE_KEY, "false"));
+    }
+
+    /**
+     * 创建开启状态的发件箱，重试退避时间使用系统参数配置
+     *
+     * @param flowEventOutboxRepository 发件箱仓库
+     * @param dispatcher                事件投递
+     * @param threads                   投递线程数
+     * @param batchSize                 同一流程每批投递的最大消息数
+     * @param maxAttempts               记录投递失败的投递次数
+     */
+    public FlowEventOutbox(FlowEventOutboxRepository flowEventOutboxRepository,
+                           Consumer<FlowApprovalEvent> dispatcher,
+                           int threads,
+                           int batchSize,
+                           int maxAttempts) {
+        this(flowEventOutboxRepository, dispatcher, threads, batchSize, maxAttempts,
+                Long.parseLong(System.getProperty(RETRY_BACKOFF_KEY, "1000")),
+                Long.parseLong(System.getProperty(MAX_BACKOFF_KEY, "60000")));
+    }
+
+    /**
+     * 创建开启状态的发件箱
+     *
+     * @param flowEventOutboxRepository 发件箱仓库
+     * @param dispatcher                事件投递
+     * @param threads                   投递线程数
+     * @param batchSize                 同一流程每批投递的最大消息数
+     * @param maxAttempts               记录投递失败的投递次数
+     * @param retryBackoffMillis        首次重试的退避时间(毫秒)
+     * @param maxBackoffMillis          最大退避时间(毫秒)
+     */
+    public FlowEventOutbox(FlowEventOutboxRepository flowEventOutboxRepository,
+                           Consumer<FlowApprovalEvent> dispatcher,
+                           int threads,
+                           int batchSize,
+                           int maxAttempts,
+                           long retryBackoffMillis,
+                           long maxBackoffMillis) {
+        this.flowEventOutboxRepository = flowEventOutboxRepository;
+        this.dispatcher = dispatcher;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.enabled = true;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * 设置发件箱仓库
+     *
+     * @param flowEventOutboxRepository 发件箱仓库
+     */
+    public void setFlowEventOutboxRepository(FlowEventOutboxRepository flowEventOutboxRepository) {
+        this.flowEventOutboxRepository = flowEventOutboxRepository;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * 设置节点名称，应在推送消息与recover前设置
+     *
+     * @param owner 节点名称
+     */
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * 设置事件加载，仓库重新加载的消息通过它加载流程审批事件
+     *
+     * @param flowEventLoader 事件加载
+     */
+    public void setFlowEventLoader(FlowEventLoader flowEventLoader) {
+        this.flowEventLoader = flowEventLoader;
+    }
+
+    /**
+     * 推送流程审批事件
+     *
+     * @param event 流程审批事件
+     */
+    public void push(FlowApprovalEvent event) {
+        if (!enabled) {
+            dispatcher.accept(event);
+            return;
+        }
+        FlowEventMessage message = new FlowEventMessage(owner, event, System.currentTimeMillis());
+        flowEventOutboxRepository.save(message);
+        metric.push();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            getTransactionMessages().add(message);
+        } else {
+            enqueue(List.of(message));
+        }
+    }
+
+    /**
+     * 重新投递本节点未投递的消息，应在启动时且没有新消息推送前调用
+     *
+     * @return 重新投递的消息数
+     */
+    public int recover() {
+        List<FlowEventMessage> messages = flowEventOutboxRepository.findByOwner(owner);
+        enqueue(messages);
+        return messages.size();
+    }
+
+    /**
+     * 等待已提交的消息投递完成
+     *
+     * @param timeoutMillis 最长等待时间(毫秒)
+     * @return 是否投递完成
+     */
+    public boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (metric.getPendingCount() > 0) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    public synchronized void shutdown() {
+        if (executorService != null) {
+            executorService.shutdown();
+            executorService = null;
+        }
+    }
+
+    private ScheduledExecutorService getExecutorService() {
+        ScheduledExecutorService executor = executorService;
+        if (executor == null) {
+            synchronized (this) {
+                if (executorService == null) {
+                    executorService = Executors.newScheduledThreadPool(threads, ScheduleUtils.daemonThreadFactory("flow-event-"));
+                }
+                executor = executorService;
+            }
+        }
+        return executor;
+    }
+
+    // 挂起事务时解绑消息，新事务中推送的消息随新事务提交或回滚
+    private List<FlowEventMessage> getTransactionMessages() {
+        return TransactionUtils.getTransactionList(this, this::enqueue, messages -> {
+            for (FlowEventMessage message : messages) {
+                flowEventOutboxRepository.delete(message.getId());
+            }
+        });
+    }
+
+    private void enqueue(List<FlowEventMessage> messages) {
+        metric.enqueue(messages.size());
+        for (FlowEventMessage message : messages) {
+            while (!queues.computeIfAbsent(message.getProcessId(), ProcessQueue::new).add(message)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * 投递消息
+     *
+     * @return 投递成功或消息已丢弃时返回true，投递失败需要重试时返回false
+     */
+    private boolean deliver(FlowEventMessage message) {
+        message.attempt();
+        try {
+            FlowApprovalEvent event = message.getEvent();
+            if (event == null) {
+                FlowEventLoader loader = flowEventLoader;
+                if (loader == null) {
+                    throw new IllegalStateException("flow event loader is not set");
+                }
+                event = loader.load(message);
+                if (event == null) {
+                    // 流程记录已不存在，事件无法重建
+                    flowEventOutboxRepository.delete(message.getId());
+                    metric.discarded();
+                    log.warn("flow event message [{}] discarded, flow record [{}] not found", message.getId(), message.getRecordId());
+                    return true;
+                }
+            }
+            dispatcher.accept(event);
+            flowEventOutboxRepository.delete(message.getId());
+            metric.delivered(System.currentTimeMillis() - message.getCreateTime());
+            return true;
+        } catch (RuntimeException e) {
+            flowEventOutboxRepository.update(message);
+            if (message.getAttempts() == maxAttempts) {
+                metric.failed();
+                log.error("flow event message [{}] deliver error, attempts:{}", message.getId(), message.getAttempts(), e);
+            } else {
+                metric.retry();
+                log.warn("flow event message [{}] deliver error, attempts:{}, {}", message.getId(), message.getAttempts(), e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 流程消息队列
+     * 同一时刻同一流程最多只有一个投递任务，每个任务投递一批消息后重新提交，避免长流程占用投递线程；
+     * 队首消息投递失败时暂停该流程的投递，退避时间后从该消息继续投递，保证同一流程的投递顺序。
+     */
+    private class ProcessQueue {
+
+        private final String processId;
+        private final Deque<FlowEventMessage> messages = new ArrayDeque<>();
+        private boolean running = false;
+        private boolean closed = false;
+
+        private ProcessQueue(String processId) {
+            this.processId = processId;
+        }
+
+        /**
+         * @return 队列已关闭时返回false，需要重新获取队列
+         */
+        private synchronized boolean add(FlowEventMessage message) {
+            if (closed) {
+                return false;
+            }
+            messages.add(message);
+            if (!running) {
+                running = true;
+                getExecutorService().execute(this::drain);
+            }
+            return true;
+        }
+
+        private void drain() {
+            for (int count = 0; count < batchSize; count++) {
+                FlowEventMessage message;
+                synchronized (this) {
+                    message = messages.peek();
+                    if (message == null) {
+                        running = false;
+                        closed = true;
+                        queues.remove(processId, this);
+                        return;
+                    }
+                }
+                if (count == 0) {
+                    metric.batch();
+                }
+                if (!deliver(message)) {
+                    getExecutorService().schedule(this::drain, ScheduleUtils.getBackoffMillis(retryBackoffMillis, maxBackoffMillis, message.getAttempts()), TimeUnit.MILLISECONDS);
+                    return;
+                }
+                synchronized (this) {
+                    messages.poll();
+                }
+            }
+            getExecutorService().execute(this::drain);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.codingapi.springboot.flow.event;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 流程事件发件箱统计
+ * 延迟为消息创建到投递成功的时间
+ */
+public class FlowEventOutboxMetric {
+
+    // 推送消息数
+    private final LongAdder pushCount = new LongAdder();
+    // 待投递消息数
+    private final LongAdder pendingCount = new LongAdder();
+    // 投递成功消息数
+    private final LongAdder deliveredCount = new LongAdder();
+    // 重试次数
+    private final LongAdder retryCount = new LongAdder();
+    // 投递失败达到最大次数的消息数，这些消息仍会继续重试
+    private final LongAdder failedCount = new LongAdder();
+    // 事件无法重建而丢弃的消息数
+    private final LongAdder discardedCount = new LongAdder();
+    // 投递批次数
+    private final LongAdder batchCount = new LongAdder();
+    // 累计延迟(毫秒)
+    private final LongAdder totalLagMillis = new LongAdder();
+    // 最大延迟(毫秒)
+    private final LongAccumulator maxLagMillis = new LongAccumulator(Long::max, 0);
+
+    void push() {
+        pushCount.increment();
+    }
+
+    void enqueue(int count) {
+        pendingCount.add(count);
+    }
+
+    void batch() {
+        batchCount.increment();
+    }
+
+    void retry() {
+        retryCount.increment();
+    }
+
+    void delivered(long lagMillis) {
+        pendingCount.decrement();
+        deliveredCount.increment();
+        totalLagMillis.add(lagMillis);
+        maxLagMillis.accumulate(lagMillis);
+    }
+
+    void failed() {
+        failedCount.increment();
+    }
+
+    void discarded() {
+        pendingCount.decrement();
+        discardedCount.increment();
+    }
+
+    public long getPushCount() {
+        return pushCount.sum();
+    }
+
+    public long getPendingCount() {
+        return pendingCount.sum();
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount.sum();
+    }
+
+    public long getRetryCount() {
+        return retryCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    public long getDiscardedCount() {
+        return discardedCount.sum();
+    }
+
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    public long getMaxLagMillis() {
+        return maxLagMillis.get();
+    }
+
+    /**
+     * 平均延迟(毫秒)
+     */
+    public long getAvgLagMillis() {
+        long count = getDeliveredCount();
+        return count == 0 ? 0 : totalLagMillis.sum() / count;
+    }
+
+    @Override
+    public String toString() {
+        return "FlowEventOutboxMetric{" +
+                "pushCount=" + getPushCount() +
+                ", pendingCount=" + getPendingCount() +
+                ", deliveredCount=" + getDeliveredCount() +
+                ", retryCount=" + getRetryCount() +
+                ", failedCount=" + getFailedCount() +
+                ", discardedCount=" + getDiscardedCount() +
+                ", batchCount=" + getBatchCount() +
+                ", avgLagMillis=" + getAvgLagMillis() +
+                ", maxLagMillis=" + getMaxLagMillis() +
+                '}';
+    }
+}
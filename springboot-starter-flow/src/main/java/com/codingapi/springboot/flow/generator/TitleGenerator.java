@@ -13,14 +13,32 @@ public class TitleGenerator {
     @Getter
     private final String script;
 
+    /**
+     * 自定义脚本的执行器，默认标题生成器为null
+     */
+    @Getter
     private final GroovyShellContext.ShellScript runtime;
 
+    // 默认标题生成器脚本
+    private static final String SCRIPT_DEFAULT = "def run(content){ return content.getCurrentOperator().getName() + '-' + content.getFlowWork().getTitle() + '-' + content.getFlowNode().getName();}";
+
     public TitleGenerator(String script) {
         if (!StringUtils.hasLength(script)) {
             throw new IllegalArgumentException("script is empty");
         }
         this.script = script;
-        this.runtime = GroovyShellContext.getInstance().parse(script);
+        this.runtime = isDefault(script) ? null : GroovyShellContext.getInstance().parse(script);
+    }
+
+    private static boolean isDefault(String script) {
+        return SCRIPT_DEFAULT.equals(script.trim());
+    }
+
+    /**
+     * 是否为内置标题生成器（不经过Groovy执行）
+     */
+    public boolean isNative() {
+        return runtime == null;
     }
 
 
@@ -30,7 +48,7 @@ public class TitleGenerator {
      * @return 标题生成器
      */
     public static TitleGenerator defaultTitleGenerator() {
-        return new TitleGenerator("def run(content){ return content.getCurrentOperator().getName() + '-' + content.getFlowWork().getTitle() + '-' + content.getFlowNode().getName();}");
+        return new TitleGenerator(SCRIPT_DEFAULT);
     }
 
 
@@ -41,6 +59,9 @@ public class TitleGenerator {
      * @return 标题
      */
     public String generate(FlowSession flowSession) {
+        if (runtime == null) {
+            return flowSession.getCurrentOperator().getName() + "-" + flowSession.getFlowWork().getTitle() + "-" + flowSession.getFlowNode().getName();
+        }
         return (String) this.runtime.invokeMethod("run", flowSession);
     }
 
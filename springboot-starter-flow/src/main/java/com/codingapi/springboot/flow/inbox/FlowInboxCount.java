@@ -0,0 +1,39 @@
+package com.codingapi.springboot.flow.inbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 收件箱角标数量
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class FlowInboxCount {
+
+    /**
+     * 待办数量
+     */
+    private final long todoCount;
+
+    /**
+     * 未读数量
+     */
+    private final long unReadCount;
+
+    /**
+     * 已办数量（每个流程只统计最新的已办记录）
+     */
+    private final long doneCount;
+
+    /**
+     * 超时待办数量
+     */
+    private final long timeoutCount;
+
+    /**
+     * 延期待办数量
+     */
+    private final long postponedCount;
+}
@@ -0,0 +1,143 @@
+package com.codingapi.springboot.flow.inbox;
+
+import com.codingapi.springboot.flow.em.FlowStatus;
+import com.codingapi.springboot.flow.em.FlowType;
+import com.codingapi.springboot.flow.record.FlowRecord;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 收件箱记录
+ * 流程记录在操作者收件箱中的精简投影，通过recordId获取完整的流程记录
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class FlowInboxItem {
+
+    /**
+     * 流程记录id
+     */
+    private final long recordId;
+
+    /**
+     * 流程id
+     */
+    private final String processId;
+
+    /**
+     * 流程编码
+     */
+    private final String workCode;
+
+    /**
+     * 节点编码
+     */
+    private final String nodeCode;
+
+    /**
+     * 流程标题
+     */
+    private final String title;
+
+    /**
+     * 当前操作者id
+     */
+    private final long operatorId;
+
+    /**
+     * 节点状态
+     */
+    private final FlowType flowType;
+
+    /**
+     * 流程状态
+     */
+    private final FlowStatus flowStatus;
+
+    /**
+     * 是否已读
+     */
+    private final boolean read;
+
+    /**
+     * 超时到期时间
+     */
+    private final long timeoutTime;
+
+    /**
+     * 延期次数
+     */
+    private final int postponedCount;
+
+    /**
+     * 创建时间
+     */
+    private final long createTime;
+
+    /**
+     * 由流程记录创建收件箱记录
+     *
+     * @param flowRecord 流程记录
+     * @return 收件箱记录，删除的记录或没有操作者的记录返回null
+     */
+    public static FlowInboxItem of(FlowRecord flowRecord) {
+        if (flowRecord.isDelete() || flowRecord.getCurrentOperator() == null) {
+            return null;
+        }
+        return new FlowInboxItem(flowRecord.getId(),
+                flowRecord.getProcessId(),
+                flowRecord.getWorkCode(),
+                flowRecord.getNodeCode(),
+                flowRecord.getTitle(),
+                flowRecord.getCurrentOperator().getUserId(),
+                flowRecord.getFlowType(),
+                flowRecord.getFlowStatus(),
+                flowRecord.isRead(),
+                flowRecord.getTimeoutTime(),
+                flowRecord.getPostponedCount(),
+                flowRecord.getCreateTime());
+    }
+
+    private boolean isRunning() {
+        return flowStatus == FlowStatus.RUNNING;
+    }
+
+    /**
+     * 是否待办
+     */
+    public boolean isTodo() {
+        return flowType == FlowType.TODO && isRunning();
+    }
+
+    /**
+     * 是否已办
+     */
+    public boolean isDone() {
+        return flowType == FlowType.DONE;
+    }
+
+    /**
+     * 是否未读
+     */
+    public boolean isUnRead() {
+        return !read && isRunning();
+    }
+
+    /**
+     * 是否延期待办
+     */
+    public boolean isPostponed() {
+        return isTodo() && postponedCount > 0;
+    }
+
+    /**
+     * 是否超时待办
+     *
+     * @param currentTime 当前时间
+     */
+    public boolean isTimeout(long currentTime) {
+        return isTodo() && timeoutTime > 0 && timeoutTime < currentTime;
+    }
+}
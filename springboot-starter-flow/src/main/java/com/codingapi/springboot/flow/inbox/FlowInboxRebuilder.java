@@ -0,0 +1,64 @@
+package com.codingapi.springboot.flow.inbox;
+
+import com.codingapi.springboot.flow.record.FlowRecord;
+import com.codingapi.springboot.flow.repository.FlowInboxRepository;
+import com.codingapi.springboot.flow.repository.FlowRecordRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * 收件箱重建工具
+ * 收件箱与流程记录不一致时（如启用收件箱之前的历史数据、内存收件箱重启），从流程记录重建收件箱
+ */
+@AllArgsConstructor
+public class FlowInboxRebuilder {
+
+    private final FlowRecordRepository flowRecordRepository;
+    private final FlowInboxRepository flowInboxRepository;
+
+    /**
+     * 重建流程的收件箱投影
+     *
+     * @param processId 流程id
+     */
+    public void rebuildProcess(String processId) {
+        flowInboxRepository.refreshProcess(processId, flowRecordRepository.findFlowRecordByProcessId(processId));
+    }
+
+    /**
+     * 重建多个流程的收件箱投影
+     *
+     * @param processIds 流程id
+     */
+    public void rebuildProcesses(Collection<String> processIds) {
+        for (String processId : processIds) {
+            rebuildProcess(processId);
+        }
+    }
+
+    /**
+     * 清空收件箱后分页加载全部流程记录重建
+     *
+     * @param loader   分页加载全部流程记录（含已完成的记录）
+     * @param pageSize 每页数量
+     * @return 加载的流程记录数
+     */
+    public long rebuild(Function<PageRequest, Page<FlowRecord>> loader, int pageSize) {
+        flowInboxRepository.clear();
+        long count = 0;
+        PageRequest pageRequest = PageRequest.of(0, pageSize);
+        while (true) {
+            Page<FlowRecord> page = loader.apply(pageRequest);
+            flowInboxRepository.update(page.getContent());
+            count += page.getNumberOfElements();
+            if (!page.hasNext()) {
+                return count;
+            }
+            pageRequest = pageRequest.next();
+        }
+    }
+}
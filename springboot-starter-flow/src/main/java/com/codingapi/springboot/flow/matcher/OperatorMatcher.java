@@ -8,6 +8,9 @@ import org.springframework.util.StringUtils;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -20,8 +23,24 @@ public class OperatorMatcher {
 
     private final int state;
 
+    /**
+     * 自定义脚本的执行器，内置匹配器为null
+     */
+    @Getter
     private final GroovyShellContext.ShellScript runtime;
 
+    /**
+     * 内置匹配器的Java实现，自定义脚本为null
+     */
+    private final Function<FlowSession, List<Long>> nativeMatcher;
+
+    // 任意人脚本
+    private static final String SCRIPT_ANY = "def run(content) {return [content.getCurrentOperator().getUserId()];}";
+    // 创建者脚本
+    private static final String SCRIPT_CREATOR = "def run(content) {return [content.getCreateOperator().getUserId()];}";
+    // 指定用户脚本
+    private static final Pattern SCRIPT_SPECIFY = Pattern.compile("def run\\(content\\) \\{return \\[(\\d{1,18}(,\\d{1,18})*)?];}");
+
     // 指定用户
     public static final int STATE_SPECIFY = 1;
     // 创建者
@@ -63,7 +82,44 @@ public class OperatorMatcher {
         }
         this.script = script;
         this.state = state;
-        this.runtime = GroovyShellContext.getInstance().parse(script);
+        this.nativeMatcher = createNativeMatcher(script);
+        this.runtime = nativeMatcher == null ? GroovyShellContext.getInstance().parse(script) : null;
+    }
+
+    /**
+     * 识别内置脚本，返回对应的Java实现
+     *
+     * @param script 脚本
+     * @return 内置匹配器，自定义脚本返回null
+     */
+    private static Function<FlowSession, List<Long>> createNativeMatcher(String script) {
+        String value = script.trim();
+        if (SCRIPT_ANY.equals(value)) {
+            return flowSession -> toList(flowSession.getCurrentOperator().getUserId());
+        }
+        if (SCRIPT_CREATOR.equals(value)) {
+            return flowSession -> toList(flowSession.getCreateOperator().getUserId());
+        }
+        Matcher matcher = SCRIPT_SPECIFY.matcher(value);
+        if (matcher.matches()) {
+            List<Long> userIds = matcher.group(1) == null ? List.of() :
+                    Arrays.stream(matcher.group(1).split(",")).map(Long::parseLong).toList();
+            return flowSession -> new ArrayList<>(userIds);
+        }
+        return null;
+    }
+
+    private static List<Long> toList(long userId) {
+        List<Long> list = new ArrayList<>();
+        list.add(userId);
+        return list;
+    }
+
+    /**
+     * 是否为内置匹配器（不经过Groovy执行）
+     */
+    public boolean isNative() {
+        return nativeMatcher != null;
     }
 
     /**
@@ -72,7 +128,7 @@ public class OperatorMatcher {
      * @return 操作者匹配器
      */
     public static OperatorMatcher anyOperatorMatcher() {
-        return new OperatorMatcher("def run(content) {return [content.getCurrentOperator().getUserId()];}", STATE_ANY);
+        return new OperatorMatcher(SCRIPT_ANY, STATE_ANY);
     }
 
     /**
@@ -104,7 +160,7 @@ public class OperatorMatcher {
      * @return 操作者匹配器
      */
     public static OperatorMatcher creatorOperatorMatcher() {
-        return new OperatorMatcher("def run(content) {return [content.getCreateOperator().getUserId()];}", STATE_CREATOR);
+        return new OperatorMatcher(SCRIPT_CREATOR, STATE_CREATOR);
     }
 
     /**
@@ -114,6 +170,9 @@ public class OperatorMatcher {
      * @return 是否匹配
      */
     public List<Long> matcher(FlowSession flowSession) {
+        if (nativeMatcher != null) {
+            return nativeMatcher.apply(flowSession);
+        }
         List<Object> values = (List<Object>) runtime.invokeMethod("run", flowSession);
         if (values == null) {
             return new ArrayList<>();
@@ -0,0 +1,65 @@
+package com.codingapi.springboot.flow.pojo;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 批量提交结果
+ * 按提交的流程记录id顺序返回每条记录的提交结果
+ */
+@Getter
+@AllArgsConstructor
+public class FlowBatchSubmitResult {
+
+    private final List<Item> items;
+
+    public long getSuccessCount() {
+        return items.stream().filter(Item::isSuccess).count();
+    }
+
+    public List<Item> getFailedItems() {
+        return items.stream().filter(item -> !item.isSuccess()).toList();
+    }
+
+    public Item getItem(long recordId) {
+        return items.stream().filter(item -> item.getRecordId() == recordId).findFirst().orElse(null);
+    }
+
+    /**
+     * 单条流程记录的提交结果
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Item {
+
+        /**
+         * 流程记录id
+         */
+        private final long recordId;
+
+        /**
+         * 是否提交成功
+         */
+        private final boolean success;
+
+        /**
+         * 提交成功时的流程结果
+         */
+        private final FlowResult result;
+
+        /**
+         * 提交失败时的错误信息
+         */
+        private final String message;
+
+        public static Item success(long recordId, FlowResult result) {
+            return new Item(recordId, true, result, null);
+        }
+
+        public static Item fail(long recordId, String message) {
+            return new Item(recordId, false, null, message);
+        }
+    }
+}
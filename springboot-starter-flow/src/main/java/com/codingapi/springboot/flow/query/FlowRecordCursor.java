@@ -0,0 +1,84 @@
+package com.codingapi.springboot.flow.query;
+
+import com.codingapi.springboot.flow.record.FlowRecord;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * 流程记录游标
+ * 列表按记录id降序排列，游标记录上一页最后一条记录的id，下一页只查询id小于该值的记录，
+ * 查询结果通过 {@link Slice#hasNext()} 判断是否还有更多数据，不统计总数。
+ */
+@Getter
+@ToString
+public class FlowRecordCursor {
+
+    /**
+     * 上一页最后一条记录的id，0表示第一页
+     */
+    private final long lastId;
+
+    /**
+     * 每页数量
+     */
+    private final int pageSize;
+
+    private FlowRecordCursor(long lastId, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("page size must be greater than 0");
+        }
+        this.lastId = lastId;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * 第一页
+     *
+     * @param pageSize 每页数量
+     */
+    public static FlowRecordCursor first(int pageSize) {
+        return new FlowRecordCursor(0, pageSize);
+    }
+
+    /**
+     * 指定上一页最后一条记录的id
+     *
+     * @param lastId   上一页最后一条记录的id，0表示第一页
+     * @param pageSize 每页数量
+     */
+    public static FlowRecordCursor of(long lastId, int pageSize) {
+        return new FlowRecordCursor(lastId, pageSize);
+    }
+
+    /**
+     * 查询条件中的id上限，第一页时不限制
+     */
+    public long getSeekId() {
+        return lastId > 0 ? lastId : Long.MAX_VALUE;
+    }
+
+    /**
+     * 分页参数，只用于限制查询数量
+     */
+    public PageRequest toPageRequest() {
+        return PageRequest.of(0, pageSize);
+    }
+
+    /**
+     * 下一页的游标
+     *
+     * @param slice 当前页数据
+     * @return 下一页游标，没有更多数据时返回null
+     */
+    public FlowRecordCursor next(Slice<FlowRecord> slice) {
+        List<FlowRecord> content = slice.getContent();
+        if (!slice.hasNext() || content.isEmpty()) {
+            return null;
+        }
+        return new FlowRecordCursor(content.get(content.size() - 1).getId(), pageSize);
+    }
+}
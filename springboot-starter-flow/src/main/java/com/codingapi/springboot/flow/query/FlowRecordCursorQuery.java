@@ -0,0 +1,126 @@
+package com.codingapi.springboot.flow.query;
+
+import com.codingapi.springboot.flow.record.FlowRecord;
+import org.springframework.data.domain.Slice;
+
+/**
+ *  流程记录游标查询服务
+ *  游标分页查询按记录id降序排列，不统计总数，支持游标查询的实现类实现该接口
+ */
+public interface FlowRecordCursorQuery extends FlowRecordQuery {
+
+    /**
+     * 查看个人的未读与待办数据（游标分页）
+     *
+     * @param operatorId 操作人
+     * @param cursor 游标
+     * @return 流程记录
+     */
+    Slice<FlowRecord> findUnReadByOperatorId(long operatorId, FlowRecordCursor cursor);
+
+    /**
+     * 查看个人的未读与待办数据（游标分页、指定流程）
+     *
+     * @param operatorId 操作人
+     * @param workCode 流程编码
+     * @param cursor 游标
+     * @return 流程记录
+     */
+    Slice<FlowRecord> findUnReadByOperatorId(long operatorId, String workCode, FlowRecordCursor cursor);
+
+    /**
+     * 查看个人的待办数据（游标分页）
+     *
+     * @param operatorId 操作人
+     * @param cursor 游标
+     * @return 流程记录
+     */
+    Slice<FlowRecord> findTodoByOperatorId(long operatorId, FlowRecordCursor cursor);
+
+    /**
+     * 查看个人的待办数据（游标分页、指定流程）
+     *
+     * @param operatorId 操作人
+     * @param workCode 流程编码
+     * @param cursor 游标
+     * @return 流程记录
+     */
+    Slice<FlowRecord> findTodoByOperatorId(long operatorId, String workCode, FlowRecordCursor cursor);
+
+    /**
+     * 查看个人的已办数据（游标分页）
+     *
+     * @param operatorId 操作人
+     * @param cursor 游标
+     * @return 流程记录
+     */
+    Slice<FlowRecord> findDoneByOperatorId(long operatorId, FlowRecordCursor cursor);
+
+    /**
+     * 查看个人的已办数据（游标分页、指定流程）
+     *
+     * @param operatorId 操作人
+     * @param workCode 流程编码
+     * @param cursor 游标
+     * @return 流程记录
+     */
+    Slice<FlowRecord> findDoneByOperatorId(long operatorId, String workCode, FlowRecordCursor cursor);
+
+    /**
+     * 查看个人的发起数据 （含待办与已办）（游标分页）
+     *
+     * @param operatorId 操作人
+     * @param cursor 游标
+     * @return 流程记录
+     */
+    Slice<FlowRecord> findInitiatedByOperatorId(long operatorId, FlowRecordCursor cursor);
+
+    /**
+     * 查看个人的发起数据 （含待办与已办）（游标分页、指定流程）
+     *
+     * @param operatorId 操作人
+     * @param workCode 流程编码
+     * @param cursor 游标
+     * @return 流程记录
+     */
+    Slice<FlowRecord> findInitiatedByOperatorId(long operatorId, String workCode, FlowRecordCursor cursor);
+
+    /**
+     * 查看个人的超时的待办流程（游标分页）
+     *
+     * @param operatorId 操作人
+     * @param cursor 游标
+     * @return 流程记录
+     */
+    Slice<FlowRecord> findTimeoutTodoByOperatorId(long operatorId, FlowRecordCursor cursor);
+
+    /**
+     * 查看个人的超时的待办流程（游标分页、指定流程）
+     *
+     * @param operatorId 操作人
+     * @param workCode 流程编码
+     * @param cursor 游标
+     * @return 流程记录
+     */
+    Slice<FlowRecord> findTimeoutTodoByOperatorId(long operatorId, String workCode, FlowRecordCursor cursor);
+
+    /**
+     * 查看个人的延期的待办流程（游标分页）
+     *
+     * @param operatorId 操作人
+     * @param cursor 游标
+     * @return 流程记录
+     */
+    Slice<FlowRecord> findPostponedTodoByOperatorId(long operatorId, FlowRecordCursor cursor);
+
+    /**
+     * 查看个人的延期的待办流程（游标分页、指定流程）
+     *
+     * @param operatorId 操作人
+     * @param workCode 流程编码
+     * @param cursor 游标
+     * @return 流程记录
+     */
+    Slice<FlowRecord> findPostponedTodoByOperatorId(long operatorId, String workCode, FlowRecordCursor cursor);
+
+}
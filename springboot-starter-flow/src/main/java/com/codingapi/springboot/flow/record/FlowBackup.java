@@ -1,6 +1,7 @@
 package com.codingapi.springboot.flow.record;
 
 import com.codingapi.springboot.flow.domain.FlowWork;
+import com.codingapi.springboot.flow.domain.FlowWorkContent;
 import com.codingapi.springboot.flow.repository.FlowOperatorRepository;
 import com.codingapi.springboot.flow.serializable.FlowWorkSerializable;
 import lombok.AllArgsConstructor;
@@ -43,19 +44,28 @@ public class FlowBackup {
      */
     private long workId;
 
+    /**
+     * 流程设计的内容摘要
+     * 用于设计内容未变化时复用备份，见 {@link FlowWorkContent#hash(FlowWork)}
+     */
+    private String contentHash;
+
     /**
      * 恢复流程
      * @param flowOperatorRepository 操作者仓库
      * @return 流程
      */
     public FlowWork resume(FlowOperatorRepository flowOperatorRepository) {
-        return FlowWorkSerializable.fromSerializable(this.bytes).toFlowWork(flowOperatorRepository);
+        FlowWork flowWork = FlowWorkSerializable.fromSerializable(this.bytes).toFlowWork(flowOperatorRepository);
+        flowWork.compileScripts();
+        return flowWork;
     }
 
     public FlowBackup(FlowWork flowWork) {
         this.bytes = flowWork.toSerializable().toSerializable();
         this.workVersion = flowWork.getUpdateTime();
         this.workId = flowWork.getId();
+        this.contentHash = FlowWorkContent.hash(flowWork);
         this.createTime = System.currentTimeMillis();
     }
 }
@@ -0,0 +1,168 @@
+package com.codingapi.springboot.flow.record;
+
+import com.codingapi.springboot.flow.em.FlowStatus;
+import com.codingapi.springboot.flow.repository.FlowRecordRepository;
+import lombok.Getter;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * 流程记录图
+ * 一次加载流程的全部记录，按id、上级id、节点编码与状态建立索引，在内存中完成上下级记录的查询。
+ * 记录图是加载时刻的快照，加载后新保存的记录不会出现在记录图中。
+ */
+public class FlowProcessGraph {
+
+    /**
+     * 流程id
+     */
+    @Getter
+    private final String processId;
+
+    /**
+     * 全部流程记录，按id升序排列
+     */
+    @Getter
+    private final List<FlowRecord> records;
+
+    private final Map<Long, FlowRecord> recordIndex = new HashMap<>();
+    private final Map<Long, List<FlowRecord>> childrenIndex = new HashMap<>();
+    private final Map<String, List<FlowRecord>> nodeIndex = new HashMap<>();
+    private final Map<FlowStatus, List<FlowRecord>> statusIndex = new EnumMap<>(FlowStatus.class);
+
+    public FlowProcessGraph(String processId, List<FlowRecord> records) {
+        this.processId = processId;
+        this.records = records.stream()
+                .sorted(Comparator.comparingLong(FlowRecord::getId))
+                .toList();
+        for (FlowRecord record : this.records) {
+            recordIndex.put(record.getId(), record);
+            childrenIndex.computeIfAbsent(record.getPreId(), key -> new ArrayList<>()).add(record);
+            nodeIndex.computeIfAbsent(record.getNodeCode(), key -> new ArrayList<>()).add(record);
+            if (record.getFlowStatus() != null) {
+                statusIndex.computeIfAbsent(record.getFlowStatus(), key -> new ArrayList<>()).add(record);
+            }
+        }
+    }
+
+    /**
+     * 加载流程记录图
+     *
+     * @param flowRecordRepository 流程记录仓库
+     * @param processId            流程id
+     * @return 流程记录图
+     */
+    public static FlowProcessGraph load(FlowRecordRepository flowRecordRepository, String processId) {
+        return new FlowProcessGraph(processId, flowRecordRepository.findFlowRecordByProcessId(processId));
+    }
+
+    /**
+     * 全部流程记录，按id降序排列
+     */
+    public List<FlowRecord> getRecordsDesc() {
+        List<FlowRecord> list = new ArrayList<>(records);
+        Collections.reverse(list);
+        return list;
+    }
+
+    public boolean isEmpty() {
+        return records.isEmpty();
+    }
+
+    /**
+     * 获取流程记录
+     *
+     * @param id 记录id
+     * @return 流程记录，不存在时返回null
+     */
+    public FlowRecord getRecord(long id) {
+        return recordIndex.get(id);
+    }
+
+    /**
+     * 获取上级流程记录
+     *
+     * @param record 流程记录
+     * @return 上级流程记录，不存在时返回null
+     */
+    public FlowRecord getPreRecord(FlowRecord record) {
+        if (record == null || record.getPreId() == 0) {
+            return null;
+        }
+        return recordIndex.get(record.getPreId());
+    }
+
+    /**
+     * 获取下级流程记录
+     *
+     * @param preId 上级记录id
+     * @return 下级流程记录
+     */
+    public List<FlowRecord> getChildren(long preId) {
+        return childrenIndex.getOrDefault(preId, Collections.emptyList());
+    }
+
+    /**
+     * 获取节点的流程记录
+     *
+     * @param nodeCode 节点编码
+     * @return 流程记录
+     */
+    public List<FlowRecord> findByNodeCode(String nodeCode) {
+        return nodeIndex.getOrDefault(nodeCode, Collections.emptyList());
+    }
+
+    /**
+     * 获取状态的流程记录
+     *
+     * @param flowStatus 流程状态
+     * @return 流程记录
+     */
+    public List<FlowRecord> findByStatus(FlowStatus flowStatus) {
+        return statusIndex.getOrDefault(flowStatus, Collections.emptyList());
+    }
+
+    /**
+     * 流程中是否存在节点的记录
+     */
+    public boolean containsNode(String nodeCode) {
+        return nodeIndex.containsKey(nodeCode);
+    }
+
+    /**
+     * 沿上级记录查找第一个满足条件的记录，不包含记录本身
+     *
+     * @param record    流程记录
+     * @param predicate 匹配条件
+     * @return 满足条件的上级记录，不存在时返回null
+     */
+    public FlowRecord findAncestor(FlowRecord record, Predicate<FlowRecord> predicate) {
+        Set<Long> visited = new HashSet<>();
+        FlowRecord current = getPreRecord(record);
+        while (current != null && visited.add(current.getId())) {
+            if (predicate.test(current)) {
+                return current;
+            }
+            current = getPreRecord(current);
+        }
+        return null;
+    }
+
+    /**
+     * 获取id小于当前记录的流程记录，按id降序排列
+     *
+     * @param record 当前记录
+     * @return 之前的流程记录
+     */
+    public List<FlowRecord> findBefore(FlowRecord record) {
+        List<FlowRecord> list = new ArrayList<>();
+        for (int i = records.size() - 1; i >= 0; i--) {
+            FlowRecord item = records.get(i);
+            if (item.getId() < record.getId()) {
+                list.add(item);
+            }
+        }
+        return list;
+    }
+}
@@ -0,0 +1,146 @@
+package com.codingapi.springboot.flow.repository;
+
+import com.codingapi.springboot.flow.user.IFlowOperator;
+
+import java.util.*;
+
+/**
+ * 流程操作者缓存
+ * 按ID缓存查询到的操作者，缓存在过期时间后重新查询，超过最大数量时淘汰最久未使用的操作者
+ */
+public class CachedFlowOperatorRepository implements FlowOperatorRepository {
+
+    public static final String CACHE_TTL_KEY = "Flow.OperatorCacheTtl";
+    public static final String CACHE_SIZE_KEY = "Flow.OperatorCacheSize";
+
+    private final FlowOperatorRepository flowOperatorRepository;
+
+    // 缓存有效时间(毫秒)
+    private final long ttl;
+
+    private final Map<Long, CacheEntry> cache;
+
+    public CachedFlowOperatorRepository(FlowOperatorRepository flowOperatorRepository) {
+        this(flowOperatorRepository,
+                Long.parseLong(System.getProperty(CACHE_TTL_KEY, "60000")),
+                Integer.parseInt(System.getProperty(CACHE_SIZE_KEY, "1024")));
+    }
+
+    public CachedFlowOperatorRepository(FlowOperatorRepository flowOperatorRepository, long ttl, int maxSize) {
+        this.flowOperatorRepository = flowOperatorRepository;
+        this.ttl = ttl;
+        this.cache = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CacheEntry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public List<? extends IFlowOperator> findByIds(List<Long> ids) {
+        Map<Long, IFlowOperator> operators = findMapByIds(ids);
+        List<IFlowOperator> list = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            IFlowOperator operator = operators.get(id);
+            if (operator != null) {
+                list.add(operator);
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public IFlowOperator getFlowOperatorById(long id) {
+        IFlowOperator operator = get(id);
+        if (operator != null) {
+            return operator;
+        }
+        operator = flowOperatorRepository.getFlowOperatorById(id);
+        if (operator != null) {
+            put(id, operator);
+        }
+        return operator;
+    }
+
+    @Override
+    public Map<Long, IFlowOperator> findMapByIds(Collection<Long> ids) {
+        Map<Long, IFlowOperator> operators = new HashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return operators;
+        }
+        Set<Long> missIds = new LinkedHashSet<>();
+        for (Long id : ids) {
+            IFlowOperator operator = get(id);
+            if (operator != null) {
+                operators.put(id, operator);
+            } else {
+                missIds.add(id);
+            }
+        }
+        if (!missIds.isEmpty()) {
+            Map<Long, IFlowOperator> loaded = flowOperatorRepository.findMapByIds(missIds);
+            loaded.forEach(this::put);
+            operators.putAll(loaded);
+        }
+        return operators;
+    }
+
+    /**
+     * 移除操作者缓存，操作者信息变更后调用
+     *
+     * @param id 操作者ID
+     */
+    public void evict(long id) {
+        synchronized (cache) {
+            cache.remove(id);
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private IFlowOperator get(long id) {
+        synchronized (cache) {
+            CacheEntry entry = cache.get(id);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expireTime < System.currentTimeMillis()) {
+                cache.remove(id);
+                return null;
+            }
+            return entry.operator;
+        }
+    }
+
+    private void put(long id, IFlowOperator operator) {
+        synchronized (cache) {
+            cache.put(id, new CacheEntry(operator, System.currentTimeMillis() + ttl));
+        }
+    }
+
+    private static class CacheEntry {
+
+        private final IFlowOperator operator;
+        // 过期时间
+        private final long expireTime;
+
+        private CacheEntry(IFlowOperator operator, long expireTime) {
+            this.operator = operator;
+            this.expireTime = expireTime;
+        }
+    }
+}
@@ -23,6 +23,26 @@ public interface FlowBackupRepository {
      */
     FlowBackup getFlowBackupByWorkIdAndVersion(long workId,long workVersion);
 
+    /**
+     * 根据流程id和内容摘要获取备份，流程设计重新保存但内容未变化时复用已有的备份
+     * 默认不复用，存储了内容摘要的实现可以覆盖该方法
+     * @param workId 流程id
+     * @param contentHash 内容摘要
+     * @return 备份对象
+     */
+    default FlowBackup getFlowBackupByWorkIdAndContentHash(long workId, String contentHash) {
+        return null;
+    }
+
+    /**
+     * 修改备份的版本号，复用的备份改为流程当前的版本号，之后发起流程按版本号直接获取备份
+     * 覆盖了 {@link #getFlowBackupByWorkIdAndContentHash(long, String)} 的实现需要同时覆盖该方法
+     * @param flowBackup 备份对象
+     * @param workVersion 版本号
+     */
+    default void updateWorkVersion(FlowBackup flowBackup, long workVersion) {
+    }
+
     /**
      * 根据备份id获取备份
      * @param backupId 备份id
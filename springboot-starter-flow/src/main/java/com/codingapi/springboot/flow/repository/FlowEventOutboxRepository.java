@@ -0,0 +1,46 @@
+package com.codingapi.springboot.flow.repository;
+
+import com.codingapi.springboot.flow.event.FlowEventMessage;
+
+import java.util.List;
+
+/**
+ * 流程事件发件箱仓库
+ * 消息在流程事务内保存，投递成功后删除，重启后未删除的消息将重新投递。
+ * 持久化的仓库只需保存消息的id、节点、流程id、事件状态、流程记录id、操作者id、表单快照id、创建时间与投递次数，
+ * 重新加载时通过 {@link FlowEventMessage} 的对应构造函数创建消息。
+ * 多个节点共享仓库时消息id需要全局唯一，应由数据库生成。
+ */
+public interface FlowEventOutboxRepository {
+
+    /**
+     * 保存消息，分配消息id并设置到消息上
+     *
+     * @param message 消息
+     */
+    void save(FlowEventMessage message);
+
+    /**
+     * 更新消息的投递次数，投递失败后调用
+     *
+     * @param message 消息
+     */
+    default void update(FlowEventMessage message) {
+        save(message);
+    }
+
+    /**
+     * 删除消息，投递成功或事务回滚后调用
+     *
+     * @param id 消息id
+     */
+    void delete(long id);
+
+    /**
+     * 获取节点未投递的消息，按id升序排列
+     *
+     * @param owner 推送消息的节点
+     * @return 消息
+     */
+    List<FlowEventMessage> findByOwner(String owner);
+}
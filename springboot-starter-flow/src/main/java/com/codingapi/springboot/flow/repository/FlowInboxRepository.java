@@ -0,0 +1,53 @@
+package com.codingapi.springboot.flow.repository;
+
+import com.codingapi.springboot.flow.inbox.FlowInboxCount;
+import com.codingapi.springboot.flow.inbox.FlowInboxItem;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * 流程收件箱仓库
+ * 按操作者维护的流程记录投影，由流程引擎在流程记录变更时更新，查询只涉及当前操作者的数据
+ */
+public interface FlowInboxRepository extends FlowRecordProjection {
+
+    /**
+     * 清空收件箱
+     */
+    void clear();
+
+    /**
+     * 获取操作者的角标数量
+     *
+     * @param operatorId  操作者id
+     * @param currentTime 当前时间，用于计算超时待办
+     * @return 角标数量
+     */
+    FlowInboxCount getCount(long operatorId, long currentTime);
+
+    /**
+     * 查看个人的待办数据，按记录id降序排列
+     */
+    Page<FlowInboxItem> findTodoByOperatorId(long operatorId, PageRequest pageRequest);
+
+    /**
+     * 查看个人的未读数据，按记录id降序排列
+     */
+    Page<FlowInboxItem> findUnReadByOperatorId(long operatorId, PageRequest pageRequest);
+
+    /**
+     * 查看个人的已办数据，每个流程只返回最新的已办记录，按记录id降序排列
+     */
+    Page<FlowInboxItem> findDoneByOperatorId(long operatorId, PageRequest pageRequest);
+
+    /**
+     * 查看个人的超时待办数据，按记录id降序排列
+     */
+    Page<FlowInboxItem> findTimeoutTodoByOperatorId(long operatorId, long currentTime, PageRequest pageRequest);
+
+    /**
+     * 查看个人的延期待办数据，按记录id降序排列
+     */
+    Page<FlowInboxItem> findPostponedTodoByOperatorId(long operatorId, PageRequest pageRequest);
+
+}
@@ -0,0 +1,77 @@
+package com.codingapi.springboot.flow.repository;
+
+import com.codingapi.springboot.flow.user.IFlowOperator;
+
+import java.util.*;
+
+/**
+ * 流程操作者身份映射
+ * 在一次请求内使用，同一个ID只查询一次，可以先通过prefetch批量加载需要的操作者。
+ * 该对象不是线程安全的，不应跨请求共享。
+ */
+public class FlowOperatorIdentityMap implements FlowOperatorRepository {
+
+    private final FlowOperatorRepository flowOperatorRepository;
+
+    // 已加载的操作者，不存在的操作者记录为null
+    private final Map<Long, IFlowOperator> operators = new HashMap<>();
+
+    public FlowOperatorIdentityMap(FlowOperatorRepository flowOperatorRepository) {
+        this.flowOperatorRepository = flowOperatorRepository;
+    }
+
+    /**
+     * 批量加载操作者，已加载的操作者不会重复查询
+     *
+     * @param ids IDs
+     */
+    public void prefetch(Collection<Long> ids) {
+        Set<Long> missIds = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id != null && !operators.containsKey(id)) {
+                missIds.add(id);
+            }
+        }
+        if (missIds.isEmpty()) {
+            return;
+        }
+        Map<Long, IFlowOperator> loaded = flowOperatorRepository.findMapByIds(missIds);
+        for (Long id : missIds) {
+            operators.put(id, loaded.get(id));
+        }
+    }
+
+    @Override
+    public List<? extends IFlowOperator> findByIds(List<Long> ids) {
+        prefetch(ids);
+        List<IFlowOperator> list = new ArrayList<>();
+        for (Long id : ids) {
+            IFlowOperator operator = operators.get(id);
+            if (operator != null) {
+                list.add(operator);
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public IFlowOperator getFlowOperatorById(long id) {
+        if (!operators.containsKey(id)) {
+            operators.put(id, flowOperatorRepository.getFlowOperatorById(id));
+        }
+        return operators.get(id);
+    }
+
+    @Override
+    public Map<Long, IFlowOperator> findMapByIds(Collection<Long> ids) {
+        prefetch(ids);
+        Map<Long, IFlowOperator> map = new HashMap<>();
+        for (Long id : ids) {
+            IFlowOperator operator = operators.get(id);
+            if (operator != null) {
+                map.put(id, operator);
+            }
+        }
+        return map;
+    }
+}
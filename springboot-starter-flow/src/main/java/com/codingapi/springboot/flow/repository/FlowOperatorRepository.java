@@ -2,7 +2,7 @@ package com.codingapi.springboot.flow.repository;
 
 import com.codingapi.springboot.flow.user.IFlowOperator;
 
-import java.util.List;
+import java.util.*;
 
 /**
  * 流程操作者 仓库
@@ -26,4 +26,24 @@ public interface FlowOperatorRepository {
      */
     IFlowOperator getFlowOperatorById(long id);
 
+
+    /**
+     * 根据ID批量查询流程用户，重复的ID只查询一次
+     *
+     * @param ids IDs
+     * @return 用户ID与流程用户的对应关系，不存在的用户不会返回
+     */
+    default Map<Long, IFlowOperator> findMapByIds(Collection<Long> ids) {
+        Map<Long, IFlowOperator> operators = new HashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return operators;
+        }
+        for (IFlowOperator operator : findByIds(new ArrayList<>(new LinkedHashSet<>(ids)))) {
+            if (operator != null) {
+                operators.put(operator.getUserId(), operator);
+            }
+        }
+        return operators;
+    }
+
 }
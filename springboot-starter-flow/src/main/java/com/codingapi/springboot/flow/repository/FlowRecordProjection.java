@@ -0,0 +1,56 @@
+package com.codingapi.springboot.flow.repository;
+
+import com.codingapi.springboot.flow.record.FlowRecord;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 流程记录投影
+ * 由流程引擎在流程记录写入后更新，如收件箱与超时定时器
+ */
+public interface FlowRecordProjection {
+
+    /**
+     * 是否在流程记录的事务内更新投影
+     * 与流程记录保存在同一数据库中的投影返回true，随事务提交或回滚；
+     * 内存中的投影返回false，在事务提交后更新，事务回滚时不更新
+     *
+     * @return 默认false
+     */
+    default boolean isTransactional() {
+        return false;
+    }
+
+    /**
+     * 更新流程记录的投影，删除的流程记录将从投影中移除
+     *
+     * @param flowRecords 流程记录
+     */
+    void update(List<FlowRecord> flowRecords);
+
+    /**
+     * 移除流程记录的投影
+     *
+     * @param recordIds 流程记录id
+     */
+    void remove(Collection<Long> recordIds);
+
+    /**
+     * 移除流程的全部投影
+     *
+     * @param processId 流程id
+     */
+    void removeByProcessId(String processId);
+
+    /**
+     * 使用流程的全部记录替换流程的投影
+     *
+     * @param processId   流程id
+     * @param flowRecords 流程的全部记录
+     */
+    default void refreshProcess(String processId, List<FlowRecord> flowRecords) {
+        removeByProcessId(processId);
+        update(flowRecords);
+    }
+}
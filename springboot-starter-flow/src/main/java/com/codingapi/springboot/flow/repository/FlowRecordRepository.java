@@ -1,7 +1,9 @@
 package com.codingapi.springboot.flow.repository;
 
+import com.codingapi.springboot.flow.em.FlowType;
 import com.codingapi.springboot.flow.record.FlowRecord;
 
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -32,6 +34,24 @@ public interface FlowRecordRepository {
      */
     FlowRecord getFlowRecordById(long id);
 
+    /**
+     * 根据ID批量查询流程记录，不存在的记录将被忽略
+     * 默认逐条查询，数据库实现可以通过一条in查询完成
+     *
+     * @param ids 流程记录ID
+     * @return List of FlowRecord
+     */
+    default List<FlowRecord> findFlowRecordByIds(List<Long> ids) {
+        List<FlowRecord> flowRecords = new ArrayList<>();
+        for (long id : ids) {
+            FlowRecord flowRecord = getFlowRecordById(id);
+            if (flowRecord != null) {
+                flowRecords.add(flowRecord);
+            }
+        }
+        return flowRecords;
+    }
+
     /**
      * 根据前置ID查询流程记录
      *
@@ -74,6 +94,69 @@ public interface FlowRecordRepository {
      */
     void finishFlowRecordByProcessId(String processId);
 
+    /**
+     * 根据流程id 批量修改流程记录的流程类型，已删除的记录不修改
+     * 默认逐条更新，数据库实现可以通过一条update语句完成
+     *
+     * @param processId 流程id
+     * @param flowType  流程类型
+     */
+    default void updateFlowTypeByProcessId(String processId, FlowType flowType) {
+        long updateTime = System.currentTimeMillis();
+        for (FlowRecord flowRecord : findFlowRecordByProcessId(processId)) {
+            if (flowRecord.isDelete()) {
+                continue;
+            }
+            flowRecord.setFlowType(flowType);
+            flowRecord.setUpdateTime(updateTime);
+            update(flowRecord);
+        }
+    }
+
+    /**
+     * 根据流程记录id 批量修改流程记录的流程类型，已删除的记录不修改
+     * 默认逐条更新，数据库实现可以通过一条update语句完成
+     *
+     * @param ids      流程记录id
+     * @param flowType 流程类型
+     */
+    default void updateFlowTypeByIds(List<Long> ids, FlowType flowType) {
+        long updateTime = System.currentTimeMillis();
+        for (long id : ids) {
+            FlowRecord flowRecord = getFlowRecordById(id);
+            if (flowRecord != null && !flowRecord.isDelete()) {
+                flowRecord.setFlowType(flowType);
+                flowRecord.setUpdateTime(updateTime);
+                update(flowRecord);
+            }
+        }
+    }
+
+    /**
+     * 根据流程id 作废所有的流程记录
+     *
+     * @param processId 流程id
+     */
+    default void voidedFlowRecordByProcessId(String processId) {
+        updateFlowTypeByProcessId(processId, FlowType.DELETE);
+    }
+
+    /**
+     * 根据流程记录id 批量标记为已读，已读与已删除的记录不修改
+     * 默认逐条更新，数据库实现可以通过一条update语句完成
+     *
+     * @param ids 流程记录id
+     */
+    default void readFlowRecordByIds(List<Long> ids) {
+        for (long id : ids) {
+            FlowRecord flowRecord = getFlowRecordById(id);
+            if (flowRecord != null && !flowRecord.isDelete() && !flowRecord.isRead()) {
+                flowRecord.read();
+                update(flowRecord);
+            }
+        }
+    }
+
     /**
      * 删除流程记录
      *
@@ -0,0 +1,76 @@
+package com.codingapi.springboot.flow.repository;
+
+import com.codingapi.springboot.flow.timer.FlowTimer;
+
+import java.util.List;
+
+/**
+ * 流程定时器仓库
+ * 持久化的到期时间索引，数据库实现应在到期时间与记录id上建立索引
+ * 多个节点共享仓库时，节点执行超时动作前需要领取定时器，领取在租约过期前有效，同一时刻只有一个节点能领取成功
+ */
+public interface FlowTimerRepository {
+
+    /**
+     * 保存定时器，同一流程记录只保留一个定时器，重新保存的定时器未被领取
+     *
+     * @param flowTimer 定时器
+     */
+    void save(FlowTimer flowTimer);
+
+    /**
+     * 获取流程记录的定时器
+     *
+     * @param recordId 流程记录id
+     * @return 定时器，不存在时返回null
+     */
+    FlowTimer getFlowTimerByRecordId(long recordId);
+
+    /**
+     * 领取定时器
+     * 定时器存在、到期时间为dueTime且未被领取或领取已过期时，将领取过期时间设为leaseUntil，
+     * 数据库实现应使用条件更新，更新成功即领取成功
+     *
+     * @param recordId   流程记录id
+     * @param dueTime    到期时间
+     * @param leaseUntil 领取过期时间
+     * @param now        当前时间
+     * @return 是否领取成功
+     */
+    boolean claim(long recordId, long dueTime, long leaseUntil, long now);
+
+    /**
+     * 释放领取的定时器，超时动作执行失败后调用
+     *
+     * @param recordId 流程记录id
+     * @param dueTime  到期时间
+     */
+    void release(long recordId, long dueTime);
+
+    /**
+     * 删除流程记录的定时器
+     *
+     * @param recordId 流程记录id
+     */
+    void delete(long recordId);
+
+    /**
+     * 删除流程的全部定时器
+     *
+     * @param processId 流程id
+     */
+    void deleteByProcessId(String processId);
+
+    /**
+     * 按到期时间与记录id升序查询到期时间早于beforeTime的定时器
+     * 从(afterDueTime, afterRecordId)之后开始查询，用于分批加载
+     *
+     * @param afterDueTime  上一批最后一个定时器的到期时间
+     * @param afterRecordId 上一批最后一个定时器的记录id
+     * @param beforeTime    到期时间上限（不含）
+     * @param limit         最大数量
+     * @return 定时器
+     */
+    List<FlowTimer> findDueTimers(long afterDueTime, long afterRecordId, long beforeTime, int limit);
+
+}
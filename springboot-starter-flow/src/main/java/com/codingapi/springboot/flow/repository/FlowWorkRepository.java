@@ -2,6 +2,9 @@ package com.codingapi.springboot.flow.repository;
 
 import com.codingapi.springboot.flow.domain.FlowWork;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * 流程设计器仓库
  */
@@ -11,8 +14,33 @@ public interface FlowWorkRepository {
 
     FlowWork getFlowWorkByCode(String code);
 
+    /**
+     * 获取流程设计的版本号（更新时间），用于流程设计缓存的校验
+     * @param code 流程编码
+     * @return 版本号，返回null时不缓存流程设计
+     */
+    default Long getFlowWorkVersionByCode(String code) {
+        return null;
+    }
+
+    /**
+     * 获取流程设计的版本号（更新时间），用于流程设计缓存的校验
+     * @param id 流程设计id
+     * @return 版本号，返回null时不缓存流程设计
+     */
+    default Long getFlowWorkVersionById(long id) {
+        return null;
+    }
+
     void save(FlowWork flowWork);
 
     void delete(long id);
 
+    /**
+     * 获取全部启用的流程设计，用于启动时预编译流程脚本
+     */
+    default List<FlowWork> findEnabledFlowWorks() {
+        return Collections.emptyList();
+    }
+
 }
@@ -0,0 +1,44 @@
+package com.codingapi.springboot.flow.repository;
+
+import com.codingapi.springboot.flow.event.FlowEventMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 内存发件箱仓库
+ * 未配置发件箱仓库时使用，进程重启后未投递的消息将丢失，需要持久化时注册 FlowEventOutboxRepository 类型的Bean
+ */
+public class MemoryFlowEventOutboxRepository implements FlowEventOutboxRepository {
+
+    private final Map<Long, FlowEventMessage> messages = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequence = new AtomicLong(0);
+
+    @Override
+    public void save(FlowEventMessage message) {
+        if (message.getId() <= 0) {
+            message.setId(sequence.incrementAndGet());
+        }
+        messages.put(message.getId(), message);
+    }
+
+    @Override
+    public void delete(long id) {
+        messages.remove(id);
+    }
+
+    @Override
+    public List<FlowEventMessage> findByOwner(String owner) {
+        return messages.values().stream().filter(message -> owner.equals(message.getOwner())).toList();
+    }
+
+    /**
+     * 获取全部未投递的消息
+     */
+    public List<FlowEventMessage> findAll() {
+        return new ArrayList<>(messages.values());
+    }
+}
@@ -0,0 +1,243 @@
+package com.codingapi.springboot.flow.repository;
+
+import com.codingapi.springboot.flow.inbox.FlowInboxCount;
+import com.codingapi.springboot.flow.inbox.FlowInboxItem;
+import com.codingapi.springboot.flow.record.FlowRecord;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 内存收件箱仓库
+ * 每个操作者按记录id倒序维护待办、未读、延期与已办集合，角标数量与分页只涉及当前操作者的集合。
+ * 超时待办与时间相关，在操作者设置了超时时间的待办中筛选。
+ * 已办只保留每个操作者在每个流程中最新的一条记录，写入更新的已办记录时丢弃旧的已办记录，
+ * 删除最新的已办记录后不会回退到旧的已办记录，需要时通过重建恢复。
+ * 内存收件箱只在当前进程内有效，仅适用于单节点部署，进程启动时需要通过
+ * {@link com.codingapi.springboot.flow.inbox.FlowInboxRebuilder} 重建；多节点部署需要提供持久化的 {@link FlowInboxRepository} 实现。
+ */
+public class MemoryFlowInboxRepository implements FlowInboxRepository {
+
+    // 记录id -> 收件箱记录
+    private final Map<Long, FlowInboxItem> items = new HashMap<>();
+    // 流程id -> 记录id
+    private final Map<String, Set<Long>> processIndex = new HashMap<>();
+    // 操作者id -> 收件箱
+    private final Map<Long, OperatorInbox> inboxes = new HashMap<>();
+
+    @Override
+    public synchronized void update(List<FlowRecord> flowRecords) {
+        for (FlowRecord flowRecord : flowRecords) {
+            removeItem(flowRecord.getId());
+            FlowInboxItem item = FlowInboxItem.of(flowRecord);
+            // 只保留待办、未读与已办的记录
+            if (item != null && (item.isTodo() || item.isUnRead() || item.isDone())) {
+                addItem(item);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void remove(Collection<Long> recordIds) {
+        for (Long recordId : recordIds) {
+            removeItem(recordId);
+        }
+    }
+
+    @Override
+    public synchronized void removeByProcessId(String processId) {
+        Set<Long> recordIds = processIndex.get(processId);
+        if (recordIds != null) {
+            for (Long recordId : new ArrayList<>(recordIds)) {
+                removeItem(recordId);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void refreshProcess(String processId, List<FlowRecord> flowRecords) {
+        removeByProcessId(processId);
+        update(flowRecords);
+    }
+
+    @Override
+    public synchronized void clear() {
+        items.clear();
+        processIndex.clear();
+        inboxes.clear();
+    }
+
+    @Override
+    public synchronized FlowInboxCount getCount(long operatorId, long currentTime) {
+        OperatorInbox inbox = inboxes.get(operatorId);
+        if (inbox == null) {
+            return new FlowInboxCount(0, 0, 0, 0, 0);
+        }
+        long timeoutCount = inbox.timeout.values().stream().filter(item -> item.isTimeout(currentTime)).count();
+        return new FlowInboxCount(inbox.todo.size(),
+                inbox.unRead.size(),
+                inbox.done.size(),
+                timeoutCount,
+                inbox.postponed.size());
+    }
+
+    @Override
+    public synchronized Page<FlowInboxItem> findTodoByOperatorId(long operatorId, PageRequest pageRequest) {
+        return page(operatorId, inbox -> inbox.todo, pageRequest);
+    }
+
+    @Override
+    public synchronized Page<FlowInboxItem> findUnReadByOperatorId(long operatorId, PageRequest pageRequest) {
+        return page(operatorId, inbox -> inbox.unRead, pageRequest);
+    }
+
+    @Override
+    public synchronized Page<FlowInboxItem> findDoneByOperatorId(long operatorId, PageRequest pageRequest) {
+        return page(operatorId, inbox -> inbox.done, pageRequest);
+    }
+
+    @Override
+    public synchronized Page<FlowInboxItem> findTimeoutTodoByOperatorId(long operatorId, long currentTime, PageRequest pageRequest) {
+        OperatorInbox inbox = inboxes.get(operatorId);
+        if (inbox == null) {
+            return new PageImpl<>(new ArrayList<>(), pageRequest, 0);
+        }
+        return page(inbox.timeout.values(), item -> item.isTimeout(currentTime), pageRequest);
+    }
+
+    @Override
+    public synchronized Page<FlowInboxItem> findPostponedTodoByOperatorId(long operatorId, PageRequest pageRequest) {
+        return page(operatorId, inbox -> inbox.postponed, pageRequest);
+    }
+
+    private Page<FlowInboxItem> page(long operatorId,
+                                     Function<OperatorInbox, NavigableMap<Long, FlowInboxItem>> selector,
+                                     PageRequest pageRequest) {
+        OperatorInbox inbox = inboxes.get(operatorId);
+        if (inbox == null) {
+            return new PageImpl<>(new ArrayList<>(), pageRequest, 0);
+        }
+        NavigableMap<Long, FlowInboxItem> map = selector.apply(inbox);
+        List<FlowInboxItem> content = new ArrayList<>();
+        Iterator<FlowInboxItem> iterator = map.values().iterator();
+        long offset = pageRequest.getOffset();
+        for (long i = 0; i < offset && iterator.hasNext(); i++) {
+            iterator.next();
+        }
+        while (content.size() < pageRequest.getPageSize() && iterator.hasNext()) {
+            content.add(iterator.next());
+        }
+        return new PageImpl<>(content, pageRequest, map.size());
+    }
+
+    private Page<FlowInboxItem> page(Collection<FlowInboxItem> values, Predicate<FlowInboxItem> predicate, PageRequest pageRequest) {
+        List<FlowInboxItem> list = values.stream().filter(predicate).toList();
+        int fromIndex = (int) Math.min(pageRequest.getOffset(), list.size());
+        int toIndex = Math.min(fromIndex + pageRequest.getPageSize(), list.size());
+        return new PageImpl<>(new ArrayList<>(list.subList(fromIndex, toIndex)), pageRequest, list.size());
+    }
+
+    private void addItem(FlowInboxItem item) {
+        items.put(item.getRecordId(), item);
+        processIndex.computeIfAbsent(item.getProcessId(), key -> new HashSet<>()).add(item.getRecordId());
+        OperatorInbox inbox = inboxes.computeIfAbsent(item.getOperatorId(), key -> new OperatorInbox());
+        FlowInboxItem replaced = inbox.add(item);
+        // 被替换的已办记录仍未读时保留在未读中
+        if (replaced != null && !replaced.isUnRead()) {
+            removeItem(replaced.getRecordId());
+        }
+    }
+
+    private void removeItem(long recordId) {
+        FlowInboxItem item = items.remove(recordId);
+        if (item == null) {
+            return;
+        }
+        Set<Long> recordIds = processIndex.get(item.getProcessId());
+        if (recordIds != null) {
+            recordIds.remove(recordId);
+            if (recordIds.isEmpty()) {
+                processIndex.remove(item.getProcessId());
+            }
+        }
+        OperatorInbox inbox = inboxes.get(item.getOperatorId());
+        if (inbox != null) {
+            inbox.remove(item);
+            if (inbox.isEmpty()) {
+                inboxes.remove(item.getOperatorId());
+            }
+        }
+    }
+
+
+    /**
+     * 操作者收件箱
+     */
+    private static class OperatorInbox {
+
+        private final NavigableMap<Long, FlowInboxItem> todo = new TreeMap<>(Comparator.reverseOrder());
+        private final NavigableMap<Long, FlowInboxItem> unRead = new TreeMap<>(Comparator.reverseOrder());
+        private final NavigableMap<Long, FlowInboxItem> postponed = new TreeMap<>(Comparator.reverseOrder());
+        // 设置了超时时间的待办
+        private final NavigableMap<Long, FlowInboxItem> timeout = new TreeMap<>(Comparator.reverseOrder());
+        // 每个流程最新的已办记录
+        private final NavigableMap<Long, FlowInboxItem> done = new TreeMap<>(Comparator.reverseOrder());
+        // 流程id -> 最新的已办记录
+        private final Map<String, FlowInboxItem> processDone = new HashMap<>();
+
+        /**
+         * 添加收件箱记录
+         *
+         * @return 被替换的旧已办记录，添加的已办记录不是最新时返回其本身，没有替换时返回null
+         */
+        private FlowInboxItem add(FlowInboxItem item) {
+            long recordId = item.getRecordId();
+            if (item.isTodo()) {
+                todo.put(recordId, item);
+                if (item.getTimeoutTime() > 0) {
+                    timeout.put(recordId, item);
+                }
+                if (item.isPostponed()) {
+                    postponed.put(recordId, item);
+                }
+            }
+            if (item.isUnRead()) {
+                unRead.put(recordId, item);
+            }
+            if (item.isDone()) {
+                FlowInboxItem latest = processDone.get(item.getProcessId());
+                if (latest != null && latest.getRecordId() > recordId) {
+                    return item;
+                }
+                if (latest != null) {
+                    done.remove(latest.getRecordId());
+                }
+                processDone.put(item.getProcessId(), item);
+                done.put(recordId, item);
+                return latest;
+            }
+            return null;
+        }
+
+        private void remove(FlowInboxItem item) {
+            long recordId = item.getRecordId();
+            todo.remove(recordId);
+            unRead.remove(recordId);
+            postponed.remove(recordId);
+            timeout.remove(recordId);
+            FlowInboxItem latest = processDone.get(item.getProcessId());
+            if (latest != null && latest.getRecordId() == recordId) {
+                processDone.remove(item.getProcessId());
+                done.remove(recordId);
+            }
+        }
+
+        private boolean isEmpty() {
+            return todo.isEmpty() && unRead.isEmpty() && processDone.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.codingapi.springboot.flow.repository;
+
+import com.codingapi.springboot.flow.timer.FlowTimer;
+
+import java.util.*;
+
+/**
+ * 内存定时器仓库
+ * 按(到期时间, 记录id)排序，进程重启后定时器将丢失
+ */
+public class MemoryFlowTimerRepository implements FlowTimerRepository {
+
+    private static final Comparator<FlowTimer> COMPARATOR = Comparator.comparingLong(FlowTimer::getDueTime)
+            .thenComparingLong(FlowTimer::getRecordId);
+
+    private final Map<Long, FlowTimer> timers = new HashMap<>();
+    private final NavigableSet<FlowTimer> dueIndex = new TreeSet<>(COMPARATOR);
+    // 流程id -> 记录id
+    private final Map<String, Set<Long>> processIndex = new HashMap<>();
+    // 记录id -> 领取过期时间
+    private final Map<Long, Long> leases = new HashMap<>();
+
+    @Override
+    public synchronized void save(FlowTimer flowTimer) {
+        delete(flowTimer.getRecordId());
+        timers.put(flowTimer.getRecordId(), flowTimer);
+        dueIndex.add(flowTimer);
+        processIndex.computeIfAbsent(flowTimer.getProcessId(), key -> new HashSet<>()).add(flowTimer.getRecordId());
+    }
+
+    @Override
+    public synchronized FlowTimer getFlowTimerByRecordId(long recordId) {
+        return timers.get(recordId);
+    }
+
+    @Override
+    public synchronized boolean claim(long recordId, long dueTime, long leaseUntil, long now) {
+        FlowTimer flowTimer = timers.get(recordId);
+        if (flowTimer == null || flowTimer.getDueTime() != dueTime || leases.getOrDefault(recordId, 0L) > now) {
+            return false;
+        }
+        leases.put(recordId, leaseUntil);
+        return true;
+    }
+
+    @Override
+    public synchronized void release(long recordId, long dueTime) {
+        FlowTimer flowTimer = timers.get(recordId);
+        if (flowTimer != null && flowTimer.getDueTime() == dueTime) {
+            leases.remove(recordId);
+        }
+    }
+
+    @Override
+    public synchronized void delete(long recordId) {
+        leases.remove(recordId);
+        FlowTimer flowTimer = timers.remove(recordId);
+        if (flowTimer != null) {
+            dueIndex.remove(flowTimer);
+            Set<Long> recordIds = processIndex.get(flowTimer.getProcessId());
+            if (recordIds != null) {
+                recordIds.remove(recordId);
+                if (recordIds.isEmpty()) {
+                    processIndex.remove(flowTimer.getProcessId());
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void deleteByProcessId(String processId) {
+        Set<Long> recordIds = processIndex.get(processId);
+        if (recordIds != null) {
+            new ArrayList<>(recordIds).forEach(this::delete);
+        }
+    }
+
+    @Override
+    public synchronized List<FlowTimer> findDueTimers(long afterDueTime, long afterRecordId, long beforeTime, int limit) {
+        FlowTimer after = new FlowTimer(afterRecordId, null, null, afterDueTime);
+        List<FlowTimer> list = new ArrayList<>();
+        for (FlowTimer flowTimer : dueIndex.tailSet(after, false)) {
+            if (flowTimer.getDueTime() >= beforeTime || list.size() >= limit) {
+                break;
+            }
+            list.add(flowTimer);
+        }
+        return list;
+    }
+
+    public synchronized int size() {
+        return timers.size();
+    }
+}
@@ -1,15 +1,29 @@
 package com.codingapi.springboot.flow.script;
 
 import com.codingapi.springboot.flow.utils.Sha256Utils;
+import groovy.lang.Binding;
+import groovy.lang.GroovyCodeSource;
 import groovy.lang.GroovyShell;
 import groovy.lang.Script;
 import lombok.Getter;
+import org.codehaus.groovy.runtime.InvokerHelper;
 
-import java.util.HashMap;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Groovy脚本上下文
+ * 缓存编译后的脚本类，每次执行时创建新的脚本实例，同一脚本可以被多个线程并发执行
+ */
 public class GroovyShellContext {
 
     @Getter
@@ -17,68 +31,220 @@ public class GroovyShellContext {
 
     private final static GroovyShell groovyShell = new GroovyShell();
 
-    private final Map<String, ShellScript> cache = new HashMap<>();
-
     private final static ExecutorService threadPool = Executors.newFixedThreadPool(10);
 
+    private final static AtomicInteger scriptCounter = new AtomicInteger();
+
     // 缓存最大值
     private final static int MAX_CACHE_SIZE = 10000;
 
+    // 按访问顺序排列的LRU缓存
+    private final Map<String, ShellScript> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ShellScript> eldest) {
+            if (size() > MAX_CACHE_SIZE) {
+                evictionCount.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // 缓存命中次数
+    private final LongAdder hitCount = new LongAdder();
+    // 缓存未命中次数
+    private final LongAdder missCount = new LongAdder();
+    // 缓存淘汰次数
+    private final LongAdder evictionCount = new LongAdder();
+    // 编译次数
+    private final LongAdder compileCount = new LongAdder();
+    // 累计编译耗时(纳秒)
+    private final LongAdder compileNanos = new LongAdder();
 
     private GroovyShellContext() {
     }
 
     public ShellScript parse(String script) {
         String hash = Sha256Utils.generateSHA256(script);
-        if (cache.containsKey(hash)) {
-            return cache.get(hash);
-        } else {
-            if (cache.size() > MAX_CACHE_SIZE) {
-                cache.clear();
+        ShellScript shellScript;
+        boolean created = false;
+        synchronized (cache) {
+            shellScript = cache.get(hash);
+            if (shellScript == null) {
+                shellScript = new ShellScript(script);
+                cache.put(hash, shellScript);
+                created = true;
             }
-            ShellScript shellScript = new ShellScript(script);
-            threadPool.submit(shellScript);
-            cache.put(hash, shellScript);
-            return shellScript;
         }
+        if (created) {
+            missCount.increment();
+            threadPool.execute(shellScript.compiler);
+        } else {
+            hitCount.increment();
+        }
+        return shellScript;
     }
 
 
     public int size() {
-        return cache.size();
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public long getCompileCount() {
+        return compileCount.sum();
+    }
+
+    /**
+     * 累计编译耗时(纳秒)
+     */
+    public long getCompileNanos() {
+        return compileNanos.sum();
+    }
+
+    /**
+     * 缓存命中率
+     */
+    public double getHitRate() {
+        long hit = getHitCount();
+        long total = hit + getMissCount();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    /**
+     * 编译脚本，存在多个未编译的脚本时并行编译
+     *
+     * @param scripts 脚本
+     * @throws IllegalArgumentException 脚本编译失败
+     */
+    public void compile(Collection<ShellScript> scripts) {
+        long pending = scripts.stream().filter(script -> !script.isCompiled()).count();
+        if (pending > 1) {
+            scripts.parallelStream().forEach(ShellScript::compile);
+        } else {
+            scripts.forEach(ShellScript::compile);
+        }
+    }
+
+    private Class<?> compile(String script) {
+        long start = System.nanoTime();
+        try {
+            String name = "Script" + scriptCounter.incrementAndGet() + ".groovy";
+            return groovyShell.getClassLoader().parseClass(new GroovyCodeSource(script, name, GroovyShell.DEFAULT_CODE_BASE), false);
+        } finally {
+            compileCount.increment();
+            compileNanos.add(System.nanoTime() - start);
+        }
     }
 
-    public static class ShellScript implements Runnable {
+    public static class ShellScript {
 
         @Getter
         private final String script;
 
-        private Script runtime;
+        // 编译任务，由后台线程或首次执行的线程完成，只会编译一次
+        private final FutureTask<ScriptFactory> compiler;
 
         public ShellScript(String script) {
             this.script = script;
+            this.compiler = new FutureTask<>(() -> new ScriptFactory(instance.compile(script)));
+        }
+
+        /**
+         * 是否已完成编译（包括编译失败）
+         */
+        public boolean isCompiled() {
+            return compiler.isDone();
+        }
+
+        /**
+         * 编译脚本，已编译时直接返回
+         *
+         * @throws IllegalArgumentException 脚本编译失败
+         */
+        public void compile() {
+            try {
+                getFactory();
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("script compile error:" + script, e);
+            }
         }
 
         public Object invokeMethod(String run, Object params) {
-            synchronized (ShellScript.this) {
-                if (runtime == null) {
-                    try {
-                        ShellScript.this.wait(1000);
-                    } catch (InterruptedException ignored) {
-                    }
-                    if (runtime == null) {
-                        runtime = groovyShell.parse(script);
-                    }
+            return getFactory().newScript().invokeMethod(run, params);
+        }
+
+        private ScriptFactory getFactory() {
+            if (!compiler.isDone()) {
+                // 后台尚未开始编译时由当前线程编译，已开始编译时等待编译结束
+                compiler.run();
+            }
+            try {
+                return compiler.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
                 }
-                return runtime.invokeMethod(run, params);
+                throw new IllegalStateException(cause);
             }
         }
+    }
 
-        @Override
-        public void run() {
-            runtime = groovyShell.parse(script);
-            synchronized (ShellScript.this) {
-                this.notifyAll();
+    /**
+     * 脚本实例工厂
+     */
+    private static class ScriptFactory {
+
+        private final Class<?> scriptClass;
+
+        private final Constructor<?> constructor;
+
+        private ScriptFactory(Class<?> scriptClass) {
+            this.scriptClass = scriptClass;
+            this.constructor = findConstructor(scriptClass);
+        }
+
+        private static Constructor<?> findConstructor(Class<?> scriptClass) {
+            if (!Script.class.isAssignableFrom(scriptClass)) {
+                return null;
+            }
+            try {
+                return scriptClass.getConstructor(Binding.class);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        private Script newScript() {
+            if (constructor == null) {
+                return InvokerHelper.createScript(scriptClass, new Binding());
+            }
+            try {
+                return (Script) constructor.newInstance(new Binding());
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException(e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
             }
         }
     }
@@ -10,6 +10,7 @@ import com.codingapi.springboot.flow.repository.FlowOperatorRepository;
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.util.Pool;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -19,6 +20,9 @@ import java.io.ByteArrayOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 /**
  *  流程序列化
@@ -96,41 +100,127 @@ public class FlowWorkSerializable implements Serializable {
     private List<FlowRelationSerializable> relations;
 
 
+    /**
+     * 是否压缩序列化数据的配置项，默认不压缩
+     */
+    public static final String COMPRESS_KEY = "Flow.SerializableCompress";
+
+    // 压缩数据的头部标记，原序列化数据的首字节为流程编号字符串的编码，不会为0
+    private static final byte COMPRESS_MARK = 0;
+    // 压缩格式：Deflate
+    private static final byte COMPRESS_DEFLATE = 1;
+
+    private static final Pool<Kryo> kryoPool = new Pool<>(true, false, 16) {
+        @Override
+        protected Kryo create() {
+            Kryo kryo = new Kryo();
+            kryo.register(ArrayList.class);
+            kryo.register(FlowNodeSerializable.class);
+            kryo.register(FlowRelationSerializable.class);
+            kryo.register(FlowWorkSerializable.class);
+            kryo.register(ApprovalType.class);
+            kryo.register(NodeType.class);
+            kryo.register(FlowButton.class);
+            kryo.register(FlowButtonType.class);
+            return kryo;
+        }
+    };
+
+    private static final Pool<Output> outputPool = new Pool<>(true, false, 16) {
+        @Override
+        protected Output create() {
+            return new Output(4096, -1);
+        }
+    };
+
     /**
      * 序列化
      *
      * @return 序列化对象
      */
     public byte[] toSerializable() {
-        Kryo kryo = new Kryo();
-        kryo.register(ArrayList.class);
-        kryo.register(FlowNodeSerializable.class);
-        kryo.register(FlowRelationSerializable.class);
-        kryo.register(FlowWorkSerializable.class);
-        kryo.register(ApprovalType.class);
-        kryo.register(NodeType.class);
-        kryo.register(FlowButton.class);
-        kryo.register(FlowButtonType.class);
-
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        Output output = new Output(outputStream);
-        kryo.writeObject(output, this);
-        output.close();
-        return outputStream.toByteArray();
+        return toSerializable(Boolean.parseBoolean(System.getProperty(COMPRESS_KEY, "false")));
+    }
+
+    /**
+     * 序列化
+     *
+     * @param compress 是否压缩
+     * @return 序列化对象
+     */
+    public byte[] toSerializable(boolean compress) {
+        Kryo kryo = kryoPool.obtain();
+        Output output = outputPool.obtain();
+        try {
+            output.reset();
+            kryo.writeObject(output, this);
+            return compress ? compress(output.getBuffer(), output.position()) : output.toBytes();
+        } finally {
+            outputPool.free(output);
+            kryoPool.free(kryo);
+        }
     }
 
 
+    /**
+     * 反序列化，兼容压缩与未压缩的数据
+     *
+     * @param bytes 序列化数据
+     * @return 序列化对象
+     */
     public static FlowWorkSerializable fromSerializable(byte[] bytes) {
-        Kryo kryo = new Kryo();
-        kryo.register(ArrayList.class);
-        kryo.register(FlowNodeSerializable.class);
-        kryo.register(FlowRelationSerializable.class);
-        kryo.register(FlowWorkSerializable.class);
-        kryo.register(ApprovalType.class);
-        kryo.register(NodeType.class);
-        kryo.register(FlowButton.class);
-        kryo.register(FlowButtonType.class);
-        return kryo.readObject(new Input(bytes), FlowWorkSerializable.class);
+        if (bytes.length > 1 && bytes[0] == COMPRESS_MARK) {
+            bytes = decompress(bytes);
+        }
+        Kryo kryo = kryoPool.obtain();
+        try {
+            return kryo.readObject(new Input(bytes), FlowWorkSerializable.class);
+        } finally {
+            kryoPool.free(kryo);
+        }
+    }
+
+    private static byte[] compress(byte[] buffer, int length) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(buffer, 0, length);
+            deflater.finish();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(length / 2 + 16);
+            outputStream.write(COMPRESS_MARK);
+            outputStream.write(COMPRESS_DEFLATE);
+            byte[] chunk = new byte[1024];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(chunk);
+                outputStream.write(chunk, 0, count);
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] decompress(byte[] bytes) {
+        if (bytes[1] != COMPRESS_DEFLATE) {
+            throw new IllegalArgumentException("unsupported compress format:" + bytes[1]);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, 2, bytes.length - 2);
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length * 4);
+            byte[] chunk = new byte[1024];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(chunk);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("compressed data is incomplete");
+                }
+                outputStream.write(chunk, 0, count);
+            }
+            return outputStream.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("compressed data format error", e);
+        } finally {
+            inflater.end();
+        }
     }
 
 
@@ -0,0 +1,77 @@
+package com.codingapi.springboot.flow.service;
+
+import com.codingapi.springboot.flow.domain.FlowWork;
+import com.codingapi.springboot.flow.record.FlowProcess;
+import com.codingapi.springboot.flow.repository.FlowProcessRepository;
+
+/**
+ * 流程备份缓存
+ * 流程备份不会被修改，同一个备份创建的流程共享同一个流程设计对象
+ */
+class CachedFlowProcessRepository implements FlowProcessRepository {
+
+    static final String CACHE_SIZE_KEY = "Flow.BackupCacheSize";
+
+    private final FlowProcessRepository flowProcessRepository;
+
+    // 备份id -> 流程设计
+    private final LruCache<Long, FlowWork> backupCache;
+    // 流程id -> 备份id
+    private final LruCache<String, Long> processCache;
+
+    CachedFlowProcessRepository(FlowProcessRepository flowProcessRepository) {
+        this(flowProcessRepository, Integer.parseInt(System.getProperty(CACHE_SIZE_KEY, "1024")));
+    }
+
+    CachedFlowProcessRepository(FlowProcessRepository flowProcessRepository, int maxSize) {
+        this.flowProcessRepository = flowProcessRepository;
+        this.backupCache = new LruCache<>(maxSize);
+        this.processCache = new LruCache<>(maxSize * 16);
+    }
+
+    @Override
+    public void save(FlowProcess flowProcess) {
+        flowProcessRepository.save(flowProcess);
+        processCache.put(flowProcess.getProcessId(), flowProcess.getBackupId());
+    }
+
+    @Override
+    public FlowWork getFlowWorkByProcessId(String processId) {
+        if (!backupCache.isEnabled()) {
+            return flowProcessRepository.getFlowWorkByProcessId(processId);
+        }
+        Long backupId = processCache.get(processId);
+        if (backupId == null) {
+            FlowProcess flowProcess = flowProcessRepository.getFlowProcessByProcessId(processId);
+            if (flowProcess == null) {
+                return flowProcessRepository.getFlowWorkByProcessId(processId);
+            }
+            backupId = flowProcess.getBackupId();
+            processCache.put(processId, backupId);
+        }
+        FlowWork flowWork = backupCache.get(backupId);
+        if (flowWork != null) {
+            return flowWork;
+        }
+        flowWork = flowProcessRepository.getFlowWorkByProcessId(processId);
+        if (flowWork == null) {
+            return null;
+        }
+        return backupCache.putIfAbsent(backupId, flowWork);
+    }
+
+    @Override
+    public FlowProcess getFlowProcessByProcessId(String processId) {
+        return flowProcessRepository.getFlowProcessByProcessId(processId);
+    }
+
+    @Override
+    public void deleteByProcessId(String processId) {
+        flowProcessRepository.deleteByProcessId(processId);
+        processCache.remove(processId);
+    }
+
+    LruCache<Long, FlowWork> getBackupCache() {
+        return backupCache;
+    }
+}
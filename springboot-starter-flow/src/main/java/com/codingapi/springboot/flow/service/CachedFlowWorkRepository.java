@@ -0,0 +1,111 @@
+package com.codingapi.springboot.flow.service;
+
+import com.codingapi.springboot.flow.domain.FlowWork;
+import com.codingapi.springboot.flow.repository.FlowWorkRepository;
+
+import java.util.List;
+
+/**
+ * 流程设计缓存
+ * 以流程设计id与版本号缓存，仓库未提供版本号时不缓存；版本号需要在每次修改时变化。
+ * 缓存的流程设计不对外暴露，每次读取返回复制的对象，调用方修改流程设计不影响缓存。
+ */
+class CachedFlowWorkRepository implements FlowWorkRepository {
+
+    static final String CACHE_SIZE_KEY = "Flow.WorkCacheSize";
+
+    private final FlowWorkRepository flowWorkRepository;
+
+    // 流程设计id与版本号 -> 流程设计
+    private final LruCache<WorkKey, FlowWork> cache;
+    // 流程编码 -> 流程设计id
+    private final LruCache<String, Long> codeIndex;
+
+    CachedFlowWorkRepository(FlowWorkRepository flowWorkRepository) {
+        this(flowWorkRepository, Integer.parseInt(System.getProperty(CACHE_SIZE_KEY, "256")));
+    }
+
+    CachedFlowWorkRepository(FlowWorkRepository flowWorkRepository, int maxSize) {
+        this.flowWorkRepository = flowWorkRepository;
+        this.cache = new LruCache<>(maxSize);
+        this.codeIndex = new LruCache<>(maxSize);
+    }
+
+    @Override
+    public FlowWork getFlowWorkById(long id) {
+        if (!cache.isEnabled()) {
+            return flowWorkRepository.getFlowWorkById(id);
+        }
+        Long version = flowWorkRepository.getFlowWorkVersionById(id);
+        if (version == null) {
+            return flowWorkRepository.getFlowWorkById(id);
+        }
+        FlowWork flowWork = cache.get(new WorkKey(id, version));
+        if (flowWork == null) {
+            flowWork = load(flowWorkRepository.getFlowWorkById(id), version);
+        }
+        return flowWork != null ? flowWork.duplicate() : null;
+    }
+
+    @Override
+    public FlowWork getFlowWorkByCode(String code) {
+        if (!cache.isEnabled()) {
+            return flowWorkRepository.getFlowWorkByCode(code);
+        }
+        Long version = flowWorkRepository.getFlowWorkVersionByCode(code);
+        if (version == null) {
+            return flowWorkRepository.getFlowWorkByCode(code);
+        }
+        Long id = codeIndex.get(code);
+        FlowWork flowWork = id != null ? cache.get(new WorkKey(id, version)) : null;
+        if (flowWork == null || !code.equals(flowWork.getCode())) {
+            flowWork = load(flowWorkRepository.getFlowWorkByCode(code), version);
+        }
+        return flowWork != null ? flowWork.duplicate() : null;
+    }
+
+    private FlowWork load(FlowWork flowWork, long version) {
+        if (flowWork != null) {
+            cache.put(new WorkKey(flowWork.getId(), version), flowWork);
+            codeIndex.put(flowWork.getCode(), flowWork.getId());
+        }
+        return flowWork;
+    }
+
+    @Override
+    public Long getFlowWorkVersionByCode(String code) {
+        return flowWorkRepository.getFlowWorkVersionByCode(code);
+    }
+
+    @Override
+    public Long getFlowWorkVersionById(long id) {
+        return flowWorkRepository.getFlowWorkVersionById(id);
+    }
+
+    @Override
+    public void save(FlowWork flowWork) {
+        flowWorkRepository.save(flowWork);
+        cache.removeIf(item -> item.getId() == flowWork.getId());
+    }
+
+    @Override
+    public void delete(long id) {
+        flowWorkRepository.delete(id);
+        cache.removeIf(item -> item.getId() == id);
+    }
+
+    @Override
+    public List<FlowWork> findEnabledFlowWorks() {
+        return flowWorkRepository.findEnabledFlowWorks();
+    }
+
+    LruCache<WorkKey, FlowWork> getCache() {
+        return cache;
+    }
+
+    /**
+     * 缓存key，流程设计id与版本号
+     */
+    record WorkKey(long id, long version) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.codingapi.springboot.flow.service;
+
+import com.codingapi.springboot.flow.domain.FlowWork;
+import com.codingapi.springboot.flow.repository.FlowWorkRepository;
+
+import java.util.List;
+
+/**
+ * 流程设计仓库装饰，加载流程设计后先完成脚本编译再交给流程引擎使用
+ */
+class CompiledFlowWorkRepository implements FlowWorkRepository {
+
+    private final FlowWorkRepository flowWorkRepository;
+
+    CompiledFlowWorkRepository(FlowWorkRepository flowWorkRepository) {
+        this.flowWorkRepository = flowWorkRepository;
+    }
+
+    private static FlowWork compile(FlowWork flowWork) {
+        if (flowWork != null) {
+            flowWork.compileScripts();
+        }
+        return flowWork;
+    }
+
+    @Override
+    public FlowWork getFlowWorkById(long id) {
+        return compile(flowWorkRepository.getFlowWorkById(id));
+    }
+
+    @Override
+    public FlowWork getFlowWorkByCode(String code) {
+        return compile(flowWorkRepository.getFlowWorkByCode(code));
+    }
+
+    @Override
+    public Long getFlowWorkVersionByCode(String code) {
+        return flowWorkRepository.getFlowWorkVersionByCode(code);
+    }
+
+    @Override
+    public Long getFlowWorkVersionById(long id) {
+        return flowWorkRepository.getFlowWorkVersionById(id);
+    }
+
+    @Override
+    public void save(FlowWork flowWork) {
+        flowWorkRepository.save(flowWork);
+    }
+
+    @Override
+    public void delete(long id) {
+        flowWorkRepository.delete(id);
+    }
+
+    @Override
+    public List<FlowWork> findEnabledFlowWorks() {
+        return flowWorkRepository.findEnabledFlowWorks();
+    }
+}
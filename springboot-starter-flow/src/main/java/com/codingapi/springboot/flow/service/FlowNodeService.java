@@ -10,12 +10,13 @@ import com.codingapi.springboot.flow.error.ErrorResult;
 import com.codingapi.springboot.flow.error.NodeResult;
 import com.codingapi.springboot.flow.error.OperatorResult;
 import com.codingapi.springboot.flow.event.FlowApprovalEvent;
+import com.codingapi.springboot.flow.event.FlowEventOutbox;
+import com.codingapi.springboot.flow.record.FlowProcessGraph;
 import com.codingapi.springboot.flow.record.FlowRecord;
 import com.codingapi.springboot.flow.repository.FlowOperatorRepository;
 import com.codingapi.springboot.flow.repository.FlowRecordRepository;
 import com.codingapi.springboot.flow.trigger.OutTrigger;
 import com.codingapi.springboot.flow.user.IFlowOperator;
-import com.codingapi.springboot.framework.event.EventPusher;
 import lombok.Getter;
 
 import java.util.ArrayList;
@@ -45,6 +46,8 @@ public class FlowNodeService {
     private final List<FlowRecord> historyRecords;
     private final IFlowOperator createOperator;
 
+    private FlowProcessGraph processGraph;
+
 
     public FlowNodeService(FlowOperatorRepository flowOperatorRepository,
                            FlowRecordRepository flowRecordRepository,
@@ -107,12 +110,13 @@ public class FlowNodeService {
             if (nextNode == null) {
                 throw new IllegalArgumentException("next node not found");
             }
-            long parentRecordId = currentRecord.getPreId();
-            FlowRecord preFlowRecord = flowRecordRepository.getFlowRecordById(parentRecordId);
             IFlowOperator flowOperator = currentOperator;
             if (nextNode.isAnyOperatorMatcher()) {
-                while (preFlowRecord.isTransfer() || !preFlowRecord.getNodeCode().equals(nextNode.getCode())) {
-                    preFlowRecord = flowRecordRepository.getFlowRecordById(preFlowRecord.getPreId());
+                // 沿上级记录查找回退节点的审批记录
+                FlowRecord preFlowRecord = this.getProcessGraph().findAncestor(currentRecord,
+                        record -> !record.isTransfer() && record.getNodeCode().equals(nextNode.getCode()));
+                if (preFlowRecord == null) {
+                    throw new IllegalArgumentException("back record not found");
                 }
                 flowOperator = preFlowRecord.getCurrentOperator();
             }
@@ -123,12 +127,7 @@ public class FlowNodeService {
         }
 
         // 如果没有设置回退关系，则需要根据流程记录来匹配下一个节点
-        List<FlowRecord> historyRecords =
-                flowRecordRepository.findFlowRecordByProcessId(currentRecord.getProcessId())
-                        .stream()
-                        .sorted((o1, o2) -> (int) (o2.getId() - o1.getId()))
-                        .filter(record -> record.getId() < currentRecord.getId())
-                        .toList();
+        List<FlowRecord> historyRecords = this.getProcessGraph().findBefore(currentRecord);
         int index = 0;
         while (true) {
             if (index >= historyRecords.size()) {
@@ -165,6 +164,17 @@ public class FlowNodeService {
     }
 
 
+    /**
+     * 流程记录图，首次使用时加载，回退时的上级记录查询都在记录图中完成
+     */
+    private FlowProcessGraph getProcessGraph() {
+        if (processGraph == null) {
+            processGraph = FlowProcessGraph.load(flowRecordRepository, processId);
+        }
+        return processGraph;
+    }
+
+
     /**
      * 获取下一个节点
      *
@@ -175,11 +185,12 @@ public class FlowNodeService {
         if (back) {
             String preCode = FlowNode.CODE_START;
             if (flowRecord.getPreId() != 0) {
-                FlowRecord preRecord = flowRecordRepository.getFlowRecordById(flowRecord.getPreId());
+                FlowProcessGraph processGraph = this.getProcessGraph();
+                FlowRecord preRecord = processGraph.getRecord(flowRecord.getPreId());
                 if (preRecord != null) {
                     preCode = preRecord.getNodeCode();
                     while (preCode.equals(flowRecord.getNodeCode())) {
-                        preRecord = flowRecordRepository.getFlowRecordById(preRecord.getPreId());
+                        preRecord = processGraph.getRecord(preRecord.getPreId());
                         if (preRecord == null) {
                             break;
                         }
@@ -234,12 +245,11 @@ public class FlowNodeService {
             for (FlowRecord record : records) {
                 IFlowOperator pushOperator = record.getCurrentOperator();
 
-                EventPusher.push(new FlowApprovalEvent(FlowApprovalEvent.STATE_CIRCULATE,
-                                record,
-                                pushOperator,
-                                flowWork,
-                                snapshot.toBindData()),
-                        true);
+                FlowEventOutbox.getInstance().push(new FlowApprovalEvent(FlowApprovalEvent.STATE_CIRCULATE,
+                        record,
+                        pushOperator,
+                        flowWork,
+                        snapshot.toBindData()));
             }
 
             this.skipCirculate();
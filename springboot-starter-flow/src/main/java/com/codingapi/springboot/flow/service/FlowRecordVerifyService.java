@@ -197,8 +197,8 @@ public class FlowRecordVerifyService {
         if (currentOperator != null) {
             if (flowRecord.isOperator(currentOperator)) {
                 if (!flowRecord.isRead()) {
+                    flowRecordRepository.readFlowRecordByIds(List.of(flowRecord.getId()));
                     flowRecord.read();
-                    flowRecordRepository.update(flowRecord);
                 }
             }
         }
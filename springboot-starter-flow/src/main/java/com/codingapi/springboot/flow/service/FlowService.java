@@ -2,6 +2,9 @@ package com.codingapi.springboot.flow.service;
 
 import com.codingapi.springboot.flow.bind.IBindData;
 import com.codingapi.springboot.flow.domain.Opinion;
+import com.codingapi.springboot.flow.event.FlowEventLoader;
+import com.codingapi.springboot.flow.event.FlowEventOutbox;
+import com.codingapi.springboot.flow.pojo.FlowBatchSubmitResult;
 import com.codingapi.springboot.flow.pojo.FlowDetail;
 import com.codingapi.springboot.flow.pojo.FlowResult;
 import com.codingapi.springboot.flow.pojo.FlowStepResult;
@@ -9,10 +12,17 @@ import com.codingapi.springboot.flow.pojo.FlowSubmitResult;
 import com.codingapi.springboot.flow.repository.*;
 import com.codingapi.springboot.flow.result.MessageResult;
 import com.codingapi.springboot.flow.service.impl.*;
+import com.codingapi.springboot.flow.timer.FlowTimerEngine;
 import com.codingapi.springboot.flow.user.IFlowOperator;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
 
 /**
  * 流程服务
@@ -33,6 +43,9 @@ public class FlowService {
 
     private final FlowServiceRepositoryHolder flowServiceRepositoryHolder;
 
+    // 批量提交时每条记录使用的独立事务
+    private TransactionTemplate batchTransactionTemplate;
+
 
     public FlowService(FlowWorkRepository flowWorkRepository,
                        FlowRecordRepository flowRecordRepository,
@@ -40,7 +53,37 @@ public class FlowService {
                        FlowOperatorRepository flowOperatorRepository,
                        FlowProcessRepository flowProcessRepository,
                        FlowBackupRepository flowBackupRepository) {
+        this(flowWorkRepository, flowRecordRepository, flowBindDataRepository, flowOperatorRepository, flowProcessRepository, flowBackupRepository, new FlowRecordProjection[0]);
+    }
+
+    /**
+     * @param projections 流程记录投影（如收件箱、超时定时器），流程记录变更将同步更新投影，为空的投影将被忽略；
+     *                    内存收件箱 {@link com.codingapi.springboot.flow.repository.MemoryFlowInboxRepository} 只适用于单节点部署，
+     *                    进程启动时需要通过 {@link com.codingapi.springboot.flow.inbox.FlowInboxRebuilder} 重建
+     */
+    public FlowService(FlowWorkRepository flowWorkRepository,
+                       FlowRecordRepository flowRecordRepository,
+                       FlowBindDataRepository flowBindDataRepository,
+                       FlowOperatorRepository flowOperatorRepository,
+                       FlowProcessRepository flowProcessRepository,
+                       FlowBackupRepository flowBackupRepository,
+                       FlowRecordProjection... projections) {
+        List<FlowRecordProjection> projectionList = Arrays.stream(projections).filter(Objects::nonNull).toList();
+        if (!projectionList.isEmpty()) {
+            flowRecordRepository = new ProjectedFlowRecordRepository(flowRecordRepository, projectionList);
+        }
+        // 流程设计加载后先编译脚本，并缓存编译后的流程设计
+        flowWorkRepository = new CachedFlowWorkRepository(new CompiledFlowWorkRepository(flowWorkRepository));
+        flowProcessRepository = new CachedFlowProcessRepository(flowProcessRepository);
         this.flowServiceRepositoryHolder = new FlowServiceRepositoryHolder(flowWorkRepository, flowRecordRepository, flowBindDataRepository, flowOperatorRepository, flowProcessRepository, flowBackupRepository);
+        // 发件箱重新投递的消息与超时事件通过流程记录加载事件
+        FlowEventLoader flowEventLoader = new FlowEventLoader(flowRecordRepository, flowBindDataRepository, flowOperatorRepository, flowWorkRepository, flowProcessRepository);
+        FlowEventOutbox.getInstance().setFlowEventLoader(flowEventLoader);
+        for (FlowRecordProjection projection : projectionList) {
+            if (projection instanceof FlowTimerEngine flowTimerEngine) {
+                flowTimerEngine.setFlowEventLoader(flowEventLoader);
+            }
+        }
         this.flowDetailService = new FlowDetailService(flowWorkRepository, flowRecordRepository, flowBindDataRepository, flowOperatorRepository, flowProcessRepository);
         this.flowCustomEventService = new FlowCustomEventService(flowWorkRepository, flowRecordRepository, flowProcessRepository);
         this.flowRecallService = new FlowRecallService(flowWorkRepository, flowRecordRepository, flowProcessRepository, flowBindDataRepository);
@@ -247,6 +290,35 @@ public class FlowService {
     }
 
 
+    /**
+     * 设置事务管理器，批量提交时每条记录在独立的事务中提交
+     *
+     * @param transactionManager 事务管理器
+     */
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.batchTransactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 批量提交流程
+     * 一次查询全部流程记录后逐条提交，与逐条调用 {@link #submitFlow} 的读写次数相同，不合并写入。
+     * 设置事务管理器 {@link #setTransactionManager(PlatformTransactionManager)} 后每条记录在独立的事务中提交并立即生效，
+     * 失败时只回滚该记录的修改，其余记录继续提交；未设置时失败的记录不回滚。
+     * 不能在事务中调用，否则抛出IllegalStateException，调用方的事务无法回滚已提交的记录，
+     * 每条记录的事务也不会与调用方的事务同时占用数据库连接。
+     * 批量审批不修改表单数据
+     *
+     * @param recordIds       流程记录id
+     * @param currentOperator 当前操作者
+     * @param opinion         审批意见
+     * @return 每条流程记录的提交结果
+     */
+    public FlowBatchSubmitResult submitFlows(List<Long> recordIds, IFlowOperator currentOperator, Opinion opinion) {
+        FlowBatchSubmitService flowBatchSubmitService = new FlowBatchSubmitService(recordIds, currentOperator, opinion, flowServiceRepositoryHolder, batchTransactionTemplate);
+        return flowBatchSubmitService.submitFlows();
+    }
+
+
     /**
      * 唤醒流程
      *
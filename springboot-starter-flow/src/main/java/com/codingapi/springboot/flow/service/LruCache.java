@@ -0,0 +1,80 @@
+package com.codingapi.springboot.flow.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * 线程安全的LRU缓存
+ */
+class LruCache<K, V> {
+
+    private final int maxSize;
+
+    private final LinkedHashMap<K, V> cache;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    LruCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > LruCache.this.maxSize;
+            }
+        };
+    }
+
+    boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    synchronized V get(K key) {
+        V value = cache.get(key);
+        if (value != null) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return value;
+    }
+
+    /**
+     * 缓存数据，已存在时返回已缓存的数据
+     */
+    synchronized V putIfAbsent(K key, V value) {
+        if (!isEnabled()) {
+            return value;
+        }
+        V current = cache.putIfAbsent(key, value);
+        return current != null ? current : value;
+    }
+
+    synchronized void put(K key, V value) {
+        if (isEnabled()) {
+            cache.put(key, value);
+        }
+    }
+
+    synchronized void remove(K key) {
+        cache.remove(key);
+    }
+
+    synchronized void removeIf(Predicate<V> predicate) {
+        cache.values().removeIf(predicate);
+    }
+
+    synchronized int size() {
+        return cache.size();
+    }
+
+    long getHitCount() {
+        return hitCount.sum();
+    }
+
+    long getMissCount() {
+        return missCount.sum();
+    }
+}
@@ -0,0 +1,166 @@
+package com.codingapi.springboot.flow.service;
+
+import com.codingapi.springboot.flow.em.FlowType;
+import com.codingapi.springboot.flow.record.FlowRecord;
+import com.codingapi.springboot.flow.repository.FlowRecordProjection;
+import com.codingapi.springboot.flow.repository.FlowRecordRepository;
+import com.codingapi.springboot.flow.utils.TransactionUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 维护投影的流程记录仓库
+ * 流程记录写入后更新投影（收件箱、超时定时器），批量修改后按流程或记录id重新加载后更新；
+ * 在事务中写入时，内存中的投影在事务提交后按写入顺序更新，事务回滚时不更新，
+ * 事务性的投影（{@link FlowRecordProjection#isTransactional()}）在事务内更新。
+ */
+class ProjectedFlowRecordRepository implements FlowRecordRepository {
+
+    private final FlowRecordRepository flowRecordRepository;
+    private final List<FlowRecordProjection> projections;
+
+    ProjectedFlowRecordRepository(FlowRecordRepository flowRecordRepository, List<FlowRecordProjection> projections) {
+        this.flowRecordRepository = flowRecordRepository;
+        this.projections = projections;
+    }
+
+    @Override
+    public void save(List<FlowRecord> records) {
+        flowRecordRepository.save(records);
+        apply(projection -> projection.update(records));
+    }
+
+    @Override
+    public void update(FlowRecord flowRecord) {
+        flowRecordRepository.update(flowRecord);
+        apply(projection -> projection.update(List.of(flowRecord)));
+    }
+
+    @Override
+    public FlowRecord getFlowRecordById(long id) {
+        return flowRecordRepository.getFlowRecordById(id);
+    }
+
+    @Override
+    public List<FlowRecord> findFlowRecordByIds(List<Long> ids) {
+        return flowRecordRepository.findFlowRecordByIds(ids);
+    }
+
+    @Override
+    public List<FlowRecord> findFlowRecordByPreId(long preId) {
+        return flowRecordRepository.findFlowRecordByPreId(preId);
+    }
+
+    @Override
+    public List<FlowRecord> findFlowRecordByProcessId(String processId) {
+        return flowRecordRepository.findFlowRecordByProcessId(processId);
+    }
+
+    @Override
+    public List<FlowRecord> findMergeFlowRecordById(String workCode, String nodeCode, long currentOperatorId) {
+        return flowRecordRepository.findMergeFlowRecordById(workCode, nodeCode, currentOperatorId);
+    }
+
+    @Override
+    public List<FlowRecord> findTodoFlowRecordByProcessId(String processId) {
+        return flowRecordRepository.findTodoFlowRecordByProcessId(processId);
+    }
+
+    @Override
+    public void finishFlowRecordByProcessId(String processId) {
+        flowRecordRepository.finishFlowRecordByProcessId(processId);
+        refreshProcess(processId);
+    }
+
+    @Override
+    public void updateFlowTypeByProcessId(String processId, FlowType flowType) {
+        flowRecordRepository.updateFlowTypeByProcessId(processId, flowType);
+        refreshProcess(processId);
+    }
+
+    @Override
+    public void updateFlowTypeByIds(List<Long> ids, FlowType flowType) {
+        flowRecordRepository.updateFlowTypeByIds(ids, flowType);
+        refreshRecords(ids);
+    }
+
+    @Override
+    public void voidedFlowRecordByProcessId(String processId) {
+        flowRecordRepository.voidedFlowRecordByProcessId(processId);
+        apply(projection -> projection.removeByProcessId(processId));
+    }
+
+    @Override
+    public void readFlowRecordByIds(List<Long> ids) {
+        flowRecordRepository.readFlowRecordByIds(ids);
+        refreshRecords(ids);
+    }
+
+    @Override
+    public void delete(List<FlowRecord> childrenRecords) {
+        flowRecordRepository.delete(childrenRecords);
+        List<Long> ids = childrenRecords.stream().map(FlowRecord::getId).toList();
+        apply(projection -> projection.remove(ids));
+    }
+
+    @Override
+    public void deleteByProcessId(String processId) {
+        flowRecordRepository.deleteByProcessId(processId);
+        apply(projection -> projection.removeByProcessId(processId));
+    }
+
+    private void refreshProcess(String processId) {
+        List<FlowRecord> records = flowRecordRepository.findFlowRecordByProcessId(processId);
+        apply(projection -> projection.refreshProcess(processId, records));
+    }
+
+    private void refreshRecords(List<Long> ids) {
+        List<FlowRecord> records = flowRecordRepository.findFlowRecordByIds(ids);
+        Set<Long> foundIds = new HashSet<>();
+        for (FlowRecord flowRecord : records) {
+            foundIds.add(flowRecord.getId());
+        }
+        // 删除的记录查询不到
+        List<Long> removeIds = ids.stream().filter(id -> !foundIds.contains(id)).toList();
+        apply(projection -> {
+            projection.remove(removeIds);
+            projection.update(records);
+        });
+    }
+
+    /**
+     * 更新投影，在事务中时内存中的投影等待事务提交后更新
+     */
+    private void apply(Consumer<FlowRecordProjection> action) {
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        boolean deferred = false;
+        for (FlowRecordProjection projection : projections) {
+            if (!inTransaction || projection.isTransactional()) {
+                action.accept(projection);
+            } else {
+                deferred = true;
+            }
+        }
+        if (deferred) {
+            getTransactionActions().add(action);
+        }
+    }
+
+    // 挂起事务时解绑，新事务中的写入随新事务提交
+    private List<Consumer<FlowRecordProjection>> getTransactionActions() {
+        return TransactionUtils.getTransactionList(this, actions -> {
+            for (Consumer<FlowRecordProjection> action : actions) {
+                for (FlowRecordProjection projection : projections) {
+                    if (!projection.isTransactional()) {
+                        action.accept(projection);
+                    }
+                }
+            }
+        }, actions -> {
+        });
+    }
+}
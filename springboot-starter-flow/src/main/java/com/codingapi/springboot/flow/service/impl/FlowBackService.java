@@ -2,19 +2,22 @@ package com.codingapi.springboot.flow.service.impl;
 
 import com.codingapi.springboot.flow.bind.IBindData;
 import com.codingapi.springboot.flow.domain.FlowWork;
+import com.codingapi.springboot.flow.em.FlowStatus;
+import com.codingapi.springboot.flow.em.FlowType;
 import com.codingapi.springboot.flow.event.FlowApprovalEvent;
+import com.codingapi.springboot.flow.event.FlowEventOutbox;
 import com.codingapi.springboot.flow.record.FlowProcess;
+import com.codingapi.springboot.flow.record.FlowProcessGraph;
 import com.codingapi.springboot.flow.record.FlowRecord;
 import com.codingapi.springboot.flow.repository.FlowBindDataRepository;
 import com.codingapi.springboot.flow.repository.FlowProcessRepository;
 import com.codingapi.springboot.flow.repository.FlowRecordRepository;
 import com.codingapi.springboot.flow.repository.FlowWorkRepository;
 import com.codingapi.springboot.flow.user.IFlowOperator;
-import com.codingapi.springboot.framework.event.EventPusher;
 import lombok.AllArgsConstructor;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -47,54 +50,46 @@ public class FlowBackService {
             throw new IllegalArgumentException("flow process already voided");
         }
 
-        List<FlowRecord> historyRecords = flowRecordRepository
-                .findFlowRecordByProcessId(processId)
-                .stream()
-                .sorted(Comparator.comparingLong(FlowRecord::getId))
-                .toList();
+        FlowProcessGraph processGraph = FlowProcessGraph.load(flowRecordRepository, processId);
 
-        for (FlowRecord flowRecord : historyRecords) {
-            if (flowRecord.isFinish()) {
-                throw new IllegalArgumentException("flow record already finish");
-            }
+        if (!processGraph.findByStatus(FlowStatus.FINISH).isEmpty()) {
+            throw new IllegalArgumentException("flow record already finish");
         }
 
-        if (historyRecords.isEmpty()) {
+        if (processGraph.isEmpty()) {
             throw new IllegalArgumentException("flow record not found");
         }
 
-        List<String> historyNodeCodes = historyRecords.stream()
-                .map(FlowRecord::getNodeCode)
-                .distinct()
-                .toList();
-
-        if (!historyNodeCodes.contains(backNodeCode)) {
+        if (!processGraph.containsNode(backNodeCode)) {
             throw new IllegalArgumentException("flow node code not found");
         }
 
-        FlowRecord beginRecord = historyRecords.get(0);
-        for (FlowRecord flowRecord : historyRecords) {
-            if(flowRecord.getNodeCode().equals(backNodeCode)){
-                beginRecord = flowRecord;
-            }
-        }
+        // 退回到该节点最后一次的流程记录
+        List<FlowRecord> backNodeRecords = processGraph.findByNodeCode(backNodeCode);
+        FlowRecord beginRecord = backNodeRecords.get(backNodeRecords.size() - 1);
 
+        List<FlowRecord> historyRecords = processGraph.getRecords();
+        List<Long> deleteIds = new ArrayList<>();
+        List<Long> recallIds = new ArrayList<>();
         for (FlowRecord flowRecord : historyRecords) {
             if(flowRecord.getId()> beginRecord.getId() ){
                 flowRecord.delete();
+                deleteIds.add(flowRecord.getId());
             }else {
                 if(flowRecord.getNodeCode().equals(beginRecord.getNodeCode())){
                     flowRecord.recall();
+                    recallIds.add(flowRecord.getId());
                 }
             }
         }
 
-        flowRecordRepository.save(historyRecords);
+        flowRecordRepository.updateFlowTypeByIds(deleteIds, FlowType.DELETE);
+        flowRecordRepository.updateFlowTypeByIds(recallIds, FlowType.TODO);
 
         FlowWork flowWork = flowWorkRepository.getFlowWorkByCode(beginRecord.getWorkCode());
         IBindData bindData = flowBindDataRepository.getBindDataSnapshotById(beginRecord.getSnapshotId()).toBindData();
 
-        EventPusher.push(new FlowApprovalEvent(FlowApprovalEvent.STATE_BACK, beginRecord, currentOperator, flowWork, bindData), true);
+        FlowEventOutbox.getInstance().push(new FlowApprovalEvent(FlowApprovalEvent.STATE_BACK, beginRecord, currentOperator, flowWork, bindData));
 
     }
 }
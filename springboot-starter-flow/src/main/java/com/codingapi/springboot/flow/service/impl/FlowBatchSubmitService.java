@@ -0,0 +1,135 @@
+package com.codingapi.springboot.flow.service.impl;
+
+import com.codingapi.springboot.flow.bind.BindDataSnapshot;
+import com.codingapi.springboot.flow.bind.IBindData;
+import com.codingapi.springboot.flow.domain.FlowWork;
+import com.codingapi.springboot.flow.domain.Opinion;
+import com.codingapi.springboot.flow.pojo.FlowBatchSubmitResult;
+import com.codingapi.springboot.flow.pojo.FlowResult;
+import com.codingapi.springboot.flow.record.FlowRecord;
+import com.codingapi.springboot.flow.repository.FlowRecordRepository;
+import com.codingapi.springboot.flow.service.FlowServiceRepositoryHolder;
+import com.codingapi.springboot.flow.user.IFlowOperator;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 批量提交流程
+ * 一次查询全部流程记录后按记录id的顺序逐条提交，同一流程的设计只加载一次，
+ * 每条记录的提交与单条提交的读写相同，流程记录、表单快照与下一节点记录不合并写入。
+ * 每条记录在独立的事务（{@link TransactionTemplate}）中提交，失败时只回滚该记录的修改与事件，其余记录继续提交。
+ * 批量提交不能在调用方的事务中执行，每条记录的事务独立提交，同一时刻只占用一个数据库连接；
+ * 没有事务模板时每条记录不在事务中提交，失败的记录不回滚。
+ * 批量审批不修改表单数据，表单数据使用流程记录当前的表单快照。
+ */
+public class FlowBatchSubmitService {
+
+    private final List<Long> recordIds;
+    private final IFlowOperator currentOperator;
+    private final Opinion opinion;
+    private final FlowServiceRepositoryHolder flowServiceRepositoryHolder;
+    private final TransactionTemplate transactionTemplate;
+
+    // 流程id -> 流程设计
+    private final Map<String, FlowWork> flowWorks = new HashMap<>();
+    // 本次已提交过的流程，其流程记录可能已被修改，需要重新查询
+    private final Set<String> submittedProcessIds = new HashSet<>();
+
+    /**
+     * @param transactionTemplate 每条记录提交使用的事务模板，可为空
+     */
+    public FlowBatchSubmitService(List<Long> recordIds,
+                                  IFlowOperator currentOperator,
+                                  Opinion opinion,
+                                  FlowServiceRepositoryHolder flowServiceRepositoryHolder,
+                                  TransactionTemplate transactionTemplate) {
+        this.recordIds = recordIds;
+        this.currentOperator = currentOperator;
+        this.opinion = opinion;
+        this.flowServiceRepositoryHolder = flowServiceRepositoryHolder;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * 批量提交流程
+     *
+     * @return 每条流程记录的提交结果
+     */
+    public FlowBatchSubmitResult submitFlows() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("flow batch submit must not run in a transaction");
+        }
+        FlowRecordRepository flowRecordRepository = flowServiceRepositoryHolder.getFlowRecordRepository();
+        List<Long> ids = recordIds.stream().distinct().toList();
+        Map<Long, FlowRecord> records = flowRecordRepository.findFlowRecordByIds(ids).stream()
+                .collect(Collectors.toMap(FlowRecord::getId, Function.identity()));
+
+        List<FlowBatchSubmitResult.Item> items = new ArrayList<>();
+        for (Long id : ids) {
+            FlowRecord flowRecord = records.get(id);
+            if (flowRecord == null) {
+                items.add(FlowBatchSubmitResult.Item.fail(id, "flow record not found"));
+            } else {
+                items.add(submit(flowRecord));
+            }
+        }
+        return new FlowBatchSubmitResult(items);
+    }
+
+    private FlowBatchSubmitResult.Item submit(FlowRecord flowRecord) {
+        long recordId = flowRecord.getId();
+        String processId = flowRecord.getProcessId();
+        try {
+            FlowResult flowResult;
+            if (transactionTemplate != null) {
+                flowResult = transactionTemplate.execute(status -> submitFlow(flowRecord));
+            } else {
+                flowResult = submitFlow(flowRecord);
+            }
+            return FlowBatchSubmitResult.Item.success(recordId, flowResult);
+        } catch (RuntimeException e) {
+            return FlowBatchSubmitResult.Item.fail(recordId, e.getMessage());
+        } finally {
+            submittedProcessIds.add(processId);
+        }
+    }
+
+    private FlowResult submitFlow(FlowRecord flowRecord) {
+        if (submittedProcessIds.contains(flowRecord.getProcessId())) {
+            flowRecord = flowServiceRepositoryHolder.getFlowRecordRepository().getFlowRecordById(flowRecord.getId());
+            if (flowRecord == null) {
+                throw new IllegalArgumentException("flow record not found");
+            }
+        }
+        FlowSubmitService flowSubmitService = new FlowSubmitService(flowRecord, loadFlowWork(flowRecord), currentOperator, loadBindData(flowRecord), opinion, flowServiceRepositoryHolder);
+        return flowSubmitService.submitFlow();
+    }
+
+    // 加载流程记录当前的表单数据
+    private IBindData loadBindData(FlowRecord flowRecord) {
+        BindDataSnapshot snapshot = flowServiceRepositoryHolder.getFlowBindDataRepository().getBindDataSnapshotById(flowRecord.getSnapshotId());
+        if (snapshot == null) {
+            throw new IllegalArgumentException("bind data snapshot not found");
+        }
+        return snapshot.toBindData();
+    }
+
+    // 加载流程设计，同一流程只加载一次
+    private FlowWork loadFlowWork(FlowRecord flowRecord) {
+        return flowWorks.computeIfAbsent(flowRecord.getProcessId(), processId -> {
+            FlowWork flowWork = flowServiceRepositoryHolder.getFlowProcessRepository().getFlowWorkByProcessId(processId);
+            if (flowWork == null) {
+                flowWork = flowServiceRepositoryHolder.getFlowWorkRepository().getFlowWorkByCode(flowRecord.getWorkCode());
+            }
+            if (flowWork == null) {
+                throw new IllegalArgumentException("flow work not found");
+            }
+            flowWork.enableValidate();
+            return flowWork;
+        });
+    }
+}
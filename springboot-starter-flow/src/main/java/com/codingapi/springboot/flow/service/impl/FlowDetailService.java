@@ -6,6 +6,7 @@ import com.codingapi.springboot.flow.domain.FlowNode;
 import com.codingapi.springboot.flow.domain.FlowWork;
 import com.codingapi.springboot.flow.pojo.FlowDetail;
 import com.codingapi.springboot.flow.record.FlowMerge;
+import com.codingapi.springboot.flow.record.FlowProcessGraph;
 import com.codingapi.springboot.flow.record.FlowRecord;
 import com.codingapi.springboot.flow.repository.*;
 import com.codingapi.springboot.flow.service.FlowRecordVerifyService;
@@ -14,7 +15,9 @@ import lombok.AllArgsConstructor;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Transactional
 @AllArgsConstructor
@@ -58,21 +61,18 @@ public class FlowDetailService {
         }
 
         BindDataSnapshot snapshot = flowBindDataRepository.getBindDataSnapshotById(flowRecord.getSnapshotId());
-        List<FlowRecord> flowRecords =
-                flowRecordRepository.findFlowRecordByProcessId(flowRecord.getProcessId()).
-                        stream().
-                        sorted((o1, o2) -> (int) (o2.getId() - o1.getId()))
-                        .toList();
-
-        List<IFlowOperator> operators = new ArrayList<>();
-        // 获取所有的操作者
+        List<FlowRecord> flowRecords = FlowProcessGraph.load(flowRecordRepository, flowRecord.getProcessId()).getRecordsDesc();
+
+        // 获取所有的操作者，相同的操作者只保留一个
+        Map<Long, IFlowOperator> operatorMap = new LinkedHashMap<>();
         for (FlowRecord record : flowRecords) {
-            operators.add(record.getCreateOperator());
-            operators.add(record.getCurrentOperator());
-            if (record.getInterferedOperator() != null) {
-                operators.add(record.getInterferedOperator());
+            for (IFlowOperator operator : new IFlowOperator[]{record.getCreateOperator(), record.getCurrentOperator(), record.getInterferedOperator()}) {
+                if (operator != null) {
+                    operatorMap.putIfAbsent(operator.getUserId(), operator);
+                }
             }
         }
+        List<IFlowOperator> operators = new ArrayList<>(operatorMap.values());
 
         return new FlowDetail(flowRecord,mergeRecords, snapshot, flowWork, flowRecords, operators, currentOperator != null && flowRecord.isTodo() && flowRecord.isOperator(currentOperator));
     }
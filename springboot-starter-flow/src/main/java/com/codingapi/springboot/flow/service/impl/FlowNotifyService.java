@@ -4,6 +4,7 @@ import com.codingapi.springboot.flow.bind.BindDataSnapshot;
 import com.codingapi.springboot.flow.domain.FlowWork;
 import com.codingapi.springboot.flow.em.FlowType;
 import com.codingapi.springboot.flow.event.FlowApprovalEvent;
+import com.codingapi.springboot.flow.event.FlowEventOutbox;
 import com.codingapi.springboot.flow.record.FlowRecord;
 import com.codingapi.springboot.flow.repository.FlowBindDataRepository;
 import com.codingapi.springboot.flow.repository.FlowProcessRepository;
@@ -11,7 +12,6 @@ import com.codingapi.springboot.flow.repository.FlowRecordRepository;
 import com.codingapi.springboot.flow.repository.FlowWorkRepository;
 import com.codingapi.springboot.flow.service.FlowServiceRepositoryHolder;
 import com.codingapi.springboot.flow.user.IFlowOperator;
-import com.codingapi.springboot.framework.event.EventPusher;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -58,23 +58,29 @@ public class FlowNotifyService {
      */
     public void notifyFlow() {
         List<FlowRecord> flowRecords = flowRecordRepository.findFlowRecordByProcessId(processId);
-        List<FlowRecord> waitingRecords = flowRecords.stream().filter(FlowRecord::isWaiting).toList();
+        List<FlowRecord> waitingRecords = flowRecords.stream()
+                .filter(FlowRecord::isWaiting)
+                .filter(flowRecord -> flowRecord.isOperator(currentOperator))
+                .toList();
+        if (waitingRecords.isEmpty()) {
+            return;
+        }
         for (FlowRecord flowRecord : waitingRecords) {
-            if (flowRecord.isOperator(currentOperator)) {
-                flowRecord.setFlowType(FlowType.TODO);
-                flowRecordRepository.update(flowRecord);
+            flowRecord.setFlowType(FlowType.TODO);
+        }
+        flowRecordRepository.updateFlowTypeByIds(waitingRecords.stream().map(FlowRecord::getId).toList(), FlowType.TODO);
 
-                BindDataSnapshot snapshot = flowBindDataRepository.getBindDataSnapshotById(flowRecord.getSnapshotId());
+        for (FlowRecord flowRecord : waitingRecords) {
+            BindDataSnapshot snapshot = flowBindDataRepository.getBindDataSnapshotById(flowRecord.getSnapshotId());
 
-                FlowWork flowWork = this.loadFlowWork(flowRecord);
+            FlowWork flowWork = this.loadFlowWork(flowRecord);
 
-                EventPusher.push(new FlowApprovalEvent(FlowApprovalEvent.STATE_TODO,
-                        flowRecord,
-                        flowRecord.getCurrentOperator(),
-                        flowWork,
-                        snapshot.toBindData()
-                ), true);
-            }
+            FlowEventOutbox.getInstance().push(new FlowApprovalEvent(FlowApprovalEvent.STATE_TODO,
+                    flowRecord,
+                    flowRecord.getCurrentOperator(),
+                    flowWork,
+                    snapshot.toBindData()
+            ));
         }
     }
 }
@@ -3,15 +3,17 @@ package com.codingapi.springboot.flow.service.impl;
 import com.codingapi.springboot.flow.bind.BindDataSnapshot;
 import com.codingapi.springboot.flow.bind.IBindData;
 import com.codingapi.springboot.flow.domain.FlowWork;
+import com.codingapi.springboot.flow.em.FlowType;
 import com.codingapi.springboot.flow.event.FlowApprovalEvent;
+import com.codingapi.springboot.flow.event.FlowEventOutbox;
 import com.codingapi.springboot.flow.record.FlowRecord;
 import com.codingapi.springboot.flow.repository.*;
 import com.codingapi.springboot.flow.service.FlowRecordVerifyService;
 import com.codingapi.springboot.flow.user.IFlowOperator;
-import com.codingapi.springboot.framework.event.EventPusher;
 import lombok.AllArgsConstructor;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Transactional
@@ -49,16 +51,18 @@ public class FlowRecallService {
 
         if(flowRecordVerifyService.isCreateOperator()){
             List<FlowRecord> records = flowRecordRepository.findFlowRecordByProcessId(flowRecord.getProcessId());
+            List<Long> deleteIds = new ArrayList<>();
             for(FlowRecord record:records){
                 if(!record.isStartRecord()) {
                     record.delete();
-                    flowRecordRepository.update(record);
+                    deleteIds.add(record.getId());
                 }else {
                     record.recall();
                     flowRecord = record;
                     flowRecordRepository.update(record);
                 }
             }
+            flowRecordRepository.updateFlowTypeByIds(deleteIds, FlowType.DELETE);
         }else {
             // 下一流程的流程记录
             List<FlowRecord> childrenRecords = flowRecordRepository.findFlowRecordByPreId(recordId);
@@ -78,10 +82,10 @@ public class FlowRecallService {
             for (FlowRecord childrenRecord : childrenRecords) {
                 childrenRecord.delete();
             }
-            flowRecordRepository.save(childrenRecords);
+            flowRecordRepository.updateFlowTypeByIds(childrenRecords.stream().map(FlowRecord::getId).toList(), FlowType.DELETE);
         }
 
         IBindData bindData = bindDataSnapshot.toBindData();
-        EventPusher.push(new FlowApprovalEvent(FlowApprovalEvent.STATE_RECALL, flowRecord, currentOperator, flowWork, bindData), true);
+        FlowEventOutbox.getInstance().push(new FlowApprovalEvent(FlowApprovalEvent.STATE_RECALL, flowRecord, currentOperator, flowWork, bindData));
     }
 }
@@ -5,6 +5,7 @@ import com.codingapi.springboot.flow.bind.IBindData;
 import com.codingapi.springboot.flow.domain.FlowNode;
 import com.codingapi.springboot.flow.domain.FlowWork;
 import com.codingapi.springboot.flow.event.FlowApprovalEvent;
+import com.codingapi.springboot.flow.event.FlowEventOutbox;
 import com.codingapi.springboot.flow.record.FlowProcess;
 import com.codingapi.springboot.flow.record.FlowRecord;
 import com.codingapi.springboot.flow.repository.FlowBindDataRepository;
@@ -13,12 +14,9 @@ import com.codingapi.springboot.flow.repository.FlowRecordRepository;
 import com.codingapi.springboot.flow.repository.FlowWorkRepository;
 import com.codingapi.springboot.flow.service.FlowRecordVerifyService;
 import com.codingapi.springboot.flow.user.IFlowOperator;
-import com.codingapi.springboot.framework.event.EventPusher;
 import lombok.AllArgsConstructor;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-
 @Transactional
 @AllArgsConstructor
 public class FlowRemoveService {
@@ -61,12 +59,8 @@ public class FlowRemoveService {
         flowProcess.voided();
         flowProcessRepository.save(flowProcess);
 
-        List<FlowRecord> historyRecords = flowRecordRepository.findFlowRecordByProcessId(flowRecord.getProcessId());
-        for (FlowRecord record : historyRecords) {
-            record.delete();
-        }
-        flowRecordRepository.save(historyRecords);
+        flowRecordRepository.voidedFlowRecordByProcessId(flowRecord.getProcessId());
 
-        EventPusher.push(new FlowApprovalEvent(FlowApprovalEvent.STATE_DELETE, flowRecord, currentOperator, flowWork, bindData), true);
+        FlowEventOutbox.getInstance().push(new FlowApprovalEvent(FlowApprovalEvent.STATE_DELETE, flowRecord, currentOperator, flowWork, bindData));
     }
 }
@@ -5,11 +5,11 @@ import com.codingapi.springboot.flow.bind.IBindData;
 import com.codingapi.springboot.flow.domain.FlowWork;
 import com.codingapi.springboot.flow.domain.Opinion;
 import com.codingapi.springboot.flow.event.FlowApprovalEvent;
+import com.codingapi.springboot.flow.event.FlowEventOutbox;
 import com.codingapi.springboot.flow.record.FlowRecord;
 import com.codingapi.springboot.flow.repository.*;
 import com.codingapi.springboot.flow.service.FlowRecordVerifyService;
 import com.codingapi.springboot.flow.user.IFlowOperator;
-import com.codingapi.springboot.framework.event.EventPusher;
 import lombok.AllArgsConstructor;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -51,12 +51,11 @@ public class FlowSaveService {
 
         FlowWork flowWork = flowRecordVerifyService.getFlowWork();
 
-        EventPusher.push(new FlowApprovalEvent(FlowApprovalEvent.STATE_SAVE,
-                        flowRecord,
-                        flowRecord.getCurrentOperator(),
-                        flowWork,
-                        snapshot.toBindData()),
-                true);
+        FlowEventOutbox.getInstance().push(new FlowApprovalEvent(FlowApprovalEvent.STATE_SAVE,
+                flowRecord,
+                flowRecord.getCurrentOperator(),
+                flowWork,
+                snapshot.toBindData()));
     }
 
 }
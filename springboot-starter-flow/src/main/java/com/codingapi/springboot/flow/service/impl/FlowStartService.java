@@ -4,9 +4,11 @@ import com.codingapi.springboot.flow.bind.BindDataSnapshot;
 import com.codingapi.springboot.flow.bind.IBindData;
 import com.codingapi.springboot.flow.domain.FlowNode;
 import com.codingapi.springboot.flow.domain.FlowWork;
+import com.codingapi.springboot.flow.domain.FlowWorkContent;
 import com.codingapi.springboot.flow.domain.Opinion;
 import com.codingapi.springboot.flow.em.FlowSourceDirection;
 import com.codingapi.springboot.flow.event.FlowApprovalEvent;
+import com.codingapi.springboot.flow.event.FlowEventOutbox;
 import com.codingapi.springboot.flow.pojo.FlowResult;
 import com.codingapi.springboot.flow.record.FlowBackup;
 import com.codingapi.springboot.flow.record.FlowProcess;
@@ -18,7 +20,6 @@ import com.codingapi.springboot.flow.repository.FlowWorkRepository;
 import com.codingapi.springboot.flow.service.FlowNodeService;
 import com.codingapi.springboot.flow.service.FlowServiceRepositoryHolder;
 import com.codingapi.springboot.flow.user.IFlowOperator;
-import com.codingapi.springboot.framework.event.EventPusher;
 import lombok.Getter;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -69,6 +70,14 @@ public class FlowStartService {
     private synchronized void loadFlowBackup() {
         FlowBackupRepository flowBackupRepository = flowServiceRepositoryHolder.getFlowBackupRepository();
         this.flowBackup = flowBackupRepository.getFlowBackupByWorkIdAndVersion(flowWork.getId(), flowWork.getUpdateTime());
+        if (flowBackup == null) {
+            // 设计内容未变化时复用已有的备份
+            flowBackup = flowBackupRepository.getFlowBackupByWorkIdAndContentHash(flowWork.getId(), FlowWorkContent.hash(flowWork));
+            if (flowBackup != null) {
+                // 按当前版本号重新登记，避免每次发起流程都计算内容摘要
+                flowBackupRepository.updateWorkVersion(flowBackup, flowWork.getUpdateTime());
+            }
+        }
         if (flowBackup == null) {
             flowBackup = flowBackupRepository.backup(flowWork);
         }
@@ -121,12 +130,11 @@ public class FlowStartService {
 
 
     private void pushEvent(int flowApprovalEventState, FlowRecord flowRecord) {
-        EventPusher.push(new FlowApprovalEvent(flowApprovalEventState,
-                        flowRecord,
-                        flowRecord.getCurrentOperator(),
-                        flowWork,
-                        snapshot.toBindData()),
-                true);
+        FlowEventOutbox.getInstance().push(new FlowApprovalEvent(flowApprovalEventState,
+                flowRecord,
+                flowRecord.getCurrentOperator(),
+                flowWork,
+                snapshot.toBindData()));
     }
 
 
@@ -6,6 +6,7 @@ import com.codingapi.springboot.flow.domain.FlowNode;
 import com.codingapi.springboot.flow.domain.FlowWork;
 import com.codingapi.springboot.flow.domain.Opinion;
 import com.codingapi.springboot.flow.pojo.FlowStepResult;
+import com.codingapi.springboot.flow.record.FlowProcessGraph;
 import com.codingapi.springboot.flow.record.FlowRecord;
 import com.codingapi.springboot.flow.repository.FlowOperatorRepository;
 import com.codingapi.springboot.flow.repository.FlowRecordRepository;
@@ -15,7 +16,6 @@ import com.codingapi.springboot.flow.user.IFlowOperator;
 import com.codingapi.springboot.framework.utils.RandomGenerator;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 public class FlowStepService {
@@ -38,7 +38,7 @@ public class FlowStepService {
         this.flowServiceRepositoryHolder = flowServiceRepositoryHolder;
         if(this.recordId>0) {
             this.currentFlowRecord = flowServiceRepositoryHolder.getFlowRecordRepository().getFlowRecordById(recordId);
-            this.flowRecords = flowServiceRepositoryHolder.getFlowRecordRepository().findFlowRecordByProcessId(currentFlowRecord.getProcessId()).stream().sorted(Comparator.comparingLong(FlowRecord::getId)).toList();
+            this.flowRecords = FlowProcessGraph.load(flowServiceRepositoryHolder.getFlowRecordRepository(), currentFlowRecord.getProcessId()).getRecords();
             this.flowWork = flowServiceRepositoryHolder.getFlowWorkRepository().getFlowWorkByCode(currentFlowRecord.getWorkCode());
         }else {
             this.currentFlowRecord = null;
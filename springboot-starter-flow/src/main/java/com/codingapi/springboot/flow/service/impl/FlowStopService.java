@@ -4,13 +4,13 @@ import com.codingapi.springboot.flow.bind.BindDataSnapshot;
 import com.codingapi.springboot.flow.domain.FlowNode;
 import com.codingapi.springboot.flow.domain.FlowWork;
 import com.codingapi.springboot.flow.event.FlowApprovalEvent;
+import com.codingapi.springboot.flow.event.FlowEventOutbox;
 import com.codingapi.springboot.flow.record.FlowRecord;
 import com.codingapi.springboot.flow.repository.FlowBindDataRepository;
 import com.codingapi.springboot.flow.repository.FlowRecordRepository;
 import com.codingapi.springboot.flow.service.FlowRecordVerifyService;
 import com.codingapi.springboot.flow.service.FlowServiceRepositoryHolder;
 import com.codingapi.springboot.flow.user.IFlowOperator;
-import com.codingapi.springboot.framework.event.EventPusher;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -89,12 +89,12 @@ public class FlowStopService {
 
         flowRecordRepository.finishFlowRecordByProcessId(flowRecord.getProcessId());
 
-        EventPusher.push(new FlowApprovalEvent(FlowApprovalEvent.STATE_STOP,
+        FlowEventOutbox.getInstance().push(new FlowApprovalEvent(FlowApprovalEvent.STATE_STOP,
                 flowRecord,
                 flowRecord.getCurrentOperator(),
                 flowWork,
                 snapshot.toBindData()
-        ), true);
+        ));
 
     }
 
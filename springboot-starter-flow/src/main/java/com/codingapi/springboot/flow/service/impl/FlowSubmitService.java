@@ -7,6 +7,7 @@ import com.codingapi.springboot.flow.domain.FlowWork;
 import com.codingapi.springboot.flow.domain.Opinion;
 import com.codingapi.springboot.flow.em.FlowSourceDirection;
 import com.codingapi.springboot.flow.event.FlowApprovalEvent;
+import com.codingapi.springboot.flow.event.FlowEventOutbox;
 import com.codingapi.springboot.flow.pojo.FlowResult;
 import com.codingapi.springboot.flow.pojo.FlowSubmitResult;
 import com.codingapi.springboot.flow.record.FlowRecord;
@@ -17,7 +18,6 @@ import com.codingapi.springboot.flow.service.FlowNodeService;
 import com.codingapi.springboot.flow.service.FlowRecordVerifyService;
 import com.codingapi.springboot.flow.service.FlowServiceRepositoryHolder;
 import com.codingapi.springboot.flow.user.IFlowOperator;
-import com.codingapi.springboot.framework.event.EventPusher;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
@@ -210,12 +210,12 @@ public class FlowSubmitService {
 
     // 推送审批事件消息
     private void pushEvent(FlowRecord flowRecord, int eventState) {
-        EventPusher.push(new FlowApprovalEvent(eventState,
+        FlowEventOutbox.getInstance().push(new FlowApprovalEvent(eventState,
                 flowRecord,
                 flowRecord.getCurrentOperator(),
                 flowWork,
                 snapshot.toBindData()
-        ), true);
+        ));
     }
 
 
@@ -0,0 +1,19 @@
+package com.codingapi.springboot.flow.timer;
+
+import com.codingapi.springboot.flow.record.FlowRecord;
+
+/**
+ * 流程超时动作
+ * 待办记录到达超时时间时执行，可按节点编码执行不同的动作
+ */
+@FunctionalInterface
+public interface FlowTimeoutAction {
+
+    /**
+     * 执行超时动作
+     *
+     * @param flowRecord 超时的待办记录
+     */
+    void timeout(FlowRecord flowRecord);
+
+}
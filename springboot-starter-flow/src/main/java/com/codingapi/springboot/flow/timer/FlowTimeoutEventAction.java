@@ -0,0 +1,43 @@
+package com.codingapi.springboot.flow.timer;
+
+import com.codingapi.springboot.flow.event.FlowApprovalEvent;
+import com.codingapi.springboot.flow.event.FlowEventLoader;
+import com.codingapi.springboot.flow.event.FlowEventOutbox;
+import com.codingapi.springboot.flow.record.FlowRecord;
+
+import java.util.function.Consumer;
+
+/**
+ * 推送超时事件的超时动作
+ * 通过 {@link FlowEventLoader} 加载流程设计与表单数据后推送 {@link FlowApprovalEvent#STATE_TIMEOUT} 事件，
+ * 事件加载由 FlowService 在创建时设置，未设置时超时动作执行失败并按退避时间重试。
+ */
+public class FlowTimeoutEventAction implements FlowTimeoutAction {
+
+    private final Consumer<FlowApprovalEvent> pusher;
+    private volatile FlowEventLoader flowEventLoader;
+
+    /**
+     * 通过发件箱推送超时事件
+     */
+    public FlowTimeoutEventAction() {
+        this(event -> FlowEventOutbox.getInstance().push(event));
+    }
+
+    public FlowTimeoutEventAction(Consumer<FlowApprovalEvent> pusher) {
+        this.pusher = pusher;
+    }
+
+    public void setFlowEventLoader(FlowEventLoader flowEventLoader) {
+        this.flowEventLoader = flowEventLoader;
+    }
+
+    @Override
+    public void timeout(FlowRecord flowRecord) {
+        FlowEventLoader loader = flowEventLoader;
+        if (loader == null) {
+            throw new IllegalStateException("flow event loader is not set");
+        }
+        pusher.accept(loader.create(FlowApprovalEvent.STATE_TIMEOUT, flowRecord, flowRecord.getCurrentOperator()));
+    }
+}
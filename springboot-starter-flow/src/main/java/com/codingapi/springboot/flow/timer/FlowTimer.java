@@ -0,0 +1,49 @@
+package com.codingapi.springboot.flow.timer;
+
+import com.codingapi.springboot.flow.record.FlowRecord;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 流程定时器
+ * 待办记录的超时到期时间索引，到期时间即流程记录的timeoutTime
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class FlowTimer {
+
+    /**
+     * 流程记录id
+     */
+    private final long recordId;
+
+    /**
+     * 流程id
+     */
+    private final String processId;
+
+    /**
+     * 节点编码
+     */
+    private final String nodeCode;
+
+    /**
+     * 到期时间
+     */
+    private final long dueTime;
+
+    /**
+     * 由流程记录创建定时器
+     *
+     * @param flowRecord 流程记录
+     * @return 定时器，不是待办或没有设置超时时间的记录返回null
+     */
+    public static FlowTimer of(FlowRecord flowRecord) {
+        if (flowRecord.isDelete() || !flowRecord.isTodo() || flowRecord.isFinish() || flowRecord.getTimeoutTime() <= 0) {
+            return null;
+        }
+        return new FlowTimer(flowRecord.getId(), flowRecord.getProcessId(), flowRecord.getNodeCode(), flowRecord.getTimeoutTime());
+    }
+}
@@ -0,0 +1,460 @@
+package com.codingapi.springboot.flow.timer;
+
+import com.codingapi.springboot.flow.event.FlowApprovalEvent;
+import com.codingapi.springboot.flow.event.FlowEventLoader;
+import com.codingapi.springboot.flow.record.FlowRecord;
+import com.codingapi.springboot.flow.repository.FlowRecordProjection;
+import com.codingapi.springboot.flow.repository.FlowRecordRepository;
+import com.codingapi.springboot.flow.repository.FlowTimerRepository;
+import com.codingapi.springboot.flow.utils.ScheduleUtils;
+import com.codingapi.springboot.flow.utils.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 流程超时定时器引擎
+ * <p>
+ * 待办记录设置了超时时间时，定时器写入持久化的到期时间索引（{@link FlowTimerRepository}），
+ * 引擎只将加载窗口内到期的定时器放入内存中的分层时间轮，窗口过半时按到期时间索引分批加载下一个窗口，
+ * 因此时间轮中的定时器数量只与加载窗口有关，也不需要扫描流程记录表。
+ * 定时器到期时确认待办记录仍然有效且超时时间未变化，并领取定时器后执行超时动作，执行成功后删除定时器；
+ * 执行失败的定时器释放领取并保留在仓库中，按退避时间重新放入时间轮重试，重启后重新加载，启动时已过期的定时器将立即执行。
+ * 多个节点共享定时器仓库时每个节点都会加载到期的定时器，只有领取成功的节点执行超时动作，
+ * 领取失败的节点在租约过期后重新确认，执行超时动作的节点宕机时由其他节点在租约过期后执行。
+ * 引擎在内存中记录本节点注册与加载的定时器，没有超时时间且未注册定时器的流程记录不查询定时器仓库，
+ * 未记录的定时器（如其他节点注册的）在到期时确认流程记录后删除。
+ * <p>
+ * 引擎作为流程记录投影注册到 FlowService，流程记录变更时在同一事务内更新定时器仓库，
+ * 事务提交后再更新时间轮，回滚的定时器不会放入时间轮。
+ * 可通过系统参数配置:
+ * Flow.TimerTickMs          时间轮精度(毫秒),默认100
+ * Flow.TimerWheelSize       每层时间轮的槽数,默认512
+ * Flow.TimerLoadWindow      加载窗口(毫秒),默认60000
+ * Flow.TimerLoadBatchSize   每批加载的定时器数量,默认1000
+ * Flow.TimerThreads         超时动作的执行线程数,默认2
+ * Flow.TimerRetryBackoff    超时动作首次重试的退避时间(毫秒),之后每次翻倍,默认1000
+ * Flow.TimerMaxBackoff      超时动作重试的最大退避时间(毫秒),默认60000
+ * Flow.TimerLease           领取定时器的租约时间(毫秒),应大于超时动作的执行时间,默认60000
+ */
+@Slf4j
+public class FlowTimerEngine implements FlowRecordProjection {
+
+    public static final String TICK_KEY = "Flow.TimerTickMs";
+    public static final String WHEEL_SIZE_KEY = "Flow.TimerWheelSize";
+    public static final String LOAD_WINDOW_KEY = "Flow.TimerLoadWindow";
+    public static final String LOAD_BATCH_SIZE_KEY = "Flow.TimerLoadBatchSize";
+    public static final String THREAD_KEY = "Flow.TimerThreads";
+    public static final String RETRY_BACKOFF_KEY = "Flow.TimerRetryBackoff";
+    public static final String MAX_BACKOFF_KEY = "Flow.TimerMaxBackoff";
+    public static final String LEASE_KEY = "Flow.TimerLease";
+
+    private final FlowRecordRepository flowRecordRepository;
+    private final FlowTimerRepository flowTimerRepository;
+    private final FlowTimeoutAction flowTimeoutAction;
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long loadWindow;
+    private final int loadBatchSize;
+    private final int threads;
+    private final long retryBackoffMillis;
+    private final long maxBackoffMillis;
+    private volatile long leaseMillis = Long.parseLong(System.getProperty(LEASE_KEY, "60000"));
+
+    // 已注册的定时器，记录id -> 定时器，事务提交后更新
+    private final Map<Long, FlowTimer> registered = new ConcurrentHashMap<>();
+    // 已加载到时间轮的定时器，记录id -> 时间轮中的到期时间
+    private final Map<Long, Long> loaded = new HashMap<>();
+    private TimingWheel timingWheel;
+    // 正在加载或已加载的到期时间上限（不含）
+    private long loadedUntil;
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService actionExecutor;
+
+    // 执行成功次数
+    private final LongAdder firedCount = new LongAdder();
+    // 执行失败次数
+    private final LongAdder failedCount = new LongAdder();
+
+    /**
+     * 超时时推送 {@link FlowApprovalEvent#STATE_TIMEOUT} 事件
+     */
+    public FlowTimerEngine(FlowRecordRepository flowRecordRepository, FlowTimerRepository flowTimerRepository) {
+        this(flowRecordRepository, flowTimerRepository, new FlowTimeoutEventAction());
+    }
+
+    public FlowTimerEngine(FlowRecordRepository flowRecordRepository,
+                           FlowTimerRepository flowTimerRepository,
+                           FlowTimeoutAction flowTimeoutAction) {
+        this(flowRecordRepository, flowTimerRepository, flowTimeoutAction,
+                Long.parseLong(System.getProperty(TICK_KEY, "100")),
+                Integer.parseInt(System.getProperty(WHEEL_SIZE_KEY, "512")),
+                Long.parseLong(System.getProperty(LOAD_WINDOW_KEY, "60000")),
+                Integer.parseInt(System.getProperty(LOAD_BATCH_SIZE_KEY, "1000")),
+                Integer.parseInt(System.getProperty(THREAD_KEY, "2")));
+    }
+
+    public FlowTimerEngine(FlowRecordRepository flowRecordRepository,
+                           FlowTimerRepository flowTimerRepository,
+                           FlowTimeoutAction flowTimeoutAction,
+                           long tickMs,
+                           int wheelSize,
+                           long loadWindow,
+                           int loadBatchSize,
+                           int threads) {
+        this(flowRecordRepository, flowTimerRepository, flowTimeoutAction, tickMs, wheelSize, loadWindow, loadBatchSize, threads,
+                Long.parseLong(System.getProperty(RETRY_BACKOFF_KEY, "1000")),
+                Long.parseLong(System.getProperty(MAX_BACKOFF_KEY, "60000")));
+    }
+
+    public FlowTimerEngine(FlowRecordRepository flowRecordRepository,
+                           FlowTimerRepository flowTimerRepository,
+                           FlowTimeoutAction flowTimeoutAction,
+                           long tickMs,
+                           int wheelSize,
+                           long loadWindow,
+                           int loadBatchSize,
+                           int threads,
+                           long retryBackoffMillis,
+                           long maxBackoffMillis) {
+        this.flowRecordRepository = flowRecordRepository;
+        this.flowTimerRepository = flowTimerRepository;
+        this.flowTimeoutAction = flowTimeoutAction;
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.loadWindow = loadWindow;
+        this.loadBatchSize = loadBatchSize;
+        this.threads = threads;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    /**
+     * 设置超时事件的事件加载，只对推送超时事件的超时动作生效
+     *
+     * @param flowEventLoader 事件加载
+     */
+    public void setFlowEventLoader(FlowEventLoader flowEventLoader) {
+        if (flowTimeoutAction instanceof FlowTimeoutEventAction flowTimeoutEventAction) {
+            flowTimeoutEventAction.setFlowEventLoader(flowEventLoader);
+        }
+    }
+
+    /**
+     * 设置领取定时器的租约时间
+     *
+     * @param leaseMillis 租约时间(毫秒)
+     */
+    public void setLeaseMillis(long leaseMillis) {
+        this.leaseMillis = leaseMillis;
+    }
+
+    /**
+     * 启动引擎，加载已过期与加载窗口内的定时器
+     */
+    public void start() {
+        synchronized (this) {
+            if (scheduler != null) {
+                return;
+            }
+            timingWheel = new TimingWheel(tickMs, wheelSize, System.currentTimeMillis() - tickMs + 1);
+            loaded.clear();
+            loadedUntil = 0;
+            scheduler = Executors.newSingleThreadScheduledExecutor(ScheduleUtils.daemonThreadFactory("flow-timer-"));
+            actionExecutor = Executors.newFixedThreadPool(threads, ScheduleUtils.daemonThreadFactory("flow-timeout-"));
+        }
+        load(System.currentTimeMillis());
+        scheduler.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停止引擎，未执行的定时器保留在仓库中
+     */
+    public synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        actionExecutor.shutdown();
+        scheduler = null;
+        actionExecutor = null;
+        timingWheel = null;
+        loaded.clear();
+    }
+
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * 已加载到时间轮的定时器数量
+     */
+    public synchronized int getLoadedCount() {
+        return loaded.size();
+    }
+
+    public long getFiredCount() {
+        return firedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    /**
+     * 定时器仓库与流程记录在同一事务内更新
+     */
+    @Override
+    public boolean isTransactional() {
+        return true;
+    }
+
+    @Override
+    public void update(List<FlowRecord> flowRecords) {
+        for (FlowRecord flowRecord : flowRecords) {
+            FlowTimer flowTimer = FlowTimer.of(flowRecord);
+            if (flowTimer != null) {
+                schedule(flowTimer);
+            } else {
+                cancel(flowRecord.getId());
+            }
+        }
+    }
+
+    @Override
+    public void remove(Collection<Long> recordIds) {
+        for (Long recordId : recordIds) {
+            cancel(recordId);
+        }
+    }
+
+    @Override
+    public void removeByProcessId(String processId) {
+        // 时间轮中的定时器在到期时确认已删除
+        flowTimerRepository.deleteByProcessId(processId);
+        TransactionUtils.afterCommit(() -> registered.values().removeIf(flowTimer -> processId.equals(flowTimer.getProcessId())));
+    }
+
+    private void schedule(FlowTimer flowTimer) {
+        FlowTimer current = registered.get(flowTimer.getRecordId());
+        if (current != null && current.getDueTime() == flowTimer.getDueTime()) {
+            return;
+        }
+        flowTimerRepository.save(flowTimer);
+        TransactionUtils.afterCommit(() -> {
+            registered.put(flowTimer.getRecordId(), flowTimer);
+            List<FlowTimer> expired = new ArrayList<>();
+            synchronized (this) {
+                if (timingWheel == null) {
+                    return;
+                }
+                if (flowTimer.getDueTime() < loadedUntil) {
+                    addToWheel(flowTimer, expired);
+                } else {
+                    loaded.remove(flowTimer.getRecordId());
+                }
+            }
+            expired.forEach(this::submit);
+        });
+    }
+
+    private void cancel(long recordId) {
+        // 未注册定时器的记录不查询仓库
+        if (!registered.containsKey(recordId)) {
+            return;
+        }
+        flowTimerRepository.delete(recordId);
+        TransactionUtils.afterCommit(() -> {
+            registered.remove(recordId);
+            synchronized (this) {
+                loaded.remove(recordId);
+            }
+        });
+    }
+
+    private void addToWheel(FlowTimer flowTimer, List<FlowTimer> expired) {
+        Long dueTime = loaded.get(flowTimer.getRecordId());
+        if (dueTime != null && dueTime == flowTimer.getDueTime()) {
+            return;
+        }
+        loaded.put(flowTimer.getRecordId(), flowTimer.getDueTime());
+        if (!timingWheel.add(flowTimer)) {
+            expired.add(flowTimer);
+        }
+    }
+
+    private void tick() {
+        try {
+            long now = System.currentTimeMillis();
+            boolean needLoad;
+            synchronized (this) {
+                needLoad = timingWheel != null && now + loadWindow / 2 >= loadedUntil;
+            }
+            if (needLoad) {
+                load(now);
+            }
+            List<FlowTimer> expired = new ArrayList<>();
+            synchronized (this) {
+                if (timingWheel == null) {
+                    return;
+                }
+                // 按槽的结束时间触发，定时器不会提前执行
+                timingWheel.advance(now - tickMs + 1, expired);
+            }
+            expired.forEach(this::submit);
+        } catch (RuntimeException e) {
+            log.error("flow timer tick error", e);
+        }
+    }
+
+    /**
+     * 按到期时间索引加载 [loadedUntil, now + loadWindow) 内的定时器
+     */
+    private void load(long now) {
+        long from;
+        long until = now + loadWindow;
+        synchronized (this) {
+            from = loadedUntil;
+            // 加载期间新保存的定时器直接放入时间轮
+            loadedUntil = until;
+        }
+        long afterDueTime = from > 0 ? from - 1 : Long.MIN_VALUE;
+        long afterRecordId = from > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        while (true) {
+            List<FlowTimer> flowTimers = flowTimerRepository.findDueTimers(afterDueTime, afterRecordId, until, loadBatchSize);
+            List<FlowTimer> expired = new ArrayList<>();
+            synchronized (this) {
+                if (timingWheel == null) {
+                    return;
+                }
+                for (FlowTimer flowTimer : flowTimers) {
+                    registered.putIfAbsent(flowTimer.getRecordId(), flowTimer);
+                    addToWheel(flowTimer, expired);
+                }
+            }
+            expired.forEach(this::submit);
+            if (flowTimers.size() < loadBatchSize) {
+                return;
+            }
+            FlowTimer last = flowTimers.get(flowTimers.size() - 1);
+            afterDueTime = last.getDueTime();
+            afterRecordId = last.getRecordId();
+        }
+    }
+
+    private void submit(FlowTimer flowTimer) {
+        ExecutorService executorService;
+        synchronized (this) {
+            executorService = actionExecutor;
+        }
+        if (executorService != null) {
+            executorService.execute(() -> fire(flowTimer));
+        }
+    }
+
+    private void fire(FlowTimer flowTimer) {
+        long recordId = flowTimer.getRecordId();
+        synchronized (this) {
+            // 已取消、已重新调度或已执行
+            if (!loaded.remove(recordId, flowTimer.getDueTime())) {
+                return;
+            }
+        }
+        long timeoutTime = getTimeoutTime(flowTimer);
+        boolean claimed = false;
+        try {
+            if (!isCurrent(recordId, timeoutTime)) {
+                return;
+            }
+            FlowRecord flowRecord = flowRecordRepository.getFlowRecordById(recordId);
+            FlowTimer recordTimer = flowRecord != null ? FlowTimer.of(flowRecord) : null;
+            if (recordTimer == null || recordTimer.getDueTime() != timeoutTime) {
+                // 待办已处理或已延期，定时器随流程记录更新
+                if (recordTimer == null) {
+                    flowTimerRepository.delete(recordId);
+                    registered.remove(recordId);
+                }
+                return;
+            }
+            long now = System.currentTimeMillis();
+            if (!flowTimerRepository.claim(recordId, timeoutTime, now + leaseMillis, now)) {
+                // 其他节点正在执行，租约过期后重新确认
+                retry(new RetryTimer(flowTimer, timeoutTime, now + leaseMillis, getAttempts(flowTimer)));
+                return;
+            }
+            claimed = true;
+            flowTimeoutAction.timeout(flowRecord);
+            if (isCurrent(recordId, timeoutTime)) {
+                flowTimerRepository.delete(recordId);
+                registered.remove(recordId);
+            }
+            firedCount.increment();
+        } catch (RuntimeException e) {
+            failedCount.increment();
+            int attempts = getAttempts(flowTimer) + 1;
+            long backoff = ScheduleUtils.getBackoffMillis(retryBackoffMillis, maxBackoffMillis, attempts);
+            log.error("flow timer [{}] timeout action error, attempts:{}, retry after {}ms", recordId, attempts, backoff, e);
+            if (claimed) {
+                release(recordId, timeoutTime);
+            }
+            retry(new RetryTimer(flowTimer, timeoutTime, System.currentTimeMillis() + backoff, attempts));
+        }
+    }
+
+    /**
+     * 执行失败或领取失败的定时器按退避时间或租约时间重新放入时间轮，引擎停止后由重启时加载
+     */
+    private void retry(RetryTimer retryTimer) {
+        List<FlowTimer> expired = new ArrayList<>();
+        synchronized (this) {
+            if (timingWheel == null || loaded.containsKey(retryTimer.getRecordId())) {
+                // 执行期间已重新调度
+                return;
+            }
+            addToWheel(retryTimer, expired);
+        }
+        expired.forEach(this::submit);
+    }
+
+    // 释放失败时等待租约过期
+    private void release(long recordId, long timeoutTime) {
+        try {
+            flowTimerRepository.release(recordId, timeoutTime);
+        } catch (RuntimeException e) {
+            log.warn("flow timer [{}] release error, {}", recordId, e.getMessage());
+        }
+    }
+
+    private static int getAttempts(FlowTimer flowTimer) {
+        return flowTimer instanceof RetryTimer retryTimer ? retryTimer.attempts : 0;
+    }
+
+    // 定时器对应的流程记录超时时间，重试的定时器在时间轮中的到期时间为重试时间
+    private static long getTimeoutTime(FlowTimer flowTimer) {
+        return flowTimer instanceof RetryTimer retryTimer ? retryTimer.timeoutTime : flowTimer.getDueTime();
+    }
+
+    private boolean isCurrent(long recordId, long timeoutTime) {
+        FlowTimer current = flowTimerRepository.getFlowTimerByRecordId(recordId);
+        return current != null && current.getDueTime() == timeoutTime;
+    }
+
+    /**
+     * 重试的定时器，到期时间为重试时间
+     */
+    private static class RetryTimer extends FlowTimer {
+
+        private final long timeoutTime;
+        private final int attempts;
+
+        private RetryTimer(FlowTimer flowTimer, long timeoutTime, long retryTime, int attempts) {
+            super(flowTimer.getRecordId(), flowTimer.getProcessId(), flowTimer.getNodeCode(), retryTime);
+            this.timeoutTime = timeoutTime;
+            this.attempts = attempts;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.codingapi.springboot.flow.timer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 分层时间轮
+ * 每层时间轮有wheelSize个槽，每个槽的跨度为tickMs，超出当前层范围的定时器放入上一层（跨度为当前层的总跨度）。
+ * 时间推进时到期槽中的定时器重新放入时间轮，已到期的定时器交由调用方执行。
+ * 该对象不是线程安全的。
+ */
+class TimingWheel {
+
+    private final long tickMs;
+    private final int wheelSize;
+    // 当前层的总跨度
+    private final long interval;
+    private final List<List<FlowTimer>> buckets;
+    // 当前时间，为tickMs的整数倍
+    private long currentTime;
+    private TimingWheel overflowWheel;
+
+    TimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.interval = tickMs * wheelSize;
+        this.currentTime = startMs - (startMs % tickMs);
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * 添加定时器
+     *
+     * @param flowTimer 定时器
+     * @return 定时器已到期时返回false
+     */
+    boolean add(FlowTimer flowTimer) {
+        long dueTime = flowTimer.getDueTime();
+        if (dueTime < currentTime + tickMs) {
+            return false;
+        }
+        if (dueTime < currentTime + interval) {
+            buckets.get((int) ((dueTime / tickMs) % wheelSize)).add(flowTimer);
+            return true;
+        }
+        if (overflowWheel == null) {
+            overflowWheel = new TimingWheel(interval, wheelSize, currentTime);
+        }
+        return overflowWheel.add(flowTimer);
+    }
+
+    /**
+     * 推进到timeMs所在的槽，到期时间早于该槽结束时间的定时器交由调用方执行
+     *
+     * @param timeMs  推进的时间
+     * @param expired 到期的定时器
+     */
+    void advance(long timeMs, List<FlowTimer> expired) {
+        List<FlowTimer> flushed = new ArrayList<>();
+        flush(timeMs, flushed);
+        for (FlowTimer flowTimer : flushed) {
+            if (!add(flowTimer)) {
+                expired.add(flowTimer);
+            }
+        }
+    }
+
+    private void flush(long timeMs, List<FlowTimer> flushed) {
+        while (timeMs >= currentTime + tickMs) {
+            currentTime += tickMs;
+            List<FlowTimer> bucket = buckets.get((int) ((currentTime / tickMs) % wheelSize));
+            if (!bucket.isEmpty()) {
+                flushed.addAll(bucket);
+                bucket.clear();
+            }
+        }
+        if (overflowWheel != null) {
+            overflowWheel.flush(timeMs, flushed);
+        }
+    }
+}
@@ -13,21 +13,39 @@ public class OutTrigger {
     @Getter
     private final String script;
 
+    /**
+     * 自定义脚本的执行器，默认触发器为null
+     */
+    @Getter
     private final GroovyShellContext.ShellScript runtime;
 
+    // 默认出口触发器脚本
+    private static final String SCRIPT_DEFAULT = "def run(content) {return true;}";
+
     public OutTrigger(String script) {
         if (!StringUtils.hasLength(script)) {
             throw new IllegalArgumentException("script is empty");
         }
         this.script = script;
-        this.runtime = GroovyShellContext.getInstance().parse(script);
+        this.runtime = isDefault(script) ? null : GroovyShellContext.getInstance().parse(script);
+    }
+
+    private static boolean isDefault(String script) {
+        return SCRIPT_DEFAULT.equals(script.trim());
     }
 
     /**
      * 默认出口触发器
      */
     public static OutTrigger defaultOutTrigger() {
-        return new OutTrigger("def run(content) {return true;}");
+        return new OutTrigger(SCRIPT_DEFAULT);
+    }
+
+    /**
+     * 是否为内置触发器（不经过Groovy执行）
+     */
+    public boolean isNative() {
+        return runtime == null;
     }
 
 
@@ -38,6 +56,9 @@ public class OutTrigger {
      * @return true 进入下一节点，false 则返回上一节点
      */
     public boolean trigger(FlowSession flowSession) {
+        if (runtime == null) {
+            return true;
+        }
         return (Boolean) runtime.invokeMethod("run", flowSession);
     }
 
@@ -0,0 +1,40 @@
+package com.codingapi.springboot.flow.utils;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 后台投递与重试线程的工具
+ */
+public class ScheduleUtils {
+
+    /**
+     * 重试退避时间，每次失败翻倍，不超过最大退避时间
+     *
+     * @param retryBackoffMillis 首次重试的退避时间(毫秒)
+     * @param maxBackoffMillis   最大退避时间(毫秒)
+     * @param attempts           已执行次数
+     * @return 退避时间(毫秒)
+     */
+    public static long getBackoffMillis(long retryBackoffMillis, long maxBackoffMillis, int attempts) {
+        int shift = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(retryBackoffMillis << shift, maxBackoffMillis);
+    }
+
+    /**
+     * 守护线程工厂，线程名称以prefix开头
+     *
+     * @param prefix 线程名称前缀
+     * @return 线程工厂
+     */
+    public static ThreadFactory daemonThreadFactory(String prefix) {
+        ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+        return runnable -> {
+            Thread thread = defaultFactory.newThread(runnable);
+            thread.setName(prefix + thread.getName());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
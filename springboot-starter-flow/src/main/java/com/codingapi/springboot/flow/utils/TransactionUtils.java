@@ -0,0 +1,74 @@
+package com.codingapi.springboot.flow.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 事务提交后执行的工具
+ */
+public class TransactionUtils {
+
+    /**
+     * 在事务中时等待事务提交后执行，不在事务中时立即执行
+     *
+     * @param runnable 执行内容
+     */
+    public static void afterCommit(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
+    }
+
+    /**
+     * 获取绑定到当前事务的列表，首次获取时创建，事务完成后按提交或回滚处理列表
+     * 挂起事务时解绑列表，新事务中获取的是新事务的列表
+     *
+     * @param key        绑定的资源key
+     * @param committed  事务提交后处理列表
+     * @param rolledBack 事务回滚后处理列表
+     * @return 当前事务的列表
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> getTransactionList(Object key, Consumer<List<T>> committed, Consumer<List<T>> rolledBack) {
+        List<T> list = (List<T>) TransactionSynchronizationManager.getResource(key);
+        if (list != null) {
+            return list;
+        }
+        List<T> transactionList = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(key, transactionList);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResourceIfPossible(key);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(key, transactionList);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(key);
+                if (status == STATUS_COMMITTED) {
+                    committed.accept(transactionList);
+                } else {
+                    rolledBack.accept(transactionList);
+                }
+            }
+        });
+        return transactionList;
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.codingapi.springboot.flow.bind;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BindDataSnapshotTest {
+
+    @Test
+    void toBindData() {
+        BindDataSnapshot snapshot = new BindDataSnapshot(new TitleBindData("我要出去看看"));
+
+        TitleBindData bindData = (TitleBindData) snapshot.toBindData();
+        assertEquals("我要出去看看", bindData.getTitle());
+
+        // 每次获取新的绑定数据，修改不影响后续获取的数据
+        bindData.setTitle("我要回家");
+        TitleBindData other = (TitleBindData) snapshot.toBindData();
+        assertNotSame(bindData, other);
+        assertEquals("我要出去看看", other.getTitle());
+
+        // 快照变更后解析新的快照
+        snapshot.setSnapshot(new TitleBindData("我要回家").toJsonSnapshot());
+        assertEquals("我要回家", ((TitleBindData) snapshot.toBindData()).getTitle());
+    }
+
+
+    @Setter
+    @Getter
+    public static class TitleBindData implements IBindData {
+
+        private String title;
+
+        public TitleBindData() {
+        }
+
+        public TitleBindData(String title) {
+            this.title = title;
+        }
+    }
+}
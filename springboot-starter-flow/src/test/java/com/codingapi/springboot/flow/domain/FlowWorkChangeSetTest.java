@@ -0,0 +1,162 @@
+package com.codingapi.springboot.flow.domain;
+
+import com.codingapi.springboot.flow.build.FlowWorkBuilder;
+import com.codingapi.springboot.flow.em.ApprovalType;
+import com.codingapi.springboot.flow.error.ErrTrigger;
+import com.codingapi.springboot.flow.flow.Leave;
+import com.codingapi.springboot.flow.matcher.OperatorMatcher;
+import com.codingapi.springboot.flow.record.FlowBackup;
+import com.codingapi.springboot.flow.record.FlowRecord;
+import com.codingapi.springboot.flow.repository.*;
+import com.codingapi.springboot.flow.serializable.FlowWorkSerializable;
+import com.codingapi.springboot.flow.service.FlowService;
+import com.codingapi.springboot.flow.user.User;
+import com.codingapi.springboot.framework.utils.RandomGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowWorkChangeSetTest {
+
+    private final UserRepository userRepository = new UserRepository();
+
+    private FlowWork createFlowWork(User user) {
+        return FlowWorkBuilder.builder(user)
+                .title("请假流程")
+                .nodes()
+                .node("开始节点", "start", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .node("部门领导审批", "dept", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .node("总经理审批", "manager", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .node("结束节点", "over", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .relations()
+                .relation("部门领导审批", "start", "dept")
+                .relation("总经理审批", "dept", "manager")
+                .relation("结束节点", "manager", "over")
+                .build();
+    }
+
+    // 与已保存的流程设计id相同的副本
+    private FlowWork copy(FlowWork flowWork) {
+        return FlowWorkSerializable.fromSerializable(flowWork.toSerializable().toSerializable()).toFlowWork(userRepository);
+    }
+
+    /**
+     * 只有变化的节点与关系进入变更集
+     */
+    @Test
+    void diff() {
+        User user = new User("张飞");
+        userRepository.save(user);
+        FlowWork stored = createFlowWork(user);
+
+        FlowWorkChangeSet created = FlowWorkChangeSet.diff(null, stored);
+        assertEquals(4, created.getInsertNodes().size());
+        assertEquals(3, created.getInsertRelations().size());
+
+        FlowWork current = copy(stored);
+        assertTrue(FlowWorkChangeSet.diff(stored, current).isEmpty());
+        assertEquals(FlowWorkContent.hash(stored), FlowWorkContent.hash(current));
+
+        // 修改节点，删除节点与关系
+        FlowNode manager = current.getNodeByCode("manager");
+        current.getNodeByCode("dept").setErrTrigger(new ErrTrigger("def run(content){ return content.goBackNode('start'); }"));
+        FlowWork changed = new FlowWork(user);
+        changed.setCode(current.getCode());
+        changed.setTitle(current.getTitle());
+        current.getNodes().stream().filter(node -> node != manager).forEach(changed::addNode);
+        current.getRelations().stream()
+                .filter(relation -> relation.getSource() != manager && relation.getTarget() != manager)
+                .forEach(changed::addRelation);
+        current = changed;
+
+        FlowWorkChangeSet changeSet = FlowWorkChangeSet.diff(stored, current);
+        assertEquals(0, changeSet.getInsertNodes().size());
+        assertEquals(List.of("dept"), changeSet.getUpdateNodes().stream().map(FlowNode::getCode).toList());
+        assertEquals(List.of(manager.getId()), changeSet.getDeleteNodeIds());
+        assertEquals(0, changeSet.getSaveRelations().size());
+        assertEquals(2, changeSet.getDeleteRelationIds().size());
+        assertNotEquals(FlowWorkContent.hash(stored), FlowWorkContent.hash(current));
+    }
+
+    /**
+     * 节点编码不变但id变化时，删除原节点并新增节点，连接该节点的关系改为修改
+     */
+    @Test
+    void reinsertNode() {
+        User user = new User("张飞");
+        userRepository.save(user);
+        FlowWork stored = createFlowWork(user);
+        FlowWork current = copy(stored);
+
+        FlowNode dept = current.getNodeByCode("dept");
+        FlowNode newDept = new FlowNode(RandomGenerator.generateUUID(), dept.getName(), dept.getCode(), dept.getView(), dept.getType(),
+                dept.getApprovalType(), dept.getTitleGenerator(), dept.getOperatorMatcher(), dept.getTimeout(), dept.getErrTrigger(),
+                dept.isEditable(), dept.isMergeable(), dept.getButtons());
+        FlowWork changed = new FlowWork(user);
+        changed.setCode(current.getCode());
+        changed.setTitle(current.getTitle());
+        current.getNodes().forEach(node -> changed.addNode(node == dept ? newDept : node));
+        current.getRelations().forEach(relation -> changed.addRelation(new FlowRelation(relation.getId(), relation.getName(),
+                relation.getSource() == dept ? newDept : relation.getSource(),
+                relation.getTarget() == dept ? newDept : relation.getTarget(),
+                relation.getOutTrigger(), relation.getOrder(), relation.isBack())));
+
+        FlowWorkChangeSet changeSet = FlowWorkChangeSet.diff(stored, changed);
+        assertEquals(List.of(newDept.getId()), changeSet.getInsertNodes().stream().map(FlowNode::getId).toList());
+        assertEquals(List.of(dept.getId()), changeSet.getDeleteNodeIds());
+        assertEquals(0, changeSet.getInsertRelations().size());
+        assertEquals(0, changeSet.getDeleteRelationIds().size());
+        List<FlowRelation> updateRelations = changeSet.getUpdateRelations();
+        assertEquals(2, updateRelations.size());
+        assertTrue(updateRelations.stream().allMatch(relation -> relation.getSource() == newDept || relation.getTarget() == newDept));
+    }
+
+    /**
+     * 流程设计重新保存但内容未变化时复用已有的备份
+     */
+    @Test
+    void backup() throws InterruptedException {
+        FlowWorkRepositoryImpl flowWorkRepository = new FlowWorkRepositoryImpl();
+        FlowRecordRepositoryImpl flowRecordRepository = new FlowRecordRepositoryImpl();
+        AtomicInteger hashLookups = new AtomicInteger();
+        FlowBackupRepository flowBackupRepository = new FlowBackupRepositoryImpl() {
+            @Override
+            public FlowBackup getFlowBackupByWorkIdAndContentHash(long workId, String contentHash) {
+                hashLookups.incrementAndGet();
+                return super.getFlowBackupByWorkIdAndContentHash(workId, contentHash);
+            }
+        };
+        FlowProcessRepositoryImpl flowProcessRepository = new FlowProcessRepositoryImpl(flowBackupRepository, userRepository);
+        FlowService flowService = new FlowService(flowWorkRepository, flowRecordRepository, new FlowBindDataRepositoryImpl(), userRepository, flowProcessRepository, flowBackupRepository);
+
+        User user = new User("张飞");
+        userRepository.save(user);
+        FlowWork flowWork = createFlowWork(user);
+        flowWorkRepository.save(flowWork);
+
+        flowService.startFlow(flowWork.getCode(), user, new Leave("我要出去看看"), "发起流程");
+        assertNotNull(flowBackupRepository.getFlowBackupById(1));
+
+        Thread.sleep(5);
+        flowWork.enable();
+        flowWorkRepository.save(flowWork);
+        flowService.startFlow(flowWork.getCode(), user, new Leave("我要出去看看"), "发起流程");
+        assertNull(flowBackupRepository.getFlowBackupById(2));
+        // 复用的备份按当前版本号重新登记，之后发起流程不再按内容摘要查询
+        assertEquals(flowWork.getUpdateTime(), flowBackupRepository.getFlowBackupById(1).getWorkVersion());
+        assertEquals(2, hashLookups.get());
+        flowService.startFlow(flowWork.getCode(), user, new Leave("我要出去看看"), "发起流程");
+        assertEquals(2, hashLookups.get());
+
+        flowWork.setTitle("请假流程2");
+        Thread.sleep(5);
+        flowWork.enable();
+        flowWorkRepository.save(flowWork);
+        FlowRecord flowRecord = flowService.startFlow(flowWork.getCode(), user, new Leave("我要出去看看"), "发起流程").getRecords().get(0);
+        assertNotNull(flowBackupRepository.getFlowBackupById(2));
+        assertEquals("请假流程2", flowProcessRepository.getFlowWorkByProcessId(flowRecord.getProcessId()).getTitle());
+    }
+}
@@ -0,0 +1,214 @@
+package com.codingapi.springboot.flow.event;
+
+import com.codingapi.springboot.flow.build.FlowWorkBuilder;
+import com.codingapi.springboot.flow.domain.FlowWork;
+import com.codingapi.springboot.flow.em.ApprovalType;
+import com.codingapi.springboot.flow.flow.Leave;
+import com.codingapi.springboot.flow.matcher.OperatorMatcher;
+import com.codingapi.springboot.flow.record.FlowRecord;
+import com.codingapi.springboot.flow.repository.*;
+import com.codingapi.springboot.flow.service.FlowService;
+import com.codingapi.springboot.flow.user.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowEventOutboxTest {
+
+    private FlowApprovalEvent createEvent(String processId, long recordId) {
+        FlowRecord flowRecord = new FlowRecord();
+        flowRecord.setId(recordId);
+        flowRecord.setProcessId(processId);
+        return new FlowApprovalEvent(FlowApprovalEvent.STATE_TODO, flowRecord, null, null, null);
+    }
+
+    @Test
+    void orderByProcess() throws InterruptedException {
+        Map<String, List<Long>> delivered = new ConcurrentHashMap<>();
+        MemoryFlowEventOutboxRepository repository = new MemoryFlowEventOutboxRepository();
+        FlowEventOutbox outbox = new FlowEventOutbox(repository, event -> {
+            FlowRecord flowRecord = event.getFlowRecord();
+            delivered.computeIfAbsent(flowRecord.getProcessId(), key -> new ArrayList<>()).add(flowRecord.getId());
+        }, 4, 10, 3);
+
+        for (int i = 1; i <= 100; i++) {
+            for (int p = 0; p < 5; p++) {
+                outbox.push(createEvent("process" + p, i));
+            }
+        }
+        assertTrue(outbox.awaitIdle(5000));
+        for (int p = 0; p < 5; p++) {
+            List<Long> ids = delivered.get("process" + p);
+            assertEquals(100, ids.size());
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i + 1, ids.get(i));
+            }
+        }
+        assertTrue(repository.findAll().isEmpty());
+        assertEquals(500, outbox.getMetric().getDeliveredCount());
+        assertTrue(outbox.getMetric().getBatchCount() < 500);
+        outbox.shutdown();
+    }
+
+    @Test
+    void retry() throws InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+        MemoryFlowEventOutboxRepository repository = new MemoryFlowEventOutboxRepository();
+        FlowEventOutbox outbox = new FlowEventOutbox(repository, event -> {
+            if (count.incrementAndGet() <= 3) {
+                throw new IllegalStateException("handler error");
+            }
+        }, 1, 10, 3, 5, 20);
+
+        // 失败的消息按退避时间重试，不需要recover
+        outbox.push(createEvent("process", 1));
+        assertTrue(outbox.awaitIdle(5000));
+        assertEquals(4, count.get());
+        assertEquals(2, outbox.getMetric().getRetryCount());
+        assertEquals(1, outbox.getMetric().getFailedCount());
+        assertEquals(1, outbox.getMetric().getDeliveredCount());
+        assertTrue(repository.findAll().isEmpty());
+        outbox.shutdown();
+    }
+
+    @Test
+    void parkProcessOnFailure() throws InterruptedException {
+        Map<String, List<Long>> delivered = new ConcurrentHashMap<>();
+        AtomicInteger failures = new AtomicInteger();
+        MemoryFlowEventOutboxRepository repository = new MemoryFlowEventOutboxRepository();
+        FlowEventOutbox outbox = new FlowEventOutbox(repository, event -> {
+            FlowRecord flowRecord = event.getFlowRecord();
+            if (flowRecord.getProcessId().equals("process1") && flowRecord.getId() == 1 && failures.incrementAndGet() <= 2) {
+                throw new IllegalStateException("handler error");
+            }
+            delivered.computeIfAbsent(flowRecord.getProcessId(), key -> new ArrayList<>()).add(flowRecord.getId());
+        }, 2, 10, 5, 50, 50);
+
+        for (int i = 1; i <= 3; i++) {
+            outbox.push(createEvent("process1", i));
+            outbox.push(createEvent("process2", i));
+        }
+        assertTrue(outbox.awaitIdle(5000));
+        // 失败的消息重试成功前同一流程的后续消息不投递，其他流程不受影响
+        assertEquals(List.of(1L, 2L, 3L), delivered.get("process1"));
+        assertEquals(List.of(1L, 2L, 3L), delivered.get("process2"));
+        assertEquals(3, failures.get());
+        outbox.shutdown();
+    }
+
+    @Test
+    void recover() throws InterruptedException {
+        UserRepository userRepository = new UserRepository();
+        FlowWorkRepositoryImpl flowWorkRepository = new FlowWorkRepositoryImpl();
+        FlowRecordRepositoryImpl flowRecordRepository = new FlowRecordRepositoryImpl();
+        FlowBindDataRepositoryImpl flowBindDataRepository = new FlowBindDataRepositoryImpl();
+        FlowBackupRepository flowBackupRepository = new FlowBackupRepositoryImpl();
+        FlowProcessRepositoryImpl flowProcessRepository = new FlowProcessRepositoryImpl(flowBackupRepository, userRepository);
+        FlowService flowService = new FlowService(flowWorkRepository, flowRecordRepository, flowBindDataRepository, userRepository, flowProcessRepository, flowBackupRepository);
+
+        User user = new User("张飞");
+        userRepository.save(user);
+        FlowWork flowWork = FlowWorkBuilder.builder(user)
+                .title("请假流程")
+                .nodes()
+                .node("开始节点", "start", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .node("结束节点", "over", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .relations()
+                .relation("结束节点", "start", "over")
+                .build();
+        flowWorkRepository.save(flowWork);
+        FlowRecord flowRecord = flowService.startFlow(flowWork.getCode(), user, new Leave("我要出去看看"), "发起流程").getRecords().get(0);
+
+        // 仓库只保存消息字段，模拟重启后重新加载的消息
+        MemoryFlowEventOutboxRepository repository = new MemoryFlowEventOutboxRepository() {
+            @Override
+            public void save(FlowEventMessage message) {
+                FlowEventMessage stored = new FlowEventMessage(message.getId(), message.getOwner(), message.getProcessId(), message.getState(), message.getRecordId(),
+                        message.getOperatorId(), message.getSnapshotId(), message.getCreateTime(), message.getAttempts());
+                super.save(stored);
+                message.setId(stored.getId());
+            }
+        };
+        repository.save(new FlowEventMessage("node-1", new FlowApprovalEvent(FlowApprovalEvent.STATE_TODO, flowRecord, user, flowWork, null), System.currentTimeMillis()));
+        repository.save(new FlowEventMessage(0, "node-1", "process", FlowApprovalEvent.STATE_TODO, 9999, 0, 0, System.currentTimeMillis(), 0));
+        // 其他节点推送的消息由其他节点重新投递
+        repository.save(new FlowEventMessage(0, "node-2", flowRecord.getProcessId(), FlowApprovalEvent.STATE_TODO, flowRecord.getId(), 0, 0, System.currentTimeMillis(), 0));
+
+        List<FlowApprovalEvent> events = new ArrayList<>();
+        FlowEventOutbox outbox = new FlowEventOutbox(repository, events::add, 1, 10, 3);
+        outbox.setOwner("node-1");
+        outbox.setFlowEventLoader(new FlowEventLoader(flowRecordRepository, flowBindDataRepository, userRepository, flowWorkRepository, flowProcessRepository));
+        assertEquals(2, outbox.recover());
+        assertTrue(outbox.awaitIdle(5000));
+
+        assertEquals(1, events.size());
+        FlowApprovalEvent event = events.get(0);
+        assertEquals(flowRecord.getId(), event.getFlowRecord().getId());
+        assertEquals(user.getUserId(), event.getOperator().getUserId());
+        assertEquals(flowWork.getCode(), event.getFlowWork().getCode());
+        assertTrue(event.match(Leave.class));
+        assertEquals("我要出去看看", event.toJavaObject(Leave.class).getTitle());
+        // 流程记录不存在的消息被丢弃
+        assertEquals(1, outbox.getMetric().getDiscardedCount());
+        assertTrue(repository.findByOwner("node-1").isEmpty());
+        assertEquals(1, repository.findByOwner("node-2").size());
+        outbox.shutdown();
+    }
+
+    @Test
+    void afterCommit() throws InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+        MemoryFlowEventOutboxRepository repository = new MemoryFlowEventOutboxRepository();
+        FlowEventOutbox outbox = new FlowEventOutbox(repository, event -> count.incrementAndGet(), 2, 10, 3);
+
+        // 事务提交后投递
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            outbox.push(createEvent("process", 1));
+            outbox.push(createEvent("process", 2));
+            assertEquals(2, repository.findAll().size());
+            Thread.sleep(50);
+            assertEquals(0, count.get());
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTrue(outbox.awaitIdle(5000));
+        assertEquals(2, count.get());
+
+        // 事务回滚后丢弃
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            outbox.push(createEvent("process", 3));
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTrue(repository.findAll().isEmpty());
+        assertEquals(2, count.get());
+        outbox.shutdown();
+    }
+
+    @Test
+    void disabled() {
+        AtomicInteger count = new AtomicInteger();
+        FlowEventOutbox outbox = new FlowEventOutbox(new MemoryFlowEventOutboxRepository(), event -> count.incrementAndGet(), 1, 10, 3);
+        outbox.setEnabled(false);
+        outbox.push(createEvent("process", 1));
+        assertEquals(1, count.get());
+        assertEquals(0, outbox.getMetric().getPushCount());
+        outbox.shutdown();
+    }
+}
@@ -0,0 +1,194 @@
+package com.codingapi.springboot.flow.inbox;
+
+import com.codingapi.springboot.flow.build.FlowWorkBuilder;
+import com.codingapi.springboot.flow.domain.FlowWork;
+import com.codingapi.springboot.flow.domain.Opinion;
+import com.codingapi.springboot.flow.em.ApprovalType;
+import com.codingapi.springboot.flow.em.FlowStatus;
+import com.codingapi.springboot.flow.em.FlowType;
+import com.codingapi.springboot.flow.flow.Leave;
+import com.codingapi.springboot.flow.matcher.OperatorMatcher;
+import com.codingapi.springboot.flow.record.FlowRecord;
+import com.codingapi.springboot.flow.repository.*;
+import com.codingapi.springboot.flow.service.FlowService;
+import com.codingapi.springboot.flow.user.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowInboxTest {
+
+    private final UserRepository userRepository = new UserRepository();
+    private final FlowWorkRepository flowWorkRepository = new FlowWorkRepositoryImpl();
+    private final FlowRecordRepositoryImpl flowRecordRepository = new FlowRecordRepositoryImpl();
+    private final FlowBindDataRepositoryImpl flowBindDataRepository = new FlowBindDataRepositoryImpl();
+    private final LeaveRepository leaveRepository = new LeaveRepository();
+    private final FlowBackupRepository flowBackupRepository = new FlowBackupRepositoryImpl();
+    private final FlowProcessRepository flowProcessRepository = new FlowProcessRepositoryImpl(flowBackupRepository, userRepository);
+    private final MemoryFlowInboxRepository flowInboxRepository = new MemoryFlowInboxRepository();
+    private final FlowService flowService = new FlowService(flowWorkRepository, flowRecordRepository, flowBindDataRepository, userRepository, flowProcessRepository, flowBackupRepository, flowInboxRepository);
+
+    private final PageRequest pageRequest = PageRequest.of(0, 1000);
+
+    /**
+     * 收件箱与流程记录查询的结果一致
+     */
+    private void assertInbox(FlowInboxRepository flowInboxRepository, User user) {
+        long currentTime = System.currentTimeMillis();
+        FlowInboxCount count = flowInboxRepository.getCount(user.getUserId(), currentTime);
+        List<Long> todoIds = flowRecordRepository.findTodoByOperatorId(user.getUserId(), pageRequest)
+                .map(FlowRecord::getId).getContent();
+        assertEquals(todoIds.size(), count.getTodoCount());
+        assertEquals(todoIds.stream().sorted((o1, o2) -> Long.compare(o2, o1)).toList(),
+                flowInboxRepository.findTodoByOperatorId(user.getUserId(), pageRequest).map(FlowInboxItem::getRecordId).getContent());
+        assertEquals(flowRecordRepository.findUnReadByOperatorId(user.getUserId(), pageRequest).getTotalElements(), count.getUnReadCount());
+        assertEquals(flowRecordRepository.findDoneByOperatorId(user.getUserId(), pageRequest).getTotalElements(), count.getDoneCount());
+        assertEquals(flowRecordRepository.findTimeoutTodoByOperatorId(user.getUserId(), pageRequest).getTotalElements(), count.getTimeoutCount());
+        assertEquals(flowRecordRepository.findPostponedTodoByOperatorId(user.getUserId(), pageRequest).getTotalElements(), count.getPostponedCount());
+    }
+
+    @Test
+    void inbox() {
+        User user = new User("张飞");
+        userRepository.save(user);
+
+        User dept = new User("刘备");
+        userRepository.save(dept);
+
+        User boss = new User("诸葛亮", true);
+        userRepository.save(boss);
+
+        FlowWork flowWork = FlowWorkBuilder.builder(user)
+                .title("请假流程")
+                .nodes()
+                .node("开始节点", "start", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .node("部门领导审批", "dept", "default", ApprovalType.UN_SIGN, OperatorMatcher.specifyOperatorMatcher(dept.getUserId()))
+                .node("总经理审批", "manager", "default", ApprovalType.UN_SIGN, OperatorMatcher.specifyOperatorMatcher(boss.getUserId()))
+                .node("结束节点", "over", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .relations()
+                .relation("部门领导审批", "start", "dept")
+                .relation("总经理审批", "dept", "manager")
+                .relation("结束节点", "manager", "over")
+                .build();
+        flowWorkRepository.save(flowWork);
+
+        Leave leave = new Leave("我要出去看看");
+        leaveRepository.save(leave);
+
+        flowService.startFlow(flowWork.getCode(), user, leave, "发起流程");
+        assertEquals(1, flowInboxRepository.getCount(user.getUserId(), System.currentTimeMillis()).getTodoCount());
+        assertInbox(flowInboxRepository, user);
+
+        FlowRecord userTodo = flowRecordRepository.findTodoByOperatorId(user.getUserId(), pageRequest).getContent().get(0);
+        flowService.submitFlow(userTodo.getId(), user, leave, Opinion.pass("同意"));
+        assertInbox(flowInboxRepository, user);
+        assertInbox(flowInboxRepository, dept);
+        assertEquals(1, flowInboxRepository.getCount(user.getUserId(), System.currentTimeMillis()).getDoneCount());
+        assertEquals(1, flowInboxRepository.getCount(dept.getUserId(), System.currentTimeMillis()).getTodoCount());
+
+        FlowRecord deptTodo = flowRecordRepository.findTodoByOperatorId(dept.getUserId(), pageRequest).getContent().get(0);
+        flowService.postponed(deptTodo.getId(), dept, 1000 * 60);
+        assertEquals(1, flowInboxRepository.getCount(dept.getUserId(), System.currentTimeMillis()).getPostponedCount());
+        assertInbox(flowInboxRepository, dept);
+
+        flowService.submitFlow(deptTodo.getId(), dept, leave, Opinion.pass("同意"));
+        assertInbox(flowInboxRepository, dept);
+        assertInbox(flowInboxRepository, boss);
+
+        // 从流程记录重建的收件箱与引擎维护的收件箱一致
+        MemoryFlowInboxRepository rebuildInboxRepository = new MemoryFlowInboxRepository();
+        FlowInboxRebuilder rebuilder = new FlowInboxRebuilder(flowRecordRepository, rebuildInboxRepository);
+        assertEquals(3, rebuilder.rebuild(flowRecordRepository::findAll, 100));
+        for (User operator : List.of(user, dept, boss)) {
+            assertInbox(rebuildInboxRepository, operator);
+        }
+
+        // 作废后收件箱中不再有该流程的记录
+        flowService.voided(deptTodo.getProcessId(), boss);
+        for (User operator : List.of(user, dept, boss)) {
+            assertInbox(flowInboxRepository, operator);
+            FlowInboxCount count = flowInboxRepository.getCount(operator.getUserId(), System.currentTimeMillis());
+            assertEquals(0, count.getTodoCount() + count.getDoneCount() + count.getUnReadCount());
+        }
+    }
+
+    // 结束模拟的事务
+    private void completeTransaction(boolean commit) {
+        try {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (commit) {
+                TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+            }
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+                    commit ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void afterCommit() {
+        User user = new User("张飞");
+        userRepository.save(user);
+
+        FlowWork flowWork = FlowWorkBuilder.builder(user)
+                .title("请假流程")
+                .nodes()
+                .node("开始节点", "start", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .node("结束节点", "over", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .relations()
+                .relation("结束节点", "start", "over")
+                .build();
+        flowWorkRepository.save(flowWork);
+
+        // 事务提交后更新收件箱
+        TransactionSynchronizationManager.initSynchronization();
+        flowService.startFlow(flowWork.getCode(), user, new Leave("我要出去看看"), "发起流程");
+        assertEquals(0, flowInboxRepository.getCount(user.getUserId(), System.currentTimeMillis()).getTodoCount());
+        completeTransaction(true);
+        assertEquals(1, flowInboxRepository.getCount(user.getUserId(), System.currentTimeMillis()).getTodoCount());
+
+        // 事务回滚时不更新收件箱
+        TransactionSynchronizationManager.initSynchronization();
+        flowService.startFlow(flowWork.getCode(), user, new Leave("我要出去看看"), "发起流程");
+        completeTransaction(false);
+        assertEquals(1, flowInboxRepository.getCount(user.getUserId(), System.currentTimeMillis()).getTodoCount());
+    }
+
+    private FlowRecord doneRecord(long id, User user) {
+        FlowRecord flowRecord = new FlowRecord();
+        flowRecord.setId(id);
+        flowRecord.setProcessId("process");
+        flowRecord.setCurrentOperator(user);
+        flowRecord.setFlowType(FlowType.DONE);
+        flowRecord.setFlowStatus(FlowStatus.RUNNING);
+        flowRecord.setRead(true);
+        return flowRecord;
+    }
+
+    @Test
+    void keepLatestDone() {
+        User user = new User("张飞");
+        userRepository.save(user);
+
+        // 写入更新的已办记录时丢弃旧的已办记录
+        flowInboxRepository.update(List.of(doneRecord(1, user)));
+        flowInboxRepository.update(List.of(doneRecord(3, user)));
+        flowInboxRepository.update(List.of(doneRecord(2, user)));
+        List<FlowInboxItem> done = flowInboxRepository.findDoneByOperatorId(user.getUserId(), pageRequest).getContent();
+        assertEquals(1, done.size());
+        assertEquals(3, done.get(0).getRecordId());
+
+        // 删除最新的已办记录后不回退到旧的已办记录
+        flowInboxRepository.remove(List.of(3L));
+        assertEquals(0, flowInboxRepository.getCount(user.getUserId(), System.currentTimeMillis()).getDoneCount());
+        flowInboxRepository.removeByProcessId("process");
+        assertEquals(0, flowInboxRepository.getCount(user.getUserId(), System.currentTimeMillis()).getDoneCount());
+    }
+}
@@ -0,0 +1,53 @@
+package com.codingapi.springboot.flow.query;
+
+import com.codingapi.springboot.flow.em.FlowStatus;
+import com.codingapi.springboot.flow.em.FlowType;
+import com.codingapi.springboot.flow.record.FlowRecord;
+import com.codingapi.springboot.flow.repository.FlowRecordRepositoryImpl;
+import com.codingapi.springboot.flow.user.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowRecordCursorTest {
+
+    @Test
+    void cursor() {
+        User user = new User("张飞");
+        user.setId(1);
+        FlowRecordRepositoryImpl flowRecordRepository = new FlowRecordRepositoryImpl();
+        for (int i = 0; i < 25; i++) {
+            FlowRecord record = new FlowRecord();
+            record.setProcessId("process" + i);
+            record.setWorkCode(i % 2 == 0 ? "leave" : "expense");
+            record.setCurrentOperator(user);
+            record.setFlowType(FlowType.TODO);
+            record.setFlowStatus(FlowStatus.RUNNING);
+            flowRecordRepository.save(List.of(record));
+        }
+
+        List<Long> ids = new ArrayList<>();
+        FlowRecordCursor cursor = FlowRecordCursor.first(10);
+        int pages = 0;
+        while (cursor != null) {
+            Slice<FlowRecord> slice = flowRecordRepository.findTodoByOperatorId(user.getUserId(), cursor);
+            slice.forEach(record -> ids.add(record.getId()));
+            cursor = cursor.next(slice);
+            pages++;
+        }
+        assertEquals(3, pages);
+        assertEquals(25, ids.size());
+        assertEquals(25L, ids.get(0));
+        assertEquals(1L, ids.get(24));
+
+        Slice<FlowRecord> slice = flowRecordRepository.findTodoByOperatorId(user.getUserId(), "leave", FlowRecordCursor.of(10, 10));
+        assertEquals(List.of(9L, 7L, 5L, 3L, 1L), slice.map(FlowRecord::getId).getContent());
+        assertFalse(slice.hasNext());
+
+        assertThrows(IllegalArgumentException.class, () -> FlowRecordCursor.first(0));
+    }
+}
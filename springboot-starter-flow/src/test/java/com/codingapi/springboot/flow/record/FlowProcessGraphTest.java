@@ -0,0 +1,64 @@
+package com.codingapi.springboot.flow.record;
+
+import com.codingapi.springboot.flow.em.FlowStatus;
+import com.codingapi.springboot.flow.em.FlowType;
+import com.codingapi.springboot.flow.repository.FlowRecordRepositoryImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowProcessGraphTest {
+
+    private FlowRecord createRecord(long preId, String nodeCode, FlowType flowType, FlowStatus flowStatus) {
+        FlowRecord record = new FlowRecord();
+        record.setProcessId("process");
+        record.setPreId(preId);
+        record.setNodeCode(nodeCode);
+        record.setFlowType(flowType);
+        record.setFlowStatus(flowStatus);
+        record.setCreateTime(System.currentTimeMillis());
+        return record;
+    }
+
+    @Test
+    void graph() {
+        FlowRecordRepositoryImpl flowRecordRepository = new FlowRecordRepositoryImpl();
+        List<FlowRecord> records = new ArrayList<>();
+        long preId = 0;
+        // 长流程：start -> dept -> manager 往复200次
+        String[] nodeCodes = {"start", "dept", "manager"};
+        for (int i = 0; i < 200; i++) {
+            FlowRecord record = createRecord(preId, nodeCodes[i % 3], FlowType.DONE, FlowStatus.RUNNING);
+            flowRecordRepository.save(List.of(record));
+            records.add(record);
+            preId = record.getId();
+        }
+        FlowRecord transfer = createRecord(preId, "manager", FlowType.TRANSFER, FlowStatus.RUNNING);
+        flowRecordRepository.save(List.of(transfer));
+        FlowRecord todo = createRecord(transfer.getId(), "dept", FlowType.TODO, FlowStatus.RUNNING);
+        flowRecordRepository.save(List.of(todo));
+
+        FlowProcessGraph processGraph = FlowProcessGraph.load(flowRecordRepository, "process");
+        assertEquals(202, processGraph.getRecords().size());
+        assertEquals(todo.getId(), processGraph.getRecordsDesc().get(0).getId());
+        assertSame(records.get(10), processGraph.getRecord(records.get(10).getId()));
+        assertSame(transfer, processGraph.getPreRecord(todo));
+        assertEquals(List.of(todo), processGraph.getChildren(transfer.getId()));
+        assertEquals(68, processGraph.findByNodeCode("dept").size());
+        assertEquals(1, processGraph.findByStatus(FlowStatus.RUNNING).stream().filter(FlowRecord::isTodo).count());
+        assertTrue(processGraph.containsNode("manager"));
+        assertFalse(processGraph.containsNode("over"));
+
+        // 跳过转办记录查找上级节点
+        FlowRecord manager = processGraph.findAncestor(todo, record -> !record.isTransfer() && record.getNodeCode().equals("manager"));
+        assertSame(records.get(197), manager);
+        assertNull(processGraph.findAncestor(todo, record -> record.getNodeCode().equals("over")));
+
+        List<FlowRecord> before = processGraph.findBefore(transfer);
+        assertEquals(200, before.size());
+        assertSame(records.get(199), before.get(0));
+    }
+}
@@ -14,6 +14,7 @@ public class FlowBackupRepositoryImpl implements FlowBackupRepository{
     public FlowBackup backup(FlowWork flowWork) {
         FlowBackup flowBackup = new FlowBackup(flowWork);
         cache.add(flowBackup);
+        flowBackup.setId(cache.size());
         return flowBackup;
     }
 
@@ -22,6 +23,16 @@ public class FlowBackupRepositoryImpl implements FlowBackupRepository{
         return cache.stream().filter(flowBackup -> flowBackup.getWorkId() == workId && flowBackup.getWorkVersion() == workVersion).findFirst().orElse(null);
     }
 
+    @Override
+    public FlowBackup getFlowBackupByWorkIdAndContentHash(long workId, String contentHash) {
+        return cache.stream().filter(flowBackup -> flowBackup.getWorkId() == workId && contentHash.equals(flowBackup.getContentHash())).findFirst().orElse(null);
+    }
+
+    @Override
+    public void updateWorkVersion(FlowBackup flowBackup, long workVersion) {
+        flowBackup.setWorkVersion(workVersion);
+    }
+
     @Override
     public FlowBackup getFlowBackupById(long backupId) {
         return cache.stream().filter(flowBackup -> flowBackup.getId() == backupId).findFirst().orElse(null);
@@ -0,0 +1,101 @@
+package com.codingapi.springboot.flow.repository;
+
+import com.codingapi.springboot.flow.user.IFlowOperator;
+import com.codingapi.springboot.flow.user.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowOperatorRepositoryTest {
+
+    private final AtomicInteger queryCount = new AtomicInteger();
+
+    private final UserRepository userRepository = new UserRepository() {
+        @Override
+        public IFlowOperator getFlowOperatorById(long createOperatorId) {
+            queryCount.incrementAndGet();
+            return super.getFlowOperatorById(createOperatorId);
+        }
+
+        @Override
+        public List<User> findByIds(List<Long> ids) {
+            queryCount.incrementAndGet();
+            return super.findByIds(ids);
+        }
+    };
+
+    private List<Long> createUsers(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = new User("user" + i);
+            userRepository.save(user);
+            ids.add(user.getUserId());
+        }
+        return ids;
+    }
+
+    @Test
+    void identityMap() {
+        List<Long> ids = createUsers(3);
+
+        FlowOperatorIdentityMap identityMap = new FlowOperatorIdentityMap(userRepository);
+        // 200条记录的创建者、审批者与干预者
+        List<Long> recordOperatorIds = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            recordOperatorIds.add(ids.get(i % 3));
+            recordOperatorIds.add(ids.get((i + 1) % 3));
+            recordOperatorIds.add(ids.get((i + 2) % 3));
+        }
+        identityMap.prefetch(recordOperatorIds);
+        for (Long id : recordOperatorIds) {
+            assertEquals(id, identityMap.getFlowOperatorById(id).getUserId());
+        }
+        assertEquals(1, queryCount.get());
+
+        // 不存在的用户也只查询一次
+        assertNull(identityMap.getFlowOperatorById(100));
+        assertNull(identityMap.getFlowOperatorById(100));
+        assertEquals(2, queryCount.get());
+    }
+
+    @Test
+    void findMapByIds() {
+        List<Long> ids = createUsers(2);
+        Map<Long, IFlowOperator> operators = userRepository.findMapByIds(List.of(ids.get(0), ids.get(1), ids.get(0), 100L));
+        assertEquals(2, operators.size());
+        assertEquals(ids.get(1), operators.get(ids.get(1)).getUserId());
+        assertEquals(1, queryCount.get());
+    }
+
+    @Test
+    void cache() throws InterruptedException {
+        List<Long> ids = createUsers(3);
+
+        CachedFlowOperatorRepository cachedRepository = new CachedFlowOperatorRepository(userRepository, 50, 2);
+        assertEquals(2, cachedRepository.findByIds(ids.subList(0, 2)).size());
+        assertEquals(1, queryCount.get());
+
+        cachedRepository.getFlowOperatorById(ids.get(0));
+        cachedRepository.getFlowOperatorById(ids.get(1));
+        assertEquals(1, queryCount.get());
+
+        // 超过最大数量时淘汰最久未使用的操作者
+        cachedRepository.getFlowOperatorById(ids.get(2));
+        assertEquals(2, cachedRepository.size());
+        assertEquals(2, queryCount.get());
+
+        cachedRepository.evict(ids.get(2));
+        cachedRepository.getFlowOperatorById(ids.get(2));
+        assertEquals(3, queryCount.get());
+
+        // 过期后重新查询
+        Thread.sleep(100);
+        cachedRepository.getFlowOperatorById(ids.get(2));
+        assertEquals(4, queryCount.get());
+    }
+}
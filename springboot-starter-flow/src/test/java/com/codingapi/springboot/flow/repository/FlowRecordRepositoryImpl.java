@@ -1,15 +1,21 @@
 package com.codingapi.springboot.flow.repository;
 
-import com.codingapi.springboot.flow.query.FlowRecordQuery;
+import com.codingapi.springboot.flow.em.FlowType;
+import com.codingapi.springboot.flow.query.FlowRecordCursor;
+import com.codingapi.springboot.flow.query.FlowRecordCursorQuery;
 import com.codingapi.springboot.flow.record.FlowRecord;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Predicate;
 
-public class FlowRecordRepositoryImpl implements FlowRecordRepository, FlowRecordQuery {
+public class FlowRecordRepositoryImpl implements FlowRecordRepository, FlowRecordCursorQuery {
 
     private final List<FlowRecord> cache = new ArrayList<>();
 
@@ -206,6 +212,78 @@ public class FlowRecordRepositoryImpl implements FlowRecordRepository, FlowRecor
         return new PageImpl<>(flowRecords);
     }
 
+    @Override
+    public Slice<FlowRecord> findUnReadByOperatorId(long operatorId, FlowRecordCursor cursor) {
+        return slice(record -> record.isUnRead() && record.getCurrentOperator().getUserId() == operatorId, cursor);
+    }
+
+    @Override
+    public Slice<FlowRecord> findUnReadByOperatorId(long operatorId, String workCode, FlowRecordCursor cursor) {
+        return slice(record -> record.isUnRead() && record.getCurrentOperator().getUserId() == operatorId && record.getWorkCode().equals(workCode), cursor);
+    }
+
+    @Override
+    public Slice<FlowRecord> findTodoByOperatorId(long operatorId, FlowRecordCursor cursor) {
+        return slice(record -> record.isTodo() && record.getCurrentOperator().getUserId() == operatorId, cursor);
+    }
+
+    @Override
+    public Slice<FlowRecord> findTodoByOperatorId(long operatorId, String workCode, FlowRecordCursor cursor) {
+        return slice(record -> record.isTodo() && record.getCurrentOperator().getUserId() == operatorId && record.getWorkCode().equals(workCode), cursor);
+    }
+
+    @Override
+    public Slice<FlowRecord> findDoneByOperatorId(long operatorId, FlowRecordCursor cursor) {
+        return slice(record -> record.isDone() && record.getCurrentOperator().getUserId() == operatorId, cursor);
+    }
+
+    @Override
+    public Slice<FlowRecord> findDoneByOperatorId(long operatorId, String workCode, FlowRecordCursor cursor) {
+        return slice(record -> record.isDone() && record.getCurrentOperator().getUserId() == operatorId && record.getWorkCode().equals(workCode), cursor);
+    }
+
+    @Override
+    public Slice<FlowRecord> findInitiatedByOperatorId(long operatorId, FlowRecordCursor cursor) {
+        return slice(record -> record.isInitiated() && record.getCreateOperator().getUserId() == operatorId, cursor);
+    }
+
+    @Override
+    public Slice<FlowRecord> findInitiatedByOperatorId(long operatorId, String workCode, FlowRecordCursor cursor) {
+        return slice(record -> record.isInitiated() && record.getCreateOperator().getUserId() == operatorId && record.getWorkCode().equals(workCode), cursor);
+    }
+
+    @Override
+    public Slice<FlowRecord> findTimeoutTodoByOperatorId(long operatorId, FlowRecordCursor cursor) {
+        return slice(record -> record.isTimeout() && record.isTodo() && record.getCurrentOperator().getUserId() == operatorId, cursor);
+    }
+
+    @Override
+    public Slice<FlowRecord> findTimeoutTodoByOperatorId(long operatorId, String workCode, FlowRecordCursor cursor) {
+        return slice(record -> record.isTimeout() && record.isTodo() && record.getCurrentOperator().getUserId() == operatorId && record.getWorkCode().equals(workCode), cursor);
+    }
+
+    @Override
+    public Slice<FlowRecord> findPostponedTodoByOperatorId(long operatorId, FlowRecordCursor cursor) {
+        return slice(record -> record.isPostponed() && record.isTodo() && record.getCurrentOperator().getUserId() == operatorId, cursor);
+    }
+
+    @Override
+    public Slice<FlowRecord> findPostponedTodoByOperatorId(long operatorId, String workCode, FlowRecordCursor cursor) {
+        return slice(record -> record.isPostponed() && record.isTodo() && record.getCurrentOperator().getUserId() == operatorId && record.getWorkCode().equals(workCode), cursor);
+    }
+
+    private Slice<FlowRecord> slice(Predicate<FlowRecord> predicate, FlowRecordCursor cursor) {
+        List<FlowRecord> flowRecords = cache.stream()
+                .filter(record -> !record.isDelete())
+                .filter(record -> record.getId() < cursor.getSeekId())
+                .filter(predicate)
+                .sorted(Comparator.comparingLong(FlowRecord::getId).reversed())
+                .limit(cursor.getPageSize() + 1)
+                .toList();
+        boolean hasNext = flowRecords.size() > cursor.getPageSize();
+        return new SliceImpl<>(hasNext ? flowRecords.subList(0, cursor.getPageSize()) : flowRecords, cursor.toPageRequest(), hasNext);
+    }
+
     @Override
     public void finishFlowRecordByProcessId(String processId) {
         cache.stream()
@@ -214,6 +292,38 @@ public class FlowRecordRepositoryImpl implements FlowRecordRepository, FlowRecor
                 .forEach(FlowRecord::finish);
     }
 
+    @Override
+    public void updateFlowTypeByProcessId(String processId, FlowType flowType) {
+        long updateTime = System.currentTimeMillis();
+        cache.stream()
+                .filter(record -> record.getProcessId().equals(processId))
+                .filter(record -> !record.isDelete())
+                .forEach(record -> {
+                    record.setFlowType(flowType);
+                    record.setUpdateTime(updateTime);
+                });
+    }
+
+    @Override
+    public void updateFlowTypeByIds(List<Long> ids, FlowType flowType) {
+        long updateTime = System.currentTimeMillis();
+        cache.stream()
+                .filter(record -> ids.contains(record.getId()))
+                .filter(record -> !record.isDelete())
+                .forEach(record -> {
+                    record.setFlowType(flowType);
+                    record.setUpdateTime(updateTime);
+                });
+    }
+
+    @Override
+    public void readFlowRecordByIds(List<Long> ids) {
+        cache.stream()
+                .filter(record -> ids.contains(record.getId()))
+                .filter(record -> !record.isRead())
+                .forEach(FlowRecord::read);
+    }
+
     @Override
     public void delete(List<FlowRecord> childrenRecords) {
         cache.removeAll(childrenRecords);
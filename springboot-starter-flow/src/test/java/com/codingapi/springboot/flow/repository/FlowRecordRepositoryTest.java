@@ -0,0 +1,126 @@
+package com.codingapi.springboot.flow.repository;
+
+import com.codingapi.springboot.flow.em.FlowStatus;
+import com.codingapi.springboot.flow.em.FlowType;
+import com.codingapi.springboot.flow.record.FlowRecord;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 批量修改的默认实现，数据库实现的批量修改见 example-infra-flow
+ */
+class FlowRecordRepositoryTest {
+
+    private final AtomicInteger updateCount = new AtomicInteger();
+
+    private final List<FlowRecord> records = new ArrayList<>();
+
+    // 只实现必须的方法，查询结果包含已删除的记录
+    private final FlowRecordRepository flowRecordRepository = new FlowRecordRepository() {
+        @Override
+        public void save(List<FlowRecord> list) {
+            for (FlowRecord record : list) {
+                records.add(record);
+                record.setId(records.size());
+            }
+        }
+
+        @Override
+        public void update(FlowRecord flowRecord) {
+            updateCount.incrementAndGet();
+        }
+
+        @Override
+        public FlowRecord getFlowRecordById(long id) {
+            return records.stream().filter(record -> record.getId() == id).findFirst().orElse(null);
+        }
+
+        @Override
+        public List<FlowRecord> findFlowRecordByPreId(long preId) {
+            return records.stream().filter(record -> record.getPreId() == preId).toList();
+        }
+
+        @Override
+        public List<FlowRecord> findFlowRecordByProcessId(String processId) {
+            return records.stream().filter(record -> record.getProcessId().equals(processId)).toList();
+        }
+
+        @Override
+        public List<FlowRecord> findMergeFlowRecordById(String workCode, String nodeCode, long currentOperatorId) {
+            return List.of();
+        }
+
+        @Override
+        public List<FlowRecord> findTodoFlowRecordByProcessId(String processId) {
+            return findFlowRecordByProcessId(processId).stream().filter(FlowRecord::isTodo).toList();
+        }
+
+        @Override
+        public void finishFlowRecordByProcessId(String processId) {
+            findFlowRecordByProcessId(processId).forEach(FlowRecord::finish);
+        }
+
+        @Override
+        public void delete(List<FlowRecord> childrenRecords) {
+            records.removeAll(childrenRecords);
+        }
+
+        @Override
+        public void deleteByProcessId(String processId) {
+            records.removeIf(record -> record.getProcessId().equals(processId));
+        }
+    };
+
+    // 创建流程记录，前deleted条为已删除的记录
+    private List<FlowRecord> createRecords(int count, int deleted) {
+        List<FlowRecord> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            FlowRecord record = new FlowRecord();
+            record.setProcessId("process");
+            record.setFlowType(i < deleted ? FlowType.DELETE : FlowType.TODO);
+            record.setFlowStatus(FlowStatus.RUNNING);
+            record.setCreateTime(System.currentTimeMillis());
+            list.add(record);
+        }
+        flowRecordRepository.save(list);
+        return list;
+    }
+
+    @Test
+    void updateByProcessId() {
+        List<FlowRecord> list = createRecords(10, 2);
+        flowRecordRepository.updateFlowTypeByProcessId("process", FlowType.DONE);
+        assertEquals(2, list.stream().filter(FlowRecord::isDelete).count());
+        assertEquals(8, list.stream().filter(FlowRecord::isDone).count());
+        assertEquals(8, updateCount.get());
+
+        flowRecordRepository.voidedFlowRecordByProcessId("process");
+        assertTrue(list.stream().allMatch(FlowRecord::isDelete));
+        assertEquals(16, updateCount.get());
+    }
+
+    @Test
+    void updateByIds() {
+        List<FlowRecord> list = createRecords(10, 2);
+        List<Long> ids = list.subList(0, 5).stream().map(FlowRecord::getId).toList();
+        flowRecordRepository.updateFlowTypeByIds(ids, FlowType.DONE);
+        assertEquals(3, list.stream().filter(FlowRecord::isDone).count());
+        assertEquals(3, updateCount.get());
+    }
+
+    @Test
+    void readByIds() {
+        List<FlowRecord> list = createRecords(10, 2);
+        list.get(2).read();
+        flowRecordRepository.readFlowRecordByIds(list.stream().map(FlowRecord::getId).toList());
+        assertFalse(list.get(0).isRead());
+        assertTrue(list.stream().skip(2).allMatch(FlowRecord::isRead));
+        // 已删除与已读的记录不修改
+        assertEquals(7, updateCount.get());
+    }
+}
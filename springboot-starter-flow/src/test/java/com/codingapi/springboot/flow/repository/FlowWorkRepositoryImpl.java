@@ -19,6 +19,16 @@ public class FlowWorkRepositoryImpl implements FlowWorkRepository{
         return cache.stream().filter(flowWork -> flowWork.getCode().equals(code)).findFirst().orElse(null);
     }
 
+    @Override
+    public Long getFlowWorkVersionByCode(String code) {
+        return cache.stream().filter(flowWork -> flowWork.getCode().equals(code)).findFirst().map(FlowWork::getUpdateTime).orElse(null);
+    }
+
+    @Override
+    public Long getFlowWorkVersionById(long id) {
+        return cache.stream().filter(flowWork -> flowWork.getId() == id).findFirst().map(FlowWork::getUpdateTime).orElse(null);
+    }
+
     @Override
     public void save(FlowWork flowWork) {
         if(flowWork.getId()==0){
@@ -31,4 +41,9 @@ public class FlowWorkRepositoryImpl implements FlowWorkRepository{
     public void delete(long id) {
         cache.removeIf(flowWork -> flowWork.getId() == id);
     }
+
+    @Override
+    public List<FlowWork> findEnabledFlowWorks() {
+        return cache.stream().filter(FlowWork::isEnable).toList();
+    }
 }
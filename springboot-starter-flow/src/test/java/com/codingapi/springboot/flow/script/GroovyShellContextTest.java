@@ -2,7 +2,13 @@ package com.codingapi.springboot.flow.script;
 
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class GroovyShellContextTest {
 
@@ -27,4 +33,45 @@ class GroovyShellContextTest {
         System.out.println("t3 time :" + (t3 - t2));
 
     }
+
+    @Test
+    void concurrentInvoke() throws Exception {
+        GroovyShellContext context = GroovyShellContext.getInstance();
+        String script = "def run(content){ return content * 2;}";
+        GroovyShellContext.ShellScript shellScript = context.parse(script);
+        long hitCount = context.getHitCount();
+        assertSame(shellScript, context.parse(script));
+        assertEquals(hitCount + 1, context.getHitCount());
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                int value = i;
+                futures.add(executorService.submit(() -> shellScript.invokeMethod("run", value)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(i * 2, futures.get(i).get());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        assertTrue(context.getCompileCount() > 0);
+        assertTrue(context.getCompileNanos() > 0);
+    }
+
+    @Test
+    void compile() {
+        GroovyShellContext context = GroovyShellContext.getInstance();
+        List<GroovyShellContext.ShellScript> scripts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            scripts.add(context.parse("def run(content){ return 'compile-" + i + "';}"));
+        }
+        context.compile(scripts);
+        assertTrue(scripts.stream().allMatch(GroovyShellContext.ShellScript::isCompiled));
+
+        // 编译失败的脚本在预编译时抛出异常
+        scripts.add(context.parse("def run(content){ return "));
+        assertThrows(IllegalArgumentException.class, () -> context.compile(scripts));
+    }
 }
@@ -0,0 +1,112 @@
+package com.codingapi.springboot.flow.serializable;
+
+import com.codingapi.springboot.flow.build.FlowWorkBuilder;
+import com.codingapi.springboot.flow.domain.FlowButton;
+import com.codingapi.springboot.flow.domain.FlowWork;
+import com.codingapi.springboot.flow.em.ApprovalType;
+import com.codingapi.springboot.flow.em.FlowButtonType;
+import com.codingapi.springboot.flow.em.NodeType;
+import com.codingapi.springboot.flow.matcher.OperatorMatcher;
+import com.codingapi.springboot.flow.repository.UserRepository;
+import com.codingapi.springboot.flow.user.User;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Output;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowWorkSerializableTest {
+
+    private final UserRepository userRepository = new UserRepository();
+
+    private FlowWork createFlowWork() {
+        User user = new User("张三");
+        userRepository.save(user);
+        return FlowWorkBuilder.builder(user)
+                .title("请假流程")
+                .nodes()
+                .node("开始节点", "start", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .node("部门领导审批", "dept", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .node("结束节点", "over", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .relations()
+                .relation("部门领导审批", "start", "dept")
+                .relation("结束节点", "dept", "over")
+                .build();
+    }
+
+    /**
+     * 原有的序列化方式
+     */
+    private byte[] legacySerializable(FlowWorkSerializable serializable) {
+        Kryo kryo = new Kryo();
+        kryo.register(ArrayList.class);
+        kryo.register(FlowNodeSerializable.class);
+        kryo.register(FlowRelationSerializable.class);
+        kryo.register(FlowWorkSerializable.class);
+        kryo.register(ApprovalType.class);
+        kryo.register(NodeType.class);
+        kryo.register(FlowButton.class);
+        kryo.register(FlowButtonType.class);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Output output = new Output(outputStream);
+        kryo.writeObject(output, serializable);
+        output.close();
+        return outputStream.toByteArray();
+    }
+
+    @Test
+    void compatible() {
+        FlowWorkSerializable serializable = createFlowWork().toSerializable();
+        byte[] legacyBytes = legacySerializable(serializable);
+
+        assertArrayEquals(legacyBytes, serializable.toSerializable(false));
+        assertNotEquals(0, legacyBytes[0]);
+
+        FlowWorkSerializable legacy = FlowWorkSerializable.fromSerializable(legacyBytes);
+        assertEquals(serializable.getCode(), legacy.getCode());
+        assertEquals(3, legacy.getNodes().size());
+        assertEquals(2, legacy.getRelations().size());
+    }
+
+    @Test
+    void compress() {
+        FlowWorkSerializable serializable = createFlowWork().toSerializable();
+        byte[] bytes = serializable.toSerializable(false);
+        byte[] compressed = serializable.toSerializable(true);
+        assertEquals(0, compressed[0]);
+        assertTrue(compressed.length < bytes.length);
+
+        FlowWorkSerializable result = FlowWorkSerializable.fromSerializable(compressed);
+        assertArrayEquals(bytes, result.toSerializable(false));
+        assertEquals("请假流程", result.toFlowWork(userRepository).getTitle());
+    }
+
+    @Test
+    void concurrent() throws Exception {
+        FlowWorkSerializable serializable = createFlowWork().toSerializable();
+        byte[] bytes = serializable.toSerializable(false);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<byte[]>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                boolean compress = i % 2 == 0;
+                futures.add(executorService.submit(() ->
+                        FlowWorkSerializable.fromSerializable(serializable.toSerializable(compress)).toSerializable(false)));
+            }
+            for (Future<byte[]> future : futures) {
+                assertArrayEquals(bytes, future.get());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+}
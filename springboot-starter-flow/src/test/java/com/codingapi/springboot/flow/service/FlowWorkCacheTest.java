@@ -0,0 +1,137 @@
+package com.codingapi.springboot.flow.service;
+
+import com.codingapi.springboot.flow.build.FlowWorkBuilder;
+import com.codingapi.springboot.flow.domain.FlowWork;
+import com.codingapi.springboot.flow.em.ApprovalType;
+import com.codingapi.springboot.flow.matcher.OperatorMatcher;
+import com.codingapi.springboot.flow.record.FlowBackup;
+import com.codingapi.springboot.flow.record.FlowProcess;
+import com.codingapi.springboot.flow.repository.*;
+import com.codingapi.springboot.flow.user.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowWorkCacheTest {
+
+    private final UserRepository userRepository = new UserRepository();
+
+    private FlowWork createFlowWork(User user) {
+        return FlowWorkBuilder.builder(user)
+                .title("请假流程")
+                .nodes()
+                .node("开始节点", "start", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .node("结束节点", "over", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .relations()
+                .relation("结束节点", "start", "over")
+                .build();
+    }
+
+    @Test
+    void workCache() {
+        User user = new User("张飞");
+        userRepository.save(user);
+
+        AtomicInteger loadCount = new AtomicInteger();
+        AtomicLong version = new AtomicLong();
+        FlowWorkRepositoryImpl flowWorkRepository = new FlowWorkRepositoryImpl() {
+            @Override
+            public FlowWork getFlowWorkById(long id) {
+                loadCount.incrementAndGet();
+                return super.getFlowWorkById(id);
+            }
+
+            @Override
+            public FlowWork getFlowWorkByCode(String code) {
+                loadCount.incrementAndGet();
+                return super.getFlowWorkByCode(code);
+            }
+
+            @Override
+            public Long getFlowWorkVersionByCode(String code) {
+                Long updateTime = super.getFlowWorkVersionByCode(code);
+                return updateTime != null ? updateTime + version.get() : null;
+            }
+
+            @Override
+            public Long getFlowWorkVersionById(long id) {
+                Long updateTime = super.getFlowWorkVersionById(id);
+                return updateTime != null ? updateTime + version.get() : null;
+            }
+        };
+        CachedFlowWorkRepository cachedRepository = new CachedFlowWorkRepository(flowWorkRepository, 16);
+
+        FlowWork flowWork = createFlowWork(user);
+        cachedRepository.save(flowWork);
+        String code = flowWork.getCode();
+
+        // 版本号一致时不再重复加载，每次返回复制的流程设计
+        FlowWork first = cachedRepository.getFlowWorkByCode(code);
+        FlowWork second = cachedRepository.getFlowWorkByCode(code);
+        assertNotSame(flowWork, first);
+        assertNotSame(first, second);
+        assertNotSame(first.getNodes().get(0), second.getNodes().get(0));
+        assertEquals(flowWork.getId(), first.getId());
+        assertEquals(flowWork.getNodes().size(), first.getNodes().size());
+        assertEquals(1, loadCount.get());
+        assertEquals(1, cachedRepository.getCache().getHitCount());
+
+        // 修改读取的流程设计不影响缓存
+        first.setTitle("出差流程");
+        assertEquals("请假流程", cachedRepository.getFlowWorkByCode(code).getTitle());
+
+        // 按id读取同样使用缓存
+        FlowWork byId = cachedRepository.getFlowWorkById(flowWork.getId());
+        assertEquals(code, byId.getCode());
+        assertNotSame(flowWork, byId);
+        assertEquals(1, loadCount.get());
+
+        // 其他途径修改流程设计后版本号变化，重新加载
+        version.set(1);
+        cachedRepository.getFlowWorkByCode(code);
+        assertEquals(2, loadCount.get());
+        cachedRepository.getFlowWorkById(flowWork.getId());
+        assertEquals(2, loadCount.get());
+
+        // 保存后缓存失效
+        cachedRepository.save(flowWork);
+        assertEquals(0, cachedRepository.getCache().size());
+
+        cachedRepository.delete(flowWork.getId());
+        assertNull(cachedRepository.getFlowWorkByCode(code));
+    }
+
+    @Test
+    void backupCache() {
+        User user = new User("张飞");
+        userRepository.save(user);
+
+        FlowBackupRepository flowBackupRepository = new FlowBackupRepositoryImpl();
+        CachedFlowProcessRepository cachedRepository =
+                new CachedFlowProcessRepository(new FlowProcessRepositoryImpl(flowBackupRepository, userRepository), 16);
+
+        FlowWork flowWork = createFlowWork(user);
+        flowWork.setId(1);
+        FlowBackup flowBackup = flowBackupRepository.backup(flowWork);
+
+        FlowProcess first = new FlowProcess(flowBackup.getId(), user);
+        FlowProcess second = new FlowProcess(flowBackup.getId(), user);
+        cachedRepository.save(first);
+        cachedRepository.save(second);
+
+        // 同一备份创建的流程共享同一个流程设计
+        FlowWork firstWork = cachedRepository.getFlowWorkByProcessId(first.getProcessId());
+        FlowWork secondWork = cachedRepository.getFlowWorkByProcessId(second.getProcessId());
+        assertNotNull(firstWork);
+        assertSame(firstWork, secondWork);
+        assertEquals(1, cachedRepository.getBackupCache().size());
+
+        FlowBackup newBackup = flowBackupRepository.backup(flowWork);
+        FlowProcess third = new FlowProcess(newBackup.getId(), user);
+        cachedRepository.save(third);
+        assertNotSame(firstWork, cachedRepository.getFlowWorkByProcessId(third.getProcessId()));
+    }
+}
@@ -0,0 +1,110 @@
+package com.codingapi.springboot.flow.test;
+
+import com.codingapi.springboot.flow.build.FlowWorkBuilder;
+import com.codingapi.springboot.flow.domain.FlowWork;
+import com.codingapi.springboot.flow.domain.Opinion;
+import com.codingapi.springboot.flow.em.ApprovalType;
+import com.codingapi.springboot.flow.flow.Leave;
+import com.codingapi.springboot.flow.matcher.OperatorMatcher;
+import com.codingapi.springboot.flow.pojo.FlowBatchSubmitResult;
+import com.codingapi.springboot.flow.record.FlowRecord;
+import com.codingapi.springboot.flow.repository.*;
+import com.codingapi.springboot.flow.service.FlowService;
+import com.codingapi.springboot.flow.user.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlowBatchSubmitTest {
+
+    private final UserRepository userRepository = new UserRepository();
+    private final FlowWorkRepository flowWorkRepository = new FlowWorkRepositoryImpl();
+    private final FlowRecordRepositoryImpl flowRecordRepository = new FlowRecordRepositoryImpl();
+    private final FlowBindDataRepositoryImpl flowBindDataRepository = new FlowBindDataRepositoryImpl();
+    private final LeaveRepository leaveRepository = new LeaveRepository();
+    private final FlowBackupRepository flowBackupRepository = new FlowBackupRepositoryImpl();
+    private final FlowProcessRepository flowProcessRepository = new FlowProcessRepositoryImpl(flowBackupRepository, userRepository);
+    private final FlowService flowService = new FlowService(flowWorkRepository, flowRecordRepository, flowBindDataRepository, userRepository, flowProcessRepository, flowBackupRepository);
+
+    /**
+     * 批量提交流程，失败的记录不影响其余记录的提交
+     */
+    @Test
+    void submitFlows() {
+        PageRequest pageRequest = PageRequest.of(0, 1000);
+
+        User user = new User("张飞");
+        userRepository.save(user);
+
+        User dept = new User("刘备");
+        userRepository.save(dept);
+
+        User boss = new User("诸葛亮");
+        userRepository.save(boss);
+
+        FlowWork flowWork = FlowWorkBuilder.builder(user)
+                .title("请假流程")
+                .nodes()
+                .node("开始节点", "start", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .node("部门领导审批", "dept", "default", ApprovalType.UN_SIGN, OperatorMatcher.specifyOperatorMatcher(dept.getUserId()))
+                .node("总经理审批", "manager", "default", ApprovalType.UN_SIGN, OperatorMatcher.specifyOperatorMatcher(boss.getUserId()))
+                .node("结束节点", "over", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .relations()
+                .relation("部门领导审批", "start", "dept")
+                .relation("总经理审批", "dept", "manager")
+                .relation("结束节点", "manager", "over")
+                .build();
+        flowWorkRepository.save(flowWork);
+
+        for (int i = 0; i < 5; i++) {
+            Leave leave = new Leave("我要出去看看" + i);
+            leaveRepository.save(leave);
+            flowService.startFlow(flowWork.getCode(), user, leave, "发起流程");
+        }
+
+        List<FlowRecord> userTodos = flowRecordRepository.findTodoByOperatorId(user.getUserId(), pageRequest).getContent();
+        assertEquals(5, userTodos.size());
+
+        // 发起人批量提交，包含不存在的记录
+        List<Long> recordIds = new ArrayList<>(userTodos.stream().map(FlowRecord::getId).toList());
+        recordIds.add(1, 9999L);
+        FlowBatchSubmitResult result = flowService.submitFlows(recordIds, user, Opinion.pass("同意"));
+        assertEquals(6, result.getItems().size());
+        assertEquals(recordIds, result.getItems().stream().map(FlowBatchSubmitResult.Item::getRecordId).toList());
+        assertEquals(5, result.getSuccessCount());
+        assertEquals(1, result.getFailedItems().size());
+        assertEquals("flow record not found", result.getItem(9999L).getMessage());
+
+        // 表单数据使用发起时的表单快照
+        for (FlowRecord userTodo : userTodos) {
+            FlowRecord record = flowRecordRepository.getFlowRecordById(userTodo.getId());
+            assertTrue(record.isDone());
+            assertTrue(result.getItem(userTodo.getId()).isSuccess());
+            Leave leave = (Leave) flowBindDataRepository.getBindDataSnapshotById(record.getSnapshotId()).toBindData();
+            Leave started = (Leave) flowBindDataRepository.getBindDataSnapshotById(userTodo.getSnapshotId()).toBindData();
+            assertEquals(started.getTitle(), leave.getTitle());
+        }
+
+        List<FlowRecord> deptTodos = flowRecordRepository.findTodoByOperatorId(dept.getUserId(), pageRequest).getContent();
+        assertEquals(5, deptTodos.size());
+
+        // 部门领导批量审批，包含总经理的待办
+        FlowRecord firstTodo = deptTodos.get(0);
+        flowService.submitFlow(firstTodo.getId(), dept, new Leave("我要出去看看"), Opinion.pass("同意"));
+        FlowRecord bossTodo = flowRecordRepository.findTodoByOperatorId(boss.getUserId(), pageRequest).getContent().get(0);
+
+        List<Long> deptRecordIds = new ArrayList<>(deptTodos.stream().skip(1).map(FlowRecord::getId).toList());
+        deptRecordIds.add(bossTodo.getId());
+        result = flowService.submitFlows(deptRecordIds, dept, Opinion.pass("同意"));
+        assertEquals(4, result.getSuccessCount());
+        assertFalse(result.getItem(bossTodo.getId()).isSuccess());
+        assertNotNull(result.getItem(bossTodo.getId()).getMessage());
+
+        assertEquals(0, flowRecordRepository.findTodoByOperatorId(dept.getUserId(), pageRequest).getTotalElements());
+        assertEquals(5, flowRecordRepository.findTodoByOperatorId(boss.getUserId(), pageRequest).getTotalElements());
+    }
+}
@@ -16,8 +16,7 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 class ScriptTest {
 
@@ -69,4 +68,49 @@ class ScriptTest {
         long time = System.currentTimeMillis() - now;
         System.out.println("time:" + time);
     }
+
+    @Test
+    void nativeScript() {
+        User user = new User("李四");
+        userRepository.save(user);
+        User creator = new User("王五");
+        userRepository.save(creator);
+
+        FlowWork flowWork = FlowWorkBuilder.builder(user)
+                .title("请假流程")
+                .nodes()
+                .node("开始节点", "start", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .node("结束节点", "over", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .relations()
+                .relation("结束节点", "start", "over")
+                .build();
+        FlowSession flowSession = new FlowSession(null, flowWork, flowWork.getNodeByCode("start"), creator, user, new Leave("我要请假"), Opinion.pass("同意"), new ArrayList<>());
+
+        // 内置脚本使用Java实现，结果与Groovy脚本一致
+        OperatorMatcher anyMatcher = OperatorMatcher.anyOperatorMatcher();
+        OperatorMatcher anyScript = new OperatorMatcher("def run(content) { return [content.getCurrentOperator().getUserId()];}");
+        assertTrue(anyMatcher.isNative());
+        assertFalse(anyScript.isNative());
+        assertEquals(anyScript.matcher(flowSession), anyMatcher.matcher(flowSession));
+
+        OperatorMatcher creatorMatcher = OperatorMatcher.creatorOperatorMatcher();
+        assertTrue(creatorMatcher.isNative());
+        assertEquals(List.of(creator.getUserId()), creatorMatcher.matcher(flowSession));
+
+        OperatorMatcher specifyMatcher = OperatorMatcher.specifyOperatorMatcher(1, 2, 3);
+        assertTrue(specifyMatcher.isNative());
+        assertTrue(specifyMatcher.isSpecify());
+        assertEquals(List.of(1L, 2L, 3L), specifyMatcher.matcher(flowSession));
+
+        TitleGenerator titleGenerator = TitleGenerator.defaultTitleGenerator();
+        TitleGenerator titleScript = new TitleGenerator("def run(content){ return content.getCurrentOperator().getName() + '-' + content.getFlowWork().getTitle() + '-' + content.getFlowNode().getName(); }");
+        assertTrue(titleGenerator.isNative());
+        assertFalse(titleScript.isNative());
+        assertEquals(titleScript.generate(flowSession), titleGenerator.generate(flowSession));
+
+        OutTrigger outTrigger = OutTrigger.defaultOutTrigger();
+        assertTrue(outTrigger.isNative());
+        assertTrue(outTrigger.trigger(flowSession));
+        assertFalse(new OutTrigger("def run(content) {return false;}").trigger(flowSession));
+    }
 }
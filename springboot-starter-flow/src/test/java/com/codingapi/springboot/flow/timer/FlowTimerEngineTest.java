@@ -0,0 +1,346 @@
+package com.codingapi.springboot.flow.timer;
+
+import com.codingapi.springboot.flow.build.FlowWorkBuilder;
+import com.codingapi.springboot.flow.domain.FlowWork;
+import com.codingapi.springboot.flow.em.ApprovalType;
+import com.codingapi.springboot.flow.em.FlowStatus;
+import com.codingapi.springboot.flow.em.FlowType;
+import com.codingapi.springboot.flow.event.FlowApprovalEvent;
+import com.codingapi.springboot.flow.flow.Leave;
+import com.codingapi.springboot.flow.matcher.OperatorMatcher;
+import com.codingapi.springboot.flow.record.FlowRecord;
+import com.codingapi.springboot.flow.repository.*;
+import com.codingapi.springboot.flow.service.FlowService;
+import com.codingapi.springboot.flow.user.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowTimerEngineTest {
+
+    private final FlowRecordRepositoryImpl flowRecordRepository = new FlowRecordRepositoryImpl();
+    // 统计定时器仓库的查询与保存次数
+    private final AtomicInteger lookupCount = new AtomicInteger();
+    private final AtomicInteger saveCount = new AtomicInteger();
+    private final MemoryFlowTimerRepository flowTimerRepository = new MemoryFlowTimerRepository() {
+        @Override
+        public synchronized FlowTimer getFlowTimerByRecordId(long recordId) {
+            lookupCount.incrementAndGet();
+            return super.getFlowTimerByRecordId(recordId);
+        }
+
+        @Override
+        public synchronized void save(FlowTimer flowTimer) {
+            saveCount.incrementAndGet();
+            super.save(flowTimer);
+        }
+    };
+    // 记录id -> 执行时间
+    private final Map<Long, Long> fired = new ConcurrentHashMap<>();
+    private final AtomicInteger fireCount = new AtomicInteger();
+    private final List<FlowTimerEngine> engines = new ArrayList<>();
+
+    @AfterEach
+    void stop() {
+        engines.forEach(FlowTimerEngine::stop);
+    }
+
+    private FlowTimerEngine engine(int loadBatchSize) {
+        FlowTimerEngine engine = new FlowTimerEngine(flowRecordRepository, flowTimerRepository,
+                flowRecord -> {
+                    fired.putIfAbsent(flowRecord.getId(), System.currentTimeMillis());
+                    fireCount.incrementAndGet();
+                },
+                10, 8, 500, loadBatchSize, 2);
+        engines.add(engine);
+        return engine;
+    }
+
+    private FlowRecord todo(long timeoutTime) {
+        FlowRecord flowRecord = new FlowRecord();
+        flowRecord.setProcessId("p" + timeoutTime);
+        flowRecord.setNodeCode("dept");
+        flowRecord.setFlowType(FlowType.TODO);
+        flowRecord.setFlowStatus(FlowStatus.RUNNING);
+        flowRecord.setTimeoutTime(timeoutTime);
+        flowRecordRepository.save(Collections.singletonList(flowRecord));
+        return flowRecord;
+    }
+
+    private void await(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (fired.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * 超时时间到达后执行一次，不会提前执行
+     */
+    @Test
+    void fireOnTimeout() throws InterruptedException {
+        FlowTimerEngine engine = engine(100);
+        engine.start();
+
+        long now = System.currentTimeMillis();
+        // 超出第一层时间轮范围(80ms)与加载窗口的定时器
+        List<FlowRecord> flowRecords = List.of(todo(now + 50), todo(now + 300), todo(now + 900));
+        engine.update(flowRecords);
+        assertEquals(3, flowTimerRepository.size());
+
+        await(3);
+        assertEquals(3, fired.size());
+        assertEquals(3, fireCount.get());
+        for (FlowRecord flowRecord : flowRecords) {
+            assertTrue(fired.get(flowRecord.getId()) >= flowRecord.getTimeoutTime());
+        }
+        assertEquals(3, engine.getFiredCount());
+        assertEquals(0, flowTimerRepository.size());
+        assertEquals(0, engine.getLoadedCount());
+    }
+
+    /**
+     * 延期的待办按新的超时时间执行，已办理的待办不执行
+     */
+    @Test
+    void postponedAndDone() throws InterruptedException {
+        FlowTimerEngine engine = engine(100);
+        engine.start();
+
+        long now = System.currentTimeMillis();
+        FlowRecord postponed = todo(now + 100);
+        FlowRecord done = todo(now + 100);
+        FlowRecord removed = todo(now + 100);
+        engine.update(List.of(postponed, done, removed));
+
+        postponed.setTimeoutTime(now + 400);
+        done.setFlowType(FlowType.DONE);
+        engine.update(List.of(postponed, done));
+        engine.remove(List.of(removed.getId()));
+        assertEquals(1, flowTimerRepository.size());
+
+        await(1);
+        Thread.sleep(100);
+        assertEquals(1, fired.size());
+        assertEquals(1, fireCount.get());
+        assertTrue(fired.get(postponed.getId()) >= postponed.getTimeoutTime());
+    }
+
+    /**
+     * 重启后分批加载持久化的定时器，已过期的定时器立即执行
+     */
+    @Test
+    void restart() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        List<FlowRecord> flowRecords = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            flowRecords.add(todo(now - 1000 + i));
+        }
+        FlowRecord later = todo(now + 200);
+        flowRecords.add(later);
+        // 引擎未启动时只写入定时器仓库
+        FlowTimerEngine stopped = engine(3);
+        stopped.update(flowRecords);
+        assertEquals(11, flowTimerRepository.size());
+
+        // 流程已删除的定时器不执行
+        FlowRecord deleted = flowRecords.get(0);
+        deleted.delete();
+
+        FlowTimerEngine engine = engine(3);
+        engine.start();
+        await(10);
+        assertEquals(10, fired.size());
+        assertEquals(10, fireCount.get());
+        assertFalse(fired.containsKey(deleted.getId()));
+        assertTrue(fired.get(later.getId()) >= later.getTimeoutTime());
+        assertEquals(0, flowTimerRepository.size());
+    }
+
+    /**
+     * 超时动作执行失败后按退避时间重试，直到执行成功
+     */
+    @Test
+    void retryOnFailure() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        FlowTimerEngine engine = new FlowTimerEngine(flowRecordRepository, flowTimerRepository,
+                flowRecord -> {
+                    if (attempts.incrementAndGet() <= 2) {
+                        throw new IllegalStateException("timeout action error");
+                    }
+                    latch.countDown();
+                },
+                10, 8, 500, 100, 2, 1, 20);
+        engines.add(engine);
+        engine.start();
+
+        FlowRecord flowRecord = todo(System.currentTimeMillis() - 1000);
+        engine.update(List.of(flowRecord));
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        // 执行成功后删除定时器
+        long deadline = System.currentTimeMillis() + 5000;
+        while (engine.getFiredCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(3, attempts.get());
+        assertEquals(2, engine.getFailedCount());
+        assertEquals(1, engine.getFiredCount());
+        assertEquals(0, flowTimerRepository.size());
+    }
+
+    /**
+     * 多个引擎共享定时器仓库时，每个定时器只由领取成功的引擎执行一次
+     */
+    @Test
+    void sharedRepository() throws InterruptedException {
+        FlowTimerEngine first = engine(100);
+        FlowTimerEngine second = engine(100);
+        first.setLeaseMillis(200);
+        second.setLeaseMillis(200);
+        long now = System.currentTimeMillis();
+        List<FlowRecord> flowRecords = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            flowRecords.add(todo(now - 1000 + i));
+        }
+        first.update(flowRecords);
+        first.start();
+        second.start();
+
+        await(20);
+        Thread.sleep(400);
+        assertEquals(20, fired.size());
+        assertEquals(20, fireCount.get());
+        assertEquals(20, first.getFiredCount() + second.getFiredCount());
+        assertEquals(0, flowTimerRepository.size());
+    }
+
+    /**
+     * 其他节点领取后未执行完成时，租约过期后由本节点执行
+     */
+    @Test
+    void leaseExpired() throws InterruptedException {
+        FlowTimerEngine engine = engine(100);
+        engine.setLeaseMillis(100);
+        FlowRecord flowRecord = todo(System.currentTimeMillis() - 1000);
+        engine.update(List.of(flowRecord));
+        long claimTime = System.currentTimeMillis();
+        assertTrue(flowTimerRepository.claim(flowRecord.getId(), flowRecord.getTimeoutTime(), claimTime + 100, claimTime));
+        assertFalse(flowTimerRepository.claim(flowRecord.getId(), flowRecord.getTimeoutTime(), claimTime + 100, claimTime));
+
+        engine.start();
+        await(1);
+        assertTrue(fired.get(flowRecord.getId()) >= claimTime + 100);
+        assertEquals(1, fireCount.get());
+        assertEquals(0, flowTimerRepository.size());
+    }
+
+    /**
+     * 没有超时时间且未注册定时器的记录不访问定时器仓库，到期时间未变化时不重复写入
+     */
+    @Test
+    void skipLookup() {
+        FlowTimerEngine engine = engine(100);
+        List<FlowRecord> flowRecords = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            flowRecords.add(todo(0));
+        }
+        engine.update(flowRecords);
+        engine.remove(flowRecords.stream().map(FlowRecord::getId).toList());
+        assertEquals(0, lookupCount.get());
+        assertEquals(0, saveCount.get());
+
+        FlowRecord timeout = todo(System.currentTimeMillis() + 60000);
+        engine.update(List.of(timeout));
+        engine.update(List.of(timeout));
+        assertEquals(1, saveCount.get());
+        assertEquals(1, flowTimerRepository.size());
+
+        timeout.setFlowType(FlowType.DONE);
+        engine.update(List.of(timeout));
+        assertEquals(0, flowTimerRepository.size());
+        assertEquals(0, lookupCount.get());
+    }
+
+    /**
+     * 超时事件包含流程设计、操作者与表单数据
+     */
+    @Test
+    void timeoutEvent() throws InterruptedException {
+        UserRepository userRepository = new UserRepository();
+        FlowWorkRepositoryImpl flowWorkRepository = new FlowWorkRepositoryImpl();
+        FlowBindDataRepositoryImpl flowBindDataRepository = new FlowBindDataRepositoryImpl();
+        FlowBackupRepository flowBackupRepository = new FlowBackupRepositoryImpl();
+        FlowProcessRepositoryImpl flowProcessRepository = new FlowProcessRepositoryImpl(flowBackupRepository, userRepository);
+
+        List<String> handled = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        // 超时事件处理，与业务中的事件处理一样读取流程设计与表单数据
+        FlowTimerEngine engine = new FlowTimerEngine(flowRecordRepository, flowTimerRepository,
+                new FlowTimeoutEventAction(event -> {
+                    assertEquals(FlowApprovalEvent.STATE_TIMEOUT, event.getState());
+                    handled.add(event.getFlowWork().getTitle() + ":" + event.toJavaObject(Leave.class).getTitle() + ":" + event.getOperator().getName());
+                    latch.countDown();
+                }),
+                10, 8, 500, 100, 2);
+        engines.add(engine);
+        FlowService flowService = new FlowService(flowWorkRepository, flowRecordRepository, flowBindDataRepository, userRepository, flowProcessRepository, flowBackupRepository, engine);
+        engine.start();
+
+        User user = new User("张飞");
+        userRepository.save(user);
+        FlowWork flowWork = FlowWorkBuilder.builder(user)
+                .title("请假流程")
+                .nodes()
+                .node("开始节点", "start", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .node("结束节点", "over", "default", ApprovalType.UN_SIGN, OperatorMatcher.anyOperatorMatcher())
+                .relations()
+                .relation("结束节点", "start", "over")
+                .build();
+        flowWorkRepository.save(flowWork);
+        FlowRecord flowRecord = flowService.startFlow(flowWork.getCode(), user, new Leave("我要出去看看"), "发起流程").getRecords().get(0);
+
+        flowRecord.setTimeoutTime(System.currentTimeMillis() + 50);
+        engine.update(List.of(flowRecord));
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("请假流程:我要出去看看:张飞"), handled);
+        assertEquals(0, engine.getFailedCount());
+    }
+
+    /**
+     * 分层时间轮按到期时间顺序推出定时器
+     */
+    @Test
+    void timingWheel() {
+        long start = 1000;
+        TimingWheel timingWheel = new TimingWheel(10, 8, start);
+        List<FlowTimer> flowTimers = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            flowTimers.add(new FlowTimer(i, "p", "dept", start + 10 + (i * 7919L) % 20000));
+        }
+        flowTimers.forEach(flowTimer -> assertTrue(timingWheel.add(flowTimer)));
+        assertFalse(timingWheel.add(new FlowTimer(-1, "p", "dept", start + 5)));
+
+        List<FlowTimer> expired = new ArrayList<>();
+        for (long time = start; time <= start + 20010; time += 10) {
+            List<FlowTimer> batch = new ArrayList<>();
+            timingWheel.advance(time, batch);
+            for (FlowTimer flowTimer : batch) {
+                assertTrue(flowTimer.getDueTime() >= time);
+                assertTrue(flowTimer.getDueTime() < time + 10);
+            }
+            expired.addAll(batch);
+        }
+        assertEquals(1000, expired.size());
+    }
+}
@@ -0,0 +1,48 @@
+package com.codingapi.springboot.framework.domain.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 实体字段批量变更事件
+ * 一次方法调用(或一个批量作用域)内产生的全部字段变更合并为一个事件
+ */
+@Getter
+@ToString(callSuper = true)
+public class DomainChangeBatchEvent extends DomainEvent {
+
+    /**
+     * 字段变更列表
+     */
+    private final List<DomainChangeEvent> changes;
+
+    public DomainChangeBatchEvent(Object entity, List<DomainChangeEvent> changes) {
+        super(entity);
+        this.changes = List.copyOf(changes);
+    }
+
+    /**
+     * 获取字段的变更
+     * @param fieldName 字段名称
+     * @return 字段变更,未变更时返回null
+     */
+    public DomainChangeEvent getChange(String fieldName) {
+        for (DomainChangeEvent change : changes) {
+            if (change.getFieldName().equals(fieldName)) {
+                return change;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 字段是否变更
+     * @param fieldName 字段名称
+     */
+    public boolean hasChange(String fieldName) {
+        return getChange(fieldName) != null;
+    }
+
+}
@@ -3,6 +3,7 @@ package com.codingapi.springboot.framework.domain.event;
 import com.codingapi.springboot.framework.event.IEvent;
 import lombok.Getter;
 import lombok.ToString;
+import org.springframework.util.ClassUtils;
 
 /**
  * 实体事件
@@ -12,7 +13,7 @@ import lombok.ToString;
 public abstract class DomainEvent implements IEvent {
 
     /**
-     * 实体类型
+     * 实体类型,代理对象时为被代理的实体类型
      */
     private final Class<?> entityClass;
     /**
@@ -26,7 +27,7 @@ public abstract class DomainEvent implements IEvent {
 
     public DomainEvent(Object entity) {
         this.entity = entity;
-        this.entityClass = entity.getClass();
+        this.entityClass = ClassUtils.getUserClass(entity);
         this.timestamp = System.currentTimeMillis();
     }
 }
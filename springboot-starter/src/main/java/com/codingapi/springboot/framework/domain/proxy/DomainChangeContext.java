@@ -0,0 +1,138 @@
+package com.codingapi.springboot.framework.domain.proxy;
+
+import com.codingapi.springboot.framework.domain.event.DomainChangeBatchEvent;
+import com.codingapi.springboot.framework.domain.event.DomainChangeEvent;
+import com.codingapi.springboot.framework.event.EventPusher;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * 实体字段变更事件推送上下文
+ * <p>
+ * 推送模式可通过 System.setProperty(MODE_KEY,"BATCH") 或 {@link #setMode(DomainChangeMode)} 调整,默认为 FIELD。
+ * 开启脏检查模式(System.setProperty(DIRTY_TRACKING_KEY,"true"))后,调用setter方法时只对比该setter对应的属性。
+ * 通过 {@link #batch(Supplier)} 开启的作用域内,同一实体的多次变更将在作用域结束时合并推送,
+ * 同一字段的多次变更合并为一次变更(保留最初的旧值与最终的新值),最终值与初始值相同的字段不再推送。
+ * 事件中的实体为代理对象,同步的事件处理器在推送过程中修改该实体时只更新字段快照,不再推送嵌套的变更事件。
+ */
+public class DomainChangeContext {
+
+    public final static String MODE_KEY = "Domain.ChangeMode";
+    public final static String DIRTY_TRACKING_KEY = "Domain.DirtyTracking";
+
+    @Getter
+    private final static DomainChangeContext instance = new DomainChangeContext();
+
+    @Getter
+    @Setter
+    private volatile DomainChangeMode mode;
+
+    @Getter
+    @Setter
+    private volatile boolean dirtyTracking;
+
+    // 批量作用域内待推送的变更 key:实体 value:字段变更
+    private final ThreadLocal<Map<Object, Map<String, DomainChangeEvent>>> unitOfWork = new ThreadLocal<>();
+    // 当前线程正在推送变更事件的实体
+    private final ThreadLocal<Set<Object>> publishing = ThreadLocal.withInitial(() -> Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    private DomainChangeContext() {
+        this.mode = DomainChangeMode.valueOf(System.getProperty(MODE_KEY, DomainChangeMode.FIELD.name()));
+        this.dirtyTracking = Boolean.parseBoolean(System.getProperty(DIRTY_TRACKING_KEY, "false"));
+    }
+
+    /**
+     * 在批量作用域内执行,作用域结束时推送合并后的变更事件
+     * @param supplier 执行逻辑
+     * @return 执行结果
+     */
+    public <T> T batch(Supplier<T> supplier) {
+        if (unitOfWork.get() != null) {
+            return supplier.get();
+        }
+        Map<Object, Map<String, DomainChangeEvent>> pending = new IdentityHashMap<>();
+        unitOfWork.set(pending);
+        T result;
+        try {
+            result = supplier.get();
+        } finally {
+            unitOfWork.remove();
+        }
+        for (Map.Entry<Object, Map<String, DomainChangeEvent>> entry : pending.entrySet()) {
+            List<DomainChangeEvent> changes = entry.getValue()
+                    .values()
+                    .stream()
+                    .filter(change -> !Objects.equals(change.getOldValue(), change.getNewValue()))
+                    .toList();
+            this.push(entry.getKey(), changes);
+        }
+        return result;
+    }
+
+    /**
+     * 在批量作用域内执行,作用域结束时推送合并后的变更事件
+     * @param runnable 执行逻辑
+     */
+    public void batch(Runnable runnable) {
+        this.batch(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * 推送一次调用产生的字段变更
+     * @param entity 实体
+     * @param changes 字段变更
+     */
+    void publish(Object entity, List<DomainChangeEvent> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Map<Object, Map<String, DomainChangeEvent>> pending = unitOfWork.get();
+        if (pending != null) {
+            Map<String, DomainChangeEvent> fields = pending.computeIfAbsent(entity, key -> new LinkedHashMap<>());
+            for (DomainChangeEvent change : changes) {
+                fields.merge(change.getFieldName(), change, (before, current) ->
+                        new DomainChangeEvent(entity, current.getFieldName(), before.getOldValue(), current.getNewValue()));
+            }
+            return;
+        }
+        this.push(entity, changes);
+    }
+
+    /**
+     * 实体是否正在当前线程推送变更事件
+     * @param entity 实体
+     * @return 是否正在推送
+     */
+    boolean isPublishing(Object entity) {
+        return publishing.get().contains(entity);
+    }
+
+    private void push(Object entity, List<DomainChangeEvent> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Set<Object> entities = publishing.get();
+        boolean added = entities.add(entity);
+        try {
+            DomainChangeMode mode = this.mode;
+            if (mode != DomainChangeMode.FIELD) {
+                EventPusher.push(new DomainChangeBatchEvent(entity, changes));
+            }
+            if (mode != DomainChangeMode.BATCH) {
+                for (DomainChangeEvent change : changes) {
+                    EventPusher.push(change);
+                }
+            }
+        } finally {
+            if (added) {
+                entities.remove(entity);
+            }
+        }
+    }
+}
@@ -1,21 +1,18 @@
 package com.codingapi.springboot.framework.domain.proxy;
 
 import com.codingapi.springboot.framework.domain.event.DomainChangeEvent;
-import com.codingapi.springboot.framework.event.EventPusher;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
-import org.springframework.cglib.proxy.Enhancer;
 import org.springframework.cglib.proxy.MethodInterceptor;
 import org.springframework.cglib.proxy.MethodProxy;
 
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * 实体代理
+ * 代理对象即为实体本身,方法调用通过 {@link MethodProxy#invokeSuper} 执行实体的方法
  */
 @Slf4j
 public class DomainChangeInterceptor implements MethodInterceptor {
@@ -27,24 +24,23 @@ public class DomainChangeInterceptor implements MethodInterceptor {
     // 目标类构造函数参数
     private final Object[] args;
 
-    // 目标类实例
-    private final Object target;
-    // 目标类属性描述
-    private final PropertyDescriptor[] propertyDescriptors;
-    // 目标类属性值
-    private final Map<String, Object> fields;
+    // 代理对象
+    private Object target;
+    // 目标类属性读取计划
+    private final DomainPropertyPlan plan;
+    // 目标类属性快照
+    private Object[] snapshot;
+    // 拦截方法的调用深度,实体内部的方法调用不重复对比字段
+    private int depth;
 
-    public DomainChangeInterceptor(Class<?> targetClass, Object... args) throws NoSuchMethodException,
-            InvocationTargetException, InstantiationException, IllegalAccessException {
+    public DomainChangeInterceptor(Class<?> targetClass, Object... args) {
         this.targetClass = targetClass;
         this.args = args;
         this.parameterTypes = new Class<?>[args.length];
         for (int i = 0; i < args.length; i++) {
             parameterTypes[i] = args[i].getClass();
         }
-        this.target = targetClass.getConstructor(parameterTypes).newInstance(args);
-        this.propertyDescriptors = BeanUtils.getPropertyDescriptors(targetClass);
-        this.fields = new HashMap<>();
+        this.plan = DomainPropertyPlan.of(targetClass);
     }
 
 
@@ -53,10 +49,10 @@ public class DomainChangeInterceptor implements MethodInterceptor {
      * @return 代理对象
      */
     public Object createProxy() {
-        Enhancer enhancer = new Enhancer();
-        enhancer.setSuperclass(targetClass);
-        enhancer.setCallback(this);
-        return enhancer.create(parameterTypes, args);
+        Object proxy = DomainProxyClass.of(targetClass).newInstance(this, parameterTypes, args);
+        // 构造函数执行完成以后才开始对比字段
+        this.target = proxy;
+        return proxy;
     }
 
 
@@ -72,80 +68,68 @@ public class DomainChangeInterceptor implements MethodInterceptor {
     @Override
     public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) throws Throwable {
         // 更新函数肯定有参数，如果没有参数，直接返回
-        if (method.getParameterCount() <= 0) {
-            return method.invoke(target, args);
+        if (target == null || depth > 0 || method.getParameterCount() <= 0) {
+            return proxy.invokeSuper(obj, args);
         }
 
-        if(fields.isEmpty()){
-            this.readFields(fields,target,propertyDescriptors);
+        if (snapshot == null) {
+            snapshot = plan.snapshot(target);
         }
-        Object result = method.invoke(target, args);
-        this.compareAndUpdateField();
+        Object result;
+        depth++;
+        try {
+            result = proxy.invokeSuper(obj, args);
+        } finally {
+            depth--;
+        }
+        this.compareAndUpdateField(method);
         return result;
     }
 
     /**
-     * 读取Entity字段
-     * @throws InvocationTargetException InvocationTargetException
-     * @throws IllegalAccessException InvocationTargetException
+     * 对比字段
+     * 脏检查模式下调用setter方法时只对比setter对应的属性
+     * @param method 调用的方法
      */
-    private void readFields(Map<String,Object> fields, Object target,PropertyDescriptor[] propertyDescriptors) throws InvocationTargetException, IllegalAccessException {
-        for (PropertyDescriptor propertyDescriptor : propertyDescriptors) {
-            String name = propertyDescriptor.getName();
-            Object value = propertyDescriptor.getReadMethod().invoke(target);
-            if (isPrimitive(value)) {
-                fields.put(name, value);
-            }else {
-                Map<String,Object> childFields = new HashMap<>();
-                this.readFields(childFields,value,BeanUtils.getPropertyDescriptors(value.getClass()));
-                fields.put(name, childFields);
+    private void compareAndUpdateField(Method method) {
+        List<DomainChangeEvent> changes = new ArrayList<>(0);
+        int index = DomainChangeContext.getInstance().isDirtyTracking() ? plan.indexOfWriteMethod(method) : -1;
+        if (index >= 0) {
+            compareAndUpdateField(index, changes);
+        } else {
+            for (int i = 0; i < plan.size(); i++) {
+                compareAndUpdateField(i, changes);
             }
         }
+        // 推送事件过程中处理器对实体的修改只更新快照
+        if (!DomainChangeContext.getInstance().isPublishing(target)) {
+            DomainChangeContext.getInstance().publish(target, changes);
+        }
     }
 
-
-    private boolean isPrimitive(Object obj) {
-        return obj instanceof String || obj instanceof Integer || obj instanceof Long
-                || obj instanceof Double || obj instanceof Float || obj instanceof Boolean
-                || obj instanceof Short || obj instanceof Byte || obj instanceof Character
-                || obj instanceof Enum || obj instanceof Class;
-    }
-
-    /**
-     * 对比字段
-     * @throws InvocationTargetException InvocationTargetException
-     * @throws IllegalAccessException InvocationTargetException
-     */
-    private void compareAndUpdateField() throws InvocationTargetException, IllegalAccessException {
-        for (PropertyDescriptor propertyDescriptor : propertyDescriptors) {
-            String name = propertyDescriptor.getName();
-            Object newValue = propertyDescriptor.getReadMethod().invoke(target);
-            Object oldValue = fields.get(name);
-            if(isPrimitive(newValue)) {
-                if (!newValue.equals(oldValue)) {
-                    pushEvent(name, oldValue, newValue);
-                }
-                fields.put(name, newValue);
-            }else{
-                Map<String,Object> newFields = new HashMap<>();
-                this.readFields(newFields,newValue,BeanUtils.getPropertyDescriptors(newValue.getClass()));
-
-                Map<String,Object> oldFields = (Map<String,Object>)oldValue;
-                for (String key:oldFields.keySet()){
-                    Object oldChildValue = oldFields.get(key);
-                    Object newChildValue = newFields.get(key);
-                    if(!oldChildValue.equals(newChildValue)){
-                        String namePrefix = name + ".";
-                        pushEvent(namePrefix+key, oldChildValue, newChildValue);
-                    }
+    private void compareAndUpdateField(int index, List<DomainChangeEvent> changes) {
+        String name = plan.getName(index);
+        Object oldValue = snapshot[index];
+        Object newValue = plan.snapshotValue(target, index);
+        if (Objects.equals(oldValue, newValue)) {
+            return;
+        }
+        if (oldValue instanceof DomainPropertyPlan.Snapshot oldFields
+                && newValue instanceof DomainPropertyPlan.Snapshot newFields
+                && oldFields.plan == newFields.plan) {
+            String namePrefix = name + ".";
+            for (int i = 0; i < oldFields.values.length; i++) {
+                Object oldChildValue = oldFields.values[i];
+                Object newChildValue = newFields.values[i];
+                if (!Objects.equals(oldChildValue, newChildValue)) {
+                    changes.add(new DomainChangeEvent(target, namePrefix + oldFields.plan.getName(i),
+                            DomainPropertyPlan.export(oldChildValue), DomainPropertyPlan.export(newChildValue)));
                 }
-                fields.put(name, newFields);
             }
-
+        } else {
+            changes.add(new DomainChangeEvent(target, name,
+                    DomainPropertyPlan.export(oldValue), DomainPropertyPlan.export(newValue)));
         }
-    }
-
-    private void pushEvent(String fieldName, Object oldValue, Object newValue) {
-        EventPusher.push(new DomainChangeEvent(target,fieldName,oldValue,newValue));
+        snapshot[index] = newValue;
     }
 }
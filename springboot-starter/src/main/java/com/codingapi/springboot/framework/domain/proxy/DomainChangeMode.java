@@ -0,0 +1,23 @@
+package com.codingapi.springboot.framework.domain.proxy;
+
+/**
+ * 实体字段变更事件的推送模式
+ */
+public enum DomainChangeMode {
+
+    /**
+     * 每个变更字段推送一个 DomainChangeEvent
+     */
+    FIELD,
+
+    /**
+     * 一次调用的全部变更合并推送一个 DomainChangeBatchEvent
+     */
+    BATCH,
+
+    /**
+     * 同时推送 DomainChangeBatchEvent 与每个字段的 DomainChangeEvent
+     */
+    ALL
+
+}
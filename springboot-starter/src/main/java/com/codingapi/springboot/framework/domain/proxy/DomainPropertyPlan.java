@@ -0,0 +1,189 @@
+package com.codingapi.springboot.framework.domain.proxy;
+
+import org.springframework.beans.BeanUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 实体属性读取与对比计划
+ * <p>
+ * 每个类型只解析一次属性描述,并通过 LambdaMetafactory 生成属性读取函数,
+ * 快照采用数组保存属性值,嵌套对象保存为嵌套快照,对比时不再使用反射与Map。
+ */
+class DomainPropertyPlan {
+
+    private final static ClassValue<DomainPropertyPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected DomainPropertyPlan computeValue(Class<?> type) {
+            return new DomainPropertyPlan(type);
+        }
+    };
+
+    private final String[] names;
+    private final Function<Object, Object>[] getters;
+    private final Map<Method, Integer> writeMethods;
+
+    @SuppressWarnings("unchecked")
+    private DomainPropertyPlan(Class<?> type) {
+        List<String> names = new ArrayList<>();
+        List<Function<Object, Object>> getters = new ArrayList<>();
+        Map<Method, Integer> writeMethods = new HashMap<>();
+        for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(type)) {
+            Method readMethod = descriptor.getReadMethod();
+            // class 属性不会变化
+            if (readMethod == null || "class".equals(descriptor.getName())) {
+                continue;
+            }
+            if (descriptor.getWriteMethod() != null) {
+                writeMethods.put(descriptor.getWriteMethod(), names.size());
+            }
+            names.add(descriptor.getName());
+            getters.add(createGetter(type, readMethod));
+        }
+        this.names = names.toArray(new String[0]);
+        this.getters = getters.toArray(new Function[0]);
+        this.writeMethods = writeMethods;
+    }
+
+    /**
+     * 获取类型的属性计划
+     */
+    static DomainPropertyPlan of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    /**
+     * 生成属性读取函数,无法生成时退化为反射读取
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> createGetter(Class<?> type, Method readMethod) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            MethodHandle handle = lookup.unreflect(readMethod);
+            CallSite site = LambdaMetafactory.metafactory(lookup,
+                    "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    handle.type().wrap());
+            return (Function<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            if (!Modifier.isPublic(readMethod.getDeclaringClass().getModifiers())) {
+                readMethod.trySetAccessible();
+            }
+            return target -> {
+                try {
+                    return readMethod.invoke(target);
+                } catch (ReflectiveOperationException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            };
+        }
+    }
+
+    static boolean isPrimitive(Object obj) {
+        return obj instanceof String || obj instanceof Integer || obj instanceof Long
+                || obj instanceof Double || obj instanceof Float || obj instanceof Boolean
+                || obj instanceof Short || obj instanceof Byte || obj instanceof Character
+                || obj instanceof Enum || obj instanceof Class;
+    }
+
+    int size() {
+        return names.length;
+    }
+
+    String getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * 获取setter方法对应的属性下标
+     * @param method 方法
+     * @return 属性下标,不是setter方法时返回-1
+     */
+    int indexOfWriteMethod(Method method) {
+        Integer index = writeMethods.get(method);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * 读取属性快照值
+     * 基础类型直接保存,对象类型保存为嵌套快照
+     */
+    Object snapshotValue(Object target, int index) {
+        return toSnapshot(getters[index].apply(target));
+    }
+
+    /**
+     * 读取全部属性快照
+     */
+    Object[] snapshot(Object target) {
+        Object[] values = new Object[names.length];
+        for (int i = 0; i < names.length; i++) {
+            values[i] = snapshotValue(target, i);
+        }
+        return values;
+    }
+
+    private static Object toSnapshot(Object value) {
+        if (value == null || isPrimitive(value)) {
+            return value;
+        }
+        DomainPropertyPlan plan = of(value.getClass());
+        return new Snapshot(plan, plan.snapshot(value));
+    }
+
+    /**
+     * 导出快照值,嵌套快照导出为Map
+     */
+    static Object export(Object value) {
+        if (value instanceof Snapshot snapshot) {
+            return snapshot.toMap();
+        }
+        return value;
+    }
+
+
+    /**
+     * 嵌套对象快照
+     */
+    static class Snapshot {
+
+        final DomainPropertyPlan plan;
+        final Object[] values;
+
+        private Snapshot(DomainPropertyPlan plan, Object[] values) {
+            this.plan = plan;
+            this.values = values;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new HashMap<>();
+            for (int i = 0; i < values.length; i++) {
+                map.put(plan.names[i], export(values[i]));
+            }
+            return map;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Snapshot other)) {
+                return false;
+            }
+            return plan == other.plan && Arrays.equals(values, other.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(values);
+        }
+    }
+}
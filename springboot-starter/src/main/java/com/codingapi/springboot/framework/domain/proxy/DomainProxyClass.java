@@ -0,0 +1,83 @@
+package com.codingapi.springboot.framework.domain.proxy;
+
+import org.springframework.cglib.proxy.*;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 实体代理类缓存
+ * <p>
+ * 每个实体类型只生成一次代理类,并缓存代理类的构造函数。
+ * 无参方法(getter)与Object方法不进入拦截器,直接调用实体方法。
+ */
+class DomainProxyClass {
+
+    private final static ClassValue<DomainProxyClass> PROXY_CLASSES = new ClassValue<>() {
+        @Override
+        protected DomainProxyClass computeValue(Class<?> type) {
+            return new DomainProxyClass(type);
+        }
+    };
+
+    private final static int INTERCEPTOR = 0;
+    private final static int NO_OP = 1;
+
+    /**
+     * 单例的过滤器,保证cglib的代理类缓存可以命中
+     */
+    private final static CallbackFilter CALLBACK_FILTER = new CallbackFilter() {
+        @Override
+        public int accept(Method method) {
+            if (method.getParameterCount() == 0 || method.getDeclaringClass() == Object.class) {
+                return NO_OP;
+            }
+            return INTERCEPTOR;
+        }
+    };
+
+    private final Class<?> proxyClass;
+    private final Map<List<Class<?>>, Constructor<?>> constructors = new ConcurrentHashMap<>();
+
+    private DomainProxyClass(Class<?> targetClass) {
+        Enhancer enhancer = new Enhancer();
+        enhancer.setSuperclass(targetClass);
+        enhancer.setCallbackFilter(CALLBACK_FILTER);
+        enhancer.setCallbackTypes(new Class[]{MethodInterceptor.class, NoOp.class});
+        this.proxyClass = enhancer.createClass();
+    }
+
+    static DomainProxyClass of(Class<?> targetClass) {
+        return PROXY_CLASSES.get(targetClass);
+    }
+
+    /**
+     * 创建代理对象
+     * @param interceptor 拦截器
+     * @param parameterTypes 构造函数参数类型
+     * @param args 构造函数参数
+     * @return 代理对象
+     */
+    Object newInstance(MethodInterceptor interceptor, Class<?>[] parameterTypes, Object[] args) {
+        Constructor<?> constructor = constructors.computeIfAbsent(Arrays.asList(parameterTypes), key -> {
+            try {
+                return proxyClass.getConstructor(parameterTypes);
+            } catch (NoSuchMethodException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        Enhancer.registerCallbacks(proxyClass, new Callback[]{interceptor, NoOp.INSTANCE});
+        try {
+            return constructor.newInstance(args);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new RuntimeException(e);
+        } finally {
+            Enhancer.registerCallbacks(proxyClass, null);
+        }
+    }
+}
@@ -7,15 +7,25 @@ import org.springframework.core.ResolvableType;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 class ApplicationHandlerUtils implements IHandler<IEvent> {
 
     private static ApplicationHandlerUtils instance;
-    private final List<IHandler<IEvent>> handlers;
+    private final List<HandlerDefinition> handlers;
+
+    /**
+     * 事件分发索引 key:事件类型 value:排序后的handler
+     * 在添加handler时整体替换,避免与正在计算的索引产生竞争
+     */
+    private volatile Map<Class<?>, List<HandlerDefinition>> dispatchTable;
 
 
     private ApplicationHandlerUtils() {
-        this.handlers = new ArrayList<>();
+        this.handlers = new CopyOnWriteArrayList<>();
+        this.dispatchTable = new ConcurrentHashMap<>();
     }
 
     public static ApplicationHandlerUtils getInstance() {
@@ -36,9 +46,10 @@ class ApplicationHandlerUtils implements IHandler<IEvent> {
     }
 
 
-    public void addHandler(IHandler handler) {
+    public synchronized void addHandler(IHandler handler) {
         if (handler != null) {
-            handlers.add(handler);
+            handlers.add(new HandlerDefinition(handler, getHandlerEventClass(handler)));
+            this.dispatchTable = new ConcurrentHashMap<>();
         }
     }
 
@@ -47,22 +58,34 @@ class ApplicationHandlerUtils implements IHandler<IEvent> {
      */
     private Class<?> getHandlerEventClass(IHandler<?> handler) {
         ResolvableType resolvableType = ResolvableType.forClass(handler.getClass()).as(IHandler.class);
-        return resolvableType.getGeneric(0).resolve();
+        Class<?> eventClass = resolvableType.getGeneric(0).resolve();
+        return eventClass != null ? eventClass : IEvent.class;
+    }
+
+    /**
+     * 获取事件匹配的handler,匹配结果按事件类型缓存
+     */
+    private List<HandlerDefinition> getMatchHandlers(Class<?> eventClass) {
+        Map<Class<?>, List<HandlerDefinition>> table = this.dispatchTable;
+        List<HandlerDefinition> matchHandlers = table.get(eventClass);
+        if (matchHandlers != null) {
+            HandlerMetricContext.getInstance().hit();
+            return matchHandlers;
+        }
+        HandlerMetricContext.getInstance().miss();
+        matchHandlers = handlers
+                .stream()
+                .filter(definition -> definition.eventClass.isAssignableFrom(eventClass))
+                .sorted(Comparator.comparingInt(definition -> definition.handler.order()))
+                .toList();
+        table.put(eventClass, matchHandlers);
+        return matchHandlers;
     }
 
 
     @Override
     public void handler(IEvent event) {
-        Class<?> eventClass = event.getClass();
-
-        List<IHandler<IEvent>> matchHandlers = handlers
-                .stream()
-                .filter(handler -> {
-                    Class<?> targetClass = getHandlerEventClass(handler);
-                    return targetClass.isAssignableFrom(eventClass);
-                })
-                .sorted(Comparator.comparingInt(IHandler::order))
-                .toList();
+        List<HandlerDefinition> matchHandlers = getMatchHandlers(event.getClass());
 
         if (matchHandlers.isEmpty()) {
             return;
@@ -70,10 +93,14 @@ class ApplicationHandlerUtils implements IHandler<IEvent> {
 
         List<Exception> errorStack = new ArrayList<>();
         boolean hasThrowException = false;
-        for (IHandler<IEvent> handler : matchHandlers) {
+        for (HandlerDefinition definition : matchHandlers) {
+            IHandler<IEvent> handler = definition.handler;
+            long start = System.nanoTime();
+            boolean error = false;
             try {
                 handler.handler(event);
             } catch (Exception e) {
+                error = true;
                 if (e instanceof EventLoopException) {
                     throw e;
                 }
@@ -84,6 +111,8 @@ class ApplicationHandlerUtils implements IHandler<IEvent> {
                     hasThrowException = true;
                     errorStack.add(err);
                 }
+            } finally {
+                definition.metric.record(System.nanoTime() - start, error);
             }
         }
         if (hasThrowException) {
@@ -92,4 +121,21 @@ class ApplicationHandlerUtils implements IHandler<IEvent> {
     }
 
 
+    /**
+     * handler注册信息,订阅的事件类型在注册时解析
+     */
+    private static class HandlerDefinition {
+
+        private final IHandler<IEvent> handler;
+        private final Class<?> eventClass;
+        private final HandlerMetric metric;
+
+        @SuppressWarnings("unchecked")
+        private HandlerDefinition(IHandler handler, Class<?> eventClass) {
+            this.handler = handler;
+            this.eventClass = eventClass;
+            this.metric = HandlerMetricContext.getInstance().getOrCreate(handler.getClass());
+        }
+    }
+
 }
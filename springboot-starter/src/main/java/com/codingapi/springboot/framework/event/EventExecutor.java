@@ -0,0 +1,25 @@
+package com.codingapi.springboot.framework.event;
+
+/**
+ * 异步事件执行策略
+ * 可通过注册 EventExecutor 类型的Bean替换默认的执行策略
+ *
+ * @see EventExecutors
+ */
+public interface EventExecutor {
+
+    /**
+     * 执行异步事件
+     *
+     * @param event 事件
+     * @param task  事件处理任务
+     */
+    void execute(IEvent event, Runnable task);
+
+    /**
+     * 关闭执行策略持有的线程池
+     */
+    default void shutdown() {
+    }
+
+}
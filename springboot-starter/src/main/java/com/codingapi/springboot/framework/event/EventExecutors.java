@@ -0,0 +1,194 @@
+package com.codingapi.springboot.framework.event;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * 异步事件执行策略工厂
+ * <p>
+ * 可通过系统参数配置默认的执行策略:
+ * Handler.Executor       执行策略 fixed(默认) bounded virtual
+ * Handler.ThreadPools    线程数,默认10
+ * Handler.QueueSize      bounded策略的队列长度,默认1000
+ * Handler.RejectPolicy   bounded策略的拒绝策略 caller(默认,由推送线程执行) abort(抛出异常)
+ * Handler.Ordered        是否保证同一事件类型的执行顺序,默认false
+ */
+@Slf4j
+public class EventExecutors {
+
+    public final static String EXECUTOR_KEY = "Handler.Executor";
+    public final static String THREAD_KEY = "Handler.ThreadPools";
+    public final static String QUEUE_SIZE_KEY = "Handler.QueueSize";
+    public final static String REJECT_POLICY_KEY = "Handler.RejectPolicy";
+    public final static String ORDERED_KEY = "Handler.Ordered";
+
+    /**
+     * 固定线程池执行
+     *
+     * @param threads 线程数
+     */
+    public static EventExecutor fixed(int threads) {
+        return new ExecutorServiceEventExecutor(Executors.newFixedThreadPool(threads, threadFactory()));
+    }
+
+    /**
+     * 有界线程池执行,队列满时按拒绝策略处理
+     *
+     * @param threads           线程数
+     * @param queueSize         队列长度
+     * @param callerRunsOnReject true 队列满时由推送线程执行, false 队列满时抛出 RejectedExecutionException
+     */
+    public static EventExecutor bounded(int threads, int queueSize, boolean callerRunsOnReject) {
+        RejectedExecutionHandler rejectedHandler = callerRunsOnReject
+                ? new ThreadPoolExecutor.CallerRunsPolicy()
+                : new ThreadPoolExecutor.AbortPolicy();
+        ExecutorService executorService = new ThreadPoolExecutor(threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                threadFactory(),
+                rejectedHandler);
+        return new ExecutorServiceEventExecutor(executorService);
+    }
+
+    /**
+     * 每个事件一个虚拟线程执行
+     * 虚拟线程需要JDK21及以上版本,低版本JDK下退化为固定线程池执行
+     *
+     * @param fallbackThreads 退化时的线程数
+     */
+    public static EventExecutor virtual(int fallbackThreads) {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return new ExecutorServiceEventExecutor((ExecutorService) method.invoke(null));
+        } catch (ReflectiveOperationException e) {
+            log.warn("virtual thread is not supported on this jdk, fallback to fixed thread pool.");
+            return fixed(fallbackThreads);
+        }
+    }
+
+    /**
+     * 保证同一事件类型按推送顺序执行,不同事件类型之间并行执行
+     *
+     * @param delegate 实际执行策略
+     */
+    public static EventExecutor ordered(EventExecutor delegate) {
+        return new OrderedEventExecutor(delegate);
+    }
+
+    /**
+     * 根据系统参数创建执行策略
+     */
+    public static EventExecutor fromSystemProperties() {
+        int threads = Integer.parseInt(System.getProperty(THREAD_KEY, "10"));
+        String type = System.getProperty(EXECUTOR_KEY, "fixed");
+        EventExecutor executor = switch (type) {
+            case "bounded" -> bounded(threads,
+                    Integer.parseInt(System.getProperty(QUEUE_SIZE_KEY, "1000")),
+                    !"abort".equals(System.getProperty(REJECT_POLICY_KEY, "caller")));
+            case "virtual" -> virtual(threads);
+            default -> fixed(threads);
+        };
+        if (Boolean.parseBoolean(System.getProperty(ORDERED_KEY, "false"))) {
+            return ordered(executor);
+        }
+        return executor;
+    }
+
+    private static ThreadFactory threadFactory() {
+        ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+        return runnable -> {
+            Thread thread = defaultFactory.newThread(runnable);
+            thread.setName("event-handler-" + thread.getName());
+            return thread;
+        };
+    }
+
+    private record ExecutorServiceEventExecutor(ExecutorService executorService) implements EventExecutor {
+
+        @Override
+        public void execute(IEvent event, Runnable task) {
+            executorService.execute(task);
+        }
+
+        @Override
+        public void shutdown() {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * 按事件类型串行执行
+     * 每个事件类型维护一个执行队列,同一时刻同一事件类型最多只有一个任务在delegate中执行
+     */
+    private static class OrderedEventExecutor implements EventExecutor {
+
+        private final EventExecutor delegate;
+        private final Map<Class<?>, SerialQueue> queues = new ConcurrentHashMap<>();
+
+        private OrderedEventExecutor(EventExecutor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(IEvent event, Runnable task) {
+            queues.computeIfAbsent(event.getClass(), key -> new SerialQueue(event)).add(task);
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        private class SerialQueue {
+
+            private final IEvent event;
+            private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+            private boolean running = false;
+
+            private SerialQueue(IEvent event) {
+                this.event = event;
+            }
+
+            private void add(Runnable task) {
+                tasks.add(task);
+                synchronized (this) {
+                    if (running) {
+                        return;
+                    }
+                    running = true;
+                }
+                try {
+                    delegate.execute(event, this::drain);
+                } catch (RuntimeException e) {
+                    // 拒绝执行时其他线程可能已经加入了任务,由当前线程执行完队列中的任务后再抛出异常
+                    tasks.remove(task);
+                    drain();
+                    throw e;
+                }
+            }
+
+            private void drain() {
+                while (true) {
+                    Runnable task = tasks.poll();
+                    if (task == null) {
+                        synchronized (this) {
+                            if (tasks.isEmpty()) {
+                                running = false;
+                                return;
+                            }
+                        }
+                        continue;
+                    }
+                    try {
+                        task.run();
+                    } catch (Exception e) {
+                        log.error("ordered event task error", e);
+                    }
+                }
+            }
+        }
+    }
+}
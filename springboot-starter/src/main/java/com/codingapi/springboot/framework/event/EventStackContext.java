@@ -2,18 +2,37 @@ package com.codingapi.springboot.framework.event;
 
 import lombok.Getter;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 事件栈上下文
+ * <p>
+ * 每个trace对应一个事件栈,事件执行完成后移除。
+ * 对于未能正常结束的trace(例如异步任务被拒绝),通过过期时间与最大数量进行回收,避免内存泄漏。
+ * 可通过系统参数调整:
+ * Handler.TraceTTL   trace的最大存活时间(毫秒),默认60000
+ * Handler.MaxTraces  最多保留的trace数量,默认100000
  */
 public class EventStackContext {
 
-    private final Map<String, List<Class<?>>> eventClassStack = new HashMap<>();
-    private final Map<String, List<IEvent>> eventStack = new HashMap<>();
+    public final static String TRACE_TTL_KEY = "Handler.TraceTTL";
+    public final static String MAX_TRACES_KEY = "Handler.MaxTraces";
+
+    /**
+     * 每创建多少个trace检查一次过期数据
+     */
+    private final static int PURGE_INTERVAL = 1024;
+
+    private final Map<String, EventStack> stacks = new ConcurrentHashMap<>();
+
+    private final long traceTTL = Long.parseLong(System.getProperty(TRACE_TTL_KEY, "60000"));
+    private final int maxTraces = Integer.parseInt(System.getProperty(MAX_TRACES_KEY, "100000"));
+
+    private final AtomicInteger createCount = new AtomicInteger(0);
+    private final AtomicBoolean purging = new AtomicBoolean(false);
 
     @Getter
     private final static EventStackContext instance = new EventStackContext();
@@ -22,59 +41,108 @@ public class EventStackContext {
 
     }
 
-    private void addEventClass(String traceId, IEvent event) {
-        List<Class<?>> events = eventClassStack.get(traceId);
-        if (events == null) {
-            events = new ArrayList<>();
-        }
-        events.add(event.getClass());
-        eventClassStack.put(traceId, events);
-    }
-
-    private void addEventStack(String traceId, IEvent event) {
-        List<IEvent> events = eventStack.get(traceId);
-        if (events == null) {
-            events = new ArrayList<>();
-        }
-        events.add(event);
-        eventStack.put(traceId, events);
-    }
-
-
     void addEvent(String traceId, IEvent event) {
-        addEventClass(traceId, event);
-        addEventStack(traceId, event);
+        EventStack stack = stacks.get(traceId);
+        if (stack == null) {
+            stack = stacks.computeIfAbsent(traceId, key -> new EventStack());
+            if (createCount.incrementAndGet() % PURGE_INTERVAL == 0 || stacks.size() > maxTraces) {
+                purge();
+            }
+        }
+        stack.add(event);
     }
 
     boolean checkEventLoop(String traceId, IEvent event) {
-        List<Class<?>> events = eventClassStack.get(traceId);
-        if (events != null) {
-            return events.contains(event.getClass());
+        EventStack stack = stacks.get(traceId);
+        if (stack != null) {
+            return stack.contains(event.getClass());
         }
         return false;
     }
 
     public List<IEvent> getEvents(String eventKey) {
-        if(eventKey!=null) {
-            String traceId = eventKey.split("#")[0];
-            return eventStack.get(traceId);
-        }
-        return null;
+        EventStack stack = getStack(eventKey);
+        return stack != null ? stack.getEvents() : null;
     }
 
     public List<Class<?>> getEventClasses(String eventKey) {
-        if(eventKey!=null) {
-            String traceId = eventKey.split("#")[0];
-            return eventClassStack.get(traceId);
+        EventStack stack = getStack(eventKey);
+        return stack != null ? stack.getEventClasses() : null;
+    }
+
+    /**
+     * 当前保留的trace数量
+     */
+    public int size() {
+        return stacks.size();
+    }
+
+    private EventStack getStack(String eventKey) {
+        if (eventKey != null) {
+            return stacks.get(EventTraceContext.getTraceId(eventKey));
         }
         return null;
     }
 
 
     void remove(String traceId) {
-        eventStack.remove(traceId);
-        eventClassStack.remove(traceId);
+        stacks.remove(traceId);
+    }
+
+    /**
+     * 回收过期的trace,超过最大数量时按创建时间淘汰最早的trace
+     */
+    void purge() {
+        if (!purging.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long expireTime = System.currentTimeMillis() - traceTTL;
+            stacks.values().removeIf(stack -> stack.createTime < expireTime);
+
+            int overflow = stacks.size() - maxTraces;
+            if (overflow > 0) {
+                stacks.entrySet()
+                        .stream()
+                        .sorted(Comparator.comparingLong(entry -> entry.getValue().createTime))
+                        .limit(overflow)
+                        .map(Map.Entry::getKey)
+                        .toList()
+                        .forEach(stacks::remove);
+            }
+        } finally {
+            purging.set(false);
+        }
     }
 
 
+    /**
+     * 单个trace的事件栈
+     */
+    private static class EventStack {
+
+        private final long createTime = System.currentTimeMillis();
+        private final Set<Class<?>> classSet = ConcurrentHashMap.newKeySet();
+        private final List<Class<?>> eventClasses = Collections.synchronizedList(new ArrayList<>());
+        private final List<IEvent> events = Collections.synchronizedList(new ArrayList<>());
+
+        private void add(IEvent event) {
+            classSet.add(event.getClass());
+            eventClasses.add(event.getClass());
+            events.add(event);
+        }
+
+        private boolean contains(Class<?> eventClass) {
+            return classSet.contains(eventClass);
+        }
+
+        private List<Class<?>> getEventClasses() {
+            return eventClasses;
+        }
+
+        private List<IEvent> getEvents() {
+            return events;
+        }
+    }
+
 }
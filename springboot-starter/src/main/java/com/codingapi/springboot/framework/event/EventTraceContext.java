@@ -1,10 +1,11 @@
 package com.codingapi.springboot.framework.event;
 
 import com.codingapi.springboot.framework.exception.EventLoopException;
-import com.codingapi.springboot.framework.utils.RandomGenerator;
 import lombok.Getter;
 
-import java.util.*;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 事件跟踪上下文
@@ -14,27 +15,39 @@ public class EventTraceContext {
     @Getter
     private final static EventTraceContext instance = new EventTraceContext();
 
-    // trace key
-    private final Set<String> traceKeys = new HashSet<>();
+    private final static char SEPARATOR = '#';
 
     // thread local
-    private final ThreadLocal<String> threadLocal = new ThreadLocal<>();
+    private final ThreadLocal<EventKey> threadLocal = new ThreadLocal<>();
 
-    // event listenerKey state
-    private final Map<String, Boolean> eventKeyState = new HashMap<>();
+    // trace id 前缀,区分不同的JVM实例
+    private final String tracePrefix = Long.toHexString(ThreadLocalRandom.current().nextLong() & 0xffffffffL);
+
+    // trace id 序列
+    private final AtomicLong traceSequence = new AtomicLong(0);
+
+    // event key 序列
+    private final AtomicLong eventSequence = new AtomicLong(0);
 
 
     private EventTraceContext() {
     }
 
+    /**
+     * 从eventKey中读取traceId
+     * traceId = eventKey.split("#")[0]
+     */
+    static String getTraceId(String eventKey) {
+        int index = eventKey.indexOf(SEPARATOR);
+        return index < 0 ? eventKey : eventKey.substring(0, index);
+    }
+
     String getOrCreateTrace() {
-        String eventKey = threadLocal.get();
+        EventKey eventKey = threadLocal.get();
         if (eventKey != null) {
-            return eventKey.split("#")[0];
+            return eventKey.traceId;
         }
-        String traceId = UUID.randomUUID().toString().replaceAll("-", "");
-        traceKeys.add(traceId);
-        return traceId;
+        return tracePrefix + Long.toHexString(traceSequence.incrementAndGet());
     }
 
     /**
@@ -42,7 +55,8 @@ public class EventTraceContext {
      * traceId = eventKey.split("#")[0]
      */
     public String getEventKey() {
-        return threadLocal.get();
+        EventKey eventKey = threadLocal.get();
+        return eventKey != null ? eventKey.key : null;
     }
 
     /**
@@ -50,25 +64,18 @@ public class EventTraceContext {
      * @param traceId traceId
      */
     void createEventKey(String traceId) {
-        String eventKey = traceId + "#" + RandomGenerator.randomString(8);
-        eventKeyState.put(eventKey, false);
-        threadLocal.set(eventKey);
+        String key = traceId + SEPARATOR + Long.toHexString(eventSequence.incrementAndGet());
+        threadLocal.set(new EventKey(traceId, key));
     }
 
     /**
      * check event state
      */
     void checkEventState() {
-        String eventKey = threadLocal.get();
+        EventKey eventKey = threadLocal.get();
         if (eventKey != null) {
-            boolean state = eventKeyState.get(eventKey);
-            if (!state) {
-                // event execute finish
-                String traceId = eventKey.split("#")[0];
-                traceKeys.remove(traceId);
-                EventStackContext.getInstance().remove(traceId);
-            }
-            eventKeyState.remove(eventKey);
+            // event execute finish
+            EventStackContext.getInstance().remove(eventKey.traceId);
         }
         threadLocal.remove();
     }
@@ -82,9 +89,7 @@ public class EventTraceContext {
         boolean hasEventLoop = EventStackContext.getInstance().checkEventLoop(traceId, event);
         if (hasEventLoop) {
             List<Class<?>> stack = EventStackContext.getInstance().getEventClasses(traceId);
-            traceKeys.remove(traceId);
             EventStackContext.getInstance().remove(traceId);
-            eventKeyState.remove(traceId);
             threadLocal.remove();
             throw new EventLoopException(stack, event);
         }
@@ -95,13 +100,22 @@ public class EventTraceContext {
      * clear trace
      */
     public void clearTrace() {
-        String eventKey = threadLocal.get();
+        EventKey eventKey = threadLocal.get();
         if (eventKey != null) {
-            String traceId = eventKey.split("#")[0];
-            traceKeys.remove(traceId);
-            EventStackContext.getInstance().remove(traceId);
-            eventKeyState.remove(eventKey);
+            EventStackContext.getInstance().remove(eventKey.traceId);
             threadLocal.remove();
         }
     }
+
+
+    private static class EventKey {
+
+        private final String traceId;
+        private final String key;
+
+        private EventKey(String traceId, String key) {
+            this.traceId = traceId;
+            this.key = key;
+        }
+    }
 }
@@ -0,0 +1,83 @@
+package com.codingapi.springboot.framework.event;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个handler的执行统计
+ */
+public class HandlerMetric {
+
+    /**
+     * handler类型
+     */
+    private final Class<?> handlerClass;
+
+    // 执行次数
+    private final LongAdder count = new LongAdder();
+    // 异常次数
+    private final LongAdder errorCount = new LongAdder();
+    // 累计耗时(纳秒)
+    private final LongAdder totalNanos = new LongAdder();
+    // 最大耗时(纳秒)
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+    HandlerMetric(Class<?> handlerClass) {
+        this.handlerClass = handlerClass;
+    }
+
+    void record(long nanos, boolean error) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        if (error) {
+            errorCount.increment();
+        }
+    }
+
+    public Class<?> getHandlerClass() {
+        return handlerClass;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * 平均耗时(纳秒)
+     */
+    public long getAvgNanos() {
+        long count = getCount();
+        return count == 0 ? 0 : getTotalNanos() / count;
+    }
+
+    void reset() {
+        count.reset();
+        errorCount.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "HandlerMetric{" +
+                "handlerClass=" + handlerClass.getName() +
+                ", count=" + getCount() +
+                ", errorCount=" + getErrorCount() +
+                ", avgNanos=" + getAvgNanos() +
+                ", maxNanos=" + getMaxNanos() +
+                '}';
+    }
+}
@@ -0,0 +1,70 @@
+package com.codingapi.springboot.framework.event;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 事件分发统计上下文
+ * 记录handler分发索引的命中情况以及每个handler的执行耗时
+ */
+public class HandlerMetricContext {
+
+    @Getter
+    private final static HandlerMetricContext instance = new HandlerMetricContext();
+
+    // 分发索引命中次数
+    private final LongAdder hitCount = new LongAdder();
+    // 分发索引未命中次数
+    private final LongAdder missCount = new LongAdder();
+
+    private final Map<Class<?>, HandlerMetric> handlerMetrics = new ConcurrentHashMap<>();
+
+    private HandlerMetricContext() {
+    }
+
+    void hit() {
+        hitCount.increment();
+    }
+
+    void miss() {
+        missCount.increment();
+    }
+
+    HandlerMetric getOrCreate(Class<?> handlerClass) {
+        return handlerMetrics.computeIfAbsent(handlerClass, HandlerMetric::new);
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 获取handler的执行统计
+     * @param handlerClass handler类型
+     * @return 统计信息,未执行过时返回null
+     */
+    public HandlerMetric getHandlerMetric(Class<?> handlerClass) {
+        return handlerMetrics.get(handlerClass);
+    }
+
+    public Collection<HandlerMetric> getHandlerMetrics() {
+        return handlerMetrics.values();
+    }
+
+    /**
+     * 重置统计数据
+     */
+    public void reset() {
+        hitCount.reset();
+        missCount.reset();
+        handlerMetrics.values().forEach(HandlerMetric::reset);
+    }
+}
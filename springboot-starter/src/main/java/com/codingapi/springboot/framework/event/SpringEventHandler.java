@@ -4,11 +4,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationListener;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
- * handler订阅的Spring触发器,在异步的情况下可配置多线程。
+ * handler订阅的Spring触发器,异步事件的执行策略可通过 {@link EventExecutor} 配置。
  */
 @Slf4j
 public class SpringEventHandler implements ApplicationListener<DomainEvent> {
@@ -17,34 +15,36 @@ public class SpringEventHandler implements ApplicationListener<DomainEvent> {
      * 异步多线程的KEY
      * 可通过 System.setProperty(THREAD_KEY,"20") 调整线程数
      */
-    public final static String THREAD_KEY = "Handler.ThreadPools";
+    public final static String THREAD_KEY = EventExecutors.THREAD_KEY;
 
-    private final ExecutorService executorService = Executors.newFixedThreadPool(Integer.parseInt(System.getProperty(THREAD_KEY, "10")));
+    private final EventExecutor eventExecutor;
 
     public SpringEventHandler(List<IHandler> handlers) {
+        this(handlers, EventExecutors.fromSystemProperties());
+    }
+
+    public SpringEventHandler(List<IHandler> handlers, EventExecutor eventExecutor) {
+        this.eventExecutor = eventExecutor;
         ApplicationHandlerUtils.getInstance().addHandlers(handlers);
     }
 
     @Override
-    public synchronized void onApplicationEvent(DomainEvent domainEvent) {
+    public void onApplicationEvent(DomainEvent domainEvent) {
         String traceId = domainEvent.getTraceId();
 
         if (domainEvent.isSync()) {
-            try {
-                EventTraceContext.getInstance().createEventKey(traceId);
-                ApplicationHandlerUtils.getInstance().handler(domainEvent.getEvent());
-            } finally {
-                EventTraceContext.getInstance().checkEventState();
-            }
+            this.handler(traceId, domainEvent.getEvent());
         } else {
-            executorService.execute(() -> {
-                try {
-                    EventTraceContext.getInstance().createEventKey(traceId);
-                    ApplicationHandlerUtils.getInstance().handler(domainEvent.getEvent());
-                } finally {
-                    EventTraceContext.getInstance().checkEventState();
-                }
-            });
+            eventExecutor.execute(domainEvent.getEvent(), () -> this.handler(traceId, domainEvent.getEvent()));
+        }
+    }
+
+    private void handler(String traceId, IEvent event) {
+        try {
+            EventTraceContext.getInstance().createEventKey(traceId);
+            ApplicationHandlerUtils.getInstance().handler(event);
+        } finally {
+            EventTraceContext.getInstance().checkEventState();
         }
     }
 
@@ -10,8 +10,12 @@ import java.util.List;
 public class SpringHandlerConfiguration {
 
     @Bean
-    public SpringEventHandler springEventHandler(@Autowired(required = false) List<IHandler> handlers) {
-        return new SpringEventHandler(handlers);
+    public SpringEventHandler springEventHandler(@Autowired(required = false) List<IHandler> handlers,
+                                                 @Autowired(required = false) EventExecutor eventExecutor) {
+        if (eventExecutor == null) {
+            eventExecutor = EventExecutors.fromSystemProperties();
+        }
+        return new SpringEventHandler(handlers, eventExecutor);
     }
 
 }
@@ -3,10 +3,10 @@ package com.codingapi.springboot.framework.trigger;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.ParameterizedType;
-import java.util.List;
+import java.util.Collection;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 /**
@@ -15,6 +15,8 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * 两者的差异在于，Event是确定了消息而不确定订阅方，而Trigger则是确定了订阅再等待消息触发。
  *
  * Trigger模式可以控制触发的规则,例如是否进入触发器,触发器是否在触发以后删除。
+ *
+ * 订阅的Trigger类型在添加触发器时解析,触发器按添加顺序保存,删除触发器不需要复制整个列表。
  */
 @SuppressWarnings("all")
 @Slf4j
@@ -26,11 +28,24 @@ public class TriggerContext{
 
     private final static TriggerContext instance = new TriggerContext();
 
+    /**
+     * key:Trigger类型 value:按添加顺序排序的触发器
+     */
+    private final Map<Class<? extends Trigger>,ConcurrentSkipListMap<Long,TriggerHandler>> triggers;
+
+    private final Map<Class<? extends Trigger>,TriggerMetric> metrics;
+
+    // 触发器添加序列
+    private final AtomicLong sequence;
 
-    private final Map<Class<? extends Trigger>,List<TriggerHandler>> triggers;
+    // 异步触发的执行器
+    private volatile Executor executor;
 
     private TriggerContext(){
         this.triggers = new ConcurrentHashMap<>();
+        this.metrics = new ConcurrentHashMap<>();
+        this.sequence = new AtomicLong(0);
+        this.executor = ForkJoinPool.commonPool();
     }
 
     /**
@@ -39,12 +54,8 @@ public class TriggerContext{
      */
     public void addTrigger(TriggerHandler handler){
         Class<? extends Trigger> clazz = getTriggerClass(handler.getClass());
-        List<TriggerHandler> triggerList =  this.triggers.get(clazz);
-        if(triggerList==null){
-            triggerList = new CopyOnWriteArrayList<>();
-            this.triggers.put(clazz,triggerList);
-        }
-        triggerList.add(handler);
+        this.triggers.computeIfAbsent(clazz, key -> new ConcurrentSkipListMap<>())
+                .put(sequence.incrementAndGet(), handler);
     }
 
 
@@ -70,33 +81,103 @@ public class TriggerContext{
      */
     public void trigger(Trigger trigger){
         Class<? extends Trigger> clazz = trigger.getClass();
-        List<TriggerHandler> triggerHandlerList = triggers.get(clazz);
-        if(triggerHandlerList!=null) {
-            for (TriggerHandler handler : triggerHandlerList) {
-                Class<? extends Trigger> triggerClass = getTriggerClass(handler.getClass());
-                if (triggerClass.equals(clazz)) {
-                    try {
-                        boolean canTrigger = handler.preTrigger(trigger);
-                        if (canTrigger) {
-                            handler.trigger(trigger);
-                        }
-                        if (handler.remove(trigger, canTrigger)) {
-                            triggerHandlerList.remove(handler);
-                        }
-                    } catch (Exception e) {
-                        log.warn("trigger error", e);
+        Map<Long,TriggerHandler> triggerHandlers = triggers.get(clazz);
+        TriggerMetric metric = getOrCreateMetric(clazz);
+        metric.fire();
+        if(triggerHandlers!=null) {
+            for (Map.Entry<Long,TriggerHandler> entry : triggerHandlers.entrySet()) {
+                TriggerHandler handler = entry.getValue();
+                long start = System.nanoTime();
+                boolean canTrigger = false;
+                boolean remove = false;
+                boolean error = false;
+                try {
+                    canTrigger = handler.preTrigger(trigger);
+                    if (canTrigger) {
+                        handler.trigger(trigger);
+                    }
+                    if (handler.remove(trigger, canTrigger)) {
+                        remove = triggerHandlers.remove(entry.getKey()) != null;
                     }
+                } catch (Exception e) {
+                    error = true;
+                    log.warn("trigger error", e);
+                } finally {
+                    metric.record(System.nanoTime() - start, canTrigger, remove, error);
                 }
             }
         }
     }
 
+    /**
+     * 批量执行触发,按顺序依次触发
+     * @param triggers trigger触发
+     */
+    public void trigger(Collection<? extends Trigger> triggers){
+        for (Trigger trigger : triggers) {
+            this.trigger(trigger);
+        }
+    }
+
+    /**
+     * 异步执行触发
+     * @param trigger trigger触发
+     * @return 触发完成的Future
+     */
+    public CompletableFuture<Void> triggerAsync(Trigger trigger){
+        return CompletableFuture.runAsync(() -> this.trigger(trigger), executor);
+    }
+
+    /**
+     * 异步批量执行触发,同一批次的trigger在一个任务中按顺序触发
+     * @param triggers trigger触发
+     * @return 触发完成的Future
+     */
+    public CompletableFuture<Void> triggerAsync(Collection<? extends Trigger> triggers){
+        return CompletableFuture.runAsync(() -> this.trigger(triggers), executor);
+    }
+
+    /**
+     * 设置异步触发的执行器,默认为 ForkJoinPool.commonPool()
+     * @param executor 执行器
+     */
+    public void setExecutor(Executor executor){
+        this.executor = executor;
+    }
+
+    /**
+     * 获取触发统计
+     * @param clazz trigger类型
+     * @return 触发统计,未触发过时返回null
+     */
+    public TriggerMetric getMetric(Class<? extends Trigger> clazz){
+        return metrics.get(clazz);
+    }
+
+    /**
+     * 获取全部触发统计
+     */
+    public Collection<TriggerMetric> getMetrics(){
+        return metrics.values();
+    }
+
+    private TriggerMetric getOrCreateMetric(Class<? extends Trigger> clazz){
+        TriggerMetric metric = metrics.get(clazz);
+        if(metric==null){
+            metric = metrics.computeIfAbsent(clazz, TriggerMetric::new);
+        }
+        return metric;
+    }
+
     /**
      * 清空触发
      * @param clazz 清空的trigger类型
      */
     public void clear(Class<? extends Trigger> clazz){
-        triggers.get(clazz).clear();
+        Map<Long,TriggerHandler> triggerHandlers = triggers.get(clazz);
+        if(triggerHandlers!=null) {
+            triggerHandlers.clear();
+        }
     }
 
 
@@ -106,7 +187,8 @@ public class TriggerContext{
      * @return true为空
      */
     public boolean isEmpty(Class<? extends Trigger> clazz){
-        return triggers.get(clazz).isEmpty();
+        Map<Long,TriggerHandler> triggerHandlers = triggers.get(clazz);
+        return triggerHandlers==null || triggerHandlers.isEmpty();
     }
 
 }
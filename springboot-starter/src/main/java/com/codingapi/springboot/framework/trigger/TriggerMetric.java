@@ -0,0 +1,91 @@
+package com.codingapi.springboot.framework.trigger;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 触发器执行统计
+ */
+public class TriggerMetric {
+
+    /**
+     * trigger类型
+     */
+    private final Class<? extends Trigger> triggerClass;
+
+    // 触发次数
+    private final LongAdder fireCount = new LongAdder();
+    // handler执行次数(preTrigger通过的次数)
+    private final LongAdder handleCount = new LongAdder();
+    // handler删除次数
+    private final LongAdder removeCount = new LongAdder();
+    // handler异常次数
+    private final LongAdder errorCount = new LongAdder();
+    // handler累计耗时(纳秒)
+    private final LongAdder totalNanos = new LongAdder();
+    // handler最大耗时(纳秒)
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+    TriggerMetric(Class<? extends Trigger> triggerClass) {
+        this.triggerClass = triggerClass;
+    }
+
+    void fire() {
+        fireCount.increment();
+    }
+
+    void record(long nanos, boolean handled, boolean removed, boolean error) {
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        if (handled) {
+            handleCount.increment();
+        }
+        if (removed) {
+            removeCount.increment();
+        }
+        if (error) {
+            errorCount.increment();
+        }
+    }
+
+    public Class<? extends Trigger> getTriggerClass() {
+        return triggerClass;
+    }
+
+    public long getFireCount() {
+        return fireCount.sum();
+    }
+
+    public long getHandleCount() {
+        return handleCount.sum();
+    }
+
+    public long getRemoveCount() {
+        return removeCount.sum();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    @Override
+    public String toString() {
+        return "TriggerMetric{" +
+                "triggerClass=" + triggerClass.getName() +
+                ", fireCount=" + getFireCount() +
+                ", handleCount=" + getHandleCount() +
+                ", removeCount=" + getRemoveCount() +
+                ", errorCount=" + getErrorCount() +
+                ", totalNanos=" + getTotalNanos() +
+                ", maxNanos=" + getMaxNanos() +
+                '}';
+    }
+}
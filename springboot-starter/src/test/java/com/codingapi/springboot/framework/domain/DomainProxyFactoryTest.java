@@ -1,9 +1,19 @@
 package com.codingapi.springboot.framework.domain;
 
+import com.codingapi.springboot.framework.domain.event.DomainChangeBatchEvent;
+import com.codingapi.springboot.framework.domain.event.DomainChangeEvent;
+import com.codingapi.springboot.framework.domain.proxy.DomainChangeContext;
+import com.codingapi.springboot.framework.domain.proxy.DomainChangeMode;
 import com.codingapi.springboot.framework.domain.proxy.DomainProxyFactory;
+import com.codingapi.springboot.framework.handler.DemoChangeBatchHandler;
+import com.codingapi.springboot.framework.handler.DemoChangeWriteHandler;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 @SpringBootTest
 class DomainProxyFactoryTest {
 
@@ -22,4 +32,69 @@ class DomainProxyFactoryTest {
         Demo demo = DomainProxyFactory.create(Demo.class, "test");
         demo.delete();
     }
-}
\ No newline at end of file
+
+    @Test
+    void proxyClass() {
+        Demo first = DomainProxyFactory.create(Demo.class, "first");
+        Demo second = DomainProxyFactory.create(Demo.class, "second");
+        assertSame(first.getClass(), second.getClass());
+        assertNotSame(Demo.class, first.getClass());
+        assertEquals("first", first.getName());
+        assertEquals("second", second.getName());
+    }
+
+    @Test
+    void batchChange() {
+        DomainChangeMode mode = DomainChangeContext.getInstance().getMode();
+        DomainChangeContext.getInstance().setMode(DomainChangeMode.BATCH);
+        try {
+            DemoChangeBatchHandler.getEvents().clear();
+            Demo demo = DomainProxyFactory.create(Demo.class, "test");
+            DomainChangeContext.getInstance().batch(() -> {
+                demo.changeAnimalName("dog");
+                demo.changeAnimalName("pig");
+                demo.changeAnimalName("cat");
+                demo.changeName("test123");
+            });
+            assertFalse(DemoChangeBatchHandler.getEvents().isEmpty());
+            DomainChangeBatchEvent event = DemoChangeBatchHandler.getEvents().get(0);
+            assertEquals(1, event.getChanges().size());
+            assertEquals("test", event.getChange("name").getOldValue());
+            assertEquals("test123", event.getChange("name").getNewValue());
+            assertFalse(event.hasChange("animal.name"));
+            assertSame(demo, event.getEntity());
+            assertEquals(Demo.class, event.getEntityClass());
+        } finally {
+            DomainChangeContext.getInstance().setMode(mode);
+        }
+    }
+
+    @Test
+    void handlerWrite() {
+        DomainChangeMode mode = DomainChangeContext.getInstance().getMode();
+        DomainChangeContext.getInstance().setMode(DomainChangeMode.FIELD);
+        try {
+            Demo demo = DomainProxyFactory.create(Demo.class, "test");
+            DemoChangeWriteHandler.getEvents().clear();
+            // 处理器修改实体不会再次推送变更事件
+            demo.changeName("rename");
+            List<DomainChangeEvent> events = DemoChangeWriteHandler.getEvents().stream()
+                    .filter(event -> event.getEntity() == demo)
+                    .toList();
+            assertFalse(events.isEmpty());
+            assertTrue(events.stream().allMatch(event -> "name".equals(event.getFieldName())));
+            assertEquals("handled", demo.getAnimal().getName());
+
+            // 处理器的修改已更新快照，后续变更不再包含该修改
+            DemoChangeWriteHandler.getEvents().clear();
+            demo.changeName("test123");
+            events = DemoChangeWriteHandler.getEvents().stream()
+                    .filter(event -> event.getEntity() == demo)
+                    .toList();
+            assertFalse(events.isEmpty());
+            assertTrue(events.stream().allMatch(event -> "name".equals(event.getFieldName())));
+        } finally {
+            DomainChangeContext.getInstance().setMode(mode);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.codingapi.springboot.framework.domain.proxy;
+
+import com.codingapi.springboot.framework.domain.Animal;
+import com.codingapi.springboot.framework.domain.Demo;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainPropertyPlanTest {
+
+    @Test
+    void snapshot() {
+        DomainPropertyPlan plan = DomainPropertyPlan.of(Demo.class);
+        assertSame(plan, DomainPropertyPlan.of(Demo.class));
+
+        Demo demo = new Demo("test");
+        Object[] before = plan.snapshot(demo);
+        demo.getAnimal().setName("dog");
+        Object[] after = plan.snapshot(demo);
+
+        for (int i = 0; i < plan.size(); i++) {
+            String name = plan.getName(i);
+            if (name.equals("animal")) {
+                assertNotEquals(before[i], after[i]);
+                assertEquals(Map.of("name", "cat"), DomainPropertyPlan.export(before[i]));
+                assertEquals(Map.of("name", "dog"), DomainPropertyPlan.export(after[i]));
+            } else {
+                assertEquals(before[i], after[i]);
+            }
+        }
+    }
+
+    @Test
+    void writeMethod() throws NoSuchMethodException {
+        DomainPropertyPlan plan = DomainPropertyPlan.of(Animal.class);
+        int index = plan.indexOfWriteMethod(Animal.class.getMethod("setName", String.class));
+        assertEquals("name", plan.getName(index));
+        assertEquals(-1, plan.indexOfWriteMethod(Animal.class.getMethod("getName")));
+    }
+}
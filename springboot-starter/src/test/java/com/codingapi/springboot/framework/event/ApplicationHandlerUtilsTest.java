@@ -0,0 +1,81 @@
+package com.codingapi.springboot.framework.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApplicationHandlerUtilsTest {
+
+    @Test
+    void dispatch() {
+        List<String> calls = new ArrayList<>();
+        ApplicationHandlerUtils.getInstance().addHandler(new IHandler<DispatchEvent>() {
+            @Override
+            public int order() {
+                return 2;
+            }
+
+            @Override
+            public void handler(DispatchEvent event) {
+                calls.add("second");
+            }
+        });
+        ApplicationHandlerUtils.getInstance().addHandler(new FirstDispatchHandler(calls));
+
+        long missCount = HandlerMetricContext.getInstance().getMissCount();
+        long hitCount = HandlerMetricContext.getInstance().getHitCount();
+
+        ApplicationHandlerUtils.getInstance().handler(new DispatchEvent());
+        ApplicationHandlerUtils.getInstance().handler(new DispatchEvent());
+
+        assertEquals(List.of("first", "second", "first", "second"), calls);
+        assertTrue(HandlerMetricContext.getInstance().getMissCount() > missCount);
+        assertTrue(HandlerMetricContext.getInstance().getHitCount() > hitCount);
+
+        HandlerMetric metric = HandlerMetricContext.getInstance().getHandlerMetric(FirstDispatchHandler.class);
+        assertNotNull(metric);
+        assertEquals(2, metric.getCount());
+
+        // 添加handler以后分发索引重新计算
+        ApplicationHandlerUtils.getInstance().addHandler(new IHandler<DispatchEvent>() {
+            @Override
+            public int order() {
+                return 3;
+            }
+
+            @Override
+            public void handler(DispatchEvent event) {
+                calls.add("third");
+            }
+        });
+        calls.clear();
+        ApplicationHandlerUtils.getInstance().handler(new DispatchEvent());
+        assertEquals(List.of("first", "second", "third"), calls);
+    }
+
+
+    private static class DispatchEvent implements IEvent {
+    }
+
+    private static class FirstDispatchHandler implements IHandler<DispatchEvent> {
+
+        private final List<String> calls;
+
+        private FirstDispatchHandler(List<String> calls) {
+            this.calls = calls;
+        }
+
+        @Override
+        public int order() {
+            return 1;
+        }
+
+        @Override
+        public void handler(DispatchEvent event) {
+            calls.add("first");
+        }
+    }
+}
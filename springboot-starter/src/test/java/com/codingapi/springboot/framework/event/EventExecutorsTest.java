@@ -0,0 +1,109 @@
+package com.codingapi.springboot.framework.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventExecutorsTest {
+
+    private final List<EventExecutor> executors = new ArrayList<>();
+
+    private EventExecutor register(EventExecutor executor) {
+        executors.add(executor);
+        return executor;
+    }
+
+    @AfterEach
+    void shutdown() {
+        executors.forEach(EventExecutor::shutdown);
+    }
+
+    @Test
+    void ordered() throws InterruptedException {
+        EventExecutor executor = register(EventExecutors.ordered(EventExecutors.fixed(4)));
+        List<Integer> values = new CopyOnWriteArrayList<>();
+        int size = 1000;
+        CountDownLatch latch = new CountDownLatch(size);
+        DemoChangeEvent event = new DemoChangeEvent("before", "current");
+        for (int i = 0; i < size; i++) {
+            int value = i;
+            executor.execute(event, () -> {
+                values.add(value);
+                latch.countDown();
+            });
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < size; i++) {
+            assertEquals(i, values.get(i));
+        }
+    }
+
+    @Test
+    void boundedAbort() throws InterruptedException {
+        EventExecutor executor = register(EventExecutors.bounded(1, 1, false));
+        CountDownLatch block = new CountDownLatch(1);
+        DemoChangeEvent event = new DemoChangeEvent("before", "current");
+        Runnable task = () -> {
+            try {
+                block.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        executor.execute(event, task);
+        executor.execute(event, task);
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(event, task));
+        block.countDown();
+    }
+
+    @Test
+    void boundedCallerRuns() {
+        EventExecutor executor = register(EventExecutors.bounded(1, 1, true));
+        CountDownLatch block = new CountDownLatch(1);
+        DemoChangeEvent event = new DemoChangeEvent("before", "current");
+        Runnable task = () -> {
+            try {
+                block.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        executor.execute(event, task);
+        executor.execute(event, task);
+        Thread caller = Thread.currentThread();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        executor.execute(event, () -> threads.add(Thread.currentThread()));
+        assertEquals(caller, threads.get(0));
+        block.countDown();
+    }
+
+    @Test
+    void orderedRejected() {
+        List<Integer> values = new ArrayList<>();
+        DemoChangeEvent event = new DemoChangeEvent("before", "current");
+        EventExecutor[] holder = new EventExecutor[1];
+        boolean[] reject = {true};
+        // 拒绝执行前其他线程加入的任务不会被遗留在队列中
+        holder[0] = EventExecutors.ordered((e, task) -> {
+            if (reject[0]) {
+                reject[0] = false;
+                holder[0].execute(e, () -> values.add(2));
+                throw new RejectedExecutionException();
+            }
+            task.run();
+        });
+        assertThrows(RejectedExecutionException.class, () -> holder[0].execute(event, () -> values.add(1)));
+        assertEquals(List.of(2), values);
+
+        holder[0].execute(event, () -> values.add(3));
+        assertEquals(List.of(2, 3), values);
+    }
+}
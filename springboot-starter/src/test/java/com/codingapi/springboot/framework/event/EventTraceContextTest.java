@@ -0,0 +1,43 @@
+package com.codingapi.springboot.framework.event;
+
+import com.codingapi.springboot.framework.exception.EventLoopException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventTraceContextTest {
+
+    @Test
+    void eventLoop() {
+        EventTraceContext context = EventTraceContext.getInstance();
+        String traceId = context.getOrCreateTrace();
+        assertNotEquals(traceId, context.getOrCreateTrace());
+
+        context.addEvent(traceId, new DemoChangeEvent("before", "current"));
+        assertTrue(EventStackContext.getInstance().checkEventLoop(traceId, new DemoChangeEvent("before", "current")));
+
+        EventLoopException exception = assertThrows(EventLoopException.class,
+                () -> context.addEvent(traceId, new DemoChangeEvent("before", "current")));
+        assertEquals(List.of(DemoChangeEvent.class), exception.getStack());
+        assertNull(EventStackContext.getInstance().getEventClasses(traceId));
+    }
+
+    @Test
+    void eventKey() {
+        EventTraceContext context = EventTraceContext.getInstance();
+        String traceId = context.getOrCreateTrace();
+        context.addEvent(traceId, new DemoChangeEvent("before", "current"));
+
+        context.createEventKey(traceId);
+        String eventKey = context.getEventKey();
+        assertTrue(eventKey.startsWith(traceId + "#"));
+        assertEquals(traceId, context.getOrCreateTrace());
+        assertEquals(1, EventStackContext.getInstance().getEvents(eventKey).size());
+
+        context.checkEventState();
+        assertNull(context.getEventKey());
+        assertNull(EventStackContext.getInstance().getEvents(eventKey));
+    }
+}
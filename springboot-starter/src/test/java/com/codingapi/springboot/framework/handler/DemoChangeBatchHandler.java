@@ -0,0 +1,24 @@
+package com.codingapi.springboot.framework.handler;
+
+import com.codingapi.springboot.framework.domain.event.DomainChangeBatchEvent;
+import com.codingapi.springboot.framework.event.Handler;
+import com.codingapi.springboot.framework.event.IHandler;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Slf4j
+@Handler
+public class DemoChangeBatchHandler implements IHandler<DomainChangeBatchEvent> {
+
+    @Getter
+    private final static List<DomainChangeBatchEvent> events = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void handler(DomainChangeBatchEvent event) {
+        log.info("batch change event -> {}", event);
+        events.add(event);
+    }
+}
@@ -0,0 +1,30 @@
+package com.codingapi.springboot.framework.handler;
+
+import com.codingapi.springboot.framework.domain.Demo;
+import com.codingapi.springboot.framework.domain.event.DomainChangeEvent;
+import com.codingapi.springboot.framework.event.Handler;
+import com.codingapi.springboot.framework.event.IHandler;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 处理变更事件时修改实体
+ */
+@Handler
+public class DemoChangeWriteHandler implements IHandler<DomainChangeEvent> {
+
+    @Getter
+    private final static List<DomainChangeEvent> events = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void handler(DomainChangeEvent event) {
+        if (event.getEntity() instanceof Demo demo) {
+            events.add(event);
+            if ("name".equals(event.getFieldName()) && "rename".equals(event.getNewValue())) {
+                demo.changeAnimalName("handled");
+            }
+        }
+    }
+}
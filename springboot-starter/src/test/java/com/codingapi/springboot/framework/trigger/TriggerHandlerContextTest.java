@@ -4,8 +4,10 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class TriggerHandlerContextTest {
 
@@ -68,6 +70,36 @@ class TriggerHandlerContextTest {
 
     }
 
+    @Test
+    void triggerAsync() {
+        AtomicInteger count = new AtomicInteger(0);
+        TriggerContext.getInstance().addTrigger(new TriggerHandler<MyTrigger3>() {
+            @Override
+            public boolean preTrigger(MyTrigger3 trigger) {
+                return true;
+            }
+
+            @Override
+            public void trigger(MyTrigger3 trigger) {
+                count.incrementAndGet();
+            }
+
+            @Override
+            public boolean remove(MyTrigger3 trigger, boolean canTrigger) {
+                return count.get() >= 2;
+            }
+        });
+
+        TriggerContext.getInstance().triggerAsync(List.of(new MyTrigger3("a"), new MyTrigger3("b"), new MyTrigger3("c"))).join();
+        assertEquals(2, count.get());
+        assertTrue(TriggerContext.getInstance().isEmpty(MyTrigger3.class));
+
+        TriggerMetric metric = TriggerContext.getInstance().getMetric(MyTrigger3.class);
+        assertEquals(3, metric.getFireCount());
+        assertEquals(2, metric.getHandleCount());
+        assertEquals(1, metric.getRemoveCount());
+    }
+
     @AllArgsConstructor
     private static class MyTrigger implements Trigger{
         @Getter
@@ -80,5 +112,11 @@ class TriggerHandlerContextTest {
         private final String name;
     }
 
+    @AllArgsConstructor
+    private static class MyTrigger3 implements Trigger{
+        @Getter
+        private final String name;
+    }
+
 
-}
\ No newline at end of file
+}